@@ -3,6 +3,10 @@ package frc.lib;
 import frc.lib.driver.IDriver;
 import frc.lib.helpers.ExceptionHelpers;
 import frc.lib.mechanisms.LoggingManager;
+import frc.lib.mechanisms.LoopPhase;
+import frc.lib.mechanisms.LoopProfiler;
+import frc.lib.mechanisms.LoopWatchdog;
+import frc.lib.mechanisms.RuntimeTelemetry;
 import frc.lib.mechanisms.MechanismManager;
 import frc.lib.robotprovider.*;
 import frc.robot.LoggingKey;
@@ -39,6 +43,9 @@ public class CoreRobot<T extends AbstractModule>
     // Mechanisms and injector
     private MechanismManager mechanisms;
     private LoggingManager logger;
+    private LoopProfiler profiler;
+    private LoopWatchdog watchdog;
+    private RuntimeTelemetry telemetry;
     private Injector injector;
 
     private ITimer timer;
@@ -71,6 +78,9 @@ public class CoreRobot<T extends AbstractModule>
         this.mechanisms = injector.getInstance(MechanismManager.class);
         this.logger = injector.getInstance(LoggingManager.class);
         this.logger.refresh(injector);
+        this.profiler = injector.getInstance(LoopProfiler.class);
+        this.watchdog = injector.getInstance(LoopWatchdog.class);
+        this.telemetry = injector.getInstance(RuntimeTelemetry.class);
 
         this.logger.logString(LoggingKey.RobotState, "Init");
 
@@ -106,6 +116,10 @@ public class CoreRobot<T extends AbstractModule>
             this.mechanisms.stop();
         }
 
+        this.logger.logDefaults();
+        this.profiler.dump(this.logger);
+        this.watchdog.disarm();
+        this.watchdog.dump(this.logger);
         this.logger.logString(LoggingKey.RobotState, "Disabled");
         this.logger.update();
         this.logger.flush();
@@ -155,6 +169,11 @@ public class CoreRobot<T extends AbstractModule>
      */
     public void disabledPeriodic()
     {
+        if (this.driver != null)
+        {
+            this.driver.prepare();
+        }
+
         if (!TuningConstants.TRY_AK_FIX)
         {
             return;
@@ -176,45 +195,13 @@ public class CoreRobot<T extends AbstractModule>
             this.disabledCount = 0;
         }
 
-        for (LoggingKey key : LoggingKey.values())
+        // AdvantageKit expects a value for every key during each loop, otherwise the defaults logged in disabledInit remain
+        if (TuningConstants.USE_ADVANTAGE_KIT)
         {
-            if (key == LoggingKey.RobotState)
-            {
-                this.logger.logString(LoggingKey.RobotState, "Disabled");
-            }
-
-            switch (key.type)
-            {
-                case Boolean:
-                    this.logger.logBoolean(key, false);
-                    break;
-
-                case Integer:
-                    this.logger.logInteger(key, 0);
-                    break;
-
-                case NullableInteger:
-                    this.logger.logInteger(key, null);
-                    break;
-
-                case Number:
-                    this.logger.logNumber(key, 0.0);
-                    break;
-
-                case NullableNumber:
-                    this.logger.logNumber(key, null);
-                    break;
-
-                case String:
-                    this.logger.logString(key, "");
-                    break;
-
-                default:
-                    // skip
-                    break;
-            }
+            this.logger.logDefaults();
         }
 
+        this.logger.logString(LoggingKey.RobotState, "Disabled");
         this.logger.update();
     }
 
@@ -312,13 +299,20 @@ public class CoreRobot<T extends AbstractModule>
     {
         try
         {
+            this.watchdog.arm();
+            this.profiler.startLoop();
             this.mechanisms.readSensors();
 
+            this.profiler.startPhase(LoopPhase.Driver);
             this.driver.update();
 
             // run each mechanism
+            this.profiler.startPhase(LoopPhase.Mechanisms);
             this.mechanisms.update(this.currentMode);
 
+            this.profiler.startPhase(LoopPhase.Logger);
+            this.profiler.log(this.logger);
+            this.telemetry.update(this.logger);
             this.logger.logNumber(LoggingKey.RobotTime, this.timer.get());
             this.logger.update();
 
@@ -328,6 +322,9 @@ public class CoreRobot<T extends AbstractModule>
                 this.logger.flush();
                 this.loggerUpdates = 0;
             }
+
+            this.profiler.endLoop();
+            this.watchdog.disarm();
         }
         catch (RuntimeException ex)
         {
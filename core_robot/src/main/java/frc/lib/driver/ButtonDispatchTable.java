@@ -0,0 +1,271 @@
+package frc.lib.driver;
+
+import frc.lib.driver.descriptions.UserInputDevice;
+import frc.lib.helpers.OrdinalBitSet;
+
+/**
+ * Table (compiled from the button map at startup) of which digital and macro operations are bound to each button and
+ * POV of each device, so that each update only needs to check the operations whose input actually changed.
+ *
+ * Operations bound to an axis range are checked every update (as axes change continuously), and operations that use
+ * shifts are checked whenever the active shifts change.  Operations are also checked when their own state could change
+ * without any change in input (see IOperationState.needsInputCheck).
+ */
+public class ButtonDispatchTable
+{
+    private static final int BUTTON_SLOT_COUNT = 32;
+    private static final int POV_SLOT = ButtonDispatchTable.BUTTON_SLOT_COUNT;
+    private static final int SLOT_COUNT = ButtonDispatchTable.BUTTON_SLOT_COUNT + 1;
+
+    private final UserInputDevice[] devices;
+    private final int digitalCount;
+    private final int macroCount;
+
+    // operations bound to each slot of each device, indexed by [device id][slot] (null when nothing is bound)
+    private final OrdinalBitSet[][] digitalOperationsBySlot;
+    private final OrdinalBitSet[][] macroOperationsBySlot;
+
+    // operations bound to each device, to check when the device is (dis)connected
+    private final OrdinalBitSet[] digitalOperationsByDevice;
+    private final OrdinalBitSet[] macroOperationsByDevice;
+
+    private final OrdinalBitSet alwaysDigitalOperations; // bound to an axis range
+    private final OrdinalBitSet alwaysMacroOperations; // bound to an axis range
+    private final OrdinalBitSet shiftedDigitalOperations;
+    private final OrdinalBitSet shiftedMacroOperations;
+
+    // the input as of the previous update
+    private final boolean[] previousConnected;
+    private final int[] previousButtons;
+    private final int[] previousPov;
+    private final OrdinalBitSet previousShifts;
+    private boolean isValid;
+
+    /**
+     * Initializes a new instance of the ButtonDispatchTable class
+     * @param digitalCount number of digital operations
+     * @param macroCount number of macro operations
+     * @param shiftCount number of shifts
+     */
+    public ButtonDispatchTable(int digitalCount, int macroCount, int shiftCount)
+    {
+        this.devices = UserInputDevice.values();
+        this.digitalCount = digitalCount;
+        this.macroCount = macroCount;
+
+        int deviceCount = UserInputDevice.MaxCount.getId();
+        this.digitalOperationsBySlot = new OrdinalBitSet[deviceCount][ButtonDispatchTable.SLOT_COUNT];
+        this.macroOperationsBySlot = new OrdinalBitSet[deviceCount][ButtonDispatchTable.SLOT_COUNT];
+        this.digitalOperationsByDevice = new OrdinalBitSet[deviceCount];
+        this.macroOperationsByDevice = new OrdinalBitSet[deviceCount];
+        for (int i = 0; i < deviceCount; i++)
+        {
+            this.digitalOperationsByDevice[i] = new OrdinalBitSet(digitalCount);
+            this.macroOperationsByDevice[i] = new OrdinalBitSet(macroCount);
+        }
+
+        this.alwaysDigitalOperations = new OrdinalBitSet(digitalCount);
+        this.alwaysMacroOperations = new OrdinalBitSet(macroCount);
+        this.shiftedDigitalOperations = new OrdinalBitSet(digitalCount);
+        this.shiftedMacroOperations = new OrdinalBitSet(macroCount);
+
+        this.previousConnected = new boolean[deviceCount];
+        this.previousButtons = new int[deviceCount];
+        this.previousPov = new int[deviceCount];
+        this.previousShifts = new OrdinalBitSet(shiftCount);
+        this.isValid = false;
+    }
+
+    /**
+     * Add a digital operation to the table
+     * @param ordinal of the digital operation
+     * @param device that the operation is bound to
+     * @param button that the operation is bound to (or POV or ANALOG_AXIS_RANGE)
+     * @param usesShifts whether the operation depends on the active shifts
+     */
+    public void addDigitalOperation(int ordinal, UserInputDevice device, UserInputDeviceButton button, boolean usesShifts)
+    {
+        ButtonDispatchTable.add(
+            ordinal,
+            device,
+            button,
+            usesShifts,
+            this.digitalCount,
+            this.digitalOperationsBySlot,
+            this.digitalOperationsByDevice,
+            this.alwaysDigitalOperations,
+            this.shiftedDigitalOperations);
+    }
+
+    /**
+     * Add a macro operation to the table
+     * @param ordinal of the macro operation
+     * @param device that the operation is bound to
+     * @param button that the operation is bound to (or POV or ANALOG_AXIS_RANGE)
+     * @param usesShifts whether the operation depends on the active shifts
+     */
+    public void addMacroOperation(int ordinal, UserInputDevice device, UserInputDeviceButton button, boolean usesShifts)
+    {
+        ButtonDispatchTable.add(
+            ordinal,
+            device,
+            button,
+            usesShifts,
+            this.macroCount,
+            this.macroOperationsBySlot,
+            this.macroOperationsByDevice,
+            this.alwaysMacroOperations,
+            this.shiftedMacroOperations);
+    }
+
+    /**
+     * Forget the previous input, so that every operation is checked in the next update (e.g. after autonomous mode,
+     * when the input wasn't checked)
+     */
+    public void invalidate()
+    {
+        this.isValid = false;
+    }
+
+    /**
+     * Find the operations that need to be checked because their input changed since the previous update
+     * @param input for the current update
+     * @param activeShifts for the current update
+     * @param digitalOperations to fill with the digital operations to check
+     * @param macroOperations to fill with the macro operations to check
+     */
+    public void update(InputFrame input, OrdinalBitSet activeShifts, OrdinalBitSet digitalOperations, OrdinalBitSet macroOperations)
+    {
+        digitalOperations.clear();
+        macroOperations.clear();
+        if (!this.isValid)
+        {
+            for (int i = 0; i < this.digitalCount; i++)
+            {
+                digitalOperations.set(i);
+            }
+
+            for (int i = 0; i < this.macroCount; i++)
+            {
+                macroOperations.set(i);
+            }
+        }
+        else
+        {
+            digitalOperations.or(this.alwaysDigitalOperations);
+            macroOperations.or(this.alwaysMacroOperations);
+            if (!this.previousShifts.equals(activeShifts))
+            {
+                digitalOperations.or(this.shiftedDigitalOperations);
+                macroOperations.or(this.shiftedMacroOperations);
+            }
+        }
+
+        for (UserInputDevice device : this.devices)
+        {
+            if (device == UserInputDevice.None || device == UserInputDevice.MaxCount)
+            {
+                continue;
+            }
+
+            int id = device.getId();
+            boolean connected = input.isConnected(device);
+            int buttons = input.getButtons(device);
+            int pov = input.getPOV(device);
+            if (this.isValid)
+            {
+                if (connected != this.previousConnected[id])
+                {
+                    digitalOperations.or(this.digitalOperationsByDevice[id]);
+                    macroOperations.or(this.macroOperationsByDevice[id]);
+                }
+                else
+                {
+                    int changedButtons = buttons ^ this.previousButtons[id];
+                    while (changedButtons != 0)
+                    {
+                        int slot = Integer.numberOfTrailingZeros(changedButtons);
+                        changedButtons &= changedButtons - 1;
+                        this.addSlot(id, slot, digitalOperations, macroOperations);
+                    }
+
+                    if (pov != this.previousPov[id])
+                    {
+                        this.addSlot(id, ButtonDispatchTable.POV_SLOT, digitalOperations, macroOperations);
+                    }
+                }
+            }
+
+            this.previousConnected[id] = connected;
+            this.previousButtons[id] = buttons;
+            this.previousPov[id] = pov;
+        }
+
+        this.previousShifts.copyFrom(activeShifts);
+        this.isValid = true;
+    }
+
+    private void addSlot(int id, int slot, OrdinalBitSet digitalOperations, OrdinalBitSet macroOperations)
+    {
+        OrdinalBitSet digitalSlot = this.digitalOperationsBySlot[id][slot];
+        if (digitalSlot != null)
+        {
+            digitalOperations.or(digitalSlot);
+        }
+
+        OrdinalBitSet macroSlot = this.macroOperationsBySlot[id][slot];
+        if (macroSlot != null)
+        {
+            macroOperations.or(macroSlot);
+        }
+    }
+
+    private static void add(
+        int ordinal,
+        UserInputDevice device,
+        UserInputDeviceButton button,
+        boolean usesShifts,
+        int count,
+        OrdinalBitSet[][] operationsBySlot,
+        OrdinalBitSet[] operationsByDevice,
+        OrdinalBitSet alwaysOperations,
+        OrdinalBitSet shiftedOperations)
+    {
+        if (device == UserInputDevice.None || button == null || button == UserInputDeviceButton.NONE)
+        {
+            // never has any input
+            return;
+        }
+
+        int id = device.getId();
+        operationsByDevice[id].set(ordinal);
+        if (usesShifts)
+        {
+            shiftedOperations.set(ordinal);
+        }
+
+        int slot;
+        if (button == UserInputDeviceButton.POV)
+        {
+            slot = ButtonDispatchTable.POV_SLOT;
+        }
+        else if (button == UserInputDeviceButton.ANALOG_AXIS_RANGE ||
+            button.Value < 1 ||
+            button.Value > ButtonDispatchTable.BUTTON_SLOT_COUNT)
+        {
+            alwaysOperations.set(ordinal);
+            return;
+        }
+        else
+        {
+            slot = button.Value - 1;
+        }
+
+        if (operationsBySlot[id][slot] == null)
+        {
+            operationsBySlot[id][slot] = new OrdinalBitSet(count);
+        }
+
+        operationsBySlot[id][slot].set(ordinal);
+    }
+}
@@ -7,6 +7,7 @@ import java.util.HashMap;
 import java.util.List;
 
 import frc.lib.driver.descriptions.*;
+import frc.lib.helpers.OrdinalBitSet;
 import frc.robot.driver.*;
 
 public class ButtonMapVerifier
@@ -21,6 +22,56 @@ public class ButtonMapVerifier
         ButtonMapVerifier.Verify(buttonMap, true, false);
     }
 
+    /**
+     * Build the matrix of which macros cancel each operation, and which macros conflict with each other
+     * @param buttonMap containing the macro schema
+     * @return the conflict matrix for the macros in the schema
+     */
+    public static MacroConflictMatrix BuildMacroConflictMatrix(IButtonMap buttonMap)
+    {
+        MacroConflictMatrix matrix = new MacroConflictMatrix(AnalogOperation.values().length, DigitalOperation.values().length, MacroOperation.values().length);
+        for (MacroOperationDescription description : buttonMap.getMacroOperationSchema())
+        {
+            matrix.addMacro(
+                description.getOperation().ordinal(),
+                description.getMacroCancelAnalogOperations(),
+                description.getMacroCancelDigitalOperations());
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Verify that each macro's task only requires operations that the macro affects, by constructing each task and
+     * checking the operations that it declares (see IControlTask.addRequirements)
+     * @param buttonMap containing the macro schema
+     * @return the number of macros whose tasks declared all of their requirements
+     */
+    public static int VerifyTaskRequirements(IButtonMap buttonMap)
+    {
+        int declaredCount = 0;
+        OperationRequirements affectedRequirements = new OperationRequirements();
+        OperationRequirements taskRequirements = new OperationRequirements();
+        for (MacroOperationDescription description : buttonMap.getMacroOperationSchema())
+        {
+            affectedRequirements.clear();
+            affectedRequirements.addAll(description.getAffectedOperations());
+
+            taskRequirements.clear();
+            if (description.constructTask().addRequirements(taskRequirements))
+            {
+                declaredCount++;
+                taskRequirements.remove(affectedRequirements);
+                if (!taskRequirements.isEmpty())
+                {
+                    throw new RuntimeException("Task for macro " + description.getOperation().toString() + " requires operations that it doesn't affect: " + taskRequirements.toString());
+                }
+            }
+        }
+
+        return declaredCount;
+    }
+
     public static void Verify(IButtonMap buttonMap, boolean failOnError, boolean printMapping)
     {
         EnumSet<DigitalOperation> digitalOperations = EnumSet.noneOf(DigitalOperation.class);
@@ -351,6 +402,21 @@ public class ButtonMapVerifier
                         }
                     }
                 }
+
+                MacroOperation[] allMacroOperations = MacroOperation.values();
+                MacroConflictMatrix conflictMatrix = ButtonMapVerifier.BuildMacroConflictMatrix(buttonMap);
+                for (MacroOperation macroOperation : macroOperations)
+                {
+                    OrdinalBitSet conflictingMacros = conflictMatrix.getConflictingMacros(macroOperation.ordinal());
+                    if (!conflictingMacros.isEmpty())
+                    {
+                        System.out.println(
+                            String.format(
+                                "%s conflicts with %s",
+                                macroOperation.toString(),
+                                conflictingMacros.toString(allMacroOperations)));
+                    }
+                }
             }
         }
     }
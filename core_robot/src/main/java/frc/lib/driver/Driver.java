@@ -1,16 +1,16 @@
 package frc.lib.driver;
 
-import java.util.EnumMap;
 import java.util.EnumSet;
 
 import javax.inject.Singleton;
 
 import frc.robot.LoggingKey;
+import frc.robot.SettingsManager;
 import frc.robot.TuningConstants;
 import frc.lib.driver.descriptions.*;
 import frc.lib.driver.states.*;
 import frc.lib.helpers.ExceptionHelpers;
-import frc.lib.helpers.SetHelper;
+import frc.lib.helpers.OrdinalBitSet;
 import frc.lib.mechanisms.*;
 import frc.lib.robotprovider.*;
 import frc.robot.driver.*;
@@ -28,18 +28,45 @@ public class Driver implements IDriver
     private final ILogger logger;
 
     protected final Injector injector;
-    protected final EnumMap<AnalogOperation, AnalogOperationState> analogOperationStateMap;
-    protected final EnumMap<DigitalOperation, DigitalOperationState> digitalOperationStateMap;
+    protected final AnalogOperationState[] analogOperationStates; // indexed by ordinal
+    protected final DigitalOperationState[] digitalOperationStates; // indexed by ordinal
 
     private final IJoystick[] joysticks;
+    private final InputFrame inputFrame;
+    private final InputJournal inputJournal; // null unless the input is being recorded
+    private final OperationLatencyTracker latencyTracker; // null unless latencies are being measured
+    private final ButtonDispatchTable dispatchTable;
     private final DigitalOperation[] allDigitalOperations;
     private final AnalogOperation[] allAnalogOperations;
-
-    private final EnumMap<Shift, ShiftDescription> shiftMap;
-    private final EnumMap<MacroOperation, IMacroOperationState> macroStateMap;
+    private final MacroOperation[] allMacroOperations;
+    private final Shift[] allShifts;
+
+    private final ShiftDescription[] shiftDescriptions; // indexed by ordinal, null for shifts without a description
+    private final IMacroOperationState[] macroStates; // indexed by ordinal, null for macros that aren't in the schema
+
+    // bookkeeping for each update, reused (and cleared in place) so that updating doesn't allocate
+    private final OrdinalBitSet activeShifts;
+    private final OrdinalBitSet previouslyActiveMacroOperations;
+    private final OrdinalBitSet activeMacroOperations;
+    private final OrdinalBitSet macroOperationsToCancel;
+    private final OrdinalBitSet newMacroOperations; // active macros that weren't previously active
+    private final OrdinalBitSet oldMacroOperations; // active macros that were previously active
+    private final OrdinalBitSet modifiedAnalogOperations;
+    private final OrdinalBitSet modifiedDigitalOperations;
+    private final OrdinalBitSet changedDigitalOperations; // digital operations whose input changed in this update
+    private final OrdinalBitSet changedMacroOperations; // macro operations whose input changed in this update
+    private final MacroConflictMatrix macroConflicts;
+
+    // the most recently logged active shifts and macros, only re-formatted when they change
+    private final OrdinalBitSet loggedShifts;
+    private final OrdinalBitSet loggedMacroOperations;
+    private String loggedShiftsString;
+    private String loggedMacrosString;
 
     private final AutonomousRoutineSelector routineSelector;
     private IControlTask autonomousTask;
+    private IControlTask preparedRoutine; // autonomous routine built and initialized while disabled
+    private IMacroOperationState preparedRoutineState;
 
     private RobotMode currentMode;
 
@@ -61,71 +88,93 @@ public class Driver implements IDriver
         this.injector = injector;
 
         EnumSet<UserInputDevice> devices = EnumSet.noneOf(UserInputDevice.class);
+        this.inputFrame = new InputFrame();
         AnalogOperationDescription[] analogOperationSchema = buttonMap.getAnalogOperationSchema();
         DigitalOperationDescription[] digitalOperationSchema = buttonMap.getDigitalOperationSchema();
 
         this.allDigitalOperations = DigitalOperation.values();
         this.allAnalogOperations = AnalogOperation.values();
+        this.allMacroOperations = MacroOperation.values();
+        this.allShifts = Shift.values();
+        this.dispatchTable = new ButtonDispatchTable(this.allDigitalOperations.length, this.allMacroOperations.length, this.allShifts.length);
 
-        this.digitalOperationStateMap = new EnumMap<DigitalOperation, DigitalOperationState>(DigitalOperation.class);
+        this.digitalOperationStates = new DigitalOperationState[this.allDigitalOperations.length];
         for (DigitalOperationDescription description : digitalOperationSchema)
         {
             devices.add(description.getUserInputDevice());
-            this.digitalOperationStateMap.put(description.getOperation(), new DigitalOperationState(description));
+            this.useInput(description.getUserInputDevice(), description.getUserInputDeviceButton(), description.getUserInputDeviceAxis());
+            this.dispatchTable.addDigitalOperation(
+                description.getOperation().ordinal(),
+                description.getUserInputDevice(),
+                description.getUserInputDeviceButton(),
+                description.getRelevantShiftBits() != null);
+            this.digitalOperationStates[description.getOperation().ordinal()] = new DigitalOperationState(description);
         }
 
         for (DigitalOperation operation : this.allDigitalOperations)
         {
-            if (!this.digitalOperationStateMap.containsKey(operation))
+            if (this.digitalOperationStates[operation.ordinal()] == null)
             {
-                this.digitalOperationStateMap.put(
-                    operation,
-                    new DigitalOperationState(new DigitalOperationDescription(operation)));
+                this.digitalOperationStates[operation.ordinal()] = new DigitalOperationState(new DigitalOperationDescription(operation));
             }
         }
 
-        this.analogOperationStateMap = new EnumMap<AnalogOperation, AnalogOperationState>(AnalogOperation.class);
+        this.analogOperationStates = new AnalogOperationState[this.allAnalogOperations.length];
         for (AnalogOperationDescription description : analogOperationSchema)
         {
             devices.add(description.getUserInputDevice());
-            this.analogOperationStateMap.put(description.getOperation(), new AnalogOperationState(description));
+            this.inputFrame.useAxis(description.getUserInputDevice(), description.getUserInputDeviceAxis());
+            this.inputFrame.useAxis(description.getUserInputDevice(), description.getUserInputDeviceSecondaryAxis());
+            this.analogOperationStates[description.getOperation().ordinal()] = new AnalogOperationState(description);
         }
 
         for (AnalogOperation operation : this.allAnalogOperations)
         {
-            if (!this.analogOperationStateMap.containsKey(operation))
+            if (this.analogOperationStates[operation.ordinal()] == null)
             {
-                this.analogOperationStateMap.put(
-                    operation,
-                    new AnalogOperationState(new AnalogOperationDescription(operation)));
+                this.analogOperationStates[operation.ordinal()] = new AnalogOperationState(new AnalogOperationDescription(operation));
             }
         }
 
         this.routineSelector = injector.getInstance(AutonomousRoutineSelector.class);
 
         ShiftDescription[] shiftSchema = buttonMap.getShiftSchema();
-        this.shiftMap = new EnumMap<Shift, ShiftDescription>(Shift.class);
+        this.shiftDescriptions = new ShiftDescription[this.allShifts.length];
         for (ShiftDescription description : shiftSchema)
         {
-            this.shiftMap.put(description.getShift(), description);
+            this.useInput(description.getUserInputDevice(), description.getUserInputDeviceButton(), description.getUserInputDeviceAxis());
+            this.shiftDescriptions[description.getShift().ordinal()] = description;
         }
 
-        this.macroStateMap = new EnumMap<MacroOperation, IMacroOperationState>(MacroOperation.class);
+        this.macroStates = new IMacroOperationState[this.allMacroOperations.length];
         MacroOperationDescription[] macroSchema = buttonMap.getMacroOperationSchema();
         for (MacroOperationDescription description : macroSchema)
         {
+            MacroOperation operation = description.getOperation();
             devices.add(description.getUserInputDevice());
-            this.macroStateMap.put(
-                (MacroOperation)description.getOperation(),
+            this.useInput(description.getUserInputDevice(), description.getUserInputDeviceButton(), description.getUserInputDeviceAxis());
+            this.dispatchTable.addMacroOperation(
+                operation.ordinal(),
+                description.getUserInputDevice(),
+                description.getUserInputDeviceButton(),
+                description.getRelevantShiftBits() != null);
+            this.macroStates[operation.ordinal()] =
                 new MacroOperationState(
                     description,
-                    this.analogOperationStateMap,
-                    this.digitalOperationStateMap,
-                    this.injector));
+                    this.analogOperationStates,
+                    this.digitalOperationStates,
+                    this.injector);
         }
 
         ButtonMapVerifier.Verify(buttonMap);
 
+        // the autonomous routine (added when autonomous starts) cancels every operation
+        this.macroConflicts = ButtonMapVerifier.BuildMacroConflictMatrix(buttonMap);
+        if (this.macroStates[MacroOperation.AutonomousRoutine.ordinal()] == null)
+        {
+            this.macroConflicts.addMacro(MacroOperation.AutonomousRoutine.ordinal(), this.allAnalogOperations, this.allDigitalOperations);
+        }
+
         this.joysticks = new IJoystick[UserInputDevice.MaxCount.getId()];
         for (UserInputDevice device : UserInputDevice.values())
         {
@@ -137,7 +186,36 @@ public class Driver implements IDriver
             }
         }
 
+        this.inputJournal = SettingsManager.getInputJournal(injector, this.inputFrame);
+        if (TuningConstants.OPERATION_LATENCY_ENABLED)
+        {
+            this.latencyTracker = new OperationLatencyTracker(this.allAnalogOperations, this.allDigitalOperations, this.allMacroOperations.length);
+        }
+        else
+        {
+            this.latencyTracker = null;
+        }
+
+        int macroCount = this.allMacroOperations.length;
+        this.activeShifts = new OrdinalBitSet(this.allShifts.length);
+        this.previouslyActiveMacroOperations = new OrdinalBitSet(macroCount);
+        this.activeMacroOperations = new OrdinalBitSet(macroCount);
+        this.macroOperationsToCancel = new OrdinalBitSet(macroCount);
+        this.newMacroOperations = new OrdinalBitSet(macroCount);
+        this.oldMacroOperations = new OrdinalBitSet(macroCount);
+        this.modifiedAnalogOperations = new OrdinalBitSet(this.allAnalogOperations.length);
+        this.modifiedDigitalOperations = new OrdinalBitSet(this.allDigitalOperations.length);
+        this.changedDigitalOperations = new OrdinalBitSet(this.allDigitalOperations.length);
+        this.changedMacroOperations = new OrdinalBitSet(macroCount);
+
+        this.loggedShifts = new OrdinalBitSet(this.allShifts.length);
+        this.loggedMacroOperations = new OrdinalBitSet(macroCount);
+        this.loggedShiftsString = this.loggedShifts.toString(this.allShifts);
+        this.loggedMacrosString = "";
+
         this.currentMode = RobotMode.Disabled;
+        this.preparedRoutine = null;
+        this.preparedRoutineState = null;
 
         // initialize the path manager and load all of the paths
         injector.getInstance(TrajectoryManager.class);
@@ -161,203 +239,210 @@ public class Driver implements IDriver
         this.logger.logString(LoggingKey.DriverMode, this.currentMode.toString());
 
         // keep track of macros that were running before we checked user input...
-        EnumSet<MacroOperation> previouslyActiveMacroOperations = EnumSet.noneOf(MacroOperation.class);
-        for (MacroOperation macroOperation : this.macroStateMap.keySet())
+        this.previouslyActiveMacroOperations.clear();
+        for (int i = 0; i < this.macroStates.length; i++)
         {
-            IMacroOperationState macroState = this.macroStateMap.get(macroOperation);
-            if (macroState.getIsActive())
+            IMacroOperationState macroState = this.macroStates[i];
+            if (macroState != null && macroState.getIsActive())
             {
-                previouslyActiveMacroOperations.add(macroOperation);
+                this.previouslyActiveMacroOperations.set(i);
             }
         }
 
-        // check inputs and update shifts based on it...
-        EnumSet<Shift> activeShifts = EnumSet.noneOf(Shift.class);
-        for (Shift shift : this.shiftMap.keySet())
+        // read each joystick once, and then check inputs against that snapshot...
+        if (this.currentMode != RobotMode.Autonomous)
         {
-            ShiftDescription shiftDescription = this.shiftMap.get(shift);
-            if (this.currentMode != RobotMode.Autonomous && shiftDescription.checkInput(this.joysticks))
-            {
-                activeShifts.add(shift);
-            }
+            this.inputFrame.update(this.joysticks);
         }
 
-        // check user inputs for various analog operations and keep track of:
-        // operations that were interrupted already, and operations that were modified by user input in this update
-        EnumSet<AnalogOperation> modifiedAnalogOperations = EnumSet.noneOf(AnalogOperation.class);
-        EnumSet<AnalogOperation> interruptedAnalogOperations = EnumSet.noneOf(AnalogOperation.class);
-        for (AnalogOperation analogOperation : this.allAnalogOperations)
+        if (this.inputJournal != null)
         {
-            AnalogOperationState opState = this.analogOperationStateMap.get(analogOperation);
-            boolean receivedInput = this.currentMode != RobotMode.Autonomous && opState.checkInput(this.joysticks, activeShifts);
-            if (receivedInput)
-            {
-                modifiedAnalogOperations.add(analogOperation);
-            }
+            this.inputJournal.recordFrame(this.inputFrame);
+        }
 
-            if (this.analogOperationStateMap.get(analogOperation).getIsInterrupted())
-            {
-                interruptedAnalogOperations.add(analogOperation);
-            }
+        if (this.latencyTracker != null)
+        {
+            this.latencyTracker.startUpdate();
         }
 
-        // check user inputs for various digital operations and keep track of:
-        // operations that were interrupted already, and operations that were modified by user input in this update
-        EnumSet<DigitalOperation> modifiedDigitalOperations = EnumSet.noneOf(DigitalOperation.class);
-        EnumSet<DigitalOperation> interruptedDigitalOperations = EnumSet.noneOf(DigitalOperation.class);
-        for (DigitalOperation digitalOperation : this.allDigitalOperations)
+        // check inputs and update shifts based on it...
+        this.activeShifts.clear();
+        for (int i = 0; i < this.shiftDescriptions.length; i++)
         {
-            DigitalOperationState opState = this.digitalOperationStateMap.get(digitalOperation);
-            boolean receivedInput = this.currentMode != RobotMode.Autonomous && opState.checkInput(this.joysticks, activeShifts);
-            if (receivedInput)
+            ShiftDescription shiftDescription = this.shiftDescriptions[i];
+            if (shiftDescription != null && this.currentMode != RobotMode.Autonomous && shiftDescription.checkInput(this.inputFrame))
             {
-                modifiedDigitalOperations.add(digitalOperation);
+                this.activeShifts.set(i);
             }
+        }
 
-            if (this.digitalOperationStateMap.get(digitalOperation).getIsInterrupted())
-            {
-                interruptedDigitalOperations.add(digitalOperation);
-            }
+        // find the digital and macro operations whose input changed, as the others will have the same result as in the previous update...
+        if (this.currentMode != RobotMode.Autonomous)
+        {
+            this.dispatchTable.update(this.inputFrame, this.activeShifts, this.changedDigitalOperations, this.changedMacroOperations);
+        }
+        else
+        {
+            // input isn't checked during autonomous, so check everything once it is checked again
+            this.dispatchTable.invalidate();
+            this.modifiedDigitalOperations.clear();
         }
 
-        // check user inputs for various macro operations
-        // also keep track of modified and active macro operations, and how macro operations and operations link together
-        EnumSet<MacroOperation> activeMacroOperations = EnumSet.noneOf(MacroOperation.class);
-        EnumMap<AnalogOperation, EnumSet<MacroOperation>> activeMacroAnalogOperationMap = new EnumMap<AnalogOperation, EnumSet<MacroOperation>>(AnalogOperation.class);
-        EnumMap<DigitalOperation, EnumSet<MacroOperation>> activeMacroDigitalOperationMap = new EnumMap<DigitalOperation, EnumSet<MacroOperation>>(DigitalOperation.class);
-        for (MacroOperation macroOperation : this.macroStateMap.keySet())
+        // check user inputs for various analog operations and keep track of operations that were modified by user input in this update
+        this.modifiedAnalogOperations.clear();
+        for (int i = 0; i < this.analogOperationStates.length; i++)
         {
-            IMacroOperationState macroState = this.macroStateMap.get(macroOperation);
-            if (this.currentMode != RobotMode.Autonomous)
+            AnalogOperationState opState = this.analogOperationStates[i];
+            boolean receivedInput = this.currentMode != RobotMode.Autonomous && opState.checkInput(this.inputFrame, this.activeShifts);
+            if (receivedInput)
             {
-                macroState.checkInput(this.joysticks, activeShifts);
+                this.modifiedAnalogOperations.set(i);
             }
+        }
 
-            if (macroState.getIsActive())
+        // check user inputs for various digital operations and keep track of operations that were modified by user input in this update
+        // (an operation that isn't checked was modified in this update exactly when it was modified in the previous update)
+        if (this.currentMode != RobotMode.Autonomous)
+        {
+            for (int i = 0; i < this.digitalOperationStates.length; i++)
             {
-                activeMacroOperations.add(macroOperation);
-
-                for (AnalogOperation affectedAnalogOperation : macroState.getMacroCancelAnalogOperations())
+                DigitalOperationState opState = this.digitalOperationStates[i];
+                if (this.changedDigitalOperations.get(i) || opState.needsInputCheck())
                 {
-                    EnumSet<MacroOperation> relevantMacroOperations = activeMacroAnalogOperationMap.get(affectedAnalogOperation);
-                    if (relevantMacroOperations == null)
+                    if (opState.checkInput(this.inputFrame, this.activeShifts))
                     {
-                        relevantMacroOperations = EnumSet.noneOf(MacroOperation.class);
-                        activeMacroAnalogOperationMap.put(affectedAnalogOperation, relevantMacroOperations);
+                        this.modifiedDigitalOperations.set(i);
                     }
-
-                    relevantMacroOperations.add(macroOperation);
-                }
-
-                for (DigitalOperation affectedDigitalOperation : macroState.getMacroCancelDigitalOperations())
-                {
-                    EnumSet<MacroOperation> relevantMacroOperations = activeMacroDigitalOperationMap.get(affectedDigitalOperation);
-                    if (relevantMacroOperations == null)
+                    else
                     {
-                        relevantMacroOperations = EnumSet.noneOf(MacroOperation.class);
-                        activeMacroDigitalOperationMap.put(affectedDigitalOperation, relevantMacroOperations);
+                        this.modifiedDigitalOperations.clear(i);
                     }
-
-                    relevantMacroOperations.add(macroOperation);
                 }
             }
         }
 
+        // check user inputs for various macro operations, and keep track of the active macro operations
+        this.activeMacroOperations.clear();
+        for (int macroOrdinal = 0; macroOrdinal < this.macroStates.length; macroOrdinal++)
+        {
+            IMacroOperationState macroState = this.macroStates[macroOrdinal];
+            if (macroState == null)
+            {
+                continue;
+            }
+
+            if (this.currentMode != RobotMode.Autonomous &&
+                (this.changedMacroOperations.get(macroOrdinal) || macroState.needsInputCheck()))
+            {
+                macroState.checkInput(this.inputFrame, this.activeShifts);
+            }
+
+            if (macroState.getIsActive())
+            {
+                this.activeMacroOperations.set(macroOrdinal);
+            }
+        }
+
         // Determine the list of macro operations to cancel.  Only keep macros that:
         // 1. have not been usurped by a user action
         // 2. have not been usurped by a new macro (i.e. that was started in this round)
         // 3. are new macros that do not overlap with other new macros
-        EnumSet<MacroOperation> macroOperationsToCancel = EnumSet.noneOf(MacroOperation.class);
+        // Two active macros conflict when they cancel any of the same operations.  For each operation, all of the previously
+        // active macros are usurped when any other active macro shares the operation (rule #2, or rule #3 if there are
+        // 2 or more new ones), and new macros are only usurped when another new macro shares the operation (rule #3).
+        this.macroOperationsToCancel.clear();
 
-        // first perform checks for analog operations:
-        for (AnalogOperation operation : activeMacroAnalogOperationMap.keySet())
+        // rule #1: cancel the active macros that affect an operation that was modified by user input
+        for (int i = this.modifiedAnalogOperations.nextSetBit(0); i >= 0; i = this.modifiedAnalogOperations.nextSetBit(i + 1))
         {
-            EnumSet<MacroOperation> relevantMacroOperations = activeMacroAnalogOperationMap.get(operation);
-            if (modifiedAnalogOperations.contains(operation))
-            {
-                // disobeys rule #1:
-                // (macro usurped by user action)
-                macroOperationsToCancel.addAll(relevantMacroOperations);
-            }
-            else if (SetHelper.<MacroOperation>Count(relevantMacroOperations) > 1)
-            {
-                EnumSet<MacroOperation> newRelevantMacroOperations = SetHelper.<MacroOperation>RelativeComplement(previouslyActiveMacroOperations, relevantMacroOperations);
-                if (SetHelper.<MacroOperation>Count(newRelevantMacroOperations) > 1)
-                {
-                    // disobeys rule #3:
-                    // (there are 2 or more active macros that weren't previously active)
-                    macroOperationsToCancel.addAll(relevantMacroOperations);
-                }
-                else
-                {
-                    // some disobey rule #2 (remove only those that were previously active, and not the 1 that is newly active...)
-                    ExceptionHelpers.Assert(!newRelevantMacroOperations.isEmpty(), "how did we end up with conflicting relevant macros for %s when there are no new ones (among %s)?", operation, relevantMacroOperations);
-                    macroOperationsToCancel.addAll(SetHelper.<MacroOperation>RelativeComplement(newRelevantMacroOperations, relevantMacroOperations));
-                }
-            }
+            this.macroOperationsToCancel.or(this.macroConflicts.getAnalogOperationMacros(i));
         }
 
-        // and then for digital operations:
-        for (DigitalOperation operation : activeMacroDigitalOperationMap.keySet())
+        for (int i = this.modifiedDigitalOperations.nextSetBit(0); i >= 0; i = this.modifiedDigitalOperations.nextSetBit(i + 1))
         {
-            EnumSet<MacroOperation> relevantMacroOperations = activeMacroDigitalOperationMap.get(operation);
-            if (modifiedDigitalOperations.contains(operation))
-            {
-                // disobeys rule #1:
-                // (macro usurped by user action)
-                macroOperationsToCancel.addAll(relevantMacroOperations);
-            }
-            else if (SetHelper.<MacroOperation>Count(relevantMacroOperations) > 1)
+            this.macroOperationsToCancel.or(this.macroConflicts.getDigitalOperationMacros(i));
+        }
+
+        this.macroOperationsToCancel.and(this.activeMacroOperations);
+
+        // rules #2 and #3: cancel previously active macros that conflict with any other active macro, and new macros
+        // that conflict with any other new macro
+        this.newMacroOperations.copyFrom(this.activeMacroOperations);
+        this.newMacroOperations.andNot(this.previouslyActiveMacroOperations);
+        this.oldMacroOperations.copyFrom(this.activeMacroOperations);
+        this.oldMacroOperations.andNot(this.newMacroOperations);
+        for (int i = this.activeMacroOperations.nextSetBit(0); i >= 0; i = this.activeMacroOperations.nextSetBit(i + 1))
+        {
+            OrdinalBitSet conflictingMacroOperations = this.macroConflicts.getConflictingMacros(i);
+            if (this.newMacroOperations.get(i))
             {
-                EnumSet<MacroOperation> newRelevantMacroOperations = SetHelper.<MacroOperation>RelativeComplement(previouslyActiveMacroOperations, relevantMacroOperations);
-                if (SetHelper.<MacroOperation>Count(newRelevantMacroOperations) > 1)
+                if (conflictingMacroOperations.intersects(this.newMacroOperations))
                 {
-                    // disobeys rule #3:
-                    // (there are 2 or more active macros that weren't previously active)
-                    macroOperationsToCancel.addAll(relevantMacroOperations);
+                    this.macroOperationsToCancel.set(i);
                 }
-                else
+            }
+            else if (conflictingMacroOperations.intersects(this.activeMacroOperations))
+            {
+                if (!conflictingMacroOperations.intersects(this.newMacroOperations))
                 {
-                    // some disobey rule #2 (remove only those that were previously active, and not the 1 that is newly active...)
-                    ExceptionHelpers.Assert(!newRelevantMacroOperations.isEmpty(), "how did we end up with conflicting relevant macros for %s when there are no new ones (among %s)?", operation, relevantMacroOperations);
-                    macroOperationsToCancel.addAll(SetHelper.<MacroOperation>RelativeComplement(newRelevantMacroOperations, relevantMacroOperations));
+                    ExceptionHelpers.Assert(false, "how did we end up with conflicting macros for %s when there are no new ones (among %s)?", this.allMacroOperations[i], this.oldMacroOperations.toString(this.allMacroOperations));
                 }
+
+                this.macroOperationsToCancel.set(i);
             }
         }
 
         // cancel macros that didn't follow the rules list above
-        for (MacroOperation macroOperationToCancel : macroOperationsToCancel)
+        for (int i = this.macroOperationsToCancel.nextSetBit(0); i >= 0; i = this.macroOperationsToCancel.nextSetBit(i + 1))
         {
-            this.macroStateMap.get(macroOperationToCancel).setIsInterrupted(true);
-            activeMacroOperations.remove(macroOperationToCancel);
+            this.macroStates[i].setIsInterrupted(true);
         }
 
-        // first, run all of the inactive macros (to clear any old interrupts)...
-        EnumSet<MacroOperation> inactiveMacroOperations = SetHelper.<MacroOperation>RelativeComplement(activeMacroOperations, this.macroStateMap.keySet());
-        for (MacroOperation macroOperation : inactiveMacroOperations)
+        this.activeMacroOperations.andNot(this.macroOperationsToCancel);
+        if (this.latencyTracker != null)
         {
-            this.macroStateMap.get(macroOperation).run();
+            this.latencyTracker.startMacros(this.newMacroOperations, this.activeMacroOperations);
         }
 
-        // second, run all of the active macros (which could add interrupts that were cleared in the previous phase)...
-        // while we're doing that, grab the names of the macros for logging
-        String macroString = "";
-        int activeMacroCount = activeMacroOperations.size();
-        if (activeMacroCount > 0)
-        {
-            int i = 0;
-            String[] macroStrings = new String[activeMacroCount];
-            for (MacroOperation macroOperation : activeMacroOperations)
+        // first, run all of the inactive macros (to clear any old interrupts)...
+        for (int i = 0; i < this.macroStates.length; i++)
+        {
+            IMacroOperationState macroState = this.macroStates[i];
+            if (macroState != null && !this.activeMacroOperations.get(i))
             {
-                macroStrings[i++] = macroOperation.toString();
-                this.macroStateMap.get(macroOperation).run();
+                macroState.run();
             }
+        }
+
+        // second, run all of the active macros (which could add interrupts that were cleared in the previous phase)...
+        for (int i = this.activeMacroOperations.nextSetBit(0); i >= 0; i = this.activeMacroOperations.nextSetBit(i + 1))
+        {
+            this.macroStates[i].run();
+        }
+
+        // tag the operations that changed, so that we can measure how long it takes for the mechanisms to read them
+        if (this.latencyTracker != null)
+        {
+            this.latencyTracker.endUpdate(this.analogOperationStates, this.digitalOperationStates, this.macroConflicts, this.activeMacroOperations);
+            this.latencyTracker.log(this.logger);
+        }
+
+        // only re-format the names of the active macros and shifts for logging when they change
+        if (!this.loggedMacroOperations.equals(this.activeMacroOperations))
+        {
+            this.loggedMacroOperations.copyFrom(this.activeMacroOperations);
+            String macrosString = this.loggedMacroOperations.toString(this.allMacroOperations);
+            this.loggedMacrosString = macrosString.substring(1, macrosString.length() - 1);
+        }
 
-            macroString = String.join(", ", macroStrings);
+        if (!this.loggedShifts.equals(this.activeShifts))
+        {
+            this.loggedShifts.copyFrom(this.activeShifts);
+            this.loggedShiftsString = this.loggedShifts.toString(this.allShifts);
         }
 
-        this.logger.logString(LoggingKey.DriverActiveMacros, macroString);
-        this.logger.logString(LoggingKey.DriverActiveShifts, activeShifts.toString());
+        this.logger.logString(LoggingKey.DriverActiveMacros, this.loggedMacrosString);
+        this.logger.logString(LoggingKey.DriverActiveShifts, this.loggedShiftsString);
     }
 
     /**
@@ -367,28 +452,41 @@ public class Driver implements IDriver
     public void stop()
     {
         this.currentMode = RobotMode.Disabled;
+        this.dispatchTable.invalidate();
+        if (this.inputJournal != null)
+        {
+            this.inputJournal.recordMode(RobotMode.Disabled);
+            this.inputJournal.flush();
+        }
 
-        if (this.macroStateMap.containsKey(MacroOperation.AutonomousRoutine))
+        if (this.latencyTracker != null)
         {
-            this.macroStateMap.remove(MacroOperation.AutonomousRoutine);
+            this.latencyTracker.dump(this.logger);
         }
 
+        TaskProfiler.dump(this.logger);
+
+        this.macroStates[MacroOperation.AutonomousRoutine.ordinal()] = null;
+
         // cancel all interruption of buttons:
-        for (AnalogOperationState state : this.analogOperationStateMap.values())
+        for (AnalogOperationState state : this.analogOperationStates)
         {
             state.setIsInterrupted(false);
         }
 
         // cancel all interruption of buttons:
-        for (DigitalOperationState state : this.digitalOperationStateMap.values())
+        for (DigitalOperationState state : this.digitalOperationStates)
         {
             state.setIsInterrupted(false);
         }
 
         // cancel all ongoing macros:
-        for (IMacroOperationState macroOperationState : this.macroStateMap.values())
+        for (IMacroOperationState macroOperationState : this.macroStates)
         {
-            macroOperationState.cancel();
+            if (macroOperationState != null)
+            {
+                macroOperationState.cancel();
+            }
         }
     }
 
@@ -400,14 +498,57 @@ public class Driver implements IDriver
     public void startMode(RobotMode mode)
     {
         this.currentMode = mode;
+        if (this.inputJournal != null)
+        {
+            this.inputJournal.recordMode(mode);
+        }
 
-        this.autonomousTask = this.routineSelector.selectRoutine(mode);
+        this.autonomousTask = TaskProfiler.wrap(this.routineSelector.selectRoutine(mode));
         if (this.autonomousTask != null)
         {
-            this.autonomousTask.initialize(this.analogOperationStateMap, this.digitalOperationStateMap, injector);
-            this.macroStateMap.put(
-                MacroOperation.AutonomousRoutine,
-                new AutonomousOperationState(this.autonomousTask, this.analogOperationStateMap, this.digitalOperationStateMap));
+            // compare the tasks within the profiler's wrappers, as its wrappers are discarded each time it is dumped
+            if (this.preparedRoutine != null && TaskProfiler.unwrap(this.autonomousTask) == TaskProfiler.unwrap(this.preparedRoutine))
+            {
+                // the routine was already initialized while we were disabled
+                this.autonomousTask = this.preparedRoutine;
+                this.macroStates[MacroOperation.AutonomousRoutine.ordinal()] = this.preparedRoutineState;
+            }
+            else
+            {
+                this.autonomousTask.initialize(this.analogOperationStates, this.digitalOperationStates, injector);
+                this.macroStates[MacroOperation.AutonomousRoutine.ordinal()] =
+                    new AutonomousOperationState(this.autonomousTask, this.analogOperationStates, this.digitalOperationStates);
+            }
+        }
+
+        this.preparedRoutine = null;
+        this.preparedRoutineState = null;
+    }
+
+    /**
+     * Prepare for the next mode while the robot is disabled, by building and initializing the selected autonomous routine
+     * (when the selections have changed), so that starting autonomous only needs to swap it in
+     */
+    @Override
+    public void prepare()
+    {
+        if (!TuningConstants.AUTONOMOUS_PREPARE_WHILE_DISABLED)
+        {
+            return;
+        }
+
+        IControlTask routine = this.routineSelector.prepareRoutine();
+        if (routine == null)
+        {
+            this.preparedRoutine = null;
+            this.preparedRoutineState = null;
+        }
+        else if (routine != TaskProfiler.unwrap(this.preparedRoutine))
+        {
+            routine = TaskProfiler.wrap(routine);
+            routine.initialize(this.analogOperationStates, this.digitalOperationStates, this.injector);
+            this.preparedRoutine = routine;
+            this.preparedRoutineState = new AutonomousOperationState(routine, this.analogOperationStates, this.digitalOperationStates);
         }
     }
 
@@ -418,8 +559,13 @@ public class Driver implements IDriver
      */
     public boolean getDigital(DigitalOperation digitalOperation)
     {
-        DigitalOperationState state = this.digitalOperationStateMap.get(digitalOperation);
-        return state.getState();
+        int ordinal = digitalOperation.ordinal();
+        if (this.latencyTracker != null)
+        {
+            this.latencyTracker.readDigital(ordinal);
+        }
+
+        return this.digitalOperationStates[ordinal].getState();
     }
 
     /**
@@ -429,8 +575,31 @@ public class Driver implements IDriver
      */
     public double getAnalog(AnalogOperation analogOperation)
     {
-        AnalogOperationState state = this.analogOperationStateMap.get(analogOperation);
-        return state.getState();
+        int ordinal = analogOperation.ordinal();
+        if (this.latencyTracker != null)
+        {
+            this.latencyTracker.readAnalog(ordinal);
+        }
+
+        return this.analogOperationStates[ordinal].getState();
+    }
+
+    /**
+     * Note the POV or axis (if any) that an input uses, so that the input frame reads it in each update
+     * @param device that has the input
+     * @param button of the input (or POV or ANALOG_AXIS_RANGE)
+     * @param axis of the input, if the button is ANALOG_AXIS_RANGE
+     */
+    private void useInput(UserInputDevice device, UserInputDeviceButton button, AnalogAxis axis)
+    {
+        if (button == UserInputDeviceButton.POV)
+        {
+            this.inputFrame.usePov(device);
+        }
+        else if (button == UserInputDeviceButton.ANALOG_AXIS_RANGE)
+        {
+            this.inputFrame.useAxis(device, axis);
+        }
     }
 
     /**
@@ -1,11 +1,7 @@
 package frc.lib.driver;
 
-import java.util.EnumMap;
-
 import frc.lib.driver.states.AnalogOperationState;
 import frc.lib.driver.states.DigitalOperationState;
-import frc.robot.driver.AnalogOperation;
-import frc.robot.driver.DigitalOperation;
 
 import com.google.inject.Injector;
 
@@ -16,14 +12,14 @@ import com.google.inject.Injector;
 public interface IControlTask
 {
     /**
-     * Initialize the task with the mapping of operations to states
-     * @param analogOperationStateMap indicating the mapping of an analog operation to its current state
-     * @param digitalOperationStateMap indicating the mapping of a digital operation to its current state
+     * Initialize the task with the states of the operations
+     * @param analogOperationStates indicating the current state of each analog operation (indexed by ordinal)
+     * @param digitalOperationStates indicating the current state of each digital operation (indexed by ordinal)
      * @param injector used to retrieve components to utilize for making any decisions
      */
     public void initialize(
-        EnumMap<AnalogOperation, AnalogOperationState> analogOperationStateMap,
-        EnumMap<DigitalOperation, DigitalOperationState> digitalOperationStateMap,
+        AnalogOperationState[] analogOperationStates,
+        DigitalOperationState[] digitalOperationStates,
         Injector injector);
 
     /**
@@ -57,4 +53,18 @@ public interface IControlTask
      * @return true if we should cancel this task (and stop performing any subsequent tasks), otherwise false (to keep processing this task)
      */
     public boolean shouldCancel();
+
+    /**
+     * Resets the task after it has ended or stopped, so that it can be initialized and begun again (rather than constructing a new task).
+     * @return true if the task was reset and can be reused, otherwise false (to construct a new task instead)
+     */
+    public boolean reset();
+
+    /**
+     * Adds the operations that this task requires (i.e. sets the interrupt state of) to the requirements, so that conflicts
+     * with other tasks can be checked with a few bitwise operations before the task runs.
+     * @param requirements to add the operations to
+     * @return true if all of the operations that the task could set were added, otherwise false (e.g. for a task that decides what to do while it runs)
+     */
+    public boolean addRequirements(OperationRequirements requirements);
 }
@@ -31,6 +31,11 @@ public interface IDriver
      */
     public void startMode(RobotMode mode);
 
+    /**
+     * Prepare for the next mode while the robot is disabled (e.g. build the autonomous routine ahead of time)
+     */
+    public void prepare();
+
     /**
      * Get a boolean indicating whether the current digital operation is enabled
      * @param digitalOperation to get
@@ -0,0 +1,205 @@
+package frc.lib.driver;
+
+import frc.lib.driver.descriptions.UserInputDevice;
+import frc.lib.robotprovider.IJoystick;
+
+/**
+ * Snapshot of the user input devices for a single update, read once per device at the start of the update so that
+ * checking each operation's input doesn't go back to the joystick (and across the HAL/JNI boundary) again.
+ *
+ * Only the axes (and POVs) that are used are read, because asking a joystick for an axis it doesn't have causes warnings.
+ */
+public class InputFrame
+{
+    private static final int MAX_AXIS_COUNT = 12;
+
+    private final int[] usedAxes; // bitmask of the axes to read, for each device
+    private final boolean[] usesPov; // whether to read the POV, for each device
+
+    private final boolean[] connected;
+    private final int[] buttons; // bitmask of the pressed buttons, with button n at bit (n - 1)
+    private final double[][] axes;
+    private final int[] pov;
+
+    /**
+     * Initializes a new instance of the InputFrame class
+     */
+    public InputFrame()
+    {
+        int deviceCount = UserInputDevice.MaxCount.getId();
+        this.usedAxes = new int[deviceCount];
+        this.usesPov = new boolean[deviceCount];
+        this.connected = new boolean[deviceCount];
+        this.buttons = new int[deviceCount];
+        this.axes = new double[deviceCount][InputFrame.MAX_AXIS_COUNT];
+        this.pov = new int[deviceCount];
+        for (int i = 0; i < deviceCount; i++)
+        {
+            this.pov[i] = -1;
+        }
+    }
+
+    /**
+     * Note that an axis of a device is used, so that it will be read in each update
+     * @param device that has the axis
+     * @param axis that is used
+     */
+    public void useAxis(UserInputDevice device, AnalogAxis axis)
+    {
+        if (device != UserInputDevice.None && axis != null && axis != AnalogAxis.NONE)
+        {
+            this.usedAxes[device.getId()] |= (1 << axis.Value);
+        }
+    }
+
+    /**
+     * Note that the POV of a device is used, so that it will be read in each update
+     * @param device that has the POV
+     */
+    public void usePov(UserInputDevice device)
+    {
+        if (device != UserInputDevice.None)
+        {
+            this.usesPov[device.getId()] = true;
+        }
+    }
+
+    /**
+     * Get which axes of a device are read in each update
+     * @param device that has the axes
+     * @return bitmask of the used axes, with axis n at bit n
+     */
+    public int getUsedAxes(UserInputDevice device)
+    {
+        return this.usedAxes[device.getId()];
+    }
+
+    /**
+     * Check whether the POV of a device is read in each update
+     * @param device that has the POV
+     * @return true if the POV is used
+     */
+    public boolean usesPov(UserInputDevice device)
+    {
+        return this.usesPov[device.getId()];
+    }
+
+    /**
+     * Read the current state of each joystick
+     * @param joysticks to read, indexed by device id (null for devices that aren't used)
+     */
+    public void update(IJoystick[] joysticks)
+    {
+        for (int device = 0; device < this.connected.length; device++)
+        {
+            IJoystick joystick = joysticks[device];
+            boolean isConnected = joystick != null && joystick.isConnected();
+            this.connected[device] = isConnected;
+
+            double[] deviceAxes = this.axes[device];
+            if (!isConnected)
+            {
+                this.buttons[device] = 0;
+                this.pov[device] = -1;
+                for (int axis = 0; axis < deviceAxes.length; axis++)
+                {
+                    deviceAxes[axis] = 0.0;
+                }
+
+                continue;
+            }
+
+            this.buttons[device] = joystick.getButtons();
+            this.pov[device] = this.usesPov[device] ? joystick.getPOV() : -1;
+
+            int usedAxes = this.usedAxes[device];
+            for (int axis = 0; axis < deviceAxes.length; axis++)
+            {
+                deviceAxes[axis] = (usedAxes & (1 << axis)) != 0 ? joystick.getAxis(axis) : 0.0;
+            }
+        }
+    }
+
+    /**
+     * Check whether a device was connected
+     * @param device to check
+     * @return true if the device was connected
+     */
+    public boolean isConnected(UserInputDevice device)
+    {
+        return device != UserInputDevice.None && this.connected[device.getId()];
+    }
+
+    /**
+     * Check whether a button was pressed
+     * @param device that has the button
+     * @param button number (starting at 1)
+     * @return true if the button was pressed
+     */
+    public boolean getButton(UserInputDevice device, int button)
+    {
+        return (this.buttons[device.getId()] & (1 << (button - 1))) != 0;
+    }
+
+    /**
+     * Get which buttons were pressed
+     * @param device that has the buttons
+     * @return bitmask of the pressed buttons, with button n at bit (n - 1)
+     */
+    public int getButtons(UserInputDevice device)
+    {
+        return this.buttons[device.getId()];
+    }
+
+    /**
+     * Get the value of an axis (which must have been marked as used)
+     * @param device that has the axis
+     * @param axis to get
+     * @return the value of the axis, between -1.0 and 1.0
+     */
+    public double getAxis(UserInputDevice device, int axis)
+    {
+        return this.axes[device.getId()][axis];
+    }
+
+    /**
+     * Get the value of the POV (which must have been marked as used)
+     * @param device that has the POV
+     * @return -1 if unpressed, otherwise a value indicating the direction
+     */
+    public int getPOV(UserInputDevice device)
+    {
+        return this.pov[device.getId()];
+    }
+
+    /**
+     * Check whether the button, POV value or axis range that describes an input is pressed
+     * @param device that has the input
+     * @param button to check (or POV or ANALOG_AXIS_RANGE)
+     * @param povValue to compare to the POV, if the button is POV
+     * @param axis to compare to the range, if the button is ANALOG_AXIS_RANGE
+     * @param rangeMin minimum value of the axis, if the button is ANALOG_AXIS_RANGE
+     * @param rangeMax maximum value of the axis, if the button is ANALOG_AXIS_RANGE
+     * @return true if the input is pressed
+     */
+    public boolean isPressed(UserInputDevice device, UserInputDeviceButton button, int povValue, AnalogAxis axis, double rangeMin, double rangeMax)
+    {
+        if (button == UserInputDeviceButton.POV)
+        {
+            return this.getPOV(device) == povValue;
+        }
+        else if (button == UserInputDeviceButton.ANALOG_AXIS_RANGE)
+        {
+            double value = this.getAxis(device, axis.Value);
+            return value >= rangeMin && value <= rangeMax;
+        }
+        else if (button != UserInputDeviceButton.NONE)
+        {
+            return this.getButton(device, button.Value);
+        }
+        else
+        {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package frc.lib.driver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import frc.lib.driver.descriptions.UserInputDevice;
+import frc.lib.robotprovider.IFileWriter;
+import frc.lib.robotprovider.RobotMode;
+
+/**
+ * Journal that records the driver's input (the InputFrame read in each update) and the robot mode transitions into a
+ * compact binary file, so that a match's exact input sequence can be played back later (see InputJournalReader).
+ *
+ * The file starts with a header:
+ *   int magic ("IRSJ"), short version, short device count,
+ *   then for each device (by id): int bitmask of the used axes, byte whether the POV is used.
+ * After the header, the file is a sequence of records:
+ *   'M' byte mode (RobotMode ordinal) - the driver started a mode (or stopped, for Disabled)
+ *   'F' frame - for each device: byte connected, int buttons bitmask, then short POV (if used) and float per used axis
+ */
+public class InputJournal
+{
+    public static final int MAGIC = 0x4952534A; // "IRSJ"
+    public static final short VERSION = 1;
+    public static final String FILE_EXTENSION = "irsinput";
+
+    public static final byte MODE_RECORD = 'M';
+    public static final byte FRAME_RECORD = 'F';
+
+    private final IFileWriter fileWriter;
+
+    private final UserInputDevice[] devices; // indexed by id
+    private final int[] usedAxes;
+    private final boolean[] usesPov;
+
+    private final byte[] modeRecord;
+    private final byte[] frame;
+    private final ByteBuffer frameBuffer;
+
+    /**
+     * Initializes a new instance of the InputJournal class, writing the header for the axes and POVs used by the input frame
+     * @param fileWriter to write into
+     * @param inputFrame that will be recorded (with all of its used axes and POVs already marked)
+     * @throws IOException
+     */
+    public InputJournal(IFileWriter fileWriter, InputFrame inputFrame) throws IOException
+    {
+        this.fileWriter = fileWriter;
+
+        int deviceCount = UserInputDevice.MaxCount.getId();
+        this.devices = new UserInputDevice[deviceCount];
+        this.usedAxes = new int[deviceCount];
+        this.usesPov = new boolean[deviceCount];
+        for (UserInputDevice device : UserInputDevice.values())
+        {
+            if (device != UserInputDevice.None && device != UserInputDevice.MaxCount)
+            {
+                int id = device.getId();
+                this.devices[id] = device;
+                this.usedAxes[id] = inputFrame.getUsedAxes(device);
+                this.usesPov[id] = inputFrame.usesPov(device);
+            }
+        }
+
+        this.modeRecord = new byte[] { InputJournal.MODE_RECORD, 0 };
+        this.frame = new byte[InputJournal.getFrameLength(this.usedAxes, this.usesPov)];
+        this.frame[0] = InputJournal.FRAME_RECORD;
+        this.frameBuffer = ByteBuffer.wrap(this.frame);
+
+        ByteBuffer header = ByteBuffer.allocate(8 + 5 * deviceCount);
+        header.putInt(InputJournal.MAGIC);
+        header.putShort(InputJournal.VERSION);
+        header.putShort((short)deviceCount);
+        for (int i = 0; i < deviceCount; i++)
+        {
+            header.putInt(this.usedAxes[i]);
+            header.put(this.usesPov[i] ? (byte)1 : (byte)0);
+        }
+
+        this.fileWriter.write(header.array(), 0, header.position());
+        this.fileWriter.flush();
+    }
+
+    /**
+     * Retrieve the length of a frame record for the provided layout
+     * @param usedAxes bitmask of the used axes for each device
+     * @param usesPov whether the POV is used for each device
+     * @return number of bytes in the frame record (including the record type)
+     */
+    private static int getFrameLength(int[] usedAxes, boolean[] usesPov)
+    {
+        int length = 1;
+        for (int i = 0; i < usedAxes.length; i++)
+        {
+            length += 5 + (usesPov[i] ? 2 : 0) + 4 * Integer.bitCount(usedAxes[i]);
+        }
+
+        return length;
+    }
+
+    /**
+     * Record that the driver started a mode
+     * @param mode that was started (Disabled when the driver stopped)
+     */
+    public void recordMode(RobotMode mode)
+    {
+        this.modeRecord[1] = (byte)mode.ordinal();
+        try
+        {
+            this.fileWriter.write(this.modeRecord, 0, this.modeRecord.length);
+        }
+        catch (IOException e)
+        {
+            // best-effort...
+        }
+    }
+
+    /**
+     * Record the input read in an update
+     * @param inputFrame to record
+     */
+    public void recordFrame(InputFrame inputFrame)
+    {
+        this.frameBuffer.position(1);
+        for (int i = 0; i < this.devices.length; i++)
+        {
+            UserInputDevice device = this.devices[i];
+            boolean connected = inputFrame.isConnected(device);
+            this.frameBuffer.put(connected ? (byte)1 : (byte)0);
+            this.frameBuffer.putInt(inputFrame.getButtons(device));
+            if (this.usesPov[i])
+            {
+                this.frameBuffer.putShort((short)inputFrame.getPOV(device));
+            }
+
+            int axes = this.usedAxes[i];
+            while (axes != 0)
+            {
+                int axis = Integer.numberOfTrailingZeros(axes);
+                axes &= axes - 1;
+                this.frameBuffer.putFloat((float)inputFrame.getAxis(device, axis));
+            }
+        }
+
+        try
+        {
+            this.fileWriter.write(this.frame, 0, this.frame.length);
+        }
+        catch (IOException e)
+        {
+            // best-effort...
+        }
+    }
+
+    /**
+     * Flush the journal, so that the recorded input survives a power-off
+     */
+    public void flush()
+    {
+        try
+        {
+            this.fileWriter.flush();
+        }
+        catch (IOException e)
+        {
+            // best-effort...
+        }
+    }
+
+    /**
+     * Close the journal when it is no longer used
+     */
+    public void close()
+    {
+        try
+        {
+            this.fileWriter.flush();
+            this.fileWriter.close();
+        }
+        catch (IOException e)
+        {
+            // best-effort...
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package frc.lib.driver;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import frc.lib.robotprovider.CompressedFileWriter;
+import frc.lib.robotprovider.RobotMode;
+
+/**
+ * Reader for journals written by the InputJournal, one record at a time.
+ */
+public class InputJournalReader implements AutoCloseable
+{
+    private final DataInputStream inputStream;
+
+    private final int[] usedAxes; // indexed by device id
+    private final boolean[] usesPov; // indexed by device id
+
+    private final boolean[] connected;
+    private final int[] buttons;
+    private final int[] pov;
+    private final double[][] axes;
+
+    private final RobotMode[] modes;
+    private RobotMode mode;
+    private int frameCount;
+
+    /**
+     * Initializes a new instance of the InputJournalReader class, reading the header from the provided stream
+     * @param inputStream to read from
+     * @throws IOException if the stream doesn't contain an input journal
+     */
+    public InputJournalReader(InputStream inputStream) throws IOException
+    {
+        this.inputStream = new DataInputStream(new BufferedInputStream(inputStream));
+
+        int magic = this.inputStream.readInt();
+        short version = this.inputStream.readShort();
+        if (magic != InputJournal.MAGIC || version != InputJournal.VERSION)
+        {
+            throw new IOException(String.format("Unexpected input journal magic %1$08x or version %2$d", magic, version));
+        }
+
+        int deviceCount = this.inputStream.readShort();
+        this.usedAxes = new int[deviceCount];
+        this.usesPov = new boolean[deviceCount];
+        int maxAxis = 0;
+        for (int i = 0; i < deviceCount; i++)
+        {
+            this.usedAxes[i] = this.inputStream.readInt();
+            this.usesPov[i] = this.inputStream.readByte() != 0;
+            maxAxis = Math.max(maxAxis, 32 - Integer.numberOfLeadingZeros(this.usedAxes[i]));
+        }
+
+        this.connected = new boolean[deviceCount];
+        this.buttons = new int[deviceCount];
+        this.pov = new int[deviceCount];
+        this.axes = new double[deviceCount][maxAxis];
+        for (int i = 0; i < deviceCount; i++)
+        {
+            this.pov[i] = -1;
+        }
+
+        this.modes = RobotMode.values();
+        this.mode = RobotMode.Disabled;
+        this.frameCount = 0;
+    }
+
+    /**
+     * Open an input journal file, which may have been compressed into segments by the CompressedFileWriter
+     * @param fileName of the journal (or its first segment)
+     * @return reader for the journal
+     * @throws IOException if the file doesn't contain an input journal
+     */
+    public static InputJournalReader open(String fileName) throws IOException
+    {
+        if (!fileName.endsWith(".gz"))
+        {
+            return new InputJournalReader(new FileInputStream(fileName));
+        }
+
+        return new InputJournalReader(CompressedFileWriter.openSegments(fileName));
+    }
+
+    /**
+     * Read the next record from the journal, updating either the mode or the input
+     * @return InputJournal.MODE_RECORD or InputJournal.FRAME_RECORD for the type of record that was read, or -1 if we reached the end of the journal
+     * @throws IOException
+     */
+    public int readRecord() throws IOException
+    {
+        int recordType = this.inputStream.read();
+        if (recordType < 0)
+        {
+            return -1;
+        }
+
+        try
+        {
+            if (recordType == InputJournal.MODE_RECORD)
+            {
+                this.mode = this.modes[this.inputStream.readByte()];
+            }
+            else if (recordType == InputJournal.FRAME_RECORD)
+            {
+                for (int i = 0; i < this.usedAxes.length; i++)
+                {
+                    this.connected[i] = this.inputStream.readByte() != 0;
+                    this.buttons[i] = this.inputStream.readInt();
+                    if (this.usesPov[i])
+                    {
+                        this.pov[i] = this.inputStream.readShort();
+                    }
+
+                    int usedAxes = this.usedAxes[i];
+                    while (usedAxes != 0)
+                    {
+                        int axis = Integer.numberOfTrailingZeros(usedAxes);
+                        usedAxes &= usedAxes - 1;
+                        this.axes[i][axis] = this.inputStream.readFloat();
+                    }
+                }
+
+                this.frameCount++;
+            }
+            else
+            {
+                throw new IOException(String.format("Unexpected record type %1$d", recordType));
+            }
+        }
+        catch (EOFException ex)
+        {
+            // journal was truncated (e.g. robot was powered off mid-write)
+            return -1;
+        }
+
+        return recordType;
+    }
+
+    /**
+     * Retrieve the number of devices in the journal
+     * @return the number of devices (indexed by id)
+     */
+    public int getDeviceCount()
+    {
+        return this.usedAxes.length;
+    }
+
+    /**
+     * Retrieve the number of frames read so far
+     * @return the number of frames
+     */
+    public int getFrameCount()
+    {
+        return this.frameCount;
+    }
+
+    /**
+     * Retrieve the most recently started mode
+     * @return the mode
+     */
+    public RobotMode getMode()
+    {
+        return this.mode;
+    }
+
+    /**
+     * Check whether a device was connected in the current frame
+     * @param device id
+     * @return true if the device was connected
+     */
+    public boolean isConnected(int device)
+    {
+        return this.connected[device];
+    }
+
+    /**
+     * Retrieve which buttons were pressed in the current frame
+     * @param device id
+     * @return bitmask of the pressed buttons, with button n at bit (n - 1)
+     */
+    public int getButtons(int device)
+    {
+        return this.buttons[device];
+    }
+
+    /**
+     * Retrieve the POV value in the current frame
+     * @param device id
+     * @return -1 if unpressed (or not used), otherwise a value indicating the direction
+     */
+    public int getPOV(int device)
+    {
+        return this.pov[device];
+    }
+
+    /**
+     * Retrieve which axes were recorded for a device
+     * @param device id
+     * @return bitmask of the used axes, with axis n at bit n
+     */
+    public int getUsedAxes(int device)
+    {
+        return this.usedAxes[device];
+    }
+
+    /**
+     * Retrieve the value of an axis in the current frame
+     * @param device id
+     * @param axis to get
+     * @return the value of the axis (0.0 if not used)
+     */
+    public double getAxis(int device, int axis)
+    {
+        double[] deviceAxes = this.axes[device];
+        if (axis >= deviceAxes.length)
+        {
+            return 0.0;
+        }
+
+        return deviceAxes[axis];
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        this.inputStream.close();
+    }
+}
@@ -0,0 +1,108 @@
+package frc.lib.driver;
+
+import frc.lib.helpers.OrdinalBitSet;
+import frc.robot.driver.AnalogOperation;
+import frc.robot.driver.DigitalOperation;
+
+/**
+ * Precomputed relationships between the macro operations and the operations that they cancel: which macros cancel each
+ * analog/digital operation, and which macros conflict with each other (because they cancel at least one of the same
+ * operations).  This lets the Driver apply its macro cancellation rules with a few bitwise operations over the set of
+ * active macros, rather than re-deriving the relationships in every update.
+ */
+public class MacroConflictMatrix
+{
+    private final OrdinalBitSet[] macrosByAnalogOperation;
+    private final OrdinalBitSet[] macrosByDigitalOperation;
+    private final OrdinalBitSet[] conflictingMacros;
+
+    /**
+     * Initializes a new instance of the MacroConflictMatrix class, with no macros
+     * @param analogCount number of analog operations
+     * @param digitalCount number of digital operations
+     * @param macroCount number of macro operations
+     */
+    public MacroConflictMatrix(int analogCount, int digitalCount, int macroCount)
+    {
+        this.macrosByAnalogOperation = new OrdinalBitSet[analogCount];
+        for (int i = 0; i < analogCount; i++)
+        {
+            this.macrosByAnalogOperation[i] = new OrdinalBitSet(macroCount);
+        }
+
+        this.macrosByDigitalOperation = new OrdinalBitSet[digitalCount];
+        for (int i = 0; i < digitalCount; i++)
+        {
+            this.macrosByDigitalOperation[i] = new OrdinalBitSet(macroCount);
+        }
+
+        this.conflictingMacros = new OrdinalBitSet[macroCount];
+        for (int i = 0; i < macroCount; i++)
+        {
+            this.conflictingMacros[i] = new OrdinalBitSet(macroCount);
+        }
+    }
+
+    /**
+     * Add a macro and the operations that it cancels
+     * @param macro ordinal of the macro operation
+     * @param analogOperations that the macro cancels
+     * @param digitalOperations that the macro cancels
+     */
+    public void addMacro(int macro, AnalogOperation[] analogOperations, DigitalOperation[] digitalOperations)
+    {
+        for (AnalogOperation operation : analogOperations)
+        {
+            this.addOwner(this.macrosByAnalogOperation[operation.ordinal()], macro);
+        }
+
+        for (DigitalOperation operation : digitalOperations)
+        {
+            this.addOwner(this.macrosByDigitalOperation[operation.ordinal()], macro);
+        }
+    }
+
+    /**
+     * Get the macros that cancel an analog operation
+     * @param analogOperation ordinal of the analog operation
+     * @return the macros that cancel the operation
+     */
+    public OrdinalBitSet getAnalogOperationMacros(int analogOperation)
+    {
+        return this.macrosByAnalogOperation[analogOperation];
+    }
+
+    /**
+     * Get the macros that cancel a digital operation
+     * @param digitalOperation ordinal of the digital operation
+     * @return the macros that cancel the operation
+     */
+    public OrdinalBitSet getDigitalOperationMacros(int digitalOperation)
+    {
+        return this.macrosByDigitalOperation[digitalOperation];
+    }
+
+    /**
+     * Get the other macros that cancel at least one of the same operations as a macro
+     * @param macro ordinal of the macro operation
+     * @return the conflicting macros (not including the macro itself)
+     */
+    public OrdinalBitSet getConflictingMacros(int macro)
+    {
+        return this.conflictingMacros[macro];
+    }
+
+    private void addOwner(OrdinalBitSet owners, int macro)
+    {
+        for (int other = owners.nextSetBit(0); other >= 0; other = owners.nextSetBit(other + 1))
+        {
+            if (other != macro)
+            {
+                this.conflictingMacros[other].set(macro);
+                this.conflictingMacros[macro].set(other);
+            }
+        }
+
+        owners.set(macro);
+    }
+}
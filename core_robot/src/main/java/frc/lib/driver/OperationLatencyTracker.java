@@ -0,0 +1,460 @@
+package frc.lib.driver;
+
+import frc.lib.driver.states.AnalogOperationState;
+import frc.lib.driver.states.DigitalOperationState;
+import frc.lib.helpers.FormatHelpers;
+import frc.lib.helpers.OrdinalBitSet;
+import frc.lib.helpers.TimingHistogram;
+import frc.lib.robotprovider.ILogger;
+import frc.robot.LoggingKey;
+import frc.robot.TuningConstants;
+
+/**
+ * Measures how long it takes from the input that changes an operation's state until a mechanism first reads the new
+ * state, both in Driver updates (cycles) and in time, so that we can tell where the control pipeline adds a full loop
+ * of delay (e.g. a macro whose task only sets its operations in the update after it starts).
+ *
+ * Each change in an operation's state is tagged with the cycle (and input time) that caused it: the update that
+ * changed it for user input, or the update that started the macro that is controlling it.  The change is measured
+ * when a mechanism next reads the operation (through Driver.getAnalog/getDigital), and discarded if no mechanism reads
+ * it within OPERATION_LATENCY_MAX_CYCLES.
+ */
+public class OperationLatencyTracker
+{
+    private static final double NANOSECONDS_PER_MILLISECOND = 1000000.0;
+    private static final int SUMMARY_DECIMAL_PLACES = 2;
+
+    private final String[] analogNames;
+    private final String[] digitalNames;
+
+    // when each macro was started (for the tags of the operations that it controls)
+    private final long[] macroStartCycles;
+    private final long[] macroStartTimes;
+
+    // the state of each operation at the end of the previous update
+    private final double[] analogValues;
+    private final boolean[] digitalValues;
+
+    // the tag of each operation's unread change, with a cycle of -1 when there isn't one
+    private final long[] analogChangeCycles;
+    private final long[] analogChangeTimes;
+    private final long[] digitalChangeCycles;
+    private final long[] digitalChangeTimes;
+
+    // the measured changes for each operation
+    private final TimingHistogram[] analogLatencies;
+    private final long[] analogTotalCycles;
+    private final long[] analogMaxCycles;
+    private final TimingHistogram[] digitalLatencies;
+    private final long[] digitalTotalCycles;
+    private final long[] digitalMaxCycles;
+
+    private long cycle;
+    private long inputTime;
+    private int publishCount;
+
+    /**
+     * Initializes a new instance of the OperationLatencyTracker class
+     * @param analogOperations to track, in ordinal order
+     * @param digitalOperations to track, in ordinal order
+     * @param macroCount number of macro operations
+     */
+    public OperationLatencyTracker(Enum<?>[] analogOperations, Enum<?>[] digitalOperations, int macroCount)
+    {
+        this.analogNames = OperationLatencyTracker.getNames(analogOperations);
+        this.digitalNames = OperationLatencyTracker.getNames(digitalOperations);
+
+        this.macroStartCycles = new long[macroCount];
+        this.macroStartTimes = new long[macroCount];
+
+        int analogCount = analogOperations.length;
+        this.analogValues = new double[analogCount];
+        this.analogChangeCycles = new long[analogCount];
+        this.analogChangeTimes = new long[analogCount];
+        this.analogLatencies = new TimingHistogram[analogCount];
+        this.analogTotalCycles = new long[analogCount];
+        this.analogMaxCycles = new long[analogCount];
+        for (int i = 0; i < analogCount; i++)
+        {
+            this.analogLatencies[i] = OperationLatencyTracker.createHistogram();
+        }
+
+        int digitalCount = digitalOperations.length;
+        this.digitalValues = new boolean[digitalCount];
+        this.digitalChangeCycles = new long[digitalCount];
+        this.digitalChangeTimes = new long[digitalCount];
+        this.digitalLatencies = new TimingHistogram[digitalCount];
+        this.digitalTotalCycles = new long[digitalCount];
+        this.digitalMaxCycles = new long[digitalCount];
+        for (int i = 0; i < digitalCount; i++)
+        {
+            this.digitalLatencies[i] = OperationLatencyTracker.createHistogram();
+        }
+
+        this.cycle = 0L;
+        this.publishCount = 0;
+        this.reset();
+    }
+
+    /**
+     * Start a new Driver update, noting when its input was read
+     */
+    public void startUpdate()
+    {
+        this.cycle++;
+        this.inputTime = System.nanoTime();
+    }
+
+    /**
+     * Retrieve the current Driver update
+     * @return the number of updates that have been started
+     */
+    public long getCycle()
+    {
+        return this.cycle;
+    }
+
+    /**
+     * Note the macros that were started in this update
+     * @param newMacros that became active in this update
+     * @param activeMacros that are still active after any were cancelled
+     */
+    public void startMacros(OrdinalBitSet newMacros, OrdinalBitSet activeMacros)
+    {
+        for (int i = newMacros.nextSetBit(0); i >= 0; i = newMacros.nextSetBit(i + 1))
+        {
+            if (activeMacros.get(i))
+            {
+                this.macroStartCycles[i] = this.cycle;
+                this.macroStartTimes[i] = this.inputTime;
+            }
+        }
+    }
+
+    /**
+     * Finish the Driver update, tagging each operation whose state changed in it
+     * @param analogStates of the analog operations (by ordinal)
+     * @param digitalStates of the digital operations (by ordinal)
+     * @param macroConflicts describing the operations that each macro controls
+     * @param activeMacros that are running
+     */
+    public void endUpdate(
+        AnalogOperationState[] analogStates,
+        DigitalOperationState[] digitalStates,
+        MacroConflictMatrix macroConflicts,
+        OrdinalBitSet activeMacros)
+    {
+        for (int i = 0; i < analogStates.length; i++)
+        {
+            AnalogOperationState state = analogStates[i];
+            double value = state.getState();
+            if (value != this.analogValues[i])
+            {
+                this.analogValues[i] = value;
+                if (this.analogChangeCycles[i] < 0L)
+                {
+                    int macro = state.getIsInterrupted() ? this.getLatestMacro(macroConflicts.getAnalogOperationMacros(i), activeMacros) : -1;
+                    this.analogChangeCycles[i] = macro >= 0 ? this.macroStartCycles[macro] : this.cycle;
+                    this.analogChangeTimes[i] = macro >= 0 ? this.macroStartTimes[macro] : this.inputTime;
+                }
+            }
+            else if (this.analogChangeCycles[i] >= 0L && this.cycle - this.analogChangeCycles[i] > TuningConstants.OPERATION_LATENCY_MAX_CYCLES)
+            {
+                // nothing reads this operation (at the moment)
+                this.analogChangeCycles[i] = -1L;
+            }
+        }
+
+        for (int i = 0; i < digitalStates.length; i++)
+        {
+            DigitalOperationState state = digitalStates[i];
+            boolean value = state.getState();
+            if (value != this.digitalValues[i])
+            {
+                this.digitalValues[i] = value;
+                if (this.digitalChangeCycles[i] < 0L)
+                {
+                    int macro = state.getIsInterrupted() ? this.getLatestMacro(macroConflicts.getDigitalOperationMacros(i), activeMacros) : -1;
+                    this.digitalChangeCycles[i] = macro >= 0 ? this.macroStartCycles[macro] : this.cycle;
+                    this.digitalChangeTimes[i] = macro >= 0 ? this.macroStartTimes[macro] : this.inputTime;
+                }
+            }
+            else if (this.digitalChangeCycles[i] >= 0L && this.cycle - this.digitalChangeCycles[i] > TuningConstants.OPERATION_LATENCY_MAX_CYCLES)
+            {
+                // nothing reads this operation (at the moment)
+                this.digitalChangeCycles[i] = -1L;
+            }
+        }
+    }
+
+    /**
+     * Note that a mechanism read an analog operation, measuring its unread change (if any)
+     * @param analogOperation ordinal of the analog operation
+     */
+    public void readAnalog(int analogOperation)
+    {
+        long changeCycle = this.analogChangeCycles[analogOperation];
+        if (changeCycle >= 0L)
+        {
+            long cycles = this.cycle - changeCycle;
+            this.analogLatencies[analogOperation].record(System.nanoTime() - this.analogChangeTimes[analogOperation]);
+            this.analogTotalCycles[analogOperation] += cycles;
+            if (cycles > this.analogMaxCycles[analogOperation])
+            {
+                this.analogMaxCycles[analogOperation] = cycles;
+            }
+
+            this.analogChangeCycles[analogOperation] = -1L;
+        }
+    }
+
+    /**
+     * Note that a mechanism read a digital operation, measuring its unread change (if any)
+     * @param digitalOperation ordinal of the digital operation
+     */
+    public void readDigital(int digitalOperation)
+    {
+        long changeCycle = this.digitalChangeCycles[digitalOperation];
+        if (changeCycle >= 0L)
+        {
+            long cycles = this.cycle - changeCycle;
+            this.digitalLatencies[digitalOperation].record(System.nanoTime() - this.digitalChangeTimes[digitalOperation]);
+            this.digitalTotalCycles[digitalOperation] += cycles;
+            if (cycles > this.digitalMaxCycles[digitalOperation])
+            {
+                this.digitalMaxCycles[digitalOperation] = cycles;
+            }
+
+            this.digitalChangeCycles[digitalOperation] = -1L;
+        }
+    }
+
+    /**
+     * Retrieve the number of measured changes of an analog operation
+     * @param analogOperation ordinal of the analog operation
+     * @return the number of changes
+     */
+    public long getAnalogCount(int analogOperation)
+    {
+        return this.analogLatencies[analogOperation].getCount();
+    }
+
+    /**
+     * Retrieve the most updates between a change of an analog operation and when it was read
+     * @param analogOperation ordinal of the analog operation
+     * @return the number of updates
+     */
+    public long getAnalogMaxCycles(int analogOperation)
+    {
+        return this.analogMaxCycles[analogOperation];
+    }
+
+    /**
+     * Retrieve the number of measured changes of a digital operation
+     * @param digitalOperation ordinal of the digital operation
+     * @return the number of changes
+     */
+    public long getDigitalCount(int digitalOperation)
+    {
+        return this.digitalLatencies[digitalOperation].getCount();
+    }
+
+    /**
+     * Retrieve the most updates between a change of a digital operation and when it was read
+     * @param digitalOperation ordinal of the digital operation
+     * @return the number of updates
+     */
+    public long getDigitalMaxCycles(int digitalOperation)
+    {
+        return this.digitalMaxCycles[digitalOperation];
+    }
+
+    /**
+     * Write the latencies to the log, once every publish period
+     * @param logger to write to
+     */
+    public void log(ILogger logger)
+    {
+        if (++this.publishCount < TuningConstants.OPERATION_LATENCY_PUBLISH_PERIOD)
+        {
+            return;
+        }
+
+        this.publishCount = 0;
+        logger.logString(LoggingKey.DriverLatencySummary, this.getLatencySummary());
+    }
+
+    /**
+     * Log a summary of the latencies (e.g. when the robot is disabled), and then discard them
+     * @param logger to write to
+     */
+    public void dump(ILogger logger)
+    {
+        String summary = this.getLatencySummary();
+        if (!summary.isEmpty())
+        {
+            logger.logString(LoggingKey.DriverLatencySummary, summary);
+        }
+
+        this.reset();
+    }
+
+    /**
+     * Discard all of the measured latencies and unread changes
+     */
+    public void reset()
+    {
+        for (int i = 0; i < this.analogNames.length; i++)
+        {
+            this.analogChangeCycles[i] = -1L;
+            this.analogLatencies[i].reset();
+            this.analogTotalCycles[i] = 0L;
+            this.analogMaxCycles[i] = 0L;
+        }
+
+        for (int i = 0; i < this.digitalNames.length; i++)
+        {
+            this.digitalChangeCycles[i] = -1L;
+            this.digitalLatencies[i].reset();
+            this.digitalTotalCycles[i] = 0L;
+            this.digitalMaxCycles[i] = 0L;
+        }
+
+        this.publishCount = 0;
+    }
+
+    /**
+     * Retrieve a table of the latencies (count, mean and max updates, and p50, p99 and max milliseconds) for each
+     * operation that changed
+     * @return the table of latencies, or null if no changes were measured
+     */
+    public String getSummary()
+    {
+        StringBuilder builder = new StringBuilder();
+        builder.append("operation,count,meanCycles,maxCycles,p50,p99,max\n");
+
+        boolean any = false;
+        for (int i = 0; i < this.analogNames.length; i++)
+        {
+            any |= OperationLatencyTracker.appendRow(builder, this.analogNames[i], this.analogLatencies[i], this.analogTotalCycles[i], this.analogMaxCycles[i]);
+        }
+
+        for (int i = 0; i < this.digitalNames.length; i++)
+        {
+            any |= OperationLatencyTracker.appendRow(builder, this.digitalNames[i], this.digitalLatencies[i], this.digitalTotalCycles[i], this.digitalMaxCycles[i]);
+        }
+
+        return any ? builder.toString() : null;
+    }
+
+    /**
+     * Retrieve the latencies for each operation that changed (mean/max updates, and p99/max milliseconds),
+     * a la "DriveTrainTurnInPlace 1.0/2 20.15/21.3; ..."
+     * @return the latencies for each operation
+     */
+    public String getLatencySummary()
+    {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < this.analogNames.length; i++)
+        {
+            OperationLatencyTracker.appendSummary(builder, this.analogNames[i], this.analogLatencies[i], this.analogTotalCycles[i], this.analogMaxCycles[i]);
+        }
+
+        for (int i = 0; i < this.digitalNames.length; i++)
+        {
+            OperationLatencyTracker.appendSummary(builder, this.digitalNames[i], this.digitalLatencies[i], this.digitalTotalCycles[i], this.digitalMaxCycles[i]);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Find the most recently started of the active macros that control an operation
+     * @param operationMacros that control the operation
+     * @param activeMacros that are running
+     * @return the macro's ordinal, or -1 if none of them are running
+     */
+    private int getLatestMacro(OrdinalBitSet operationMacros, OrdinalBitSet activeMacros)
+    {
+        int latest = -1;
+        for (int i = operationMacros.nextSetBit(0); i >= 0; i = operationMacros.nextSetBit(i + 1))
+        {
+            if (activeMacros.get(i) && (latest < 0 || this.macroStartCycles[i] > this.macroStartCycles[latest]))
+            {
+                latest = i;
+            }
+        }
+
+        return latest;
+    }
+
+    private static String[] getNames(Enum<?>[] operations)
+    {
+        String[] names = new String[operations.length];
+        for (int i = 0; i < operations.length; i++)
+        {
+            names[i] = operations[i].toString();
+        }
+
+        return names;
+    }
+
+    private static TimingHistogram createHistogram()
+    {
+        return new TimingHistogram(TuningConstants.OPERATION_LATENCY_BUCKET_WIDTH, TuningConstants.OPERATION_LATENCY_BUCKET_COUNT);
+    }
+
+    private static boolean appendRow(StringBuilder builder, String name, TimingHistogram histogram, long totalCycles, long maxCycles)
+    {
+        long count = histogram.getCount();
+        if (count == 0L)
+        {
+            return false;
+        }
+
+        builder.append(name);
+        builder.append(',');
+        builder.append(count);
+        builder.append(',');
+        builder.append(FormatHelpers.formatNumber((double)totalCycles / count, OperationLatencyTracker.SUMMARY_DECIMAL_PLACES));
+        builder.append(',');
+        builder.append(maxCycles);
+        builder.append(',');
+        OperationLatencyTracker.appendMilliseconds(builder, histogram.getPercentile(50.0));
+        builder.append(',');
+        OperationLatencyTracker.appendMilliseconds(builder, histogram.getPercentile(99.0));
+        builder.append(',');
+        OperationLatencyTracker.appendMilliseconds(builder, histogram.getMax());
+        builder.append('\n');
+        return true;
+    }
+
+    private static void appendSummary(StringBuilder builder, String name, TimingHistogram histogram, long totalCycles, long maxCycles)
+    {
+        long count = histogram.getCount();
+        if (count == 0L)
+        {
+            return;
+        }
+
+        if (builder.length() > 0)
+        {
+            builder.append("; ");
+        }
+
+        builder.append(name);
+        builder.append(' ');
+        builder.append(FormatHelpers.formatNumber((double)totalCycles / count, OperationLatencyTracker.SUMMARY_DECIMAL_PLACES));
+        builder.append('/');
+        builder.append(maxCycles);
+        builder.append(' ');
+        OperationLatencyTracker.appendMilliseconds(builder, histogram.getPercentile(99.0));
+        builder.append('/');
+        OperationLatencyTracker.appendMilliseconds(builder, histogram.getMax());
+    }
+
+    private static void appendMilliseconds(StringBuilder builder, long duration)
+    {
+        builder.append(FormatHelpers.formatNumber(duration / OperationLatencyTracker.NANOSECONDS_PER_MILLISECOND, OperationLatencyTracker.SUMMARY_DECIMAL_PLACES));
+    }
+}
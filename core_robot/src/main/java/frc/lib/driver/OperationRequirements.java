@@ -0,0 +1,139 @@
+package frc.lib.driver;
+
+import frc.lib.helpers.OrdinalBitSet;
+import frc.robot.driver.AnalogOperation;
+import frc.robot.driver.DigitalOperation;
+
+/**
+ * The analog and digital operations that a task requires (i.e. that it sets the interrupt state of), as bitmasks over
+ * their ordinals, so that requirements can be combined and checked against each other with a few bitwise operations.
+ */
+public class OperationRequirements
+{
+    private final OrdinalBitSet analogOperations;
+    private final OrdinalBitSet digitalOperations;
+
+    /**
+     * Initializes a new instance of the OperationRequirements class, with no operations
+     */
+    public OperationRequirements()
+    {
+        this.analogOperations = new OrdinalBitSet(AnalogOperation.values().length);
+        this.digitalOperations = new OrdinalBitSet(DigitalOperation.values().length);
+    }
+
+    /**
+     * Add analog operations to the requirements
+     * @param operations to add
+     */
+    public void add(AnalogOperation... operations)
+    {
+        for (AnalogOperation operation : operations)
+        {
+            this.analogOperations.set(operation.ordinal());
+        }
+    }
+
+    /**
+     * Add digital operations to the requirements
+     * @param operations to add
+     */
+    public void add(DigitalOperation... operations)
+    {
+        for (DigitalOperation operation : operations)
+        {
+            this.digitalOperations.set(operation.ordinal());
+        }
+    }
+
+    /**
+     * Add analog and/or digital operations to the requirements (e.g. the affected operations of a macro)
+     * @param operations to add
+     */
+    public void addAll(IOperation[] operations)
+    {
+        for (IOperation operation : operations)
+        {
+            if (operation instanceof AnalogOperation)
+            {
+                this.analogOperations.set(((AnalogOperation)operation).ordinal());
+            }
+            else if (operation instanceof DigitalOperation)
+            {
+                this.digitalOperations.set(((DigitalOperation)operation).ordinal());
+            }
+        }
+    }
+
+    /**
+     * Add all of the operations of other requirements to these requirements
+     * @param other requirements to add
+     */
+    public void add(OperationRequirements other)
+    {
+        this.analogOperations.or(other.analogOperations);
+        this.digitalOperations.or(other.digitalOperations);
+    }
+
+    /**
+     * Remove all of the operations of other requirements from these requirements
+     * @param other requirements to remove
+     */
+    public void remove(OperationRequirements other)
+    {
+        this.analogOperations.andNot(other.analogOperations);
+        this.digitalOperations.andNot(other.digitalOperations);
+    }
+
+    /**
+     * Remove all of the operations
+     */
+    public void clear()
+    {
+        this.analogOperations.clear();
+        this.digitalOperations.clear();
+    }
+
+    /**
+     * Check whether there are no operations
+     * @return true if there are no operations
+     */
+    public boolean isEmpty()
+    {
+        return this.analogOperations.isEmpty() && this.digitalOperations.isEmpty();
+    }
+
+    /**
+     * Check whether any operation is required by both these and other requirements
+     * @param other requirements to check
+     * @return true if the requirements share at least one operation
+     */
+    public boolean intersects(OperationRequirements other)
+    {
+        return this.analogOperations.intersects(other.analogOperations) || this.digitalOperations.intersects(other.digitalOperations);
+    }
+
+    /**
+     * Get the required analog operations
+     * @return the analog operations (by ordinal)
+     */
+    public OrdinalBitSet getAnalogOperations()
+    {
+        return this.analogOperations;
+    }
+
+    /**
+     * Get the required digital operations
+     * @return the digital operations (by ordinal)
+     */
+    public OrdinalBitSet getDigitalOperations()
+    {
+        return this.digitalOperations;
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.analogOperations.toString(AnalogOperation.values()) + " " + this.digitalOperations.toString(DigitalOperation.values());
+    }
+}
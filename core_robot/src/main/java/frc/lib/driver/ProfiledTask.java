@@ -0,0 +1,189 @@
+package frc.lib.driver;
+
+import frc.lib.driver.states.AnalogOperationState;
+import frc.lib.driver.states.DigitalOperationState;
+
+import com.google.inject.Injector;
+
+/**
+ * Task that runs another task, recording how long each of its methods takes with the TaskProfiler.
+ * 
+ */
+public class ProfiledTask implements IControlTask
+{
+    private final IControlTask task;
+    private final TaskProfiler.Node node;
+
+    /**
+     * Initializes a new ProfiledTask
+     * @param task to profile
+     */
+    public ProfiledTask(IControlTask task)
+    {
+        this.task = task;
+
+        String name = task.getClass().getSimpleName();
+        if (name.isEmpty())
+        {
+            // anonymous class
+            name = task.getClass().getName();
+        }
+
+        this.node = new TaskProfiler.Node(name);
+    }
+
+    /**
+     * Retrieve the task that is being profiled
+     * @return the task
+     */
+    public IControlTask getTask()
+    {
+        return this.task;
+    }
+
+    /**
+     * Initialize the task with the states of the operations
+     * @param analogOperationStates indicating the current state of each analog operation (indexed by ordinal)
+     * @param digitalOperationStates indicating the current state of each digital operation (indexed by ordinal)
+     * @param injector used to retrieve components to utilize for making any decisions
+     */
+    @Override
+    public void initialize(
+        AnalogOperationState[] analogOperationStates,
+        DigitalOperationState[] digitalOperationStates,
+        Injector injector)
+    {
+        this.task.initialize(analogOperationStates, digitalOperationStates, injector);
+    }
+
+    /**
+     * Begin the current task.
+     */
+    @Override
+    public void begin()
+    {
+        TaskProfiler.Node previous = TaskProfiler.enter(this.node);
+        long startTime = System.nanoTime();
+        try
+        {
+            this.task.begin();
+        }
+        finally
+        {
+            TaskProfiler.exit(previous, this.node, TaskProfiler.Method.Begin, startTime);
+        }
+    }
+
+    /**
+     * Run an iteration of the current task.
+     */
+    @Override
+    public void update()
+    {
+        TaskProfiler.Node previous = TaskProfiler.enter(this.node);
+        long startTime = System.nanoTime();
+        try
+        {
+            this.task.update();
+        }
+        finally
+        {
+            TaskProfiler.exit(previous, this.node, TaskProfiler.Method.Update, startTime);
+        }
+    }
+
+    /**
+     * Stops the current task gracefully (but unexpectedly).
+     */
+    @Override
+    public void stop()
+    {
+        TaskProfiler.Node previous = TaskProfiler.enter(this.node);
+        long startTime = System.nanoTime();
+        try
+        {
+            this.task.stop();
+        }
+        finally
+        {
+            TaskProfiler.exit(previous, this.node, TaskProfiler.Method.Stop, startTime);
+        }
+    }
+
+    /**
+     * Ends the current task, called when it (or a master task) has completed.
+     */
+    @Override
+    public void end()
+    {
+        TaskProfiler.Node previous = TaskProfiler.enter(this.node);
+        long startTime = System.nanoTime();
+        try
+        {
+            this.task.end();
+        }
+        finally
+        {
+            TaskProfiler.exit(previous, this.node, TaskProfiler.Method.End, startTime);
+        }
+    }
+
+    /**
+     * Checks whether this task has completed, or whether it should continue being processed.
+     * @return true if we should continue onto the next task, otherwise false (to keep processing this task)
+     */
+    @Override
+    public boolean hasCompleted()
+    {
+        TaskProfiler.Node previous = TaskProfiler.enter(this.node);
+        long startTime = System.nanoTime();
+        try
+        {
+            return this.task.hasCompleted();
+        }
+        finally
+        {
+            TaskProfiler.exit(previous, this.node, TaskProfiler.Method.HasCompleted, startTime);
+        }
+    }
+
+    /**
+     * Checks whether this task should be stopped, or whether it should continue being processed.
+     * @return true if we should cancel this task (and stop performing any subsequent tasks), otherwise false (to keep processing this task)
+     */
+    @Override
+    public boolean shouldCancel()
+    {
+        TaskProfiler.Node previous = TaskProfiler.enter(this.node);
+        long startTime = System.nanoTime();
+        try
+        {
+            return this.task.shouldCancel();
+        }
+        finally
+        {
+            TaskProfiler.exit(previous, this.node, TaskProfiler.Method.ShouldCancel, startTime);
+        }
+    }
+
+    /**
+     * Resets the task after it has ended or stopped, so that it can be initialized and begun again (rather than constructing a new task).
+     * @return true if the task was reset and can be reused, otherwise false (to construct a new task instead)
+     */
+    @Override
+    public boolean reset()
+    {
+        return this.task.reset();
+    }
+
+    /**
+     * Adds the operations that the task requires to the requirements
+     * @param requirements to add the operations to
+     * @return true if all of the operations that the task could set were added, otherwise false
+     */
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        return this.task.addRequirements(requirements);
+    }
+}
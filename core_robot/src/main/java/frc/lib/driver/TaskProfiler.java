@@ -0,0 +1,350 @@
+package frc.lib.driver;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import frc.lib.helpers.FormatHelpers;
+import frc.lib.robotprovider.ILogger;
+import frc.robot.LoggingKey;
+import frc.robot.TuningConstants;
+
+/**
+ * Accumulates how long each task instance spends in begin, update, end, hasCompleted, shouldCancel and stop (in a tree
+ * mirroring the composite tasks that run them), so that we can tell which part of a macro or autonomous routine is
+ * responsible for a slow driver update.
+ *
+ * Tasks are only profiled when TASK_PROFILING_ENABLED is set, in which case the macros, the autonomous routine and the
+ * composite tasks wrap their tasks in a ProfiledTask.  Otherwise nothing is wrapped, and so there is no cost at all.
+ *
+ * Note that tasks are constructed (e.g. by the button map) without access to the injector, so the profiler is static.
+ * Like the tasks themselves, it should only be used from the thread running the driver.
+ */
+public class TaskProfiler
+{
+    private static final double NANOSECONDS_PER_MILLISECOND = 1000000.0;
+    private static final double NANOSECONDS_PER_MICROSECOND = 1000.0;
+    private static final int SUMMARY_DECIMAL_PLACES = 3;
+
+    /**
+     * The methods of a task that are timed
+     */
+    enum Method
+    {
+        Begin,
+        Update,
+        End,
+        HasCompleted,
+        ShouldCancel,
+        Stop;
+    }
+
+    private static final Node Root = new Node("Root");
+    private static final IdentityHashMap<IControlTask, ProfiledTask> Wrappers = new IdentityHashMap<IControlTask, ProfiledTask>();
+
+    private static Node current = TaskProfiler.Root; // node for the task whose method is currently running
+
+    private TaskProfiler()
+    {
+    }
+
+    /**
+     * Wrap a task so that it is profiled (when profiling is enabled)
+     * @param task to wrap
+     * @return the wrapped task, or the task itself if profiling is disabled
+     */
+    public static IControlTask wrap(IControlTask task)
+    {
+        if (!TuningConstants.TASK_PROFILING_ENABLED || task == null || task instanceof ProfiledTask)
+        {
+            return task;
+        }
+
+        // re-use the existing wrapper for a task that is wrapped again (e.g. when it is re-appended to a sequence), so that it keeps accumulating into the same node
+        ProfiledTask wrapper = TaskProfiler.Wrappers.get(task);
+        if (wrapper == null)
+        {
+            wrapper = new ProfiledTask(task);
+            TaskProfiler.Wrappers.put(task, wrapper);
+        }
+
+        return wrapper;
+    }
+
+    /**
+     * Wrap each of the tasks so that they are profiled (when profiling is enabled)
+     * @param tasks to wrap
+     * @return a copy of the tasks with each of them wrapped, or the tasks themselves if profiling is disabled
+     */
+    public static IControlTask[] wrapAll(IControlTask[] tasks)
+    {
+        if (!TuningConstants.TASK_PROFILING_ENABLED)
+        {
+            return tasks;
+        }
+
+        IControlTask[] wrappedTasks = new IControlTask[tasks.length];
+        for (int i = 0; i < tasks.length; i++)
+        {
+            wrappedTasks[i] = TaskProfiler.wrap(tasks[i]);
+        }
+
+        return wrappedTasks;
+    }
+
+    /**
+     * Retrieve the task within a wrapped task (e.g. so that its type can be checked)
+     * @param task that may have been wrapped
+     * @return the task within the wrapper, or the task itself if it was not wrapped
+     */
+    public static IControlTask unwrap(IControlTask task)
+    {
+        if (TuningConstants.TASK_PROFILING_ENABLED && task instanceof ProfiledTask)
+        {
+            return ((ProfiledTask)task).getTask();
+        }
+
+        return task;
+    }
+
+    /**
+     * Log a summary of the task timings (e.g. at the end of autonomous or teleop), and then discard them along with the
+     * wrappers, so that tasks which are no longer used (e.g. routines prepared while disabled) aren't kept alive
+     * @param logger to write to
+     */
+    public static void dump(ILogger logger)
+    {
+        if (!TuningConstants.TASK_PROFILING_ENABLED)
+        {
+            return;
+        }
+
+        if (!TaskProfiler.Root.children.isEmpty())
+        {
+            logger.logString(LoggingKey.DriverTaskProfile, TaskProfiler.getTreeSummary());
+        }
+
+        TaskProfiler.reset();
+    }
+
+    /**
+     * Discard all of the task timings
+     */
+    public static void reset()
+    {
+        TaskProfiler.Root.reset();
+        TaskProfiler.Wrappers.clear();
+        TaskProfiler.current = TaskProfiler.Root;
+    }
+
+    /**
+     * Retrieve a table of the timings (update count, then total, self and per-method time in milliseconds) for each task,
+     * with each task indented beneath the task that runs it
+     * @return the table of timings, or null if no tasks have run
+     */
+    public static String getSummary()
+    {
+        if (TaskProfiler.Root.children.isEmpty())
+        {
+            return null;
+        }
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("task,updates,total,self,begin,update,end,hasCompleted,shouldCancel,stop\n");
+        for (Node child : TaskProfiler.Root.children)
+        {
+            TaskProfiler.appendRows(builder, child, 0);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Retrieve the self time of each task in microseconds in the "folded stacks" format used to draw flame graphs,
+     * a la "SequentialTask;ConcurrentTask;WaitTask 1520", one task per line
+     * @return the folded stacks, or null if no tasks have run
+     */
+    public static String getFlameSummary()
+    {
+        if (TaskProfiler.Root.children.isEmpty())
+        {
+            return null;
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (Node child : TaskProfiler.Root.children)
+        {
+            TaskProfiler.appendStacks(builder, child, "");
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Retrieve the total time of each task in milliseconds on a single line, with the tasks that each composite task runs
+     * in brackets after it, a la "SequentialTask 12.5 [WaitTask 0.12, ConcurrentTask 8.3 [...]]"
+     * @return the tree of timings
+     */
+    public static String getTreeSummary()
+    {
+        StringBuilder builder = new StringBuilder();
+        TaskProfiler.appendChildren(builder, TaskProfiler.Root);
+        return builder.toString();
+    }
+
+    /**
+     * Start timing a method of the task for a node, attaching the node beneath the node that is currently running
+     * @param node for the task
+     * @return the node that was previously running, to be restored by exit
+     */
+    static Node enter(Node node)
+    {
+        Node previous = TaskProfiler.current;
+        if (node.parent == null)
+        {
+            node.parent = previous;
+            previous.children.add(node);
+        }
+
+        TaskProfiler.current = node;
+        return previous;
+    }
+
+    /**
+     * Finish timing a method of the task for a node
+     * @param previous node that was running before enter was called
+     * @param node for the task
+     * @param method that was timed
+     * @param startTime of the method, in nanoseconds
+     */
+    static void exit(Node previous, Node node, Method method, long startTime)
+    {
+        int index = method.ordinal();
+        node.nanos[index] += System.nanoTime() - startTime;
+        node.calls[index]++;
+        TaskProfiler.current = previous;
+    }
+
+    private static void appendRows(StringBuilder builder, Node node, int depth)
+    {
+        for (int i = 0; i < depth; i++)
+        {
+            builder.append("  ");
+        }
+
+        long total = node.getTotal();
+        builder.append(node.name);
+        builder.append(',');
+        builder.append(node.calls[Method.Update.ordinal()]);
+        builder.append(',');
+        builder.append(FormatHelpers.formatNumber(total / TaskProfiler.NANOSECONDS_PER_MILLISECOND, TaskProfiler.SUMMARY_DECIMAL_PLACES));
+        builder.append(',');
+        builder.append(FormatHelpers.formatNumber(node.getSelf(total) / TaskProfiler.NANOSECONDS_PER_MILLISECOND, TaskProfiler.SUMMARY_DECIMAL_PLACES));
+        for (long nanos : node.nanos)
+        {
+            builder.append(',');
+            builder.append(FormatHelpers.formatNumber(nanos / TaskProfiler.NANOSECONDS_PER_MILLISECOND, TaskProfiler.SUMMARY_DECIMAL_PLACES));
+        }
+
+        builder.append('\n');
+        for (Node child : node.children)
+        {
+            TaskProfiler.appendRows(builder, child, depth + 1);
+        }
+    }
+
+    private static void appendStacks(StringBuilder builder, Node node, String prefix)
+    {
+        String stack = prefix + node.name;
+        builder.append(stack);
+        builder.append(' ');
+        builder.append(Math.round(node.getSelf(node.getTotal()) / TaskProfiler.NANOSECONDS_PER_MICROSECOND));
+        builder.append('\n');
+        for (Node child : node.children)
+        {
+            TaskProfiler.appendStacks(builder, child, stack + ";");
+        }
+    }
+
+    private static void appendChildren(StringBuilder builder, Node node)
+    {
+        for (int i = 0; i < node.children.size(); i++)
+        {
+            if (i > 0)
+            {
+                builder.append(", ");
+            }
+
+            Node child = node.children.get(i);
+            builder.append(child.name);
+            builder.append(' ');
+            builder.append(FormatHelpers.formatNumber(child.getTotal() / TaskProfiler.NANOSECONDS_PER_MILLISECOND, TaskProfiler.SUMMARY_DECIMAL_PLACES));
+            if (!child.children.isEmpty())
+            {
+                builder.append(" [");
+                TaskProfiler.appendChildren(builder, child);
+                builder.append(']');
+            }
+        }
+    }
+
+    /**
+     * The timings for a single task instance, and the nodes for the tasks that it runs
+     */
+    static class Node
+    {
+        private final String name;
+        private final long[] nanos;
+        private final long[] calls;
+        private final List<Node> children;
+
+        private Node parent; // null until the task first runs (and after a reset)
+
+        Node(String name)
+        {
+            this.name = name;
+            this.nanos = new long[Method.values().length];
+            this.calls = new long[Method.values().length];
+            this.children = new ArrayList<Node>();
+            this.parent = null;
+        }
+
+        long getTotal()
+        {
+            long total = 0L;
+            for (long nanos : this.nanos)
+            {
+                total += nanos;
+            }
+
+            return total;
+        }
+
+        long getSelf(long total)
+        {
+            long self = total;
+            for (Node child : this.children)
+            {
+                self -= child.getTotal();
+            }
+
+            return Math.max(self, 0L);
+        }
+
+        private void reset()
+        {
+            for (Node child : this.children)
+            {
+                child.reset();
+                child.parent = null;
+            }
+
+            this.children.clear();
+            for (int i = 0; i < this.nanos.length; i++)
+            {
+                this.nanos[i] = 0L;
+                this.calls[i] = 0L;
+            }
+        }
+    }
+}
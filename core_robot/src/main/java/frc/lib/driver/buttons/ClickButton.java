@@ -26,6 +26,7 @@ public class ClickButton implements IButton
 
     private boolean isActivated;
     private boolean prevButtonState;
+    private boolean isCleared;
 
     /**
      * Initializes a new ClickButton
@@ -43,6 +44,7 @@ public class ClickButton implements IButton
     {
         this.isActivated = false;
         this.prevButtonState = false;
+        this.isCleared = false;
 
         this.registerOnPress = registerOnPress;
     }
@@ -65,6 +67,7 @@ public class ClickButton implements IButton
         }
 
         this.prevButtonState = buttonState;
+        this.isCleared = false;
     }
 
     /**
@@ -80,5 +83,15 @@ public class ClickButton implements IButton
     {
         this.isActivated = false;
         this.prevButtonState = false;
+        this.isCleared = true;
+    }
+
+    /**
+     * gets a value indicating whether updating the button with the same button state as the last update could change it
+     * @return true if the button is activated (and so will deactivate), or has been cleared since the last update
+     */
+    public boolean needsUpdate()
+    {
+        return this.isActivated || this.isCleared;
     }
 }
@@ -22,4 +22,11 @@ public interface IButton
      * clear the button value
      */
     public void clearState();
+
+    /**
+     * gets a value indicating whether updating the button with the same button state as the last update could change it
+     * (e.g. a click that deactivates after the next update, or a button that has been cleared since the last update)
+     * @return true if the button needs to be updated even though the button state hasn't changed
+     */
+    public boolean needsUpdate();
 }
@@ -62,4 +62,13 @@ public class SimpleButton implements IButton
     public void clearState()
     {
     }
+
+    /**
+     * gets a value indicating whether updating the button with the same button state as the last update could change it
+     * @return false, as a simple button only depends on the current button state
+     */
+    public boolean needsUpdate()
+    {
+        return false;
+    }
 }
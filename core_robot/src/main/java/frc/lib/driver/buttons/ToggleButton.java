@@ -27,6 +27,7 @@ public class ToggleButton implements IButton
 
     private boolean currentState;
     private boolean prevButtonState;
+    private boolean isCleared;
 
     /**
      * Initializes a new ToggleButton
@@ -44,6 +45,7 @@ public class ToggleButton implements IButton
     {
         this.currentState = false;
         this.prevButtonState = false;
+        this.isCleared = false;
 
         this.toggleOnPress = toggleOnPress;
     }
@@ -62,6 +64,7 @@ public class ToggleButton implements IButton
         }
 
         this.prevButtonState = buttonState;
+        this.isCleared = false;
     }
 
     /**
@@ -77,5 +80,15 @@ public class ToggleButton implements IButton
     {
         this.currentState = false;
         this.prevButtonState = false;
+        this.isCleared = true;
+    }
+
+    /**
+     * gets a value indicating whether updating the button with the same button state as the last update could change it
+     * @return true if the button has been cleared since the last update
+     */
+    public boolean needsUpdate()
+    {
+        return this.isCleared;
     }
 }
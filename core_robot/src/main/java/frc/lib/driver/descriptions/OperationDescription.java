@@ -4,6 +4,7 @@ import java.util.EnumSet;
 
 import frc.lib.driver.IOperation;
 import frc.lib.helpers.ExceptionHelpers;
+import frc.lib.helpers.OrdinalBitSet;
 import frc.robot.driver.Shift;
 
 /**
@@ -17,6 +18,8 @@ public abstract class OperationDescription<TOperation extends IOperation>
     private final UserInputDevice userInputDevice;
     private final EnumSet<Shift> relevantShifts;
     private final EnumSet<Shift> requiredShifts;
+    private final OrdinalBitSet relevantShiftBits;
+    private final OrdinalBitSet requiredShiftBits;
     private final double userInputDeviceRangeMin;
     private final double userInputDeviceRangeMax;
 
@@ -30,6 +33,10 @@ public abstract class OperationDescription<TOperation extends IOperation>
         this.relevantShifts = relevantShifts;
         this.requiredShifts = requiredShifts;
 
+        int shiftCount = Shift.values().length;
+        this.relevantShiftBits = relevantShifts == null ? null : OrdinalBitSet.fromEnumSet(relevantShifts, shiftCount);
+        this.requiredShiftBits = requiredShifts == null ? null : OrdinalBitSet.fromEnumSet(requiredShifts, shiftCount);
+
         ExceptionHelpers.Assert((relevantShifts == null) == (requiredShifts == null), "Either both or neither of relevant and required shifts should be null");
         ExceptionHelpers.Assert(relevantShifts == null || requiredShifts == null || relevantShifts.containsAll(requiredShifts), "relevant shifts must contain required shifts");
     }
@@ -59,6 +66,16 @@ public abstract class OperationDescription<TOperation extends IOperation>
         return this.requiredShifts;
     }
 
+    public OrdinalBitSet getRelevantShiftBits()
+    {
+        return this.relevantShiftBits;
+    }
+
+    public OrdinalBitSet getRequiredShiftBits()
+    {
+        return this.requiredShiftBits;
+    }
+
     public double getUserInputDeviceRangeMin()
     {
         return this.userInputDeviceRangeMin;
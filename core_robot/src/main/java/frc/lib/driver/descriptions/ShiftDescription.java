@@ -2,9 +2,9 @@ package frc.lib.driver.descriptions;
 
 import frc.robot.TuningConstants;
 import frc.lib.driver.AnalogAxis;
+import frc.lib.driver.InputFrame;
 import frc.lib.driver.UserInputDeviceButton;
 import frc.lib.helpers.ExceptionHelpers;
-import frc.lib.robotprovider.IJoystick;
 import frc.robot.driver.Shift;
 
 public class ShiftDescription
@@ -75,42 +75,27 @@ public class ShiftDescription
         return this.userInputDevicePovValue;
     }
 
-    public boolean checkInput(IJoystick[] joysticks)
+    public AnalogAxis getUserInputDeviceAxis()
     {
-        UserInputDevice userInputDevice = this.getUserInputDevice();
-        IJoystick relevantJoystick = null;
-        if (userInputDevice != UserInputDevice.None)
-        {
-            relevantJoystick = joysticks[userInputDevice.getId()];
-        }
+        return this.userInputDeviceAxis;
+    }
 
-        if (relevantJoystick == null || !relevantJoystick.isConnected())
+    public boolean checkInput(InputFrame input)
+    {
+        UserInputDevice userInputDevice = this.getUserInputDevice();
+        if (!input.isConnected(userInputDevice))
         {
             ExceptionHelpers.Assert(TuningConstants.EXPECT_UNUSED_JOYSTICKS, "Unexpected user input device " + userInputDevice.toString());
             return false;
         }
 
         // find the appropriate button and grab the value from the relevant joystick
-        UserInputDeviceButton relevantButton = this.getUserInputDeviceButton();
-
-        if (relevantButton == UserInputDeviceButton.POV)
-        {
-            return relevantJoystick.getPOV() == this.getUserInputDevicePovValue();
-        }
-        else if (relevantButton == UserInputDeviceButton.ANALOG_AXIS_RANGE)
-        {
-            double value = relevantJoystick.getAxis(this.userInputDeviceAxis.Value);
-            return
-                value >= this.userInputDeviceAxisRangeMin &&
-                value <= this.userInputDeviceAxisRangeMax;
-        }
-        else if (relevantButton != UserInputDeviceButton.NONE)
-        {
-            return relevantJoystick.getRawButton(relevantButton.Value);
-        }
-        else
-        {
-            return false;
-        }
+        return input.isPressed(
+            userInputDevice,
+            this.getUserInputDeviceButton(),
+            this.getUserInputDevicePovValue(),
+            this.userInputDeviceAxis,
+            this.userInputDeviceAxisRangeMin,
+            this.userInputDeviceAxisRangeMax);
     }
 }
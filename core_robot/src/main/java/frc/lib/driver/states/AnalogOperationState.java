@@ -2,16 +2,13 @@ package frc.lib.driver.states;
 
 import frc.robot.TuningConstants;
 
-import java.util.EnumSet;
-
 import frc.lib.driver.AnalogAxis;
+import frc.lib.driver.InputFrame;
 import frc.lib.driver.descriptions.AnalogOperationDescription;
 import frc.lib.driver.descriptions.UserInputDevice;
 import frc.lib.helpers.ExceptionHelpers;
 import frc.lib.helpers.Helpers;
-import frc.lib.helpers.SetHelper;
-import frc.lib.robotprovider.IJoystick;
-import frc.robot.driver.Shift;
+import frc.lib.helpers.OrdinalBitSet;
 
 /**
  * The state of the current analog operation.
@@ -57,14 +54,24 @@ public class AnalogOperationState extends OperationState
         return this.isInterrupted;
     }
 
+    /**
+     * Checks whether checkInput needs to be called even when the input and active shifts haven't changed since it was last called
+     * @return true, as axes are expected to change continuously
+     */
+    @Override
+    public boolean needsInputCheck()
+    {
+        return true;
+    }
+
     /**
      * Checks whether the operation state should change based on the joysticks and active stifts. 
-     * @param joysticks to update from
+     * @param input from the joysticks to update from
      * @param activeShifts to update from
      * @return true if there was any active user input that triggered a state change
      */
     @Override
-    public boolean checkInput(IJoystick[] joysticks, EnumSet<Shift> activeShifts)
+    public boolean checkInput(InputFrame input, OrdinalBitSet activeShifts)
     {
         AnalogOperationDescription description = (AnalogOperationDescription)this.getDescription();
 
@@ -74,20 +81,18 @@ public class AnalogOperationState extends OperationState
             return false;
         }
 
-        EnumSet<Shift> relevantShifts = description.getRelevantShifts();
-        EnumSet<Shift> requiredShifts = description.getRequiredShifts();
+        OrdinalBitSet relevantShifts = description.getRelevantShiftBits();
+        OrdinalBitSet requiredShifts = description.getRequiredShiftBits();
         if (relevantShifts != null && requiredShifts != null)
         {
-            EnumSet<Shift> relevantActiveShifts = SetHelper.Intersection(relevantShifts, activeShifts);
-            if (!relevantActiveShifts.equals(requiredShifts))
+            if (!activeShifts.matches(relevantShifts, requiredShifts))
             {
                 this.currentValue = description.getDefaultValue();
                 return false;
             }
         }
 
-        IJoystick relevantJoystick = joysticks[userInputDevice.getId()];
-        if (relevantJoystick == null || !relevantJoystick.isConnected())
+        if (!input.isConnected(userInputDevice))
         {
             ExceptionHelpers.Assert(TuningConstants.EXPECT_UNUSED_JOYSTICKS, "Unexpected user input device " + userInputDevice.toString());
             this.currentValue = description.getDefaultValue();
@@ -101,7 +106,7 @@ public class AnalogOperationState extends OperationState
         }
 
         double oldValue = this.currentValue;
-        double newValue = relevantJoystick.getAxis(relevantAxis.Value);
+        double newValue = input.getAxis(userInputDevice, relevantAxis.Value);
         if (description.getShouldInvert())
         {
             newValue *= -1.0;
@@ -110,7 +115,7 @@ public class AnalogOperationState extends OperationState
         AnalogAxis secondaryAxis = description.getUserInputDeviceSecondaryAxis();
         if (secondaryAxis != null && secondaryAxis != AnalogAxis.NONE)
         {
-            double secondaryValue = relevantJoystick.getAxis(secondaryAxis.Value);
+            double secondaryValue = input.getAxis(userInputDevice, secondaryAxis.Value);
             if (description.getShouldInvertSecondary())
             {
                 secondaryValue *= -1.0;
@@ -154,7 +159,12 @@ public class AnalogOperationState extends OperationState
 
     public void setInterruptState(double value)
     {
-        ExceptionHelpers.Assert(this.isInterrupted, "Cannot set interrupt state for non-interrupted analog operations (" + this.getDescription().getOperation().toString() + ")");
+        // only build the message when the assertion fails, as tasks set the interrupt state in every update
+        if (!this.isInterrupted)
+        {
+            ExceptionHelpers.Assert(false, "Cannot set interrupt state for non-interrupted analog operations (" + this.getDescription().getOperation().toString() + ")");
+        }
+
         this.interruptValue = value;
     }
 
@@ -1,14 +1,11 @@
 package frc.lib.driver.states;
 
-import java.util.EnumMap;
-import java.util.EnumSet;
-
 import frc.lib.driver.IControlTask;
 import frc.lib.driver.IOperation;
-import frc.lib.robotprovider.IJoystick;
+import frc.lib.driver.InputFrame;
+import frc.lib.helpers.OrdinalBitSet;
 import frc.robot.driver.AnalogOperation;
 import frc.robot.driver.DigitalOperation;
-import frc.robot.driver.Shift;
 
 /**
  * The state of the current autonomous operation.
@@ -16,8 +13,8 @@ import frc.robot.driver.Shift;
  */
 public class AutonomousOperationState extends OperationState implements IMacroOperationState
 {
-    private final EnumMap<AnalogOperation, AnalogOperationState> analogOperationStateMap;
-    private final EnumMap<DigitalOperation, DigitalOperationState> digitalOperationStateMap;
+    private final AnalogOperationState[] analogOperationStates;
+    private final DigitalOperationState[] digitalOperationStates;
 
     private final AnalogOperation[] allAnalogOperations;
     private final DigitalOperation[] allDigitalOperations;
@@ -32,13 +29,13 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
 
     public AutonomousOperationState(
         IControlTask task,
-        EnumMap<AnalogOperation, AnalogOperationState> analogOperationStateMap,
-        EnumMap<DigitalOperation, DigitalOperationState> digitalOperationStateMap)
+        AnalogOperationState[] analogOperationStates,
+        DigitalOperationState[] digitalOperationStates)
     {
         super(null);
 
-        this.analogOperationStateMap = analogOperationStateMap;
-        this.digitalOperationStateMap = digitalOperationStateMap;
+        this.analogOperationStates = analogOperationStates;
+        this.digitalOperationStates = digitalOperationStates;
 
         this.allAnalogOperations = AnalogOperation.values();
         this.allDigitalOperations = DigitalOperation.values();
@@ -83,14 +80,24 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
         return this.isInterrupted;
     }
 
+    /**
+     * Checks whether checkInput needs to be called even when the input and active shifts haven't changed since it was last called
+     * @return false, as the autonomous operation doesn't use any input
+     */
+    @Override
+    public boolean needsInputCheck()
+    {
+        return false;
+    }
+
     /**
      * Checks whether the operation state should change based on the joysticks and active stifts. 
-     * @param joysticks to update from
+     * @param input from the joysticks to update from
      * @param activeShifts to update from
      * @return true if there was any active user input that triggered a state change
      */
     @Override
-    public boolean checkInput(IJoystick[] joysticks, EnumSet<Shift> activeShifts)
+    public boolean checkInput(InputFrame input, OrdinalBitSet activeShifts)
     {
         return false;
     }
@@ -121,12 +128,12 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
         {
             for (AnalogOperation operation : this.allAnalogOperations)
             {
-                this.analogOperationStateMap.get(operation).setIsInterrupted(false);
+                this.analogOperationStates[operation.ordinal()].setIsInterrupted(false);
             }
 
             for (DigitalOperation operation : this.allDigitalOperations)
             {
-                this.digitalOperationStateMap.get(operation).setIsInterrupted(false);
+                this.digitalOperationStates[operation.ordinal()].setIsInterrupted(false);
             }
 
             this.shouldEnd = false;
@@ -145,12 +152,12 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
 
                 for (AnalogOperation operation : this.allAnalogOperations)
                 {
-                    this.analogOperationStateMap.get(operation).setIsInterrupted(false);
+                    this.analogOperationStates[operation.ordinal()].setIsInterrupted(false);
                 }
 
                 for (DigitalOperation operation : this.allDigitalOperations)
                 {
-                    this.digitalOperationStateMap.get(operation).setIsInterrupted(false);
+                    this.digitalOperationStates[operation.ordinal()].setIsInterrupted(false);
                 }
 
                 return;
@@ -160,12 +167,12 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
             {
                 for (AnalogOperation operation : this.allAnalogOperations)
                 {
-                    this.analogOperationStateMap.get(operation).setIsInterrupted(true);
+                    this.analogOperationStates[operation.ordinal()].setIsInterrupted(true);
                 }
 
                 for (DigitalOperation operation : this.allDigitalOperations)
                 {
-                    this.digitalOperationStateMap.get(operation).setIsInterrupted(true);
+                    this.digitalOperationStates[operation.ordinal()].setIsInterrupted(true);
                 }
 
                 // if we haven't begun, begin
@@ -204,12 +211,12 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
 
         for (AnalogOperation operation : this.allAnalogOperations)
         {
-            this.analogOperationStateMap.get(operation).setIsInterrupted(false);
+            this.analogOperationStates[operation.ordinal()].setIsInterrupted(false);
         }
 
         for (DigitalOperation operation : this.allDigitalOperations)
         {
-            this.digitalOperationStateMap.get(operation).setIsInterrupted(false);
+            this.digitalOperationStates[operation.ordinal()].setIsInterrupted(false);
         }
     }
 }
@@ -2,10 +2,7 @@ package frc.lib.driver.states;
 
 import frc.robot.TuningConstants;
 
-import java.util.EnumSet;
-
-import frc.lib.driver.UserInputDeviceButton;
-import frc.lib.robotprovider.IJoystick;
+import frc.lib.driver.InputFrame;
 import frc.lib.driver.buttons.ClickButton;
 import frc.lib.driver.buttons.IButton;
 import frc.lib.driver.buttons.SimpleButton;
@@ -13,8 +10,7 @@ import frc.lib.driver.buttons.ToggleButton;
 import frc.lib.driver.descriptions.DigitalOperationDescription;
 import frc.lib.driver.descriptions.UserInputDevice;
 import frc.lib.helpers.ExceptionHelpers;
-import frc.lib.helpers.SetHelper;
-import frc.robot.driver.Shift;
+import frc.lib.helpers.OrdinalBitSet;
 
 /**
  * The state of the current digital operation.
@@ -77,14 +73,24 @@ public class DigitalOperationState extends OperationState
         return this.isInterrupted;
     }
 
+    /**
+     * Checks whether checkInput needs to be called even when the input and active shifts haven't changed since it was last called
+     * @return true if the button could change without any change to the input
+     */
+    @Override
+    public boolean needsInputCheck()
+    {
+        return this.button.needsUpdate();
+    }
+
     /**
      * Checks whether the operation state should change based on the joysticks and active stifts. 
-     * @param joysticks to update from
+     * @param input from the joysticks to update from
      * @param activeShifts to update from
      * @return true if there was any active user input that triggered a state change
      */
     @Override
-    public boolean checkInput(IJoystick[] joysticks, EnumSet<Shift> activeShifts)
+    public boolean checkInput(InputFrame input, OrdinalBitSet activeShifts)
     {
         DigitalOperationDescription description = (DigitalOperationDescription)this.getDescription();
 
@@ -94,47 +100,31 @@ public class DigitalOperationState extends OperationState
             return false;
         }
 
-        EnumSet<Shift> relevantShifts = description.getRelevantShifts();
-        EnumSet<Shift> requiredShifts = description.getRequiredShifts();
+        OrdinalBitSet relevantShifts = description.getRelevantShiftBits();
+        OrdinalBitSet requiredShifts = description.getRequiredShiftBits();
         if (relevantShifts != null && requiredShifts != null)
         {
-            EnumSet<Shift> relevantActiveShifts = SetHelper.Intersection(relevantShifts, activeShifts);
-            if (!relevantActiveShifts.equals(requiredShifts))
+            if (!activeShifts.matches(relevantShifts, requiredShifts))
             {
                 this.button.updateState(false);
                 return false;
             }
         }
 
-        IJoystick relevantJoystick = joysticks[userInputDevice.getId()];
-        if (relevantJoystick == null || !relevantJoystick.isConnected())
+        if (!input.isConnected(userInputDevice))
         {
             ExceptionHelpers.Assert(TuningConstants.EXPECT_UNUSED_JOYSTICKS, "Unexpected user input device " + userInputDevice.toString());
             return false;
         }
 
         // find the appropriate button and grab the value from the relevant joystick
-        boolean buttonPressed;
-        UserInputDeviceButton relevantButton = description.getUserInputDeviceButton();
-        if (relevantButton == UserInputDeviceButton.POV)
-        {
-            buttonPressed = relevantJoystick.getPOV() == description.getUserInputDevicePovValue();
-        }
-        else if (relevantButton == UserInputDeviceButton.ANALOG_AXIS_RANGE)
-        {
-            double value = relevantJoystick.getAxis(description.getUserInputDeviceAxis().Value);
-            buttonPressed =
-                value >= description.getUserInputDeviceRangeMin() &&
-                value <= description.getUserInputDeviceRangeMax();
-        }
-        else if (relevantButton != UserInputDeviceButton.NONE)
-        {
-            buttonPressed = relevantJoystick.getRawButton(relevantButton.Value);
-        }
-        else
-        {
-            buttonPressed = false;
-        }
+        boolean buttonPressed = input.isPressed(
+            userInputDevice,
+            description.getUserInputDeviceButton(),
+            description.getUserInputDevicePovValue(),
+            description.getUserInputDeviceAxis(),
+            description.getUserInputDeviceRangeMin(),
+            description.getUserInputDeviceRangeMax());
 
         this.button.updateState(buttonPressed);
         return buttonPressed;
@@ -152,7 +142,11 @@ public class DigitalOperationState extends OperationState
 
     public void setInterruptState(boolean value)
     {
-        ExceptionHelpers.Assert(this.isInterrupted, "Cannot set interrupt state for non-interrupted digital operations (" + this.getDescription().getOperation().toString() + ")");
+        if (!this.isInterrupted)
+        {
+            ExceptionHelpers.Assert(false, "Cannot set interrupt state for non-interrupted digital operations (" + this.getDescription().getOperation().toString() + ")");
+        }
+
         this.interruptValue = value;
     }
 }
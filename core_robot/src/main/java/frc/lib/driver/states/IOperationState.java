@@ -1,9 +1,7 @@
 package frc.lib.driver.states;
 
-import java.util.EnumSet;
-
-import frc.lib.robotprovider.IJoystick;
-import frc.robot.driver.Shift;
+import frc.lib.driver.InputFrame;
+import frc.lib.helpers.OrdinalBitSet;
 
 /**
  * The state of a current operation.
@@ -25,9 +23,15 @@ public interface IOperationState
 
     /**
      * Checks whether the operation state should change based on the joysticks and active stifts. 
-     * @param joysticks to update from
+     * @param input from the joysticks to update from
      * @param activeShifts to update from
      * @return true if there was any active user input that triggered a state change
      */
-    public boolean checkInput(IJoystick[] joysticks, EnumSet<Shift> activeShifts);
+    public boolean checkInput(InputFrame input, OrdinalBitSet activeShifts);
+
+    /**
+     * Checks whether checkInput needs to be called even when the input and active shifts haven't changed since it was last called
+     * @return true if the state could change without any change to the input
+     */
+    public boolean needsInputCheck();
 }
\ No newline at end of file
@@ -1,13 +1,11 @@
 package frc.lib.driver.states;
 
-import java.util.EnumMap;
-import java.util.EnumSet;
-
 import frc.robot.TuningConstants;
 import frc.lib.driver.IControlTask;
 import frc.lib.driver.IOperation;
-import frc.lib.driver.UserInputDeviceButton;
-import frc.lib.robotprovider.IJoystick;
+import frc.lib.driver.InputFrame;
+import frc.lib.driver.OperationRequirements;
+import frc.lib.driver.TaskProfiler;
 import frc.lib.driver.buttons.ClickButton;
 import frc.lib.driver.buttons.IButton;
 import frc.lib.driver.buttons.SimpleButton;
@@ -15,10 +13,9 @@ import frc.lib.driver.buttons.ToggleButton;
 import frc.lib.driver.descriptions.MacroOperationDescription;
 import frc.lib.driver.descriptions.UserInputDevice;
 import frc.lib.helpers.ExceptionHelpers;
-import frc.lib.helpers.SetHelper;
+import frc.lib.helpers.OrdinalBitSet;
 import frc.robot.driver.AnalogOperation;
 import frc.robot.driver.DigitalOperation;
-import frc.robot.driver.Shift;
 
 import com.google.inject.Injector;
 
@@ -29,23 +26,29 @@ import com.google.inject.Injector;
 public class MacroOperationState extends OperationState implements IMacroOperationState
 {
     private final IButton button;
-    private final EnumMap<AnalogOperation, AnalogOperationState> analogOperationStateMap;
-    private final EnumMap<DigitalOperation, DigitalOperationState> digitalOperationStateMap;
+    private final AnalogOperationState[] analogOperationStates;
+    private final DigitalOperationState[] digitalOperationStates;
     private final Injector injector;
+    private final OperationRequirements affectedRequirements;
+    private final OperationRequirements taskRequirements;
 
     private IControlTask task;
+    private IControlTask cachedTask; // previous task, to reset and reuse the next time the macro starts
 
     public MacroOperationState(
         MacroOperationDescription description,
-        EnumMap<AnalogOperation, AnalogOperationState> analogOperationStateMap,
-        EnumMap<DigitalOperation, DigitalOperationState> digitalOperationStateMap,
+        AnalogOperationState[] analogOperationStates,
+        DigitalOperationState[] digitalOperationStates,
         Injector injector)
     {
         super(description);
 
-        this.analogOperationStateMap = analogOperationStateMap;
-        this.digitalOperationStateMap = digitalOperationStateMap;
+        this.analogOperationStates = analogOperationStates;
+        this.digitalOperationStates = digitalOperationStates;
         this.injector = injector;
+        this.affectedRequirements = new OperationRequirements();
+        this.affectedRequirements.addAll(description.getAffectedOperations());
+        this.taskRequirements = new OperationRequirements();
 
         switch (description.getButtonType())
         {
@@ -68,6 +71,7 @@ public class MacroOperationState extends OperationState implements IMacroOperati
         }
 
         this.task = null;
+        this.cachedTask = null;
         this.button.clearState();
     }
 
@@ -94,14 +98,24 @@ public class MacroOperationState extends OperationState implements IMacroOperati
         return false;
     }
 
+    /**
+     * Checks whether checkInput needs to be called even when the input and active shifts haven't changed since it was last called
+     * @return true if the button could change without any change to the input
+     */
+    @Override
+    public boolean needsInputCheck()
+    {
+        return this.button.needsUpdate();
+    }
+
     /**
      * Checks whether the operation state should change based on the joysticks and active stifts. 
-     * @param joysticks to update from
+     * @param input from the joysticks to update from
      * @param activeShifts to update from
      * @return true if there was any active user input that triggered a state change
      */
     @Override
-    public boolean checkInput(IJoystick[] joysticks, EnumSet<Shift> activeShifts)
+    public boolean checkInput(InputFrame input, OrdinalBitSet activeShifts)
     {
         MacroOperationDescription description = (MacroOperationDescription)this.getDescription();
 
@@ -111,47 +125,31 @@ public class MacroOperationState extends OperationState implements IMacroOperati
             return false;
         }
 
-        EnumSet<Shift> relevantShifts = description.getRelevantShifts();
-        EnumSet<Shift> requiredShifts = description.getRequiredShifts();
+        OrdinalBitSet relevantShifts = description.getRelevantShiftBits();
+        OrdinalBitSet requiredShifts = description.getRequiredShiftBits();
         if (relevantShifts != null && requiredShifts != null)
         {
-            EnumSet<Shift> relevantActiveShifts = SetHelper.Intersection(relevantShifts, activeShifts);
-            if (!relevantActiveShifts.equals(requiredShifts))
+            if (!activeShifts.matches(relevantShifts, requiredShifts))
             {
                 this.button.updateState(false);
                 return false;
             }
         }
 
-        IJoystick relevantJoystick = joysticks[userInputDevice.getId()];
-        if (relevantJoystick == null || !relevantJoystick.isConnected())
+        if (!input.isConnected(userInputDevice))
         {
             ExceptionHelpers.Assert(TuningConstants.EXPECT_UNUSED_JOYSTICKS, "Unexpected user input device " + userInputDevice.toString());
             return false;
         }
 
         // find the appropriate button and grab the value from the relevant joystick
-        boolean buttonPressed;
-        UserInputDeviceButton relevantButton = description.getUserInputDeviceButton();
-        if (relevantButton == UserInputDeviceButton.POV)
-        {
-            buttonPressed = relevantJoystick.getPOV() == description.getUserInputDevicePovValue();
-        }
-        else if (relevantButton == UserInputDeviceButton.ANALOG_AXIS_RANGE)
-        {
-            double value = relevantJoystick.getAxis(description.getUserInputDeviceAxis().Value);
-            buttonPressed =
-                value >= description.getUserInputDeviceRangeMin() &&
-                value <= description.getUserInputDeviceRangeMax();
-        }
-        else if (relevantButton != UserInputDeviceButton.NONE)
-        {
-            buttonPressed = relevantJoystick.getRawButton(relevantButton.Value);
-        }
-        else
-        {
-            buttonPressed = false;
-        }
+        boolean buttonPressed = input.isPressed(
+            userInputDevice,
+            description.getUserInputDeviceButton(),
+            description.getUserInputDevicePovValue(),
+            description.getUserInputDeviceAxis(),
+            description.getUserInputDeviceRangeMin(),
+            description.getUserInputDeviceRangeMax());
 
         this.button.updateState(buttonPressed);
         return buttonPressed;
@@ -185,9 +183,15 @@ public class MacroOperationState extends OperationState implements IMacroOperati
             {
                 this.setInterrupts(true);
 
-                // start task
-                this.task = ((MacroOperationDescription)this.getDescription()).constructTask();
-                this.task.initialize(this.analogOperationStateMap, this.digitalOperationStateMap, this.injector);
+                // start task (reusing the previous one, if it can be reset)
+                this.task = this.takeCachedTask();
+                if (this.task == null)
+                {
+                    this.task = TaskProfiler.wrap(((MacroOperationDescription)this.getDescription()).constructTask());
+                    this.checkRequirements(this.task);
+                }
+
+                this.task.initialize(this.analogOperationStates, this.digitalOperationStates, this.injector);
                 this.task.begin();
             }
 
@@ -204,6 +208,7 @@ public class MacroOperationState extends OperationState implements IMacroOperati
                     this.task.stop();
                 }
 
+                this.cachedTask = this.task;
                 this.task = null;
                 this.button.clearState();
 
@@ -222,6 +227,7 @@ public class MacroOperationState extends OperationState implements IMacroOperati
         {
             // cancel task:
             this.task.stop();
+            this.cachedTask = this.task;
             this.task = null;
 
             this.setInterrupts(false);
@@ -234,18 +240,49 @@ public class MacroOperationState extends OperationState implements IMacroOperati
         this.button.clearState();
     }
 
+    private IControlTask takeCachedTask()
+    {
+        IControlTask cachedTask = this.cachedTask;
+        this.cachedTask = null;
+        if (TuningConstants.MACRO_REUSE_TASKS && cachedTask != null && cachedTask.reset())
+        {
+            return cachedTask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Check that a newly-constructed task doesn't require any operations that the macro doesn't affect (and so won't
+     * interrupt), rather than finding out once the task tries to set them
+     * @param task that was constructed
+     */
+    private void checkRequirements(IControlTask task)
+    {
+        this.taskRequirements.clear();
+        if (task.addRequirements(this.taskRequirements))
+        {
+            this.taskRequirements.remove(this.affectedRequirements);
+            ExceptionHelpers.Assert(
+                this.taskRequirements.isEmpty(),
+                "Task for macro %s requires operations that it doesn't affect: %s",
+                this.getDescription().getOperation(),
+                this.taskRequirements);
+        }
+    }
+
     private void setInterrupts(boolean enable)
     {
         for (IOperation operation : this.getAffectedOperations())
         {
             if (operation instanceof AnalogOperation)
             {
-                this.analogOperationStateMap.get((AnalogOperation)operation).setIsInterrupted(enable);
+                this.analogOperationStates[((AnalogOperation)operation).ordinal()].setIsInterrupted(enable);
             }
             else
             {
                 ExceptionHelpers.Assert(operation instanceof DigitalOperation, "Expect operation of type DigitalOperation");
-                this.digitalOperationStateMap.get((DigitalOperation)operation).setIsInterrupted(enable);
+                this.digitalOperationStates[((DigitalOperation)operation).ordinal()].setIsInterrupted(enable);
             }
         }
     }
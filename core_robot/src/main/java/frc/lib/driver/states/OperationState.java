@@ -1,14 +1,12 @@
 package frc.lib.driver.states;
 
-import frc.lib.robotprovider.IJoystick;
-
-import java.util.EnumSet;
+import frc.lib.driver.InputFrame;
 
 import frc.lib.driver.descriptions.AnalogOperationDescription;
 import frc.lib.driver.descriptions.DigitalOperationDescription;
 import frc.lib.driver.descriptions.OperationDescription;
 import frc.lib.helpers.ExceptionHelpers;
-import frc.robot.driver.Shift;
+import frc.lib.helpers.OrdinalBitSet;
 
 /**
  * The state of a current operation.
@@ -42,11 +40,17 @@ public abstract class OperationState implements IOperationState
 
     /**
      * Checks whether the operation state should change based on the joysticks and component sensors. 
-     * @param joysticks to update from
+     * @param input from the joysticks to update from
      * @param activeShifts to update from
      * @return true if there was any active user input that triggered a state change
      */
-    public abstract boolean checkInput(IJoystick[] joysticks, EnumSet<Shift> activeShifts);
+    public abstract boolean checkInput(InputFrame input, OrdinalBitSet activeShifts);
+
+    /**
+     * Checks whether checkInput needs to be called even when the input and active shifts haven't changed since it was last called
+     * @return true if the state could change without any change to the input
+     */
+    public abstract boolean needsInputCheck();
 
     /**
      * Create the state corresponding to the description
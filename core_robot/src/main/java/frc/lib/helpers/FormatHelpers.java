@@ -0,0 +1,463 @@
+package frc.lib.helpers;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helpers for writing values as text directly into a byte buffer (UTF-8) without allocating any Strings
+ */
+public class FormatHelpers
+{
+    // the longest text we will write for a number ("-9223372036854775808.123456789")
+    public static final int MAX_NUMBER_LENGTH = 40;
+
+    private static final long[] POWERS_OF_TEN =
+    {
+        1L,
+        10L,
+        100L,
+        1000L,
+        10000L,
+        100000L,
+        1000000L,
+        10000000L,
+        100000000L,
+        1000000000L,
+        10000000000L,
+        100000000000L,
+        1000000000000L,
+        10000000000000L,
+        100000000000000L,
+        1000000000000000L,
+        10000000000000000L,
+    };
+
+    // exact powers of ten that can be represented as a double, for writing numbers so that they round-trip
+    private static final double[] DOUBLE_POWERS_OF_TEN =
+    {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22,
+    };
+
+    private static final double ROUND_TRIP_MIN = 1e-6; // smallest number written without allocating (1e16 * 1e-6 needs 1e22)
+    private static final double ROUND_TRIP_MAX = 1e17; // largest number (exclusive) written without allocating
+    private static final double SPLITTER = 134217729.0; // 2^27 + 1, for splitting a double into two halves (Veltkamp)
+
+    private static final byte[] TRUE = { 't', 'r', 'u', 'e' };
+    private static final byte[] FALSE = { 'f', 'a', 'l', 's', 'e' };
+    private static final byte[] NAN = { 'N', 'a', 'N' };
+    private static final byte[] INFINITY = { 'I', 'n', 'f', 'i', 'n', 'i', 't', 'y' };
+
+    /**
+     * Retrieve the largest number of decimal places supported by appendNumber
+     * @return the largest number of decimal places
+     */
+    public static int getMaxDecimalPlaces()
+    {
+        return FormatHelpers.POWERS_OF_TEN.length - 1;
+    }
+
+    /**
+     * Write a boolean as text ("true" or "false")
+     * @param buffer to write into
+     * @param offset within the buffer to start writing
+     * @param value to write
+     * @return the offset after the written text
+     */
+    public static int appendBoolean(byte[] buffer, int offset, boolean value)
+    {
+        byte[] text = value ? FormatHelpers.TRUE : FormatHelpers.FALSE;
+        System.arraycopy(text, 0, buffer, offset, text.length);
+        return offset + text.length;
+    }
+
+    /**
+     * Write an integer as text (a la String.valueOf)
+     * @param buffer to write into (must have room for MAX_NUMBER_LENGTH bytes)
+     * @param offset within the buffer to start writing
+     * @param value to write
+     * @return the offset after the written text
+     */
+    public static int appendInteger(byte[] buffer, int offset, long value)
+    {
+        if (value == Long.MIN_VALUE)
+        {
+            // can't be negated...
+            buffer[offset++] = '-';
+            offset = FormatHelpers.appendInteger(buffer, offset, -(value / 10));
+            buffer[offset++] = (byte)('0' + -(value % 10));
+            return offset;
+        }
+
+        if (value < 0)
+        {
+            buffer[offset++] = '-';
+            value = -value;
+        }
+
+        int digits = 1;
+        for (long remaining = value / 10; remaining != 0; remaining /= 10)
+        {
+            digits++;
+        }
+
+        int end = offset + digits;
+        for (int i = end - 1; i >= offset; i--)
+        {
+            buffer[i] = (byte)('0' + (value % 10));
+            value /= 10;
+        }
+
+        return end;
+    }
+
+    /**
+     * Write a number as text with a fixed maximum number of decimal places, dropping trailing zeros but always
+     * writing at least one decimal place (a la "1.25", "-3.0")
+     * @param buffer to write into (must have room for MAX_NUMBER_LENGTH bytes)
+     * @param offset within the buffer to start writing
+     * @param value to write
+     * @param decimalPlaces maximum number of decimal places to write
+     * @return the offset after the written text
+     */
+    public static int appendNumber(byte[] buffer, int offset, double value, int decimalPlaces)
+    {
+        if (Double.isNaN(value))
+        {
+            System.arraycopy(FormatHelpers.NAN, 0, buffer, offset, FormatHelpers.NAN.length);
+            return offset + FormatHelpers.NAN.length;
+        }
+
+        boolean negative = value < 0.0;
+        double absValue = negative ? -value : value;
+        if (Double.isInfinite(value))
+        {
+            if (negative)
+            {
+                buffer[offset++] = '-';
+            }
+
+            System.arraycopy(FormatHelpers.INFINITY, 0, buffer, offset, FormatHelpers.INFINITY.length);
+            return offset + FormatHelpers.INFINITY.length;
+        }
+
+        long scale = FormatHelpers.POWERS_OF_TEN[decimalPlaces];
+        if (absValue >= (double)(Long.MAX_VALUE / scale))
+        {
+            // too large to scale into a long, don't care about the fraction
+            if (negative)
+            {
+                buffer[offset++] = '-';
+            }
+
+            if (absValue >= (double)Long.MAX_VALUE)
+            {
+                return FormatHelpers.appendText(buffer, offset, String.valueOf(absValue));
+            }
+
+            offset = FormatHelpers.appendInteger(buffer, offset, (long)absValue);
+            buffer[offset++] = '.';
+            buffer[offset++] = '0';
+            return offset;
+        }
+
+        long scaled = Math.round(absValue * scale);
+        if (negative && scaled != 0L)
+        {
+            buffer[offset++] = '-';
+        }
+
+        offset = FormatHelpers.appendInteger(buffer, offset, scaled / scale);
+        buffer[offset++] = '.';
+
+        long fraction = scaled % scale;
+        if (fraction == 0L)
+        {
+            buffer[offset++] = '0';
+            return offset;
+        }
+
+        // drop trailing zeros
+        int digits = decimalPlaces;
+        while ((fraction % 10) == 0L)
+        {
+            fraction /= 10;
+            digits--;
+        }
+
+        int end = offset + digits;
+        for (int i = end - 1; i >= offset; i--)
+        {
+            buffer[i] = (byte)('0' + (fraction % 10));
+            fraction /= 10;
+        }
+
+        return end;
+    }
+
+    /**
+     * Write a number as the shortest text that reads back (a la Double.parseDouble) as exactly the same value,
+     * in plain notation (a la "0.30000000000000004", "1318.0", "-0.0").  Numbers smaller than 1e-6 or at least 1e17
+     * are written in scientific notation (a la "1.0E-7") using Double.toString, which allocates.
+     * @param buffer to write into (must have room for MAX_NUMBER_LENGTH bytes)
+     * @param offset within the buffer to start writing
+     * @param value to write
+     * @return the offset after the written text
+     */
+    public static int appendNumber(byte[] buffer, int offset, double value)
+    {
+        if (Double.isNaN(value) || Double.isInfinite(value))
+        {
+            return FormatHelpers.appendNumber(buffer, offset, value, 0);
+        }
+
+        double absValue = Math.abs(value);
+        if (absValue != 0.0 && (absValue < FormatHelpers.ROUND_TRIP_MIN || absValue >= FormatHelpers.ROUND_TRIP_MAX))
+        {
+            return FormatHelpers.appendText(buffer, offset, String.valueOf(value));
+        }
+
+        if (Double.doubleToRawLongBits(value) < 0L)
+        {
+            buffer[offset++] = '-';
+        }
+
+        if (absValue == 0.0)
+        {
+            buffer[offset++] = '0';
+            buffer[offset++] = '.';
+            buffer[offset++] = '0';
+            return offset;
+        }
+
+        // scale the value by 10^scale into [1e16, 1e17), so that 17 significant digits are in the integer part
+        int scale = Math.max(0, Math.min(FormatHelpers.DOUBLE_POWERS_OF_TEN.length - 1, 16 - (int)Math.floor(Math.log10(absValue))));
+        double high = absValue * FormatHelpers.DOUBLE_POWERS_OF_TEN[scale];
+        if (high >= FormatHelpers.DOUBLE_POWERS_OF_TEN[17] && scale > 0)
+        {
+            scale--;
+        }
+        else if (high < FormatHelpers.DOUBLE_POWERS_OF_TEN[16] && scale < FormatHelpers.DOUBLE_POWERS_OF_TEN.length - 1)
+        {
+            scale++;
+        }
+
+        // the scaled value is exactly high + low, and high is an integer (doubles above 2^53 are even)
+        double power = FormatHelpers.DOUBLE_POWERS_OF_TEN[scale];
+        high = absValue * power;
+        double low = FormatHelpers.getProductError(absValue, power, high);
+        long integer = (long)high;
+        long floor = integer + (long)Math.floor(low);
+
+        // any text within half of an ulp reads back as the same value (only a quarter below powers of two)
+        double halfUlpAbove = Math.ulp(absValue) * power / 2.0;
+        double halfUlpBelow = (Double.doubleToRawLongBits(absValue) & 0xFFFFFFFFFFFFFL) == 0L ? halfUlpAbove / 2.0 : halfUlpAbove;
+
+        // find the fewest significant digits that read back as the same value
+        long digits = -1L;
+        int droppedDigits = 0;
+        for (int dropped = 16; dropped >= 0 && digits < 0L; dropped--)
+        {
+            long granularity = FormatHelpers.POWERS_OF_TEN[dropped];
+            long lower = floor - (floor % granularity);
+            double lowerError = FormatHelpers.getRoundTripError(lower - integer, low, halfUlpAbove, halfUlpBelow);
+            double upperError = FormatHelpers.getRoundTripError(lower + granularity - integer, low, halfUlpAbove, halfUlpBelow);
+            if (lowerError >= 0.0 && (upperError < 0.0 || lowerError <= upperError))
+            {
+                digits = lower / granularity;
+                droppedDigits = dropped;
+            }
+            else if (upperError >= 0.0)
+            {
+                digits = lower / granularity + 1L;
+                droppedDigits = dropped;
+            }
+        }
+
+        if (digits < 0L)
+        {
+            // shouldn't happen, the nearest integer is always within half of an ulp
+            return FormatHelpers.appendText(buffer, offset, String.valueOf(absValue));
+        }
+
+        while (digits % 10L == 0L)
+        {
+            digits /= 10L;
+            droppedDigits++;
+        }
+
+        // the value is digits * 10^(droppedDigits - scale)
+        int start = offset;
+        offset = FormatHelpers.appendInteger(buffer, offset, digits);
+        int exponent = droppedDigits - scale;
+        if (exponent >= 0)
+        {
+            for (int i = 0; i < exponent; i++)
+            {
+                buffer[offset++] = '0';
+            }
+
+            buffer[offset++] = '.';
+            buffer[offset++] = '0';
+            return offset;
+        }
+
+        int decimalPlaces = -exponent;
+        int length = offset - start;
+        if (length > decimalPlaces)
+        {
+            // insert the decimal point within the digits
+            int point = offset - decimalPlaces;
+            System.arraycopy(buffer, point, buffer, point + 1, decimalPlaces);
+            buffer[point] = '.';
+            return offset + 1;
+        }
+
+        // insert "0." and leading zeros before the digits
+        int shift = 2 + decimalPlaces - length;
+        System.arraycopy(buffer, start, buffer, start + shift, length);
+        buffer[start] = '0';
+        buffer[start + 1] = '.';
+        for (int i = start + 2; i < start + shift; i++)
+        {
+            buffer[i] = '0';
+        }
+
+        return offset + shift;
+    }
+
+    private static double getProductError(double a, double b, double product)
+    {
+        // exact error of a floating-point multiplication (Dekker), without relying on Math.fma which isn't fast on the roboRIO
+        double aSplit = FormatHelpers.SPLITTER * a;
+        double aHigh = aSplit - (aSplit - a);
+        double aLow = a - aHigh;
+        double bSplit = FormatHelpers.SPLITTER * b;
+        double bHigh = bSplit - (bSplit - b);
+        double bLow = b - bHigh;
+        return ((aHigh * bHigh - product) + aHigh * bLow + aLow * bHigh) + aLow * bLow;
+    }
+
+    private static double getRoundTripError(long difference, double low, double halfUlpAbove, double halfUlpBelow)
+    {
+        // difference between the candidate and the integer part of the scaled value, so the candidate is off by (difference - low)
+        // returns how far the candidate is from the value, or -1.0 if it wouldn't read back as the same value
+        if (difference > 64L || difference < -64L)
+        {
+            return -1.0;
+        }
+
+        double error = (double)difference - low;
+        if (error >= 0.0)
+        {
+            return error < halfUlpAbove ? error : -1.0;
+        }
+
+        return -error < halfUlpBelow ? -error : -1.0;
+    }
+
+    private static int appendText(byte[] buffer, int offset, String text)
+    {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+        return offset + bytes.length;
+    }
+
+    /**
+     * Retrieve the largest number of bytes that appendString could write for the provided string
+     * @param value to write
+     * @return the largest number of bytes needed
+     */
+    public static int getMaxStringLength(String value)
+    {
+        return 3 * value.length();
+    }
+
+    /**
+     * Write a string as UTF-8
+     * @param buffer to write into (must have room for getMaxStringLength bytes)
+     * @param offset within the buffer to start writing
+     * @param value to write
+     * @return the offset after the written text
+     */
+    public static int appendString(byte[] buffer, int offset, String value)
+    {
+        int length = value.length();
+        for (int i = 0; i < length; i++)
+        {
+            offset = FormatHelpers.appendCharacter(buffer, offset, value, i);
+        }
+
+        return offset;
+    }
+
+    /**
+     * Write a single character of a string as UTF-8.  A surrogate pair is written along with its first (high) character.
+     * @param buffer to write into
+     * @param offset within the buffer to start writing
+     * @param value containing the character
+     * @param index of the character within the string
+     * @return the offset after the written character
+     */
+    public static int appendCharacter(byte[] buffer, int offset, String value, int index)
+    {
+        char ch = value.charAt(index);
+        if (ch < 0x80)
+        {
+            buffer[offset++] = (byte)ch;
+        }
+        else if (ch < 0x800)
+        {
+            buffer[offset++] = (byte)(0xC0 | (ch >> 6));
+            buffer[offset++] = (byte)(0x80 | (ch & 0x3F));
+        }
+        else if (Character.isHighSurrogate(ch) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1)))
+        {
+            int codePoint = Character.toCodePoint(ch, value.charAt(index + 1));
+            buffer[offset++] = (byte)(0xF0 | (codePoint >> 18));
+            buffer[offset++] = (byte)(0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[offset++] = (byte)(0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[offset++] = (byte)(0x80 | (codePoint & 0x3F));
+        }
+        else if (Character.isLowSurrogate(ch) && index > 0 && Character.isHighSurrogate(value.charAt(index - 1)))
+        {
+            // already written along with the high surrogate
+        }
+        else if (Character.isSurrogate(ch))
+        {
+            buffer[offset++] = '?';
+        }
+        else
+        {
+            buffer[offset++] = (byte)(0xE0 | (ch >> 12));
+            buffer[offset++] = (byte)(0x80 | ((ch >> 6) & 0x3F));
+            buffer[offset++] = (byte)(0x80 | (ch & 0x3F));
+        }
+
+        return offset;
+    }
+
+    /**
+     * Format a number as the shortest string that reads back as exactly the same value, matching appendNumber
+     * @param value to format
+     * @return the formatted number
+     */
+    public static String formatNumber(double value)
+    {
+        byte[] buffer = new byte[FormatHelpers.MAX_NUMBER_LENGTH];
+        int length = FormatHelpers.appendNumber(buffer, 0, value);
+        return new String(buffer, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Format a number as a string with a fixed maximum number of decimal places, matching appendNumber
+     * @param value to format
+     * @param decimalPlaces maximum number of decimal places to write
+     * @return the formatted number
+     */
+    public static String formatNumber(double value, int decimalPlaces)
+    {
+        byte[] buffer = new byte[FormatHelpers.MAX_NUMBER_LENGTH];
+        int length = FormatHelpers.appendNumber(buffer, 0, value, decimalPlaces);
+        return new String(buffer, 0, length, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,260 @@
+package frc.lib.helpers;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+
+/**
+ * Set of enum values (or other small integers), stored as a bit per ordinal in an array of longs so that it can be
+ * cleared and combined in place without allocating.  Sets that are combined should have the same size.
+ */
+public class OrdinalBitSet
+{
+    private final long[] words;
+
+    /**
+     * Initializes a new, empty instance of the OrdinalBitSet class
+     * @param size number of ordinals that the set can hold (e.g. the number of values in the enum)
+     */
+    public OrdinalBitSet(int size)
+    {
+        this.words = new long[Math.max((size + 63) / 64, 1)];
+    }
+
+    /**
+     * Create a set containing the ordinals of the values in an EnumSet
+     * @param set of values to include
+     * @param size number of ordinals that the set can hold (e.g. the number of values in the enum)
+     * @return a set containing the ordinal of each value
+     */
+    public static <T extends Enum<T>> OrdinalBitSet fromEnumSet(EnumSet<T> set, int size)
+    {
+        OrdinalBitSet result = new OrdinalBitSet(size);
+        for (T value : set)
+        {
+            result.set(value.ordinal());
+        }
+
+        return result;
+    }
+
+    /**
+     * Check whether the set contains an ordinal
+     * @param ordinal to check
+     * @return true if the ordinal is in the set
+     */
+    public boolean get(int ordinal)
+    {
+        return (this.words[ordinal >> 6] & (1L << ordinal)) != 0L;
+    }
+
+    /**
+     * Add an ordinal to the set
+     * @param ordinal to add
+     */
+    public void set(int ordinal)
+    {
+        this.words[ordinal >> 6] |= (1L << ordinal);
+    }
+
+    /**
+     * Remove an ordinal from the set
+     * @param ordinal to remove
+     */
+    public void clear(int ordinal)
+    {
+        this.words[ordinal >> 6] &= ~(1L << ordinal);
+    }
+
+    /**
+     * Remove all of the ordinals from the set
+     */
+    public void clear()
+    {
+        Arrays.fill(this.words, 0L);
+    }
+
+    /**
+     * Check whether the set is empty
+     * @return true if the set doesn't contain any ordinals
+     */
+    public boolean isEmpty()
+    {
+        for (int i = 0; i < this.words.length; i++)
+        {
+            if (this.words[i] != 0L)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Count the ordinals in the set
+     * @return the number of ordinals in the set
+     */
+    public int count()
+    {
+        int count = 0;
+        for (int i = 0; i < this.words.length; i++)
+        {
+            count += Long.bitCount(this.words[i]);
+        }
+
+        return count;
+    }
+
+    /**
+     * Replace the contents of this set with the contents of another set
+     * @param other set to copy
+     */
+    public void copyFrom(OrdinalBitSet other)
+    {
+        System.arraycopy(other.words, 0, this.words, 0, this.words.length);
+    }
+
+    /**
+     * Add all of the ordinals in another set to this set (union)
+     * @param other set of ordinals to add
+     */
+    public void or(OrdinalBitSet other)
+    {
+        for (int i = 0; i < this.words.length; i++)
+        {
+            this.words[i] |= other.words[i];
+        }
+    }
+
+    /**
+     * Remove all of the ordinals that aren't in another set from this set (intersection)
+     * @param other set of ordinals to keep
+     */
+    public void and(OrdinalBitSet other)
+    {
+        for (int i = 0; i < this.words.length; i++)
+        {
+            this.words[i] &= other.words[i];
+        }
+    }
+
+    /**
+     * Check whether this set has any ordinals in common with another set
+     * @param other set to check
+     * @return true if the intersection of the sets isn't empty
+     */
+    public boolean intersects(OrdinalBitSet other)
+    {
+        for (int i = 0; i < this.words.length; i++)
+        {
+            if ((this.words[i] & other.words[i]) != 0L)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Remove all of the ordinals in another set from this set (relative complement)
+     * @param other set of ordinals to remove
+     */
+    public void andNot(OrdinalBitSet other)
+    {
+        for (int i = 0; i < this.words.length; i++)
+        {
+            this.words[i] &= ~other.words[i];
+        }
+    }
+
+    /**
+     * Check whether the ordinals of this set that are within a mask are exactly the expected ordinals
+     * @param mask of ordinals to consider
+     * @param expected ordinals within the mask
+     * @return true if the intersection of this set and the mask equals the expected set
+     */
+    public boolean matches(OrdinalBitSet mask, OrdinalBitSet expected)
+    {
+        for (int i = 0; i < this.words.length; i++)
+        {
+            if ((this.words[i] & mask.words[i]) != expected.words[i])
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Find the next ordinal in the set, a la:
+     * for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1))
+     * @param fromOrdinal to start searching from (inclusive)
+     * @return the first ordinal in the set that is at least fromOrdinal, or -1 if there isn't one
+     */
+    public int nextSetBit(int fromOrdinal)
+    {
+        int wordIndex = fromOrdinal >> 6;
+        if (wordIndex >= this.words.length)
+        {
+            return -1;
+        }
+
+        long word = this.words[wordIndex] & (-1L << fromOrdinal);
+        while (true)
+        {
+            if (word != 0L)
+            {
+                return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+            }
+
+            if (++wordIndex >= this.words.length)
+            {
+                return -1;
+            }
+
+            word = this.words[wordIndex];
+        }
+    }
+
+    /**
+     * Describe the set using the names of the enum values, matching EnumSet's toString (a la "[A, B]")
+     * @param values of the enum, indexed by ordinal
+     * @return the description of the set
+     */
+    public String toString(Enum<?>[] values)
+    {
+        StringBuilder builder = new StringBuilder();
+        builder.append('[');
+        for (int i = this.nextSetBit(0); i >= 0; i = this.nextSetBit(i + 1))
+        {
+            if (builder.length() > 1)
+            {
+                builder.append(", ");
+            }
+
+            builder.append(values[i].toString());
+        }
+
+        builder.append(']');
+        return builder.toString();
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (!(obj instanceof OrdinalBitSet))
+        {
+            return false;
+        }
+
+        return Arrays.equals(this.words, ((OrdinalBitSet)obj).words);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Arrays.hashCode(this.words);
+    }
+}
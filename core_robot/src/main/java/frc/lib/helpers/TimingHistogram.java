@@ -0,0 +1,121 @@
+package frc.lib.helpers;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of durations (in nanoseconds) with fixed-width buckets, so that recording a duration doesn't allocate.
+ * Durations past the last bucket are counted in the last bucket, and the largest duration is tracked separately.
+ */
+public class TimingHistogram
+{
+    private final long bucketWidth;
+    private final long[] buckets;
+
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * Initializes a new instance of the TimingHistogram class
+     * @param bucketWidth duration covered by each bucket, in nanoseconds
+     * @param bucketCount number of buckets
+     */
+    public TimingHistogram(long bucketWidth, int bucketCount)
+    {
+        this.bucketWidth = Math.max(bucketWidth, 1L);
+        this.buckets = new long[Math.max(bucketCount, 1)];
+        this.reset();
+    }
+
+    /**
+     * Record a duration
+     * @param duration to record, in nanoseconds
+     */
+    public void record(long duration)
+    {
+        if (duration < 0L)
+        {
+            duration = 0L;
+        }
+
+        long bucket = duration / this.bucketWidth;
+        this.buckets[bucket < this.buckets.length ? (int)bucket : this.buckets.length - 1]++;
+        this.count++;
+        this.total += duration;
+        if (duration > this.max)
+        {
+            this.max = duration;
+        }
+    }
+
+    /**
+     * Discard all of the recorded durations
+     */
+    public void reset()
+    {
+        Arrays.fill(this.buckets, 0L);
+        this.count = 0L;
+        this.total = 0L;
+        this.max = 0L;
+    }
+
+    /**
+     * Retrieve the number of recorded durations
+     * @return the number of durations
+     */
+    public long getCount()
+    {
+        return this.count;
+    }
+
+    /**
+     * Retrieve the mean of the recorded durations
+     * @return the mean duration, in nanoseconds, or 0 if nothing was recorded
+     */
+    public double getMean()
+    {
+        if (this.count == 0L)
+        {
+            return 0.0;
+        }
+
+        return (double)this.total / this.count;
+    }
+
+    /**
+     * Retrieve the largest recorded duration
+     * @return the largest duration, in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMax()
+    {
+        return this.max;
+    }
+
+    /**
+     * Retrieve a percentile of the recorded durations, to the precision of the bucket width
+     * @param percentile to retrieve (between 0 and 100)
+     * @return the end of the bucket containing the percentile (no more than the largest duration), in nanoseconds,
+     * or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile)
+    {
+        if (this.count == 0L)
+        {
+            return 0L;
+        }
+
+        long rank = Math.max(1L, (long)Math.ceil(percentile / 100.0 * this.count));
+        long seen = 0L;
+        for (int i = 0; i < this.buckets.length - 1; i++)
+        {
+            seen += this.buckets[i];
+            if (seen >= rank)
+            {
+                return Math.min((i + 1) * this.bucketWidth, this.max);
+            }
+        }
+
+        // the last bucket also holds everything past the end of the histogram
+        return this.max;
+    }
+}
@@ -6,21 +6,37 @@ import com.google.inject.Singleton;
 
 import frc.robot.LoggingKey;
 import frc.robot.SettingsManager;
+import frc.robot.TuningConstants;
 import frc.lib.robotprovider.*;
 
 @Singleton
 public class LoggingManager implements ILogger
 {
+    private final LoggingScheduler scheduler; // null if values are passed straight through to the current logger
+
     private ILogger currentLogger;
 
     @Inject
     public LoggingManager()
     {
+        if (TuningConstants.LOG_BUDGET_ENABLED)
+        {
+            this.scheduler =
+                new LoggingScheduler(
+                    TuningConstants.LOG_BUDGET_VALUES_PER_LOOP,
+                    TuningConstants.LOG_BUDGET_ADAPT_PERIOD,
+                    TuningConstants.LOG_BUDGET_MAX_FREQUENCY_MULTIPLIER);
+        }
+        else
+        {
+            this.scheduler = null;
+        }
     }
 
     public LoggingManager(ILogger logger)
     {
         this.currentLogger = logger;
+        this.scheduler = null;
     }
 
     /**
@@ -28,7 +44,18 @@ public class LoggingManager implements ILogger
      */
     public void refresh(Injector injector)
     {
+        ILogger previousLogger = this.currentLogger;
         this.currentLogger = SettingsManager.getLogger(injector);
+        if (previousLogger != null && previousLogger != this.currentLogger)
+        {
+            previousLogger.close();
+        }
+
+        if (this.scheduler != null)
+        {
+            // start over along with the new loggers' schedulers
+            this.scheduler.reset();
+        }
     }
 
     /**
@@ -39,7 +66,10 @@ public class LoggingManager implements ILogger
     @Override
     public void logBoolean(LoggingKey key, boolean value)
     {
-        this.currentLogger.logBoolean(key, value);
+        if (this.shouldLog(key))
+        {
+            this.currentLogger.logBoolean(key, value);
+        }
     }
 
     /**
@@ -50,7 +80,10 @@ public class LoggingManager implements ILogger
     @Override
     public void logBooleanArray(LoggingKey key, boolean[] value)
     {
-        this.currentLogger.logBooleanArray(key, value);
+        if (this.shouldLog(key))
+        {
+            this.currentLogger.logBooleanArray(key, value);
+        }
     }
 
     /**
@@ -61,7 +94,10 @@ public class LoggingManager implements ILogger
     @Override
     public void logNumber(LoggingKey key, double value)
     {
-        this.currentLogger.logNumber(key, value);
+        if (this.shouldLog(key))
+        {
+            this.currentLogger.logNumber(key, value);
+        }
     }
 
     /**
@@ -72,7 +108,10 @@ public class LoggingManager implements ILogger
     @Override
     public void logNumber(LoggingKey key, Double value)
     {
-        this.currentLogger.logNumber(key, value);
+        if (this.shouldLog(key))
+        {
+            this.currentLogger.logNumber(key, value);
+        }
     }
 
     /**
@@ -83,7 +122,10 @@ public class LoggingManager implements ILogger
     @Override
     public void logInteger(LoggingKey key, int value)
     {
-        this.currentLogger.logInteger(key, value);
+        if (this.shouldLog(key))
+        {
+            this.currentLogger.logInteger(key, value);
+        }
     }
 
     /**
@@ -94,7 +136,10 @@ public class LoggingManager implements ILogger
     @Override
     public void logInteger(LoggingKey key, Integer value)
     {
-        this.currentLogger.logInteger(key, value);
+        if (this.shouldLog(key))
+        {
+            this.currentLogger.logInteger(key, value);
+        }
     }
 
     /**
@@ -106,7 +151,10 @@ public class LoggingManager implements ILogger
     @Override
     public void logInteger(LoggingKey key, int value, String formatString)
     {
-        this.currentLogger.logInteger(key, value, formatString);
+        if (this.shouldLog(key))
+        {
+            this.currentLogger.logInteger(key, value, formatString);
+        }
     }
 
     /**
@@ -117,7 +165,19 @@ public class LoggingManager implements ILogger
     @Override
     public void logString(LoggingKey key, String value)
     {
-        this.currentLogger.logString(key, value);
+        if (this.shouldLog(key))
+        {
+            this.currentLogger.logString(key, value);
+        }
+    }
+
+    /**
+     * Write the default value for each key to the log (see LoggingDefaults)
+     */
+    @Override
+    public void logDefaults()
+    {
+        this.currentLogger.logDefaults();
     }
 
     /**
@@ -126,7 +186,17 @@ public class LoggingManager implements ILogger
     @Override
     public void update()
     {
+        if (this.scheduler != null)
+        {
+            this.logInteger(LoggingKey.LoggerDeferredValues, (int)Math.min(this.scheduler.getDeferredValues(), Integer.MAX_VALUE));
+            this.logInteger(LoggingKey.LoggerFrequencyMultiplier, this.scheduler.getFrequencyMultiplier());
+        }
+
         this.currentLogger.update();
+        if (this.scheduler != null)
+        {
+            this.scheduler.update();
+        }
     }
 
     /**
@@ -137,4 +207,18 @@ public class LoggingManager implements ILogger
     {
         this.currentLogger.flush();
     }
+
+    /**
+     * Close the output stream when this logger is no longer used, if appropriate..
+     */
+    @Override
+    public void close()
+    {
+        this.currentLogger.close();
+    }
+
+    private boolean shouldLog(LoggingKey key)
+    {
+        return this.scheduler == null || this.scheduler.shouldLog(key);
+    }
 }
@@ -0,0 +1,13 @@
+package frc.lib.mechanisms;
+
+/**
+ * The phases of each periodic loop that are timed by the LoopProfiler
+ */
+public enum LoopPhase
+{
+    ReadSensors,
+    Driver,
+    Mechanisms,
+    Logger,
+    Loop;
+}
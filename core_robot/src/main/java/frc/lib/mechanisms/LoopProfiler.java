@@ -0,0 +1,369 @@
+package frc.lib.mechanisms;
+
+import java.util.List;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import frc.lib.helpers.FormatHelpers;
+import frc.lib.helpers.TimingHistogram;
+import frc.lib.robotprovider.ILogger;
+import frc.robot.LoggingKey;
+import frc.robot.TuningConstants;
+
+/**
+ * Records how long each phase of the periodic loop takes (and how long each mechanism's readSensors and update take)
+ * into fixed-bucket histograms, so that we can tell what is responsible when the loop runs long.
+ *
+ * The phase (and mechanism) that is currently running is also tracked, so that the LoopWatchdog can report what the
+ * loop was doing when it overran.
+ */
+@Singleton
+public class LoopProfiler
+{
+    private static final double NANOSECONDS_PER_MILLISECOND = 1000000.0;
+    private static final int SUMMARY_DECIMAL_PLACES = 3;
+
+    // p50, p99 and max keys for each LoopPhase (by ordinal)
+    private static final LoggingKey[][] PhaseKeys = new LoggingKey[][]
+    {
+        { LoggingKey.TimingReadSensorsP50, LoggingKey.TimingReadSensorsP99, LoggingKey.TimingReadSensorsMax },
+        { LoggingKey.TimingDriverP50, LoggingKey.TimingDriverP99, LoggingKey.TimingDriverMax },
+        { LoggingKey.TimingMechanismsP50, LoggingKey.TimingMechanismsP99, LoggingKey.TimingMechanismsMax },
+        { LoggingKey.TimingLoggerP50, LoggingKey.TimingLoggerP99, LoggingKey.TimingLoggerMax },
+        { LoggingKey.TimingLoopP50, LoggingKey.TimingLoopP99, LoggingKey.TimingLoopMax },
+    };
+
+    private final boolean enabled;
+    private final TimingHistogram[] phaseHistograms;
+
+    private String[] mechanismNames;
+    private TimingHistogram[] readSensorsHistograms;
+    private TimingHistogram[] updateHistograms;
+
+    private int publishCount;
+
+    // current loop
+    private long loopStartTime;
+    private long phaseStartTime;
+    private volatile LoopPhase activePhase; // null when the loop isn't running
+    private volatile int activeMechanism; // -1 when no mechanism is running
+
+    @Inject
+    public LoopProfiler()
+    {
+        this(TuningConstants.LOOP_TIMING_ENABLED);
+    }
+
+    /**
+     * Initializes a new instance of the LoopProfiler class
+     * @param enabled whether to record timings
+     */
+    public LoopProfiler(boolean enabled)
+    {
+        this.enabled = enabled;
+
+        LoopPhase[] phases = LoopPhase.values();
+        this.phaseHistograms = new TimingHistogram[phases.length];
+        for (int i = 0; i < phases.length; i++)
+        {
+            this.phaseHistograms[i] = LoopProfiler.createHistogram();
+        }
+
+        this.mechanismNames = new String[0];
+        this.readSensorsHistograms = new TimingHistogram[0];
+        this.updateHistograms = new TimingHistogram[0];
+        this.publishCount = 0;
+        this.activePhase = null;
+        this.activeMechanism = -1;
+    }
+
+    /**
+     * Set the mechanisms whose readSensors and update calls are timed
+     * @param mechanisms that are timed, in the order they are run
+     */
+    public void setMechanisms(List<IMechanism> mechanisms)
+    {
+        int count = mechanisms.size();
+        this.mechanismNames = new String[count];
+        this.readSensorsHistograms = new TimingHistogram[count];
+        this.updateHistograms = new TimingHistogram[count];
+        for (int i = 0; i < count; i++)
+        {
+            this.mechanismNames[i] = mechanisms.get(i).getClass().getSimpleName();
+            this.readSensorsHistograms[i] = LoopProfiler.createHistogram();
+            this.updateHistograms[i] = LoopProfiler.createHistogram();
+        }
+    }
+
+    /**
+     * Check whether timings are being recorded
+     * @return true if timings are recorded
+     */
+    public boolean isEnabled()
+    {
+        return this.enabled;
+    }
+
+    /**
+     * Start timing a loop, beginning with its ReadSensors phase
+     */
+    public void startLoop()
+    {
+        if (this.enabled)
+        {
+            this.loopStartTime = System.nanoTime();
+            this.phaseStartTime = this.loopStartTime;
+            this.activeMechanism = -1;
+            this.activePhase = LoopPhase.ReadSensors;
+        }
+    }
+
+    /**
+     * Move on to the next phase of the loop, recording how long the previous phase took
+     * @param phase that is starting
+     */
+    public void startPhase(LoopPhase phase)
+    {
+        if (this.enabled)
+        {
+            long now = System.nanoTime();
+            this.recordActivePhase(now);
+            this.phaseStartTime = now;
+            this.activeMechanism = -1;
+            this.activePhase = phase;
+        }
+    }
+
+    /**
+     * Finish timing the loop, recording how long its last phase and the whole loop took
+     */
+    public void endLoop()
+    {
+        if (this.enabled)
+        {
+            long now = System.nanoTime();
+            this.recordActivePhase(now);
+            this.phaseHistograms[LoopPhase.Loop.ordinal()].record(now - this.loopStartTime);
+            this.activeMechanism = -1;
+            this.activePhase = null;
+        }
+    }
+
+    /**
+     * Note that a mechanism's readSensors or update (based on the current phase) is starting
+     * @param mechanism index (in the list provided to setMechanisms)
+     */
+    public void startMechanism(int mechanism)
+    {
+        if (this.enabled)
+        {
+            this.activeMechanism = mechanism;
+        }
+    }
+
+    /**
+     * Describe what the loop is currently doing (may be called from another thread)
+     * @return the active phase and mechanism, a la "Mechanisms/DriveTrainMechanism.update", or "None"
+     */
+    public String getActiveDescription()
+    {
+        LoopPhase phase = this.activePhase;
+        int mechanism = this.activeMechanism;
+        if (phase == null)
+        {
+            return "None";
+        }
+
+        String[] names = this.mechanismNames;
+        if (mechanism < 0 || mechanism >= names.length)
+        {
+            return phase.toString();
+        }
+
+        return phase.toString() + "/" + names[mechanism] + (phase == LoopPhase.ReadSensors ? ".readSensors" : ".update");
+    }
+
+    /**
+     * Record how long a phase of the loop took
+     * @param phase of the loop
+     * @param duration of the phase, in nanoseconds
+     */
+    public void recordPhase(LoopPhase phase, long duration)
+    {
+        if (this.enabled)
+        {
+            this.phaseHistograms[phase.ordinal()].record(duration);
+        }
+    }
+
+    /**
+     * Record how long a mechanism's readSensors took
+     * @param mechanism index (in the list provided to setMechanisms)
+     * @param duration of readSensors, in nanoseconds
+     */
+    public void recordReadSensors(int mechanism, long duration)
+    {
+        if (this.enabled && mechanism < this.readSensorsHistograms.length)
+        {
+            this.readSensorsHistograms[mechanism].record(duration);
+        }
+    }
+
+    /**
+     * Record how long a mechanism's update took
+     * @param mechanism index (in the list provided to setMechanisms)
+     * @param duration of update, in nanoseconds
+     */
+    public void recordUpdate(int mechanism, long duration)
+    {
+        if (this.enabled && mechanism < this.updateHistograms.length)
+        {
+            this.updateHistograms[mechanism].record(duration);
+        }
+    }
+
+    /**
+     * Write the timings to the log, once every publish period
+     * @param logger to write to
+     */
+    public void log(ILogger logger)
+    {
+        if (!this.enabled || ++this.publishCount < TuningConstants.LOOP_TIMING_PUBLISH_PERIOD)
+        {
+            return;
+        }
+
+        this.publishCount = 0;
+        for (int i = 0; i < this.phaseHistograms.length; i++)
+        {
+            TimingHistogram histogram = this.phaseHistograms[i];
+            LoggingKey[] keys = LoopProfiler.PhaseKeys[i];
+            logger.logNumber(keys[0], histogram.getPercentile(50.0) / LoopProfiler.NANOSECONDS_PER_MILLISECOND);
+            logger.logNumber(keys[1], histogram.getPercentile(99.0) / LoopProfiler.NANOSECONDS_PER_MILLISECOND);
+            logger.logNumber(keys[2], histogram.getMax() / LoopProfiler.NANOSECONDS_PER_MILLISECOND);
+        }
+
+        logger.logString(LoggingKey.TimingMechanismSummary, this.getMechanismSummary());
+    }
+
+    /**
+     * Log a summary of the timings (e.g. when the robot is disabled), and then discard them
+     * @param logger to write to
+     */
+    public void dump(ILogger logger)
+    {
+        if (!this.enabled || this.phaseHistograms[LoopPhase.Loop.ordinal()].getCount() == 0L)
+        {
+            return;
+        }
+
+        logger.logString(LoggingKey.TimingMechanismSummary, this.getMechanismSummary());
+        this.reset();
+    }
+
+    /**
+     * Discard all of the recorded timings
+     */
+    public void reset()
+    {
+        for (TimingHistogram histogram : this.phaseHistograms)
+        {
+            histogram.reset();
+        }
+
+        for (int i = 0; i < this.mechanismNames.length; i++)
+        {
+            this.readSensorsHistograms[i].reset();
+            this.updateHistograms[i].reset();
+        }
+
+        this.publishCount = 0;
+    }
+
+    /**
+     * Retrieve a table of the timings (count, p50, p99 and max, in milliseconds) for each phase and each mechanism
+     * @return the table of timings
+     */
+    public String getSummary()
+    {
+        StringBuilder builder = new StringBuilder();
+        builder.append("phase/mechanism,count,p50,p99,max\n");
+
+        LoopPhase[] phases = LoopPhase.values();
+        for (int i = 0; i < phases.length; i++)
+        {
+            LoopProfiler.appendRow(builder, phases[i].toString(), this.phaseHistograms[i]);
+        }
+
+        for (int i = 0; i < this.mechanismNames.length; i++)
+        {
+            LoopProfiler.appendRow(builder, this.mechanismNames[i] + ".readSensors", this.readSensorsHistograms[i]);
+            LoopProfiler.appendRow(builder, this.mechanismNames[i] + ".update", this.updateHistograms[i]);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Retrieve the timings for each mechanism (p99 and max, in milliseconds, for readSensors and for update),
+     * a la "DriveTrainMechanism 0.15/0.4 1.2/2.05; ..."
+     * @return the timings for each mechanism
+     */
+    public String getMechanismSummary()
+    {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < this.mechanismNames.length; i++)
+        {
+            if (i > 0)
+            {
+                builder.append("; ");
+            }
+
+            builder.append(this.mechanismNames[i]);
+            builder.append(' ');
+            LoopProfiler.appendMilliseconds(builder, this.readSensorsHistograms[i].getPercentile(99.0));
+            builder.append('/');
+            LoopProfiler.appendMilliseconds(builder, this.readSensorsHistograms[i].getMax());
+            builder.append(' ');
+            LoopProfiler.appendMilliseconds(builder, this.updateHistograms[i].getPercentile(99.0));
+            builder.append('/');
+            LoopProfiler.appendMilliseconds(builder, this.updateHistograms[i].getMax());
+        }
+
+        return builder.toString();
+    }
+
+    private void recordActivePhase(long now)
+    {
+        LoopPhase phase = this.activePhase;
+        if (phase != null)
+        {
+            this.phaseHistograms[phase.ordinal()].record(now - this.phaseStartTime);
+        }
+    }
+
+    private static TimingHistogram createHistogram()
+    {
+        return new TimingHistogram(TuningConstants.LOOP_TIMING_BUCKET_WIDTH, TuningConstants.LOOP_TIMING_BUCKET_COUNT);
+    }
+
+    private static void appendRow(StringBuilder builder, String name, TimingHistogram histogram)
+    {
+        builder.append(name);
+        builder.append(',');
+        builder.append(histogram.getCount());
+        builder.append(',');
+        LoopProfiler.appendMilliseconds(builder, histogram.getPercentile(50.0));
+        builder.append(',');
+        LoopProfiler.appendMilliseconds(builder, histogram.getPercentile(99.0));
+        builder.append(',');
+        LoopProfiler.appendMilliseconds(builder, histogram.getMax());
+        builder.append('\n');
+    }
+
+    private static void appendMilliseconds(StringBuilder builder, long duration)
+    {
+        builder.append(FormatHelpers.formatNumber(duration / LoopProfiler.NANOSECONDS_PER_MILLISECOND, LoopProfiler.SUMMARY_DECIMAL_PLACES));
+    }
+}
@@ -0,0 +1,245 @@
+package frc.lib.mechanisms;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.LockSupport;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import frc.lib.helpers.FormatHelpers;
+import frc.lib.robotprovider.ILogger;
+import frc.robot.LoggingKey;
+import frc.robot.TuningConstants;
+
+/**
+ * Watches for loops that run longer than a threshold, sampling the loop thread's stack (and the phase/mechanism that
+ * the LoopProfiler says is running) a few times while the overrun continues.
+ *
+ * The loop thread only writes a couple of volatile fields when it arms and disarms the watchdog, so it never waits on
+ * the watchdog thread.  The overruns are kept in a bounded buffer until they are logged (e.g. when the robot is disabled).
+ */
+@Singleton
+public class LoopWatchdog
+{
+    private static final double NANOSECONDS_PER_MILLISECOND = 1000000.0;
+
+    private final LoopProfiler profiler;
+    private final boolean enabled;
+    private final long threshold;
+    private final int sampleCount;
+    private final long samplePeriod;
+    private final int stackDepth;
+    private final int capacity;
+
+    // written by the loop thread
+    private Thread watchdogThread;
+    private volatile Thread loopThread;
+    private volatile int armedLoop;
+    private volatile long armedTime; // 0 when disarmed
+
+    // written by the watchdog thread
+    private int sampledLoop;
+
+    private final ArrayDeque<String> overruns; // synchronized on itself
+    private int overrunCount;
+
+    @Inject
+    public LoopWatchdog(LoopProfiler profiler)
+    {
+        this(
+            profiler,
+            TuningConstants.LOOP_WATCHDOG_ENABLED,
+            TuningConstants.LOOP_WATCHDOG_THRESHOLD,
+            TuningConstants.LOOP_WATCHDOG_SAMPLE_COUNT,
+            TuningConstants.LOOP_WATCHDOG_SAMPLE_PERIOD,
+            TuningConstants.LOOP_WATCHDOG_STACK_DEPTH,
+            TuningConstants.LOOP_WATCHDOG_CAPACITY);
+    }
+
+    /**
+     * Initializes a new instance of the LoopWatchdog class
+     * @param profiler to describe what the loop is doing during an overrun
+     * @param enabled whether to watch for overruns
+     * @param threshold how long a loop can run before it is considered an overrun, in nanoseconds
+     * @param sampleCount most stack samples to take during each overrun
+     * @param samplePeriod time between stack samples, in nanoseconds
+     * @param stackDepth number of stack frames to keep in each sample
+     * @param capacity number of overruns to keep until they are logged
+     */
+    public LoopWatchdog(LoopProfiler profiler, boolean enabled, long threshold, int sampleCount, long samplePeriod, int stackDepth, int capacity)
+    {
+        this.profiler = profiler;
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.sampleCount = sampleCount;
+        this.samplePeriod = samplePeriod;
+        this.stackDepth = stackDepth;
+        this.capacity = Math.max(capacity, 1);
+
+        this.armedLoop = 0;
+        this.armedTime = 0L;
+        this.sampledLoop = 0;
+
+        this.overruns = new ArrayDeque<String>(this.capacity);
+        this.overrunCount = 0;
+    }
+
+    /**
+     * Start watching the current loop (called from the loop thread at the start of each loop)
+     */
+    public void arm()
+    {
+        if (!this.enabled)
+        {
+            return;
+        }
+
+        if (this.watchdogThread == null)
+        {
+            this.loopThread = Thread.currentThread();
+            this.watchdogThread = new Thread(this::watch, "LoopWatchdog");
+            this.watchdogThread.setDaemon(true);
+            this.watchdogThread.start();
+        }
+
+        this.armedLoop++;
+        this.armedTime = System.nanoTime();
+    }
+
+    /**
+     * Stop watching the current loop (called from the loop thread at the end of each loop)
+     */
+    public void disarm()
+    {
+        this.armedTime = 0L;
+    }
+
+    /**
+     * Stop the watchdog thread
+     */
+    public void stop()
+    {
+        this.armedTime = 0L;
+        if (this.watchdogThread != null)
+        {
+            this.watchdogThread.interrupt();
+            this.watchdogThread = null;
+        }
+    }
+
+    /**
+     * Retrieve the number of overruns that have been found since the watchdog was created
+     * @return the number of overruns
+     */
+    public int getOverrunCount()
+    {
+        synchronized (this.overruns)
+        {
+            return this.overrunCount;
+        }
+    }
+
+    /**
+     * Retrieve the reports for the overruns that haven't been logged yet
+     * @return the report for each overrun, oldest first
+     */
+    public String[] getOverruns()
+    {
+        synchronized (this.overruns)
+        {
+            return this.overruns.toArray(new String[this.overruns.size()]);
+        }
+    }
+
+    /**
+     * Log the overruns that haven't been logged yet (e.g. when the robot is disabled), and then discard them
+     * @param logger to write to
+     */
+    public void dump(ILogger logger)
+    {
+        String lastReport;
+        int count;
+        synchronized (this.overruns)
+        {
+            lastReport = this.overruns.peekLast();
+            count = this.overrunCount;
+            this.overruns.clear();
+        }
+
+        if (lastReport == null)
+        {
+            return;
+        }
+
+        logger.logInteger(LoggingKey.TimingOverruns, count);
+        logger.logString(LoggingKey.TimingLastOverrun, lastReport);
+    }
+
+    private void watch()
+    {
+        while (!Thread.currentThread().isInterrupted())
+        {
+            int loop = this.armedLoop;
+            long startTime = this.armedTime;
+            if (startTime == 0L || loop == this.sampledLoop)
+            {
+                // nothing to watch (or we already sampled this loop)
+                LockSupport.parkNanos(this.threshold);
+                continue;
+            }
+
+            long remaining = startTime + this.threshold - System.nanoTime();
+            if (remaining > 0L)
+            {
+                LockSupport.parkNanos(remaining);
+                continue;
+            }
+
+            this.sampledLoop = loop;
+            this.sample(loop, startTime);
+        }
+    }
+
+    private void sample(int loop, long startTime)
+    {
+        Thread thread = this.loopThread;
+        StringBuilder builder = new StringBuilder();
+        builder.append("Loop overrun ");
+        builder.append(loop);
+        builder.append(':');
+        for (int i = 0; i < this.sampleCount; i++)
+        {
+            String active = this.profiler.getActiveDescription();
+            StackTraceElement[] stack = thread.getStackTrace();
+            long elapsed = System.nanoTime() - startTime;
+            if (this.armedLoop != loop || this.armedTime != startTime)
+            {
+                // the loop finished while we were sampling it
+                break;
+            }
+
+            builder.append("\n  +");
+            builder.append(FormatHelpers.formatNumber(elapsed / LoopWatchdog.NANOSECONDS_PER_MILLISECOND, 1));
+            builder.append("ms ");
+            builder.append(active);
+            for (int j = 0; j < stack.length && j < this.stackDepth; j++)
+            {
+                builder.append("\n    at ");
+                builder.append(stack[j]);
+            }
+
+            LockSupport.parkNanos(this.samplePeriod);
+        }
+
+        synchronized (this.overruns)
+        {
+            if (this.overruns.size() >= this.capacity)
+            {
+                this.overruns.removeFirst();
+            }
+
+            this.overruns.addLast(builder.toString());
+            this.overrunCount++;
+        }
+    }
+}
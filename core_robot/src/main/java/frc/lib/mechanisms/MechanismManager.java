@@ -8,17 +8,28 @@ import frc.robot.TuningConstants;
 public class MechanismManager implements IMechanism
 {
     public final List<IMechanism> mechanismList;
+    private final LoopProfiler profiler;
 
     public MechanismManager(List<IMechanism> mechanismList)
+    {
+        this(mechanismList, new LoopProfiler(false));
+    }
+
+    public MechanismManager(List<IMechanism> mechanismList, LoopProfiler profiler)
     {
         this.mechanismList = mechanismList;
+        this.profiler = profiler;
+        this.profiler.setMechanisms(mechanismList);
     }
 
     @Override
     public void readSensors()
     {
-        for (IMechanism mechanism : this.mechanismList)
+        for (int i = 0; i < this.mechanismList.size(); i++)
         {
+            IMechanism mechanism = this.mechanismList.get(i);
+            this.profiler.startMechanism(i);
+            long startTime = System.nanoTime();
             try
             {
                 mechanism.readSensors();
@@ -31,14 +42,21 @@ public class MechanismManager implements IMechanism
                     throw ex;
                 }
             }
+            finally
+            {
+                this.profiler.recordReadSensors(i, System.nanoTime() - startTime);
+            }
         }
     }
 
     @Override
     public void update(RobotMode mode)
     {
-        for (IMechanism mechanism : this.mechanismList)
+        for (int i = 0; i < this.mechanismList.size(); i++)
         {
+            IMechanism mechanism = this.mechanismList.get(i);
+            this.profiler.startMechanism(i);
+            long startTime = System.nanoTime();
             try
             {
                 mechanism.update(mode);
@@ -51,6 +69,10 @@ public class MechanismManager implements IMechanism
                     throw ex;
                 }
             }
+            finally
+            {
+                this.profiler.recordUpdate(i, System.nanoTime() - startTime);
+            }
         }
     }
 
@@ -0,0 +1,214 @@
+package frc.lib.mechanisms;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import frc.lib.robotprovider.ILogger;
+import frc.robot.LoggingKey;
+import frc.robot.TuningConstants;
+
+/**
+ * Measures how many bytes the loop thread allocates during each loop (using com.sun.management.ThreadMXBean) and how
+ * many garbage collections happen (using the GarbageCollectorMXBeans), so that allocation regressions show up in the
+ * logs before they turn into GC pauses on the roboRIO's small heap.
+ */
+@Singleton
+public class RuntimeTelemetry
+{
+    private final boolean enabled;
+    private final long allocationAlarmThreshold;
+    private final int publishPeriod;
+
+    private final com.sun.management.ThreadMXBean threadBean; // null if allocated bytes can't be measured
+    private final GarbageCollectorMXBean[] collectors;
+
+    private long threadId;
+    private long lastAllocatedBytes; // -1 until measured
+    private long lastGcCount; // -1 until measured
+    private long lastGcTime;
+
+    private long loopAllocatedBytes; // -1 if not measured
+    private long alarmCount;
+
+    // current publish period
+    private int periodLoops;
+    private int periodAllocationLoops;
+    private long periodAllocatedBytes;
+    private long periodMaxAllocatedBytes;
+    private long periodGcCount;
+    private long periodGcTime;
+    private long periodMaxGcTime;
+
+    @Inject
+    public RuntimeTelemetry()
+    {
+        this(
+            TuningConstants.RUNTIME_TELEMETRY_ENABLED,
+            TuningConstants.RUNTIME_ALLOCATION_ALARM_THRESHOLD,
+            TuningConstants.RUNTIME_TELEMETRY_PUBLISH_PERIOD);
+    }
+
+    /**
+     * Initializes a new instance of the RuntimeTelemetry class
+     * @param enabled whether to measure allocations and garbage collections
+     * @param allocationAlarmThreshold number of bytes allocated in a loop that sets the allocation alarm
+     * @param publishPeriod number of loops between logging the stats
+     */
+    public RuntimeTelemetry(boolean enabled, long allocationAlarmThreshold, int publishPeriod)
+    {
+        this.enabled = enabled;
+        this.allocationAlarmThreshold = allocationAlarmThreshold;
+        this.publishPeriod = Math.max(publishPeriod, 1);
+
+        com.sun.management.ThreadMXBean threadBean = null;
+        GarbageCollectorMXBean[] collectors = new GarbageCollectorMXBean[0];
+        if (enabled)
+        {
+            try
+            {
+                ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+                if (bean instanceof com.sun.management.ThreadMXBean &&
+                    ((com.sun.management.ThreadMXBean)bean).isThreadAllocatedMemorySupported())
+                {
+                    threadBean = (com.sun.management.ThreadMXBean)bean;
+                    threadBean.setThreadAllocatedMemoryEnabled(true);
+                }
+
+                List<GarbageCollectorMXBean> collectorList = ManagementFactory.getGarbageCollectorMXBeans();
+                collectors = collectorList.toArray(new GarbageCollectorMXBean[collectorList.size()]);
+            }
+            catch (UnsupportedOperationException | SecurityException ex)
+            {
+                System.err.println("Unable to measure allocations: " + ex.toString());
+                threadBean = null;
+            }
+        }
+
+        this.threadBean = threadBean;
+        this.collectors = collectors;
+
+        this.threadId = -1L;
+        this.lastAllocatedBytes = -1L;
+        this.lastGcCount = -1L;
+        this.lastGcTime = 0L;
+        this.loopAllocatedBytes = -1L;
+        this.alarmCount = 0L;
+        this.resetPeriod();
+    }
+
+    /**
+     * Measure the allocations and garbage collections since the previous loop, and write them to the log (the stats
+     * once every publish period, and the allocation alarm every loop).  Called from the loop thread once per loop.
+     * @param logger to write to
+     */
+    public void update(ILogger logger)
+    {
+        if (!this.enabled)
+        {
+            return;
+        }
+
+        this.periodLoops++;
+        if (this.threadBean != null)
+        {
+            if (this.threadId < 0L)
+            {
+                this.threadId = Thread.currentThread().getId();
+            }
+
+            long allocatedBytes = this.threadBean.getThreadAllocatedBytes(this.threadId);
+            if (this.lastAllocatedBytes >= 0L && allocatedBytes >= 0L)
+            {
+                this.loopAllocatedBytes = allocatedBytes - this.lastAllocatedBytes;
+                this.periodAllocationLoops++;
+                this.periodAllocatedBytes += this.loopAllocatedBytes;
+                this.periodMaxAllocatedBytes = Math.max(this.periodMaxAllocatedBytes, this.loopAllocatedBytes);
+            }
+
+            this.lastAllocatedBytes = allocatedBytes;
+
+            boolean alarm = this.loopAllocatedBytes > this.allocationAlarmThreshold;
+            if (alarm)
+            {
+                this.alarmCount++;
+            }
+
+            logger.logBoolean(LoggingKey.RuntimeAllocationAlarm, alarm);
+        }
+
+        long gcCount = 0L;
+        long gcTime = 0L;
+        for (int i = 0; i < this.collectors.length; i++)
+        {
+            gcCount += Math.max(this.collectors[i].getCollectionCount(), 0L);
+            gcTime += Math.max(this.collectors[i].getCollectionTime(), 0L);
+        }
+
+        if (this.lastGcCount >= 0L)
+        {
+            this.periodGcCount += gcCount - this.lastGcCount;
+            this.periodGcTime += gcTime - this.lastGcTime;
+            this.periodMaxGcTime = Math.max(this.periodMaxGcTime, gcTime - this.lastGcTime);
+        }
+
+        this.lastGcCount = gcCount;
+        this.lastGcTime = gcTime;
+
+        if (this.periodLoops >= this.publishPeriod)
+        {
+            if (this.periodAllocationLoops > 0)
+            {
+                logger.logNumber(LoggingKey.RuntimeAllocatedBytesMean, (double)this.periodAllocatedBytes / this.periodAllocationLoops);
+                logger.logNumber(LoggingKey.RuntimeAllocatedBytesMax, this.periodMaxAllocatedBytes);
+            }
+
+            logger.logInteger(LoggingKey.RuntimeGcCount, (int)this.periodGcCount);
+            logger.logNumber(LoggingKey.RuntimeGcTime, this.periodGcTime);
+            logger.logNumber(LoggingKey.RuntimeGcMaxPause, this.periodMaxGcTime);
+            this.resetPeriod();
+        }
+    }
+
+    /**
+     * Check whether the bytes allocated by the loop thread can be measured
+     * @return true if allocations are measured
+     */
+    public boolean isMeasuringAllocations()
+    {
+        return this.threadBean != null;
+    }
+
+    /**
+     * Retrieve the number of bytes that the loop thread allocated between the previous two updates
+     * @return the number of bytes, or -1 if it hasn't been measured
+     */
+    public long getLoopAllocatedBytes()
+    {
+        return this.loopAllocatedBytes;
+    }
+
+    /**
+     * Retrieve the number of loops that allocated more than the alarm threshold
+     * @return the number of loops
+     */
+    public long getAlarmCount()
+    {
+        return this.alarmCount;
+    }
+
+    private void resetPeriod()
+    {
+        this.periodLoops = 0;
+        this.periodAllocationLoops = 0;
+        this.periodAllocatedBytes = 0L;
+        this.periodMaxAllocatedBytes = 0L;
+        this.periodGcCount = 0L;
+        this.periodGcTime = 0L;
+        this.periodMaxGcTime = 0L;
+    }
+}
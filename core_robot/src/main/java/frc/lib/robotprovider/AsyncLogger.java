@@ -0,0 +1,440 @@
+package frc.lib.robotprovider;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import frc.robot.LoggingKey;
+
+/**
+ * Logger that captures values into a preallocated single-producer/single-consumer ring buffer, and writes them into
+ * the wrapped logger from a low-priority background thread so that the robot's main loop never blocks on I/O.
+ *
+ * All log/update/flush/close calls must come from the same (main loop) thread.  When the buffer is full, new records
+ * are dropped (and counted) rather than waiting for the background thread to catch up.  The last few slots are kept
+ * for update/flush/defaults records, so that dropping values never merges loops together in the wrapped logger.
+ *
+ * Note: this should not wrap the AdvantageKitLogger, which must record outputs from the main loop thread.
+ */
+public class AsyncLogger implements ILogger, Runnable
+{
+    private static final byte BOOLEAN_RECORD = 0;
+    private static final byte BOOLEAN_ARRAY_RECORD = 1;
+    private static final byte NUMBER_RECORD = 2;
+    private static final byte NULL_NUMBER_RECORD = 3;
+    private static final byte INTEGER_RECORD = 4;
+    private static final byte NULL_INTEGER_RECORD = 5;
+    private static final byte FORMATTED_INTEGER_RECORD = 6;
+    private static final byte STRING_RECORD = 7;
+    private static final byte UPDATE_RECORD = 8;
+    private static final byte FLUSH_RECORD = 9;
+    private static final byte DEFAULTS_RECORD = 10;
+
+    private static final long DRAIN_PERIOD_NANOS = 5000000L; // 5ms
+    private static final int MAX_CONTROL_RECORD_RESERVE = 64; // most slots that only update/flush/defaults records can use
+
+    private final ILogger wrappedLogger;
+    private final LoggingKey[] loggingKeys;
+
+    // ring buffer, stored as parallel arrays of records
+    private final int mask;
+    private final int valueCapacity; // value records are dropped once this many records are in the buffer
+    private final int[] keys;
+    private final byte[] types;
+    private final long[] values;
+    private final Object[] references;
+    private final boolean[][] booleanArrays; // copy of the logged boolean array for each record, reused while the length stays the same
+
+    private final AtomicLong head; // next record to be written, only written by the producer
+    private final AtomicLong tail; // next record to be read, only written by the consumer
+
+    private final Thread thread;
+    private volatile boolean stopRequested;
+
+    // producer-only state
+    private final LoggingScheduler scheduler;
+    private long droppedRecords;
+    private int highWaterMark;
+
+    /**
+     * Initializes a new instance of the AsyncLogger class.
+     * @param wrappedLogger to write into from the background thread
+     * @param capacity of the ring buffer, in records (rounded up to a power of two)
+     */
+    public AsyncLogger(ILogger wrappedLogger, int capacity)
+    {
+        this.wrappedLogger = wrappedLogger;
+        this.loggingKeys = LoggingKey.values();
+
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.mask = size - 1;
+        this.valueCapacity = size - Math.min(AsyncLogger.MAX_CONTROL_RECORD_RESERVE, size / 4);
+        this.keys = new int[size];
+        this.types = new byte[size];
+        this.values = new long[size];
+        this.references = new Object[size];
+        this.booleanArrays = new boolean[size][];
+
+        this.head = new AtomicLong(0L);
+        this.tail = new AtomicLong(0L);
+
+        this.thread = new Thread(this, "AsyncLogger");
+        this.thread.setDaemon(true);
+        this.thread.setPriority(Thread.MIN_PRIORITY);
+        this.stopRequested = false;
+
+        this.scheduler = new LoggingScheduler();
+        this.droppedRecords = 0L;
+        this.highWaterMark = 0;
+    }
+
+    /**
+     * Start the background thread that writes into the wrapped logger
+     */
+    public void start()
+    {
+        this.thread.start();
+    }
+
+    /**
+     * Retrieve the capacity of the ring buffer, in records
+     * @return the capacity of the ring buffer
+     */
+    public int getCapacity()
+    {
+        return this.mask + 1;
+    }
+
+    /**
+     * Retrieve the number of records that have been dropped because the ring buffer was full
+     * @return the number of dropped records
+     */
+    public long getDroppedRecords()
+    {
+        return this.droppedRecords;
+    }
+
+    /**
+     * Retrieve the largest number of records that have been waiting in the ring buffer at one time
+     * @return the high-water mark of the ring buffer
+     */
+    public int getHighWaterMark()
+    {
+        return this.highWaterMark;
+    }
+
+    /**
+     * Write a boolean to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logBoolean(LoggingKey key, boolean value)
+    {
+        if (this.shouldLog(key))
+        {
+            this.enqueue(key.ordinal(), AsyncLogger.BOOLEAN_RECORD, value ? 1L : 0L, null);
+        }
+    }
+
+    /**
+     * Write a boolean array to the log.  The array is copied, as the caller may reuse it before it is written.
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logBooleanArray(LoggingKey key, boolean[] value)
+    {
+        if (this.shouldLog(key))
+        {
+            this.enqueue(key.ordinal(), AsyncLogger.BOOLEAN_ARRAY_RECORD, 0L, value);
+        }
+    }
+
+    /**
+     * Write a number (double) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(LoggingKey key, double value)
+    {
+        if (this.shouldLog(key))
+        {
+            this.enqueue(key.ordinal(), AsyncLogger.NUMBER_RECORD, Double.doubleToRawLongBits(value), null);
+        }
+    }
+
+    /**
+     * Write a number (double) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(LoggingKey key, Double value)
+    {
+        if (this.shouldLog(key))
+        {
+            if (value == null)
+            {
+                this.enqueue(key.ordinal(), AsyncLogger.NULL_NUMBER_RECORD, 0L, null);
+            }
+            else
+            {
+                this.enqueue(key.ordinal(), AsyncLogger.NUMBER_RECORD, Double.doubleToRawLongBits(value.doubleValue()), null);
+            }
+        }
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logInteger(LoggingKey key, int value)
+    {
+        if (this.shouldLog(key))
+        {
+            this.enqueue(key.ordinal(), AsyncLogger.INTEGER_RECORD, value, null);
+        }
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logInteger(LoggingKey key, Integer value)
+    {
+        if (this.shouldLog(key))
+        {
+            if (value == null)
+            {
+                this.enqueue(key.ordinal(), AsyncLogger.NULL_INTEGER_RECORD, 0L, null);
+            }
+            else
+            {
+                this.enqueue(key.ordinal(), AsyncLogger.INTEGER_RECORD, value.intValue(), null);
+            }
+        }
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     * @param formatString to use
+     */
+    @Override
+    public void logInteger(LoggingKey key, int value, String formatString)
+    {
+        if (this.shouldLog(key))
+        {
+            this.enqueue(key.ordinal(), AsyncLogger.FORMATTED_INTEGER_RECORD, value, formatString);
+        }
+    }
+
+    /**
+     * Write a string to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logString(LoggingKey key, String value)
+    {
+        if (this.shouldLog(key))
+        {
+            this.enqueue(key.ordinal(), AsyncLogger.STRING_RECORD, 0L, value);
+        }
+    }
+
+    /**
+     * Write the default value for each key to the log (see LoggingDefaults), as a single record
+     */
+    @Override
+    public void logDefaults()
+    {
+        this.enqueue(-1, AsyncLogger.DEFAULTS_RECORD, 0L, null);
+    }
+
+    /**
+     * Update the log, if appropriate..
+     */
+    @Override
+    public void update()
+    {
+        this.logInteger(LoggingKey.LoggerDroppedRecords, (int)Math.min(this.droppedRecords, Integer.MAX_VALUE));
+        this.logInteger(LoggingKey.LoggerHighWaterMark, this.highWaterMark);
+
+        this.scheduler.update();
+        this.enqueue(-1, AsyncLogger.UPDATE_RECORD, 0L, null);
+    }
+
+    /**
+     * Flush the output stream, if appropriate..
+     */
+    @Override
+    public void flush()
+    {
+        this.enqueue(-1, AsyncLogger.FLUSH_RECORD, 0L, null);
+    }
+
+    /**
+     * Close the output stream when this logger is no longer used, if appropriate..
+     * The background thread writes any remaining records and then closes the wrapped logger.
+     */
+    @Override
+    public void close()
+    {
+        this.stopRequested = true;
+        LockSupport.unpark(this.thread);
+    }
+
+    /**
+     * Background thread: drain the ring buffer into the wrapped logger
+     */
+    @Override
+    public void run()
+    {
+        while (true)
+        {
+            boolean stopping = this.stopRequested;
+            if (this.drain() == 0)
+            {
+                if (stopping)
+                {
+                    break;
+                }
+
+                LockSupport.parkNanos(this, AsyncLogger.DRAIN_PERIOD_NANOS);
+            }
+        }
+
+        this.wrappedLogger.flush();
+        this.wrappedLogger.close();
+    }
+
+    /**
+     * Write all of the records currently in the ring buffer into the wrapped logger
+     * @return the number of records written
+     */
+    int drain()
+    {
+        long currentTail = this.tail.get();
+        long currentHead = this.head.get();
+        for (long position = currentTail; position < currentHead; position++)
+        {
+            int index = (int)position & this.mask;
+            int keyOrdinal = this.keys[index];
+            long value = this.values[index];
+            Object reference = this.references[index];
+            this.references[index] = null;
+
+            LoggingKey key = keyOrdinal >= 0 ? this.loggingKeys[keyOrdinal] : null;
+            switch (this.types[index])
+            {
+                case AsyncLogger.BOOLEAN_RECORD:
+                    this.wrappedLogger.logBoolean(key, value != 0L);
+                    break;
+
+                case AsyncLogger.BOOLEAN_ARRAY_RECORD:
+                    this.wrappedLogger.logBooleanArray(key, (boolean[])reference);
+                    break;
+
+                case AsyncLogger.NUMBER_RECORD:
+                    this.wrappedLogger.logNumber(key, Double.longBitsToDouble(value));
+                    break;
+
+                case AsyncLogger.NULL_NUMBER_RECORD:
+                    this.wrappedLogger.logNumber(key, (Double)null);
+                    break;
+
+                case AsyncLogger.INTEGER_RECORD:
+                    this.wrappedLogger.logInteger(key, (int)value);
+                    break;
+
+                case AsyncLogger.NULL_INTEGER_RECORD:
+                    this.wrappedLogger.logInteger(key, (Integer)null);
+                    break;
+
+                case AsyncLogger.FORMATTED_INTEGER_RECORD:
+                    this.wrappedLogger.logInteger(key, (int)value, (String)reference);
+                    break;
+
+                case AsyncLogger.STRING_RECORD:
+                    this.wrappedLogger.logString(key, (String)reference);
+                    break;
+
+                case AsyncLogger.UPDATE_RECORD:
+                    this.wrappedLogger.update();
+                    break;
+
+                case AsyncLogger.FLUSH_RECORD:
+                    this.wrappedLogger.flush();
+                    break;
+
+                case AsyncLogger.DEFAULTS_RECORD:
+                    this.wrappedLogger.logDefaults();
+                    break;
+            }
+
+            // release the slot back to the producer
+            this.tail.lazySet(position + 1);
+        }
+
+        return (int)(currentHead - currentTail);
+    }
+
+    private boolean shouldLog(LoggingKey key)
+    {
+        // skip values the wrapped logger would ignore, so that they don't take up space in the buffer
+        return this.scheduler.shouldLog(key);
+    }
+
+    private void enqueue(int keyOrdinal, byte type, long value, Object reference)
+    {
+        long currentHead = this.head.get();
+        long currentTail = this.tail.get();
+        long limit = type >= AsyncLogger.UPDATE_RECORD ? this.mask + 1 : this.valueCapacity;
+        if (currentHead - currentTail >= limit)
+        {
+            this.droppedRecords++;
+            return;
+        }
+
+        int index = (int)currentHead & this.mask;
+        this.keys[index] = keyOrdinal;
+        this.types[index] = type;
+        this.values[index] = value;
+        if (type == AsyncLogger.BOOLEAN_ARRAY_RECORD && reference != null)
+        {
+            reference = this.copyBooleanArray(index, (boolean[])reference);
+        }
+
+        this.references[index] = reference;
+
+        // publish the record to the consumer
+        this.head.lazySet(currentHead + 1);
+
+        int size = (int)(currentHead + 1 - currentTail);
+        if (size > this.highWaterMark)
+        {
+            this.highWaterMark = size;
+        }
+    }
+
+    private boolean[] copyBooleanArray(int index, boolean[] value)
+    {
+        // the slot isn't reused until the background thread has written the record, so its copy can be overwritten
+        boolean[] copy = this.booleanArrays[index];
+        if (copy == null || copy.length != value.length)
+        {
+            copy = new boolean[value.length];
+            this.booleanArrays[index] = copy;
+        }
+
+        System.arraycopy(value, 0, copy, 0, value.length);
+        return copy;
+    }
+}
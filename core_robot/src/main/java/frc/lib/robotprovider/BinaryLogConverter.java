@@ -0,0 +1,97 @@
+package frc.lib.robotprovider;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Offline tool to convert a log written by the BinaryLogger into the same CSV format written by the CSVLogger
+ */
+public class BinaryLogConverter
+{
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 1)
+        {
+            System.err.println("usage: BinaryLogConverter <binary log, or first .gz segment> [<csv file>]");
+            return;
+        }
+
+        String inputFileName = args[0];
+        String uncompressedFileName = inputFileName.endsWith(".gz") ? inputFileName.substring(0, inputFileName.length() - 3) : inputFileName;
+        String binaryExtension = "." + BinaryLogger.FILE_EXTENSION;
+        String outputFileName;
+        if (args.length > 1)
+        {
+            outputFileName = args[1];
+        }
+        else if (uncompressedFileName.endsWith(binaryExtension))
+        {
+            outputFileName = uncompressedFileName.substring(0, uncompressedFileName.length() - binaryExtension.length()) + ".csv";
+        }
+        else
+        {
+            outputFileName = uncompressedFileName + ".csv";
+        }
+
+        try (BinaryLogReader reader = BinaryLogReader.open(inputFileName);
+            Writer writer = new BufferedWriter(new FileWriter(outputFileName)))
+        {
+            int frames = BinaryLogConverter.convert(reader, writer);
+            System.out.println(String.format("Converted %1$d frames from '%2$s' into '%3$s'", frames, inputFileName, outputFileName));
+        }
+    }
+
+    /**
+     * Convert a binary log into CSV
+     * @param reader for the binary log
+     * @param writer to write the CSV into
+     * @return the number of frames converted
+     * @throws IOException
+     */
+    public static int convert(BinaryLogReader reader, Writer writer) throws IOException
+    {
+        int columnCount = reader.getColumnCount();
+        for (int i = 0; i < columnCount; i++)
+        {
+            if (i > 0)
+            {
+                writer.append(",");
+            }
+
+            writer.append(reader.getColumnName(i));
+        }
+
+        writer.append("\r\n");
+
+        int frames = 0;
+        while (reader.readFrame())
+        {
+            for (int i = 0; i < columnCount; i++)
+            {
+                if (i > 0)
+                {
+                    writer.append(",");
+                }
+
+                String value = reader.getValueString(i);
+                if (value != null)
+                {
+                    // check if string needs to be quoted
+                    if (value.contains("\"") || value.contains(",") || value.contains("\r") || value.contains("\n"))
+                    {
+                        value = "\"" + value.replace("\"", "\"\"") + "\"";
+                    }
+
+                    writer.append(value);
+                }
+            }
+
+            writer.append("\r\n");
+            frames++;
+        }
+
+        return frames;
+    }
+}
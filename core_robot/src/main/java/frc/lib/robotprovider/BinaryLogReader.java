@@ -0,0 +1,302 @@
+package frc.lib.robotprovider;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import frc.lib.helpers.FormatHelpers;
+
+/**
+ * Reader for logs written by the BinaryLogger, one frame at a time.
+ */
+public class BinaryLogReader implements AutoCloseable
+{
+    private final DataInputStream inputStream;
+
+    private final String[] columnNames;
+    private final LoggingType[] columnTypes;
+    private final int[] columnOffsets;
+    private final int bitmaskLength;
+
+    private final byte[] frame;
+    private final ByteBuffer frameBuffer;
+
+    private final ArrayList<String> dictionary;
+    private final String[] inlineStrings;
+
+    /**
+     * Initializes a new instance of the BinaryLogReader class, reading the header from the provided stream
+     * @param inputStream to read from
+     * @throws IOException if the stream doesn't contain a binary log
+     */
+    public BinaryLogReader(InputStream inputStream) throws IOException
+    {
+        this.inputStream = new DataInputStream(new BufferedInputStream(inputStream));
+
+        int magic = this.inputStream.readInt();
+        short version = this.inputStream.readShort();
+        if (magic != BinaryLogger.MAGIC || version < 1 || version > BinaryLogger.VERSION)
+        {
+            throw new IOException(String.format("Unexpected binary log magic %1$08x or version %2$d", magic, version));
+        }
+
+        LoggingType[] types = LoggingType.values();
+        int columnCount = this.inputStream.readShort();
+        this.columnNames = new String[columnCount];
+        this.columnTypes = new LoggingType[columnCount];
+        this.columnOffsets = new int[columnCount];
+        this.bitmaskLength = (columnCount + 7) / 8;
+
+        int offset = 2 * this.bitmaskLength;
+        for (int i = 0; i < columnCount; i++)
+        {
+            this.columnTypes[i] = types[this.inputStream.readByte()];
+            this.columnNames[i] = this.readString();
+            this.columnOffsets[i] = offset;
+            offset += BinaryLogger.getSlotSize(this.columnTypes[i]);
+        }
+
+        int frameLength = this.inputStream.readInt();
+        if (frameLength != offset)
+        {
+            throw new IOException(String.format("Unexpected binary log frame length %1$d, expected %2$d", frameLength, offset));
+        }
+
+        this.frame = new byte[frameLength];
+        this.frameBuffer = ByteBuffer.wrap(this.frame);
+        this.dictionary = new ArrayList<String>();
+        this.inlineStrings = new String[columnCount];
+    }
+
+    /**
+     * Open a binary log file, which may have been compressed into segments by the CompressedFileWriter
+     * (a la "Q03 (R2).auto.irslog.gz", "Q03 (R2).auto.irslog.1.gz", etc.)
+     * @param fileName of the log (or its first segment)
+     * @return reader for the log
+     * @throws IOException if the file doesn't contain a binary log
+     */
+    public static BinaryLogReader open(String fileName) throws IOException
+    {
+        if (!fileName.endsWith(".gz"))
+        {
+            return new BinaryLogReader(new FileInputStream(fileName));
+        }
+
+        return new BinaryLogReader(CompressedFileWriter.openSegments(fileName));
+    }
+
+    /**
+     * Retrieve the number of columns in the log
+     * @return the number of columns
+     */
+    public int getColumnCount()
+    {
+        return this.columnNames.length;
+    }
+
+    /**
+     * Retrieve the name of a column (the LoggingKey's value)
+     * @param column index
+     * @return the name of the column
+     */
+    public String getColumnName(int column)
+    {
+        return this.columnNames[column];
+    }
+
+    /**
+     * Retrieve the type of a column (the LoggingKey's type)
+     * @param column index
+     * @return the type of the column
+     */
+    public LoggingType getColumnType(int column)
+    {
+        return this.columnTypes[column];
+    }
+
+    /**
+     * Read the next frame from the log
+     * @return true if a frame was read, false if we reached the end of the log
+     * @throws IOException
+     */
+    public boolean readFrame() throws IOException
+    {
+        while (true)
+        {
+            int recordType = this.inputStream.read();
+            if (recordType < 0)
+            {
+                return false;
+            }
+
+            try
+            {
+                if (recordType == BinaryLogger.DICTIONARY_RECORD)
+                {
+                    int id = this.inputStream.readInt();
+                    String value = this.readString();
+                    if (id != this.dictionary.size())
+                    {
+                        throw new IOException(String.format("Unexpected dictionary id %1$d", id));
+                    }
+
+                    this.dictionary.add(value);
+                }
+                else if (recordType == BinaryLogger.INLINE_STRING_RECORD)
+                {
+                    int column = this.inputStream.readShort();
+                    String value = this.readString();
+                    if (column < 0 || column >= this.inlineStrings.length)
+                    {
+                        throw new IOException(String.format("Unexpected inline string column %1$d", column));
+                    }
+
+                    this.inlineStrings[column] = value;
+                }
+                else if (recordType == BinaryLogger.FRAME_RECORD)
+                {
+                    this.inputStream.readFully(this.frame);
+                    return true;
+                }
+                else
+                {
+                    throw new IOException(String.format("Unexpected record type %1$d", recordType));
+                }
+            }
+            catch (EOFException ex)
+            {
+                // log was truncated (e.g. robot was powered off mid-write)
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Check whether a value was logged for the column in the current frame
+     * @param column index
+     * @return true if a value (or null) was logged
+     */
+    public boolean isPresent(int column)
+    {
+        return (this.frame[column >> 3] & (1 << (column & 7))) != 0;
+    }
+
+    /**
+     * Check whether a null value was logged for the column in the current frame
+     * @param column index
+     * @return true if null was logged
+     */
+    public boolean isNull(int column)
+    {
+        return (this.frame[this.bitmaskLength + (column >> 3)] & (1 << (column & 7))) != 0;
+    }
+
+    /**
+     * Retrieve the value of a Number or NullableNumber column in the current frame
+     * @param column index
+     * @return the value
+     */
+    public double getNumber(int column)
+    {
+        return this.frameBuffer.getDouble(this.columnOffsets[column]);
+    }
+
+    /**
+     * Retrieve the value of an Integer or NullableInteger column in the current frame
+     * @param column index
+     * @return the value
+     */
+    public int getInteger(int column)
+    {
+        return this.frameBuffer.getInt(this.columnOffsets[column]);
+    }
+
+    /**
+     * Retrieve the value of a Boolean column in the current frame
+     * @param column index
+     * @return the value
+     */
+    public boolean getBoolean(int column)
+    {
+        return this.frame[this.columnOffsets[column]] != 0;
+    }
+
+    /**
+     * Retrieve the value of a String column in the current frame
+     * @param column index
+     * @return the value
+     */
+    public String getString(int column)
+    {
+        if (this.isNull(column))
+        {
+            return null;
+        }
+
+        int id = this.frameBuffer.getInt(this.columnOffsets[column]);
+        if (id == BinaryLogger.INLINE_STRING_ID)
+        {
+            return this.inlineStrings[column];
+        }
+
+        return this.dictionary.get(id);
+    }
+
+    /**
+     * Retrieve the value of a column in the current frame as it would have been written by the CSVLogger
+     * @param column index
+     * @return the value as a string, or null if no value was logged
+     */
+    public String getValueString(int column)
+    {
+        if (!this.isPresent(column))
+        {
+            return null;
+        }
+
+        if (this.isNull(column))
+        {
+            return this.columnTypes[column] == LoggingType.String ? null : "null";
+        }
+
+        switch (this.columnTypes[column])
+        {
+            case Number:
+            case NullableNumber:
+                return FormatHelpers.formatNumber(this.getNumber(column));
+
+            case Integer:
+            case NullableInteger:
+                return String.valueOf(this.getInteger(column));
+
+            case Boolean:
+                return String.valueOf(this.getBoolean(column));
+
+            case String:
+                return this.getString(column);
+
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        this.inputStream.close();
+    }
+
+    private String readString() throws IOException
+    {
+        int length = this.inputStream.readShort();
+        byte[] bytes = new byte[length];
+        this.inputStream.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,667 @@
+package frc.lib.robotprovider;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import frc.robot.LoggingKey;
+import frc.robot.TuningConstants;
+
+/**
+ * Logger that writes typed values into a compact binary log, one fixed-size frame per update.
+ *
+ * The file starts with a header:
+ *   int magic ("IRSB"), short version, short column count,
+ *   then for each column: byte type (LoggingType ordinal), short name length, name (UTF-8),
+ *   then int frame length.
+ * After the header, the file is a sequence of records:
+ *   'D' int id, short length, string (UTF-8) - adds an entry to the string dictionary
+ *   'S' short column, short length, string (UTF-8) - sets the inline string for a column (once the dictionary is full)
+ *   'F' frame - present bitmask, null bitmask, then one fixed-width slot per column
+ *       (Number/NullableNumber: 8-byte double, Integer/NullableInteger: 4-byte int, Boolean: 1 byte,
+ *       String: 4-byte dictionary id, or -1 for the column's inline string)
+ *
+ * Use BinaryLogReader (or BinaryLogConverter to get a CSV file) to read the log back.
+ */
+public class BinaryLogger implements ILogger
+{
+    public static final int MAGIC = 0x49525342; // "IRSB"
+    public static final short VERSION = 2;
+    public static final String FILE_EXTENSION = "irslog";
+
+    static final byte DICTIONARY_RECORD = 'D';
+    static final byte INLINE_STRING_RECORD = 'S';
+    static final byte FRAME_RECORD = 'F';
+
+    static final int INLINE_STRING_ID = -1;
+
+    private final IFileWriter fileWriter;
+
+    private final LoggingType[] columnTypes;
+    private final int[] keyColumns;
+    private final int[] columnOffsets;
+    private final int bitmaskLength;
+
+    private final byte[] frame;
+    private final ByteBuffer frameBuffer;
+
+    // precomputed frame with the default value for each key (see logDefaults), and the (offset, length) of its slot runs
+    private byte[] defaultFrame;
+    private int[] defaultSlotRuns;
+
+    private final HashMap<String, Integer> dictionary;
+    private final String[] inlineStrings; // last inline string written for each column, once the dictionary is full
+    private byte[] dictionaryRecords;
+    private int dictionaryRecordsLength;
+
+    private final LoggingScheduler scheduler;
+
+    /**
+     * Initializes a new instance of the BinaryLogger class, using the shouldLogToFile LoggingKeys to determine the schema
+     * @param fileWriter to write into
+     * @throws IOException
+     */
+    public BinaryLogger(IFileWriter fileWriter) throws IOException
+    {
+        this(fileWriter, BinaryLogger.getDefaultSchema());
+    }
+
+    /**
+     * Initializes a new instance of the BinaryLogger class.
+     * @param fileWriter to write into
+     * @param schema to use for writing
+     * @throws IOException
+     */
+    public BinaryLogger(IFileWriter fileWriter, LoggingKey... schema) throws IOException
+    {
+        this.fileWriter = fileWriter;
+
+        this.keyColumns = new int[LoggingKey.values().length];
+        Arrays.fill(this.keyColumns, -1);
+
+        this.columnTypes = new LoggingType[schema.length];
+        this.columnOffsets = new int[schema.length];
+        this.bitmaskLength = (schema.length + 7) / 8;
+
+        // frame = record type, present bitmask, null bitmask, column slots
+        int offset = 1 + 2 * this.bitmaskLength;
+        for (int i = 0; i < schema.length; i++)
+        {
+            LoggingKey key = schema[i];
+            this.keyColumns[key.ordinal()] = i;
+            this.columnTypes[i] = key.type;
+            this.columnOffsets[i] = offset;
+            offset += BinaryLogger.getSlotSize(key.type);
+        }
+
+        this.frame = new byte[offset];
+        this.frame[0] = BinaryLogger.FRAME_RECORD;
+        this.frameBuffer = ByteBuffer.wrap(this.frame);
+
+        this.dictionary = new HashMap<String, Integer>();
+        this.inlineStrings = new String[schema.length];
+        this.dictionaryRecords = new byte[1024];
+        this.dictionaryRecordsLength = 0;
+
+        this.scheduler = new LoggingScheduler();
+
+        this.writeHeader(schema);
+    }
+
+    /**
+     * Retrieve the size of the slot within a frame for a column of the provided type
+     * @param type of the column
+     * @return number of bytes used by the column
+     */
+    static int getSlotSize(LoggingType type)
+    {
+        switch (type)
+        {
+            case Number:
+            case NullableNumber:
+                return 8;
+
+            case Integer:
+            case NullableInteger:
+            case String:
+                return 4;
+
+            case Boolean:
+                return 1;
+
+            default:
+                return 0;
+        }
+    }
+
+    private static LoggingKey[] getDefaultSchema()
+    {
+        ArrayList<LoggingKey> schema = new ArrayList<LoggingKey>();
+        for (LoggingKey key : LoggingKey.values())
+        {
+            if (key.shouldLogToFile())
+            {
+                schema.add(key);
+            }
+        }
+
+        return schema.toArray(new LoggingKey[schema.size()]);
+    }
+
+    private void writeHeader(LoggingKey[] schema) throws IOException
+    {
+        byte[][] names = new byte[schema.length][];
+        int headerLength = 4 + 2 + 2 + 4;
+        for (int i = 0; i < schema.length; i++)
+        {
+            names[i] = schema[i].value.getBytes(StandardCharsets.UTF_8);
+            headerLength += 1 + 2 + names[i].length;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(headerLength);
+        header.putInt(BinaryLogger.MAGIC);
+        header.putShort(BinaryLogger.VERSION);
+        header.putShort((short)schema.length);
+        for (int i = 0; i < schema.length; i++)
+        {
+            header.put((byte)schema[i].type.ordinal());
+            header.putShort((short)names[i].length);
+            header.put(names[i]);
+        }
+
+        header.putInt(this.frame.length - 1);
+
+        this.fileWriter.write(header.array(), 0, headerLength);
+        this.fileWriter.flush();
+    }
+
+    /**
+     * Write a boolean to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logBoolean(LoggingKey key, boolean value)
+    {
+        int column = this.getColumn(key);
+        if (column >= 0)
+        {
+            switch (this.columnTypes[column])
+            {
+                case Boolean:
+                    this.frame[this.columnOffsets[column]] = (byte)(value ? 1 : 0);
+                    this.setPresent(column);
+                    break;
+
+                case Number:
+                case NullableNumber:
+                    this.writeDouble(column, value ? 1.0 : 0.0);
+                    break;
+
+                case Integer:
+                case NullableInteger:
+                    this.writeInteger(column, value ? 1 : 0);
+                    break;
+
+                case String:
+                    this.writeString(column, value ? "true" : "false");
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Write a boolean array to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logBooleanArray(LoggingKey key, boolean[] value)
+    {
+        int column = this.getColumn(key);
+        if (column >= 0 && this.columnTypes[column] == LoggingType.String)
+        {
+            if (value == null)
+            {
+                this.writeString(column, null);
+                return;
+            }
+
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < value.length; i++)
+            {
+                if (i > 0)
+                {
+                    builder.append(',');
+                }
+
+                builder.append(value[i]);
+            }
+
+            this.writeString(column, builder.toString());
+        }
+    }
+
+    /**
+     * Write a number (double) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(LoggingKey key, double value)
+    {
+        int column = this.getColumn(key);
+        if (column >= 0)
+        {
+            switch (this.columnTypes[column])
+            {
+                case Number:
+                case NullableNumber:
+                    this.writeDouble(column, value);
+                    break;
+
+                case Integer:
+                case NullableInteger:
+                    this.writeInteger(column, (int)value);
+                    break;
+
+                case Boolean:
+                    this.logBoolean(key, value != 0.0);
+                    break;
+
+                case String:
+                    this.writeString(column, String.valueOf(value));
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Write a number (double) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(LoggingKey key, Double value)
+    {
+        if (value == null)
+        {
+            this.logNull(key);
+            return;
+        }
+
+        this.logNumber(key, value.doubleValue());
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logInteger(LoggingKey key, int value)
+    {
+        int column = this.getColumn(key);
+        if (column >= 0)
+        {
+            switch (this.columnTypes[column])
+            {
+                case Number:
+                case NullableNumber:
+                    this.writeDouble(column, value);
+                    break;
+
+                case Integer:
+                case NullableInteger:
+                    this.writeInteger(column, value);
+                    break;
+
+                case Boolean:
+                    this.logBoolean(key, value != 0);
+                    break;
+
+                case String:
+                    this.writeString(column, String.valueOf(value));
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logInteger(LoggingKey key, Integer value)
+    {
+        if (value == null)
+        {
+            this.logNull(key);
+            return;
+        }
+
+        this.logInteger(key, value.intValue());
+    }
+
+    /**
+     * Write a number (integer) to the log.  The binary log stores the raw value, so the format string is not used.
+     * @param key to write to
+     * @param value to write
+     * @param formatString to use
+     */
+    @Override
+    public void logInteger(LoggingKey key, int value, String formatString)
+    {
+        // the column stores the raw integer rather than formatted text, so formatting it is left to whoever reads the log
+        // (BinaryLogConverter writes it as a plain integer), which keeps each frame fixed-size and avoids String.format
+        this.logInteger(key, value);
+    }
+
+    /**
+     * Write a string to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logString(LoggingKey key, String value)
+    {
+        int column = this.getColumn(key);
+        if (column >= 0)
+        {
+            if (this.columnTypes[column] == LoggingType.String || value == null)
+            {
+                this.writeString(column, value);
+                return;
+            }
+
+            // a string logged into a typed column - best-effort conversion
+            try
+            {
+                double parsedValue = Double.parseDouble(value);
+                this.logNumber(key, parsedValue);
+            }
+            catch (NumberFormatException ex)
+            {
+                if (this.columnTypes[column] == LoggingType.Boolean)
+                {
+                    this.logBoolean(key, Boolean.parseBoolean(value));
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the default value for each key to the log (see LoggingDefaults), copying in the precomputed frame
+     */
+    @Override
+    public void logDefaults()
+    {
+        if (this.defaultFrame == null)
+        {
+            this.buildDefaultFrame();
+        }
+
+        for (int i = 1; i <= this.bitmaskLength; i++)
+        {
+            byte mask = this.defaultFrame[i];
+            int nullIndex = i + this.bitmaskLength;
+            this.frame[i] |= mask;
+            this.frame[nullIndex] = (byte)((this.frame[nullIndex] & ~mask) | this.defaultFrame[nullIndex]);
+        }
+
+        for (int i = 0; i < this.defaultSlotRuns.length; i += 2)
+        {
+            System.arraycopy(this.defaultFrame, this.defaultSlotRuns[i], this.frame, this.defaultSlotRuns[i], this.defaultSlotRuns[i + 1]);
+        }
+    }
+
+    /**
+     * Update the log, if appropriate..
+     */
+    @Override
+    public void update()
+    {
+        this.scheduler.update();
+
+        try
+        {
+            if (this.dictionaryRecordsLength > 0)
+            {
+                this.fileWriter.write(this.dictionaryRecords, 0, this.dictionaryRecordsLength);
+                this.dictionaryRecordsLength = 0;
+            }
+
+            this.fileWriter.write(this.frame, 0, this.frame.length);
+        }
+        catch (IOException e)
+        {
+            // best-effort...
+        }
+
+        // clear the present and null bitmasks, the slots will be overwritten as needed
+        Arrays.fill(this.frame, 1, 1 + 2 * this.bitmaskLength, (byte)0);
+    }
+
+    /**
+     * Flush the output stream, if appropriate..
+     */
+    @Override
+    public void flush()
+    {
+        try
+        {
+            this.fileWriter.flush();
+        }
+        catch (IOException e)
+        {
+            // best-effort...
+        }
+    }
+
+    /**
+     * Close the output stream when this logger is no longer used, if appropriate..
+     */
+    @Override
+    public void close()
+    {
+        try
+        {
+            this.fileWriter.flush();
+            this.fileWriter.close();
+        }
+        catch (IOException e)
+        {
+            // best-effort...
+        }
+    }
+
+    private int getColumn(LoggingKey key)
+    {
+        int column = this.keyColumns[key.ordinal()];
+        if (column < 0 || !this.scheduler.shouldLog(key))
+        {
+            return -1;
+        }
+
+        return column;
+    }
+
+    private void logNull(LoggingKey key)
+    {
+        int column = this.getColumn(key);
+        if (column >= 0)
+        {
+            this.setNull(column);
+        }
+    }
+
+    private void setPresent(int column)
+    {
+        this.frame[1 + (column >> 3)] |= (byte)(1 << (column & 7));
+        this.frame[1 + this.bitmaskLength + (column >> 3)] &= (byte)~(1 << (column & 7));
+    }
+
+    private void setNull(int column)
+    {
+        this.frame[1 + (column >> 3)] |= (byte)(1 << (column & 7));
+        this.frame[1 + this.bitmaskLength + (column >> 3)] |= (byte)(1 << (column & 7));
+    }
+
+    private void writeDouble(int column, double value)
+    {
+        this.frameBuffer.putDouble(this.columnOffsets[column], value);
+        this.setPresent(column);
+    }
+
+    private void writeInteger(int column, int value)
+    {
+        this.frameBuffer.putInt(this.columnOffsets[column], value);
+        this.setPresent(column);
+    }
+
+    private void writeString(int column, String value)
+    {
+        if (value == null)
+        {
+            this.setNull(column);
+            return;
+        }
+
+        int id = this.getStringId(value);
+        if (id == BinaryLogger.INLINE_STRING_ID && !value.equals(this.inlineStrings[column]))
+        {
+            this.inlineStrings[column] = value;
+            this.addInlineStringRecord(column, value);
+        }
+
+        this.frameBuffer.putInt(this.columnOffsets[column], id);
+        this.setPresent(column);
+    }
+
+    private void buildDefaultFrame()
+    {
+        boolean[] includedColumns = new boolean[this.columnTypes.length];
+        for (LoggingKey key : LoggingKey.values())
+        {
+            int column = this.keyColumns[key.ordinal()];
+            if (column >= 0 && LoggingDefaults.includes(key))
+            {
+                includedColumns[column] = true;
+            }
+        }
+
+        this.defaultFrame = new byte[this.frame.length];
+        ByteBuffer defaultBuffer = ByteBuffer.wrap(this.defaultFrame);
+        ArrayList<Integer> slotRuns = new ArrayList<Integer>();
+        int runStart = -1;
+        for (int column = 0; column < this.columnTypes.length; column++)
+        {
+            if (!includedColumns[column])
+            {
+                if (runStart >= 0)
+                {
+                    slotRuns.add(runStart);
+                    slotRuns.add(this.columnOffsets[column] - runStart);
+                    runStart = -1;
+                }
+
+                continue;
+            }
+
+            // false, 0 and 0.0 are all zeroes
+            byte bit = (byte)(1 << (column & 7));
+            this.defaultFrame[1 + (column >> 3)] |= bit;
+            switch (this.columnTypes[column])
+            {
+                case NullableNumber:
+                case NullableInteger:
+                    this.defaultFrame[1 + this.bitmaskLength + (column >> 3)] |= bit;
+                    break;
+
+                case String:
+                    defaultBuffer.putInt(this.columnOffsets[column], this.getStringId(""));
+                    break;
+
+                default:
+                    break;
+            }
+
+            if (runStart < 0)
+            {
+                runStart = this.columnOffsets[column];
+            }
+        }
+
+        if (runStart >= 0)
+        {
+            slotRuns.add(runStart);
+            slotRuns.add(this.frame.length - runStart);
+        }
+
+        this.defaultSlotRuns = new int[slotRuns.size()];
+        for (int i = 0; i < this.defaultSlotRuns.length; i++)
+        {
+            this.defaultSlotRuns[i] = slotRuns.get(i);
+        }
+    }
+
+    private int getStringId(String value)
+    {
+        Integer id = this.dictionary.get(value);
+        if (id == null)
+        {
+            // strings that keep changing (e.g. summaries) would grow the dictionary forever, so write them inline instead
+            if (this.dictionary.size() >= TuningConstants.LOG_FILE_BINARY_DICTIONARY_SIZE)
+            {
+                return BinaryLogger.INLINE_STRING_ID;
+            }
+
+            id = this.dictionary.size();
+            this.dictionary.put(value, id);
+            this.addDictionaryRecord(id, value);
+        }
+
+        return id;
+    }
+
+    private void addDictionaryRecord(int id, String value)
+    {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, Short.MAX_VALUE);
+        ByteBuffer record = this.reserveRecord(1 + 4 + 2 + length);
+        record.put(BinaryLogger.DICTIONARY_RECORD);
+        record.putInt(id);
+        record.putShort((short)length);
+        record.put(bytes, 0, length);
+    }
+
+    private void addInlineStringRecord(int column, String value)
+    {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, Short.MAX_VALUE);
+        ByteBuffer record = this.reserveRecord(1 + 2 + 2 + length);
+        record.put(BinaryLogger.INLINE_STRING_RECORD);
+        record.putShort((short)column);
+        record.putShort((short)length);
+        record.put(bytes, 0, length);
+    }
+
+    private ByteBuffer reserveRecord(int recordLength)
+    {
+        if (this.dictionaryRecordsLength + recordLength > this.dictionaryRecords.length)
+        {
+            this.dictionaryRecords =
+                Arrays.copyOf(
+                    this.dictionaryRecords,
+                    Math.max(2 * this.dictionaryRecords.length, this.dictionaryRecordsLength + recordLength));
+        }
+
+        ByteBuffer record = ByteBuffer.wrap(this.dictionaryRecords, this.dictionaryRecordsLength, recordLength);
+        this.dictionaryRecordsLength += recordLength;
+        return record;
+    }
+}
@@ -3,55 +3,97 @@ package frc.lib.robotprovider;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 
+import frc.lib.helpers.FormatHelpers;
 import frc.robot.LoggingKey;
 
+/**
+ * Logger that writes a row of comma-separated values per update.
+ * Values are formatted directly into a reusable byte buffer per column, so that logging doesn't allocate.
+ */
 public class CSVLogger extends StringLogger
 {
+    private static final int INITIAL_COLUMN_CAPACITY = 64;
+
     private final IFileWriter fileWriter;
-    private final ArrayList<String> schema;
+    private final String[] schema;
+
+    private final int[] keyColumns; // column for each LoggingKey (by ordinal), or -1 if not in the schema
+    private final LoggingKey[] columnKeys; // LoggingKey for each column, or null if it isn't a LoggingKey
 
-    private String[] values;
+    private final byte[][] values;
+    private final int[] valueLengths;
+    private byte[] row;
+
+    private byte[][] defaultValues; // formatted default value for each column (see logDefaults), or null if it isn't reset
 
     /**
-     * Initializes a new instance of the CSVLogger class, using the shouldLog LoggingKeys to determine the schema
+     * Initializes a new instance of the CSVLogger class, using the shouldLogToFile LoggingKeys to determine the schema
      * @param fileWriter to write into
-     * @throws IOException 
+     * @throws IOException
      */
     public CSVLogger(IFileWriter fileWriter) throws IOException
+    {
+        this(fileWriter, CSVLogger.getDefaultSchema());
+    }
+
+    /**
+     * Initializes a new instance of the CSVLogger class.
+     * @param fileWriter to write into
+     * @param schema to use for writing
+     * @throws IOException
+     */
+    public CSVLogger(IFileWriter fileWriter, String... schema) throws IOException
     {
         this.fileWriter = fileWriter;
+        this.schema = schema.clone();
+
+        HashMap<String, Integer> schemaColumns = new HashMap<String, Integer>();
+        for (int i = this.schema.length - 1; i >= 0; i--)
+        {
+            // if the schema contains duplicates, values are written into the first matching column
+            schemaColumns.put(this.schema[i], i);
+        }
+
         LoggingKey[] keys = LoggingKey.values();
-        this.schema = new ArrayList<String>();
+        this.keyColumns = new int[keys.length];
+        this.columnKeys = new LoggingKey[this.schema.length];
         for (LoggingKey key : keys)
         {
-            if (key.shouldLogToCsv)
+            Integer column = schemaColumns.get(key.value);
+            if (column == null)
             {
-                this.schema.add(key.value);
+                this.keyColumns[key.ordinal()] = -1;
+            }
+            else
+            {
+                this.keyColumns[key.ordinal()] = column;
+                if (this.columnKeys[column] == null)
+                {
+                    this.columnKeys[column] = key;
+                }
             }
         }
 
-        this.values = new String[this.schema.size()];
+        this.values = new byte[this.schema.length][CSVLogger.INITIAL_COLUMN_CAPACITY];
+        this.valueLengths = new int[this.schema.length];
+        this.row = new byte[this.schema.length * (CSVLogger.INITIAL_COLUMN_CAPACITY + 1) + 2];
         this.writeHeader();
     }
 
-    /**
-     * Initializes a new instance of the CSVLogger class.
-     * @param fileWriter to write into
-     * @param schema to use for writing
-     * @throws IOException 
-     */
-    public CSVLogger(IFileWriter fileWriter, String... schema) throws IOException
+    private static String[] getDefaultSchema()
     {
-        this.fileWriter = fileWriter;
-        this.schema = new ArrayList<String>();
-        for (String schemaEntry : schema)
+        ArrayList<String> schema = new ArrayList<String>();
+        for (LoggingKey key : LoggingKey.values())
         {
-            this.schema.add(schemaEntry);
+            if (key.shouldLogToFile())
+            {
+                schema.add(key.value);
+            }
         }
 
-        this.values = new String[this.schema.size()];
-        this.writeHeader();
+        return schema.toArray(new String[schema.size()]);
     }
 
     private void writeHeader() throws IOException
@@ -61,6 +103,17 @@ public class CSVLogger extends StringLogger
         this.fileWriter.flush();
     }
 
+    /**
+     * Retrieve the column handle for a LoggingKey, which hot callers can cache and pass to the column-based log methods
+     * to avoid looking up the column for every value
+     * @param key to look up
+     * @return the column handle, or -1 if the key isn't part of the schema
+     */
+    public int getColumn(LoggingKey key)
+    {
+        return this.keyColumns[key.ordinal()];
+    }
+
     /**
      * Write a string to the log
      * @param key to write to
@@ -69,16 +122,137 @@ public class CSVLogger extends StringLogger
     @Override
     public void internalLogString(LoggingKey key, String value)
     {
-        int index = this.schema.indexOf(key.value);
-        if (index >= 0)
+        this.writeString(this.keyColumns[key.ordinal()], value);
+    }
+
+    /**
+     * Write a boolean to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    protected void internalLogBoolean(LoggingKey key, boolean value)
+    {
+        this.writeBoolean(this.keyColumns[key.ordinal()], value);
+    }
+
+    /**
+     * Write a boolean array to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    protected void internalLogBooleanArray(LoggingKey key, boolean[] value)
+    {
+        this.writeBooleanArray(this.keyColumns[key.ordinal()], value);
+    }
+
+    /**
+     * Write a number (double) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    protected void internalLogNumber(LoggingKey key, double value)
+    {
+        this.writeNumber(this.keyColumns[key.ordinal()], value);
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    protected void internalLogInteger(LoggingKey key, int value)
+    {
+        this.writeInteger(this.keyColumns[key.ordinal()], value);
+    }
+
+    /**
+     * Write a string to the log
+     * @param column handle (from getColumn) to write to
+     * @param value to write
+     */
+    public void logString(int column, String value)
+    {
+        if (column >= 0 && this.shouldLogColumn(column))
+        {
+            this.writeString(column, value);
+        }
+    }
+
+    /**
+     * Write a boolean to the log
+     * @param column handle (from getColumn) to write to
+     * @param value to write
+     */
+    public void logBoolean(int column, boolean value)
+    {
+        if (column >= 0 && this.shouldLogColumn(column))
+        {
+            this.writeBoolean(column, value);
+        }
+    }
+
+    /**
+     * Write a boolean array to the log
+     * @param column handle (from getColumn) to write to
+     * @param value to write
+     */
+    public void logBooleanArray(int column, boolean[] value)
+    {
+        if (column >= 0 && this.shouldLogColumn(column))
+        {
+            this.writeBooleanArray(column, value);
+        }
+    }
+
+    /**
+     * Write a number (double) to the log
+     * @param column handle (from getColumn) to write to
+     * @param value to write
+     */
+    public void logNumber(int column, double value)
+    {
+        if (column >= 0 && this.shouldLogColumn(column))
+        {
+            this.writeNumber(column, value);
+        }
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param column handle (from getColumn) to write to
+     * @param value to write
+     */
+    public void logInteger(int column, int value)
+    {
+        if (column >= 0 && this.shouldLogColumn(column))
+        {
+            this.writeInteger(column, value);
+        }
+    }
+
+    /**
+     * Write the default value for each key to the log (see LoggingDefaults), copying in the precomputed values
+     */
+    @Override
+    public void logDefaults()
+    {
+        if (this.defaultValues == null)
         {
-            // check if string needs to be quoted
-            if (value.contains("\"") || value.contains("\r") || value.contains("\n"))
+            this.defaultValues = this.formatDefaultValues();
+        }
+
+        for (int column = 0; column < this.defaultValues.length; column++)
+        {
+            byte[] value = this.defaultValues[column];
+            if (value != null)
             {
-                value = "\"" + value.replace("\"", "\"\"") + "\"";
+                System.arraycopy(value, 0, this.ensureCapacity(column, value.length), 0, value.length);
+                this.valueLengths[column] = value.length;
             }
-
-            this.values[index] = value;
         }
     }
 
@@ -90,31 +264,47 @@ public class CSVLogger extends StringLogger
     {
         super.update();
 
-        try
+        int rowLength = 2;
+        for (int i = 0; i < this.valueLengths.length; i++)
+        {
+            rowLength += this.valueLengths[i] + 1;
+        }
+
+        if (rowLength > this.row.length)
         {
-            for (int i = 0; i < this.schema.size(); i++)
+            this.row = new byte[Math.max(rowLength, 2 * this.row.length)];
+        }
+
+        int offset = 0;
+        for (int i = 0; i < this.valueLengths.length; i++)
+        {
+            if (i > 0)
             {
-                if (i > 0)
-                {
-                    this.fileWriter.append(",");
-                }
+                this.row[offset++] = ',';
+            }
 
-                String value = this.values[i];
-                if (value != null)
-                {
-                    this.fileWriter.append(value);
-                }
+            int valueLength = this.valueLengths[i];
+            if (valueLength > 0)
+            {
+                System.arraycopy(this.values[i], 0, this.row, offset, valueLength);
+                offset += valueLength;
             }
+        }
+
+        this.row[offset++] = '\r';
+        this.row[offset++] = '\n';
 
-            this.fileWriter.append("\r\n");
+        try
+        {
+            this.fileWriter.write(this.row, 0, offset);
         }
         catch (IOException e)
         {
             // best-effort...
         }
 
-        // clear the array
-        Arrays.fill(this.values, null);
+        // clear the values
+        Arrays.fill(this.valueLengths, 0);
     }
 
     /**
@@ -132,4 +322,184 @@ public class CSVLogger extends StringLogger
             // best-effort...
         }
     }
+
+    /**
+     * Close the output stream when this logger is no longer used, if appropriate..
+     */
+    @Override
+    public void close()
+    {
+        try
+        {
+            this.fileWriter.flush();
+            this.fileWriter.close();
+        }
+        catch (IOException e)
+        {
+            // best-effort...
+        }
+    }
+
+    private byte[][] formatDefaultValues()
+    {
+        byte[][] formattedValues = new byte[this.schema.length][];
+        for (int column = 0; column < this.schema.length; column++)
+        {
+            LoggingKey key = this.columnKeys[column];
+            if (key == null || !LoggingDefaults.includes(key))
+            {
+                continue;
+            }
+
+            switch (key.type)
+            {
+                case Boolean:
+                    this.writeBoolean(column, false);
+                    break;
+
+                case Integer:
+                    this.writeInteger(column, 0);
+                    break;
+
+                case Number:
+                    this.writeNumber(column, 0.0);
+                    break;
+
+                case NullableInteger:
+                case NullableNumber:
+                    this.writeString(column, "null");
+                    break;
+
+                case String:
+                default:
+                    this.writeString(column, "");
+                    break;
+            }
+
+            formattedValues[column] = Arrays.copyOf(this.values[column], this.valueLengths[column]);
+        }
+
+        return formattedValues;
+    }
+
+    private boolean shouldLogColumn(int column)
+    {
+        LoggingKey key = this.columnKeys[column];
+        return key == null || this.shouldLog(key);
+    }
+
+    private void writeString(int column, String value)
+    {
+        if (column < 0)
+        {
+            return;
+        }
+
+        if (value == null)
+        {
+            this.valueLengths[column] = 0;
+            return;
+        }
+
+        // check if string needs to be quoted
+        boolean needsQuotes = false;
+        int length = value.length();
+        for (int i = 0; i < length; i++)
+        {
+            char ch = value.charAt(i);
+            if (ch == '"' || ch == ',' || ch == '\r' || ch == '\n')
+            {
+                needsQuotes = true;
+                break;
+            }
+        }
+
+        // each character may need up to 3 bytes (or 2 for a doubled quote), plus surrounding quotes
+        byte[] buffer = this.ensureCapacity(column, FormatHelpers.getMaxStringLength(value) + 2);
+        if (!needsQuotes)
+        {
+            this.valueLengths[column] = FormatHelpers.appendString(buffer, 0, value);
+            return;
+        }
+
+        int offset = 0;
+        buffer[offset++] = '"';
+        for (int i = 0; i < length; i++)
+        {
+            if (value.charAt(i) == '"')
+            {
+                buffer[offset++] = '"';
+            }
+
+            offset = FormatHelpers.appendCharacter(buffer, offset, value, i);
+        }
+
+        buffer[offset++] = '"';
+        this.valueLengths[column] = offset;
+    }
+
+    private void writeBoolean(int column, boolean value)
+    {
+        if (column >= 0)
+        {
+            this.valueLengths[column] = FormatHelpers.appendBoolean(this.values[column], 0, value);
+        }
+    }
+
+    private void writeBooleanArray(int column, boolean[] value)
+    {
+        if (column < 0)
+        {
+            return;
+        }
+
+        if (value == null)
+        {
+            this.valueLengths[column] = 0;
+            return;
+        }
+
+        // written as a la "true,false", so it must be quoted
+        byte[] buffer = this.ensureCapacity(column, 6 * value.length + 2);
+        int offset = 0;
+        buffer[offset++] = '"';
+        for (int i = 0; i < value.length; i++)
+        {
+            if (i > 0)
+            {
+                buffer[offset++] = ',';
+            }
+
+            offset = FormatHelpers.appendBoolean(buffer, offset, value[i]);
+        }
+
+        buffer[offset++] = '"';
+        this.valueLengths[column] = offset;
+    }
+
+    private void writeNumber(int column, double value)
+    {
+        if (column >= 0)
+        {
+            this.valueLengths[column] = FormatHelpers.appendNumber(this.values[column], 0, value);
+        }
+    }
+
+    private void writeInteger(int column, int value)
+    {
+        if (column >= 0)
+        {
+            this.valueLengths[column] = FormatHelpers.appendInteger(this.values[column], 0, value);
+        }
+    }
+
+    private byte[] ensureCapacity(int column, int capacity)
+    {
+        if (this.values[column].length < capacity)
+        {
+            this.values[column] = new byte[Math.max(capacity, 2 * this.values[column].length)];
+        }
+
+        return this.values[column];
+    }
 }
@@ -0,0 +1,407 @@
+package frc.lib.robotprovider;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Vector;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * File writer that compresses what is written (gzip) from a background thread, splitting the output into segment files
+ * once they reach a certain size.
+ *
+ * Data is collected into fixed-size blocks, which are compressed and written by the background thread.  The compressed
+ * data is sync-flushed whenever the writer is flushed, so a segment can still be decompressed up to the last flush if the
+ * robot loses power.  Each segment is a complete gzip file a la "Q03 (R2).auto.irslog.gz", "Q03 (R2).auto.irslog.1.gz",
+ * etc., and decompressing the segments in order and concatenating them gives back the original data.
+ *
+ * Before starting a new segment, the writer checks that there is enough free space for the segment while still leaving
+ * the required amount of free space.  If there isn't, the rest of the data is discarded.
+ *
+ * If all blocks are waiting to be compressed, writing waits for the background thread, so this is best used behind the
+ * AsyncLogger so that the main loop never waits on it.
+ */
+public class CompressedFileWriter implements IFileWriter, Runnable
+{
+    private final String fileName;
+    private final Supplier<IFile> fileSupplier;
+    private final IFile spaceFile;
+    private final long segmentSize;
+    private final long requiredFreeSpace;
+
+    private final ArrayBlockingQueue<Block> freeBlocks;
+    private final ArrayBlockingQueue<Block> filledBlocks;
+    private final Thread thread;
+
+    // producer-only state
+    private Block currentBlock;
+
+    // background thread-only state
+    private SegmentOutputStream segmentStream;
+    private GZIPOutputStream compressionStream;
+    private volatile int segmentCount;
+    private volatile long discardedBytes;
+    private volatile boolean closed;
+
+    /**
+     * Initializes a new instance of the CompressedFileWriter class.
+     * @param file that has been opened at fileName, to use for the first segment and for checking free space
+     * @param fileName of the first segment (should end in ".gz")
+     * @param fileSupplier to provide files for subsequent segments
+     * @param blockSize number of bytes to collect before compressing them
+     * @param blockCount number of blocks that can be waiting to be compressed
+     * @param segmentSize number of compressed bytes to write into a segment before starting the next one
+     * @param requiredFreeSpace number of bytes to leave free
+     * @throws IOException
+     */
+    public CompressedFileWriter(
+        IFile file,
+        String fileName,
+        Supplier<IFile> fileSupplier,
+        int blockSize,
+        int blockCount,
+        long segmentSize,
+        long requiredFreeSpace) throws IOException
+    {
+        this.fileName = fileName;
+        this.fileSupplier = fileSupplier;
+        this.spaceFile = file;
+        this.segmentSize = segmentSize;
+        this.requiredFreeSpace = requiredFreeSpace;
+
+        this.freeBlocks = new ArrayBlockingQueue<Block>(blockCount);
+        this.filledBlocks = new ArrayBlockingQueue<Block>(blockCount + 1);
+        for (int i = 0; i < blockCount; i++)
+        {
+            this.freeBlocks.add(new Block(blockSize));
+        }
+
+        this.currentBlock = this.freeBlocks.poll();
+
+        this.segmentCount = 0;
+        this.discardedBytes = 0L;
+        this.closed = false;
+        this.openSegment(file);
+
+        this.thread = new Thread(this, "CompressedFileWriter");
+        this.thread.setDaemon(true);
+        this.thread.setPriority(Thread.MIN_PRIORITY);
+    }
+
+    /**
+     * Start the background thread that compresses and writes the data
+     */
+    public void start()
+    {
+        this.thread.start();
+    }
+
+    /**
+     * Retrieve the number of segment files that have been started
+     * @return the number of segments
+     */
+    public int getSegmentCount()
+    {
+        return this.segmentCount;
+    }
+
+    /**
+     * Retrieve the number of bytes that were discarded because there wasn't enough free space
+     * @return the number of discarded bytes
+     */
+    public long getDiscardedBytes()
+    {
+        return this.discardedBytes;
+    }
+
+    /**
+     * Check whether the background thread has finished writing and closed the last segment
+     * @return true if closed
+     */
+    public boolean isClosed()
+    {
+        return this.closed;
+    }
+
+    @Override
+    public void append(String string) throws IOException
+    {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        this.write(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) throws IOException
+    {
+        if (this.currentBlock == null)
+        {
+            throw new IOException("CompressedFileWriter has already been closed");
+        }
+
+        while (length > 0)
+        {
+            Block block = this.currentBlock;
+            int count = Math.min(length, block.data.length - block.length);
+            System.arraycopy(buffer, offset, block.data, block.length, count);
+            block.length += count;
+            offset += count;
+            length -= count;
+
+            if (block.length == block.data.length)
+            {
+                this.submit(false, false);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException
+    {
+        this.submit(true, false);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if (this.currentBlock != null)
+        {
+            this.submit(true, true);
+        }
+    }
+
+    /**
+     * Background thread: compress and write blocks as they are filled
+     */
+    @Override
+    public void run()
+    {
+        try
+        {
+            while (true)
+            {
+                Block block = this.filledBlocks.take();
+                boolean shouldClose = block.close;
+                this.writeBlock(block);
+
+                block.length = 0;
+                block.flush = false;
+                block.close = false;
+                this.freeBlocks.put(block);
+
+                if (shouldClose)
+                {
+                    break;
+                }
+            }
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        this.closeSegment();
+        this.closed = true;
+    }
+
+    private void submit(boolean flush, boolean close) throws IOException
+    {
+        Block block = this.currentBlock;
+        if (block == null)
+        {
+            throw new IOException("CompressedFileWriter has already been closed");
+        }
+
+        block.flush = flush;
+        block.close = close;
+
+        try
+        {
+            this.filledBlocks.put(block);
+            this.currentBlock = close ? null : this.freeBlocks.take();
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    private void writeBlock(Block block)
+    {
+        try
+        {
+            if (this.compressionStream == null)
+            {
+                this.discardedBytes += block.length;
+                return;
+            }
+
+            this.compressionStream.write(block.data, 0, block.length);
+            if (block.flush || block.close)
+            {
+                this.compressionStream.flush();
+            }
+
+            if (this.segmentStream.getLength() >= this.segmentSize && !block.close)
+            {
+                this.closeSegment();
+
+                IFile file = this.fileSupplier.get();
+                file.open(CompressedFileWriter.getSegmentFileName(this.fileName, this.segmentCount));
+                this.openSegment(file);
+            }
+        }
+        catch (IOException ex)
+        {
+            // best-effort...
+            this.discardedBytes += block.length;
+        }
+    }
+
+    private void openSegment(IFile file) throws IOException
+    {
+        this.compressionStream = null;
+        this.segmentStream = null;
+        if (this.segmentCount > 0 && this.spaceFile.getFreeSpace() - this.segmentSize < this.requiredFreeSpace)
+        {
+            // not enough room for another segment
+            return;
+        }
+
+        this.segmentCount++;
+        this.segmentStream = new SegmentOutputStream(file.openWriter());
+        this.compressionStream = new FastGZIPOutputStream(this.segmentStream);
+    }
+
+    private void closeSegment()
+    {
+        if (this.compressionStream != null)
+        {
+            try
+            {
+                this.compressionStream.finish();
+                this.segmentStream.flush();
+                this.segmentStream.close();
+            }
+            catch (IOException ex)
+            {
+                // best-effort...
+            }
+
+            this.compressionStream = null;
+            this.segmentStream = null;
+        }
+    }
+
+    /**
+     * Open the segments written by a CompressedFileWriter as a single stream of the original (decompressed) data
+     * @param fileName of the first segment
+     * @return stream of the decompressed data from each of the segments in order
+     * @throws IOException if the first segment couldn't be opened
+     */
+    public static InputStream openSegments(String fileName) throws IOException
+    {
+        Vector<InputStream> segments = new Vector<InputStream>();
+        segments.add(new GZIPInputStream(new FileInputStream(fileName)));
+        for (int i = 1; new File(CompressedFileWriter.getSegmentFileName(fileName, i)).exists(); i++)
+        {
+            segments.add(new GZIPInputStream(new FileInputStream(CompressedFileWriter.getSegmentFileName(fileName, i))));
+        }
+
+        return new SequenceInputStream(segments.elements());
+    }
+
+    private static String getSegmentFileName(String fileName, int segment)
+    {
+        // insert the segment number before the ".gz", a la "Q03 (R2).auto.irslog.1.gz"
+        int extensionIndex = fileName.lastIndexOf('.');
+        if (extensionIndex < 0)
+        {
+            return String.format("%1$s.%2$d", fileName, segment);
+        }
+
+        return String.format("%1$s.%2$d%3$s", fileName.substring(0, extensionIndex), segment, fileName.substring(extensionIndex));
+    }
+
+    private static class Block
+    {
+        final byte[] data;
+        int length;
+        boolean flush;
+        boolean close;
+
+        Block(int size)
+        {
+            this.data = new byte[size];
+            this.length = 0;
+            this.flush = false;
+            this.close = false;
+        }
+    }
+
+    /**
+     * Gzip stream using the fastest compression level, as the roboRIO doesn't have a lot of CPU to spare
+     */
+    private static class FastGZIPOutputStream extends GZIPOutputStream
+    {
+        FastGZIPOutputStream(OutputStream outputStream) throws IOException
+        {
+            super(outputStream, true);
+            this.def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+
+    /**
+     * Stream that writes into a segment's IFileWriter and counts how many bytes have been written
+     */
+    private static class SegmentOutputStream extends OutputStream
+    {
+        private final IFileWriter fileWriter;
+        private long length;
+
+        SegmentOutputStream(IFileWriter fileWriter)
+        {
+            this.fileWriter = fileWriter;
+            this.length = 0L;
+        }
+
+        long getLength()
+        {
+            return this.length;
+        }
+
+        @Override
+        public void write(int b) throws IOException
+        {
+            this.write(new byte[] { (byte)b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException
+        {
+            this.fileWriter.write(buffer, offset, length);
+            this.length += length;
+        }
+
+        @Override
+        public void flush() throws IOException
+        {
+            this.fileWriter.flush();
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            this.fileWriter.close();
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package frc.lib.robotprovider;
+
+import java.util.Arrays;
+
+import frc.robot.LoggingKey;
+
+/**
+ * Logger that only passes values on to the wrapped logger when they have changed since they were last published
+ * (numbers within the key's deltaEpsilon), so that unchanged values don't need to be sent to the dashboard every loop.
+ * Every keyframePeriod updates, all values are published again in case the dashboard missed or dropped any of them.
+ *
+ * Like the dashboard loggers, this applies each key's logging frequency (see LoggingScheduler) so that it knows which values
+ * were actually published.
+ *
+ * Note: this should not wrap the AdvantageKitLogger, which expects a value for every key during each loop.
+ */
+public class DeltaLogger implements ILogger
+{
+    private static final byte NONE = 0;
+    private static final byte VALUE = 1;
+    private static final byte NULL = 2;
+
+    private final ILogger wrappedLogger;
+    private final int keyframePeriod;
+
+    // last published value for each LoggingKey (by ordinal)
+    private final byte[] states;
+    private final long[] values;
+    private final Object[] references;
+
+    private final LoggingScheduler scheduler;
+    private int updateCount;
+
+    /**
+     * Initializes a new instance of the DeltaLogger class.
+     * @param wrappedLogger to publish changed values to
+     * @param keyframePeriod number of updates between publishing all values, whether they have changed or not
+     */
+    public DeltaLogger(ILogger wrappedLogger, int keyframePeriod)
+    {
+        this.wrappedLogger = wrappedLogger;
+        this.keyframePeriod = keyframePeriod;
+
+        int keyCount = LoggingKey.values().length;
+        this.states = new byte[keyCount];
+        this.values = new long[keyCount];
+        this.references = new Object[keyCount];
+
+        this.scheduler = new LoggingScheduler();
+        this.updateCount = 0;
+    }
+
+    /**
+     * Write a boolean to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logBoolean(LoggingKey key, boolean value)
+    {
+        if (this.shouldLog(key) && this.hasChanged(key, value ? 1L : 0L, null))
+        {
+            this.wrappedLogger.logBoolean(key, value);
+        }
+    }
+
+    /**
+     * Write a boolean array to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logBooleanArray(LoggingKey key, boolean[] value)
+    {
+        if (!this.shouldLog(key))
+        {
+            return;
+        }
+
+        int ordinal = key.ordinal();
+        if (value == null)
+        {
+            if (this.states[ordinal] != DeltaLogger.NULL)
+            {
+                this.states[ordinal] = DeltaLogger.NULL;
+                this.wrappedLogger.logBooleanArray(key, value);
+            }
+
+            return;
+        }
+
+        boolean[] previousValue = (boolean[])this.references[ordinal];
+        if (this.states[ordinal] == DeltaLogger.VALUE && Arrays.equals(previousValue, value))
+        {
+            return;
+        }
+
+        // keep our own copy, as the caller may reuse the array
+        if (previousValue == null || previousValue.length != value.length)
+        {
+            previousValue = new boolean[value.length];
+            this.references[ordinal] = previousValue;
+        }
+
+        System.arraycopy(value, 0, previousValue, 0, value.length);
+        this.states[ordinal] = DeltaLogger.VALUE;
+        this.wrappedLogger.logBooleanArray(key, value);
+    }
+
+    /**
+     * Write a number (double) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(LoggingKey key, double value)
+    {
+        if (this.shouldLog(key) && this.hasChanged(key, value))
+        {
+            this.wrappedLogger.logNumber(key, value);
+        }
+    }
+
+    /**
+     * Write a number (double) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(LoggingKey key, Double value)
+    {
+        if (!this.shouldLog(key))
+        {
+            return;
+        }
+
+        if (value == null ? this.hasChangedToNull(key) : this.hasChanged(key, value.doubleValue()))
+        {
+            this.wrappedLogger.logNumber(key, value);
+        }
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logInteger(LoggingKey key, int value)
+    {
+        if (this.shouldLog(key) && this.hasChanged(key, value, null))
+        {
+            this.wrappedLogger.logInteger(key, value);
+        }
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logInteger(LoggingKey key, Integer value)
+    {
+        if (!this.shouldLog(key))
+        {
+            return;
+        }
+
+        if (value == null ? this.hasChangedToNull(key) : this.hasChanged(key, value.intValue(), null))
+        {
+            this.wrappedLogger.logInteger(key, value);
+        }
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     * @param formatString to use
+     */
+    @Override
+    public void logInteger(LoggingKey key, int value, String formatString)
+    {
+        if (this.shouldLog(key) && this.hasChanged(key, value, formatString))
+        {
+            this.wrappedLogger.logInteger(key, value, formatString);
+        }
+    }
+
+    /**
+     * Write a string to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logString(LoggingKey key, String value)
+    {
+        if (!this.shouldLog(key))
+        {
+            return;
+        }
+
+        if (value == null ? this.hasChangedToNull(key) : this.hasChanged(key, 0L, value))
+        {
+            this.wrappedLogger.logString(key, value);
+        }
+    }
+
+    /**
+     * Write the default value for each key to the log (see LoggingDefaults), only publishing the ones that have changed
+     */
+    @Override
+    public void logDefaults()
+    {
+        LoggingDefaults.logTo(this);
+    }
+
+    /**
+     * Update the log, if appropriate..
+     */
+    @Override
+    public void update()
+    {
+        this.scheduler.update();
+        this.updateCount++;
+        if ((this.updateCount % this.keyframePeriod) == 0)
+        {
+            // forget what was published so that every value is published again
+            Arrays.fill(this.states, DeltaLogger.NONE);
+        }
+
+        this.wrappedLogger.update();
+    }
+
+    /**
+     * Flush the output stream, if appropriate..
+     */
+    @Override
+    public void flush()
+    {
+        this.wrappedLogger.flush();
+    }
+
+    /**
+     * Close the output stream when this logger is no longer used, if appropriate..
+     * The wrapped dashboard logger is a singleton that outlives this logger, so it isn't closed here.
+     */
+    @Override
+    public void close()
+    {
+        this.wrappedLogger.flush();
+    }
+
+    private boolean shouldLog(LoggingKey key)
+    {
+        return this.scheduler.shouldLog(key);
+    }
+
+    private boolean hasChanged(LoggingKey key, double value)
+    {
+        int ordinal = key.ordinal();
+        if (this.states[ordinal] == DeltaLogger.VALUE)
+        {
+            double previousValue = Double.longBitsToDouble(this.values[ordinal]);
+            if (previousValue == value ||
+                Math.abs(previousValue - value) <= key.deltaEpsilon ||
+                (Double.isNaN(previousValue) && Double.isNaN(value)))
+            {
+                return false;
+            }
+        }
+
+        this.states[ordinal] = DeltaLogger.VALUE;
+        this.values[ordinal] = Double.doubleToRawLongBits(value);
+        return true;
+    }
+
+    private boolean hasChanged(LoggingKey key, long value, Object reference)
+    {
+        int ordinal = key.ordinal();
+        if (this.states[ordinal] == DeltaLogger.VALUE &&
+            this.values[ordinal] == value &&
+            (reference == null ? this.references[ordinal] == null : reference.equals(this.references[ordinal])))
+        {
+            return false;
+        }
+
+        this.states[ordinal] = DeltaLogger.VALUE;
+        this.values[ordinal] = value;
+        this.references[ordinal] = reference;
+        return true;
+    }
+
+    private boolean hasChangedToNull(LoggingKey key)
+    {
+        int ordinal = key.ordinal();
+        if (this.states[ordinal] == DeltaLogger.NULL)
+        {
+            return false;
+        }
+
+        this.states[ordinal] = DeltaLogger.NULL;
+        return true;
+    }
+}
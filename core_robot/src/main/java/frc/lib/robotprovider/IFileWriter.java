@@ -5,5 +5,7 @@ import java.io.IOException;
 public interface IFileWriter
 {
     public void append(String string) throws IOException;
+    public void write(byte[] buffer, int offset, int length) throws IOException;
     public void flush() throws IOException;
+    public void close() throws IOException;
 }
\ No newline at end of file
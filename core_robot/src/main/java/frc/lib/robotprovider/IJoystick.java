@@ -28,6 +28,12 @@ public interface IJoystick
      */
     boolean getRawButton(int value);
 
+    /**
+     * Get which buttons are currently pressed
+     * @return bitmask of the pressed buttons, with button n at bit (n - 1)
+     */
+    int getButtons();
+
     /**
      * Makes the joystick rumble
      * @param type whether to rumble left or right
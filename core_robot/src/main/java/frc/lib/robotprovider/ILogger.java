@@ -61,6 +61,11 @@ public interface ILogger
      */
     void logString(LoggingKey key, String value);
 
+    /**
+     * Write the default value for each key to the log (see LoggingDefaults), as a single bulk operation where possible
+     */
+    void logDefaults();
+
     /**
      * Update the log, if appropriate..
      */
@@ -70,4 +75,9 @@ public interface ILogger
      * Flush the output stream, if appropriate..
      */
     void flush();
+
+    /**
+     * Close the output stream when this logger is no longer used, if appropriate..
+     */
+    void close();
 }
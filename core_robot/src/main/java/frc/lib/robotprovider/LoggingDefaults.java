@@ -0,0 +1,101 @@
+package frc.lib.robotprovider;
+
+import java.util.ArrayList;
+
+import frc.robot.LoggingKey;
+
+/**
+ * The default values that are logged for the LoggingKeys while the robot is disabled (see ILogger.logDefaults), based on
+ * each key's LoggingType: false, 0, null or an empty string.  RobotState isn't reset, as it holds the robot's current mode,
+ * and neither are the summaries that are logged when the robot is disabled (e.g. by LoopProfiler.dump), so that they
+ * remain visible until the robot is enabled again.
+ */
+public class LoggingDefaults
+{
+    private static final LoggingKey[][] KeysByType = LoggingDefaults.groupKeysByType();
+
+    /**
+     * Check whether a default value is logged for the key
+     * @param key to check
+     * @return true if the key is reset to its default value
+     */
+    public static boolean includes(LoggingKey key)
+    {
+        switch (key)
+        {
+            case RobotState:
+            case TimingMechanismSummary:
+            case TimingOverruns:
+            case TimingLastOverrun:
+            case DriverLatencySummary:
+            case DriverTaskProfile:
+                return false;
+
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Log the default value for each key one at a time, for loggers that can't write them all at once
+     * @param logger to write the default values to
+     */
+    public static void logTo(ILogger logger)
+    {
+        for (LoggingKey key : LoggingDefaults.KeysByType[LoggingType.Boolean.ordinal()])
+        {
+            logger.logBoolean(key, false);
+        }
+
+        for (LoggingKey key : LoggingDefaults.KeysByType[LoggingType.Integer.ordinal()])
+        {
+            logger.logInteger(key, 0);
+        }
+
+        for (LoggingKey key : LoggingDefaults.KeysByType[LoggingType.NullableInteger.ordinal()])
+        {
+            logger.logInteger(key, (Integer)null);
+        }
+
+        for (LoggingKey key : LoggingDefaults.KeysByType[LoggingType.Number.ordinal()])
+        {
+            logger.logNumber(key, 0.0);
+        }
+
+        for (LoggingKey key : LoggingDefaults.KeysByType[LoggingType.NullableNumber.ordinal()])
+        {
+            logger.logNumber(key, (Double)null);
+        }
+
+        for (LoggingKey key : LoggingDefaults.KeysByType[LoggingType.String.ordinal()])
+        {
+            logger.logString(key, "");
+        }
+    }
+
+    private static LoggingKey[][] groupKeysByType()
+    {
+        LoggingType[] types = LoggingType.values();
+        ArrayList<ArrayList<LoggingKey>> keys = new ArrayList<ArrayList<LoggingKey>>();
+        for (int i = 0; i < types.length; i++)
+        {
+            keys.add(new ArrayList<LoggingKey>());
+        }
+
+        for (LoggingKey key : LoggingKey.values())
+        {
+            if (LoggingDefaults.includes(key))
+            {
+                keys.get(key.type.ordinal()).add(key);
+            }
+        }
+
+        LoggingKey[][] keysByType = new LoggingKey[types.length][];
+        for (int i = 0; i < types.length; i++)
+        {
+            keysByType[i] = keys.get(i).toArray(new LoggingKey[keys.get(i).size()]);
+        }
+
+        return keysByType;
+    }
+}
@@ -0,0 +1,247 @@
+package frc.lib.robotprovider;
+
+import java.util.Arrays;
+
+import frc.robot.LoggingKey;
+
+/**
+ * Decides which logged values should be written during each update, based on each LoggingKey's loggingFrequency.
+ *
+ * Rather than writing every key on the updates that are a multiple of its logging frequency (so that all of the keys
+ * with the same frequency line up on the same update), each key is given a phase offset so that the keys are spread
+ * evenly across the updates.  A key is due on the updates where (update - phase) is a multiple of its frequency, and
+ * remains due until a value is written for it.
+ *
+ * A scheduler can also have a budget for the number of values to write during each update.  Once the budget has been
+ * used, values for keys that aren't logged every update are deferred until a later update.  If values are deferred
+ * during an adapt period, the logging frequencies are doubled (up to a maximum multiplier), and once the busiest update
+ * in an adapt period uses less than half of the budget, they are halved again.
+ *
+ * Loggers that wrap other loggers only pass on the values their scheduler allows, and because a key stays due until it is
+ * written, the wrapped logger's (unbudgeted) scheduler allows those values as well.
+ */
+public class LoggingScheduler
+{
+    private static final int MAX_PHASE_PERIOD = 3600;
+    private static final int[] Phases = LoggingScheduler.calculatePhases(LoggingKey.values());
+
+    private final int valueBudget;
+    private final int adaptPeriod;
+    private final int maxFrequencyMultiplier;
+
+    // state for each LoggingKey (by ordinal)
+    private final int[] dueUpdates; // next update where the key is due
+    private final int[] writtenUpdates; // last update where a value was written for the key
+
+    private int updateCount;
+    private int updateValues;
+    private int frequencyMultiplier;
+
+    // current adapt period
+    private int periodDeferredValues;
+    private int periodPeakValues;
+
+    private long deferredValues;
+
+    /**
+     * Initializes a new instance of the LoggingScheduler class, without a budget
+     */
+    public LoggingScheduler()
+    {
+        this(0, 0, 1);
+    }
+
+    /**
+     * Initializes a new instance of the LoggingScheduler class.
+     * @param valueBudget number of values to write during each update before deferring values (0 for no budget)
+     * @param adaptPeriod number of updates between adapting the logging frequencies to the budget
+     * @param maxFrequencyMultiplier maximum amount to multiply the logging frequencies by when values are being deferred
+     */
+    public LoggingScheduler(int valueBudget, int adaptPeriod, int maxFrequencyMultiplier)
+    {
+        this.valueBudget = valueBudget;
+        this.adaptPeriod = adaptPeriod;
+        this.maxFrequencyMultiplier = Math.max(maxFrequencyMultiplier, 1);
+
+        this.dueUpdates = LoggingScheduler.Phases.clone();
+        this.writtenUpdates = new int[LoggingScheduler.Phases.length];
+        Arrays.fill(this.writtenUpdates, -1);
+
+        this.updateCount = 0;
+        this.updateValues = 0;
+        this.frequencyMultiplier = 1;
+        this.periodDeferredValues = 0;
+        this.periodPeakValues = 0;
+        this.deferredValues = 0L;
+    }
+
+    /**
+     * Retrieve the phase offset for a key (the first update where it is due)
+     * @param key to check
+     * @return the phase offset, between 0 and the key's logging frequency
+     */
+    public static int getPhase(LoggingKey key)
+    {
+        return LoggingScheduler.Phases[key.ordinal()];
+    }
+
+    /**
+     * Check whether a value for the key should be written during the current update.
+     * Once a value is allowed for a key, any other values for that key during the same update are also allowed.
+     * @param key to check
+     * @return true if the value should be written
+     */
+    public boolean shouldLog(LoggingKey key)
+    {
+        int ordinal = key.ordinal();
+        if (this.writtenUpdates[ordinal] == this.updateCount)
+        {
+            return true;
+        }
+
+        if (this.updateCount < this.dueUpdates[ordinal])
+        {
+            return false;
+        }
+
+        int frequency = key.loggingFrequency;
+        if (frequency > 1)
+        {
+            if (this.valueBudget > 0 && this.updateValues >= this.valueBudget)
+            {
+                // leave the key due so that it is written during a later update
+                this.periodDeferredValues++;
+                this.deferredValues++;
+                return false;
+            }
+
+            frequency *= this.frequencyMultiplier;
+        }
+
+        // the key is next due at its phase, even if this value was deferred
+        int phase = LoggingScheduler.Phases[ordinal];
+        this.dueUpdates[ordinal] = this.updateCount - Math.floorMod(this.updateCount - phase, frequency) + frequency;
+        this.writtenUpdates[ordinal] = this.updateCount;
+        this.updateValues++;
+        return true;
+    }
+
+    /**
+     * Move on to the next update
+     */
+    public void update()
+    {
+        this.periodPeakValues = Math.max(this.periodPeakValues, this.updateValues);
+        this.updateValues = 0;
+        this.updateCount++;
+
+        if (this.valueBudget > 0 && this.adaptPeriod > 0 && (this.updateCount % this.adaptPeriod) == 0)
+        {
+            if (this.periodDeferredValues > 0)
+            {
+                this.frequencyMultiplier = Math.min(2 * this.frequencyMultiplier, this.maxFrequencyMultiplier);
+            }
+            else if (this.frequencyMultiplier > 1 && 2 * this.periodPeakValues < this.valueBudget)
+            {
+                this.frequencyMultiplier /= 2;
+            }
+
+            this.periodDeferredValues = 0;
+            this.periodPeakValues = 0;
+        }
+    }
+
+    /**
+     * Start over from the first update (e.g. when the loggers being scheduled for have been replaced), keeping the
+     * current frequency multiplier
+     */
+    public void reset()
+    {
+        System.arraycopy(LoggingScheduler.Phases, 0, this.dueUpdates, 0, this.dueUpdates.length);
+        Arrays.fill(this.writtenUpdates, -1);
+        this.updateCount = 0;
+        this.updateValues = 0;
+    }
+
+    /**
+     * Retrieve the amount the logging frequencies are currently multiplied by to stay within the budget
+     * @return the frequency multiplier
+     */
+    public int getFrequencyMultiplier()
+    {
+        return this.frequencyMultiplier;
+    }
+
+    /**
+     * Retrieve the number of values that have been deferred to a later update because the budget was used
+     * @return the number of deferred values
+     */
+    public long getDeferredValues()
+    {
+        return this.deferredValues;
+    }
+
+    /**
+     * Calculate the phase offset for each key, placing each key on the phase where the fewest values are already due
+     * @param keys to calculate phases for
+     * @return the phase offset for each key (by ordinal)
+     */
+    static int[] calculatePhases(LoggingKey[] keys)
+    {
+        // count values over a period that every logging frequency divides evenly (if it isn't too long)
+        int period = 1;
+        for (LoggingKey key : keys)
+        {
+            int frequency = key.loggingFrequency;
+            int lcm = period / LoggingScheduler.gcd(period, frequency) * frequency;
+            if (lcm <= LoggingScheduler.MAX_PHASE_PERIOD)
+            {
+                period = lcm;
+            }
+        }
+
+        int[] loads = new int[period];
+        int[] phases = new int[keys.length];
+        for (LoggingKey key : keys)
+        {
+            int frequency = key.loggingFrequency;
+            int bestPhase = 0;
+            int bestLoad = Integer.MAX_VALUE;
+            for (int phase = 0; phase < frequency; phase++)
+            {
+                int load = 0;
+                for (int update = phase; update < period; update += frequency)
+                {
+                    load = Math.max(load, loads[update]);
+                }
+
+                if (load < bestLoad)
+                {
+                    bestLoad = load;
+                    bestPhase = phase;
+                }
+            }
+
+            for (int update = bestPhase; update < period; update += frequency)
+            {
+                loads[update]++;
+            }
+
+            phases[key.ordinal()] = bestPhase;
+        }
+
+        return phases;
+    }
+
+    private static int gcd(int a, int b)
+    {
+        while (b != 0)
+        {
+            int remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+
+        return a;
+    }
+}
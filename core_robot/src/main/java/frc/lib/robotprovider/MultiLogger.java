@@ -128,6 +128,18 @@ public class MultiLogger implements ILogger
         }
     }
 
+    /**
+     * Write the default value for each key to the log (see LoggingDefaults)
+     */
+    @Override
+    public void logDefaults()
+    {
+        for (ILogger logger : this.loggers)
+        {
+            logger.logDefaults();
+        }
+    }
+
     /**
      * Update the log, if appropriate..
      */
@@ -151,4 +163,15 @@ public class MultiLogger implements ILogger
             logger.flush();
         }
     }
+    /**
+     * Close the output stream when this logger is no longer used, if appropriate..
+     */
+    @Override
+    public void close()
+    {
+        for (ILogger logger : this.loggers)
+        {
+            logger.close();
+        }
+    }
 }
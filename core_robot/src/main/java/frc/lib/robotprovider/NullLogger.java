@@ -16,4 +16,12 @@ public class NullLogger extends StringLogger
     public void internalLogString(LoggingKey key, String value)
     {
     }
+
+    /**
+     * Write the default value for each key to the log (see LoggingDefaults)
+     */
+    @Override
+    public void logDefaults()
+    {
+    }
 }
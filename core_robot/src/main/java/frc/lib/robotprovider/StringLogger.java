@@ -4,11 +4,11 @@ import frc.robot.LoggingKey;
 
 public abstract class StringLogger implements ILogger
 {
-    private int loggingCounter;
+    private final LoggingScheduler scheduler;
 
     public StringLogger()
     {
-        this.loggingCounter = 0;
+        this.scheduler = new LoggingScheduler();
     }
 
     /**
@@ -18,7 +18,7 @@ public abstract class StringLogger implements ILogger
      */
     public void logString(LoggingKey key, String value)
     {
-        if ((this.loggingCounter % key.loggingFrequency) == 0)
+        if (this.shouldLog(key))
         {
             this.internalLogString(key, value);
         }
@@ -32,9 +32,9 @@ public abstract class StringLogger implements ILogger
     @Override
     public void logBoolean(LoggingKey key, boolean value)
     {
-        if ((this.loggingCounter % key.loggingFrequency) == 0)
+        if (this.shouldLog(key))
         {
-            this.internalLogString(key, String.valueOf(value));
+            this.internalLogBoolean(key, value);
         }
     }
 
@@ -46,23 +46,9 @@ public abstract class StringLogger implements ILogger
     @Override
     public void logBooleanArray(LoggingKey key, boolean[] value)
     {
-        if ((this.loggingCounter % key.loggingFrequency) == 0)
+        if (this.shouldLog(key))
         {
-            String str = "";
-            if (value != null)
-            {
-                for (int i = 0; i < value.length; i++)
-                {
-                    if (i > 0)
-                    {
-                        str += ",";
-                    }
-
-                    str += String.valueOf(value[i]);
-                }
-            }
-
-            this.internalLogString(key, str);
+            this.internalLogBooleanArray(key, value);
         }
     }
 
@@ -74,9 +60,9 @@ public abstract class StringLogger implements ILogger
     @Override
     public void logNumber(LoggingKey key, double value)
     {
-        if ((this.loggingCounter % key.loggingFrequency) == 0)
+        if (this.shouldLog(key))
         {
-            this.internalLogString(key, String.valueOf(value));
+            this.internalLogNumber(key, value);
         }
     }
 
@@ -88,9 +74,16 @@ public abstract class StringLogger implements ILogger
     @Override
     public void logNumber(LoggingKey key, Double value)
     {
-        if ((this.loggingCounter % key.loggingFrequency) == 0)
+        if (this.shouldLog(key))
         {
-            this.internalLogString(key, String.valueOf(value));
+            if (value == null)
+            {
+                this.internalLogString(key, "null");
+            }
+            else
+            {
+                this.internalLogNumber(key, value.doubleValue());
+            }
         }
     }
 
@@ -102,9 +95,9 @@ public abstract class StringLogger implements ILogger
     @Override
     public void logInteger(LoggingKey key, int value)
     {
-        if ((this.loggingCounter % key.loggingFrequency) == 0)
+        if (this.shouldLog(key))
         {
-            this.internalLogString(key, String.valueOf(value));
+            this.internalLogInteger(key, value);
         }
     }
 
@@ -116,9 +109,16 @@ public abstract class StringLogger implements ILogger
     @Override
     public void logInteger(LoggingKey key, Integer value)
     {
-        if ((this.loggingCounter % key.loggingFrequency) == 0)
+        if (this.shouldLog(key))
         {
-            this.internalLogString(key, String.valueOf(value));
+            if (value == null)
+            {
+                this.internalLogString(key, "null");
+            }
+            else
+            {
+                this.internalLogInteger(key, value.intValue());
+            }
         }
     }
 
@@ -131,19 +131,28 @@ public abstract class StringLogger implements ILogger
     @Override
     public void logInteger(LoggingKey key, int value, String formatString)
     {
-        if ((this.loggingCounter % key.loggingFrequency) == 0)
+        if (this.shouldLog(key))
         {
             this.internalLogString(key, String.format(formatString, value));
         }
     }
 
+    /**
+     * Write the default value for each key to the log (see LoggingDefaults)
+     */
+    @Override
+    public void logDefaults()
+    {
+        LoggingDefaults.logTo(this);
+    }
+
     /**
      * Update the log, if appropriate..
      */
     @Override
     public void update()
     {
-        this.loggingCounter++;
+        this.scheduler.update();
     }
 
     /**
@@ -154,10 +163,86 @@ public abstract class StringLogger implements ILogger
     {
     }
 
+    /**
+     * Close the output stream when this logger is no longer used, if appropriate..
+     */
+    @Override
+    public void close()
+    {
+    }
+
+    /**
+     * Check whether a value for the key should be written during the current update (see LoggingScheduler)
+     * @param key of the value
+     * @return true if the value should be written
+     */
+    protected boolean shouldLog(LoggingKey key)
+    {
+        return this.scheduler.shouldLog(key);
+    }
+
     /**
      * Write a string to the log
      * @param key to write to
      * @param value to write
      */
     protected abstract void internalLogString(LoggingKey key, String value);
+
+    /**
+     * Write a boolean to the log, after the logging frequency has been checked.
+     * Loggers that can write primitives without converting them to a string should override this.
+     * @param key to write to
+     * @param value to write
+     */
+    protected void internalLogBoolean(LoggingKey key, boolean value)
+    {
+        this.internalLogString(key, value ? "true" : "false");
+    }
+
+    /**
+     * Write a boolean array to the log, after the logging frequency has been checked.
+     * Loggers that can write primitives without converting them to a string should override this.
+     * @param key to write to
+     * @param value to write
+     */
+    protected void internalLogBooleanArray(LoggingKey key, boolean[] value)
+    {
+        StringBuilder builder = new StringBuilder();
+        if (value != null)
+        {
+            for (int i = 0; i < value.length; i++)
+            {
+                if (i > 0)
+                {
+                    builder.append(',');
+                }
+
+                builder.append(value[i]);
+            }
+        }
+
+        this.internalLogString(key, builder.toString());
+    }
+
+    /**
+     * Write a number (double) to the log, after the logging frequency has been checked.
+     * Loggers that can write primitives without converting them to a string should override this.
+     * @param key to write to
+     * @param value to write
+     */
+    protected void internalLogNumber(LoggingKey key, double value)
+    {
+        this.internalLogString(key, String.valueOf(value));
+    }
+
+    /**
+     * Write a number (integer) to the log, after the logging frequency has been checked.
+     * Loggers that can write primitives without converting them to a string should override this.
+     * @param key to write to
+     * @param value to write
+     */
+    protected void internalLogInteger(LoggingKey key, int value)
+    {
+        this.internalLogString(key, String.valueOf(value));
+    }
 }
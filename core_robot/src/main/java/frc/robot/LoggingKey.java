@@ -11,9 +11,39 @@ public enum LoggingKey
     RobotTime("r/time", LoggingType.Number, false, 1, true),
     RobotMatch("r/match", LoggingType.String, false, 50),
     RobotCrash("r/crash", LoggingType.String, false, true),
+    LoggerDroppedRecords("log/droppedRecords", LoggingType.Integer, false, 50, true),
+    LoggerHighWaterMark("log/highWaterMark", LoggingType.Integer, false, 50, true),
+    LoggerDeferredValues("log/deferredValues", LoggingType.Integer, false, 50, true),
+    LoggerFrequencyMultiplier("log/frequencyMultiplier", LoggingType.Integer, false, 50, true),
+    TimingReadSensorsP50("timing/readSensorsP50", LoggingType.Number, false, 50, true),
+    TimingReadSensorsP99("timing/readSensorsP99", LoggingType.Number, false, 50, true),
+    TimingReadSensorsMax("timing/readSensorsMax", LoggingType.Number, false, 50, true),
+    TimingDriverP50("timing/driverP50", LoggingType.Number, false, 50, true),
+    TimingDriverP99("timing/driverP99", LoggingType.Number, false, 50, true),
+    TimingDriverMax("timing/driverMax", LoggingType.Number, false, 50, true),
+    TimingMechanismsP50("timing/mechanismsP50", LoggingType.Number, false, 50, true),
+    TimingMechanismsP99("timing/mechanismsP99", LoggingType.Number, false, 50, true),
+    TimingMechanismsMax("timing/mechanismsMax", LoggingType.Number, false, 50, true),
+    TimingLoggerP50("timing/loggerP50", LoggingType.Number, false, 50, true),
+    TimingLoggerP99("timing/loggerP99", LoggingType.Number, false, 50, true),
+    TimingLoggerMax("timing/loggerMax", LoggingType.Number, false, 50, true),
+    TimingLoopP50("timing/loopP50", LoggingType.Number, false, 50, true),
+    TimingLoopP99("timing/loopP99", LoggingType.Number, false, 50, true),
+    TimingLoopMax("timing/loopMax", LoggingType.Number, false, 50, true),
+    TimingMechanismSummary("timing/mechanismSummary", LoggingType.String, false, 50),
+    TimingOverruns("timing/overruns", LoggingType.Integer, false, 1, true),
+    TimingLastOverrun("timing/lastOverrun", LoggingType.String, false, 1, true),
+    RuntimeAllocatedBytesMean("runtime/allocBytesMean", LoggingType.Number, false, 50, true),
+    RuntimeAllocatedBytesMax("runtime/allocBytesMax", LoggingType.Number, false, 50, true),
+    RuntimeAllocationAlarm("runtime/allocAlarm", LoggingType.Boolean, false, 1, true),
+    RuntimeGcCount("runtime/gcCount", LoggingType.Integer, false, 50, true),
+    RuntimeGcTime("runtime/gcTime", LoggingType.Number, false, 50, true),
+    RuntimeGcMaxPause("runtime/gcMaxPause", LoggingType.Number, false, 50, true),
     DriverMode("driver/mode", LoggingType.String, false, 1, true),
     DriverActiveMacros("driver/activeMacros", LoggingType.String, false, 1, true),
     DriverActiveShifts("driver/activeShifts", LoggingType.String, false),
+    DriverLatencySummary("driver/latencySummary", LoggingType.String, false, 50),
+    DriverTaskProfile("driver/taskProfile", LoggingType.String, false),
     AutonomousSelection("auto/selected", LoggingType.String, false),
     AutonomousDSMessage("auto/dsMessage", LoggingType.String, false),
     OffboardVisionAprilTagXOffset("vision/atXOffset", LoggingType.NullableNumber, true, 1),
@@ -28,9 +58,9 @@ public enum LoggingKey
     OffboardVisionDesiredTarget("vision/desiredTarget", LoggingType.String, false, 1),
     OffboardVisionMissedHeartbeats("vision/missedHeartbeats", LoggingType.Number, true, 1),
     OffboardVisionExcessiveMissedHeartbeats("vision/missedTooManyHeartbeats", LoggingType.Boolean, false, 1),
-    PowerCurrent("power/curr", LoggingType.Number, true),
-    PowerCurrentFloatingAverage("power/currFltAvg", LoggingType.Number, false),
-    PowerBatteryVoltage("power/battV", LoggingType.Number, true),
+    PowerCurrent("power/curr", LoggingType.Number, true, TuningConstants.DEFAULT_LOGGING_FREQUENCY, false, 0.05),
+    PowerCurrentFloatingAverage("power/currFltAvg", LoggingType.Number, false, TuningConstants.DEFAULT_LOGGING_FREQUENCY, false, 0.05),
+    PowerBatteryVoltage("power/battV", LoggingType.Number, true, TuningConstants.DEFAULT_LOGGING_FREQUENCY, false, 0.01),
     // PowerBatteryVoltageFiltered("power/battVFilt", LoggingType.Number, false),
     PigeonYaw("pigeon/yaw", LoggingType.Number, true),
     PigeonPitch("pigeon/pitch", LoggingType.Number, true),
@@ -180,6 +210,8 @@ public enum LoggingKey
     public final boolean isInput;
     public final int loggingFrequency;
     public final boolean shouldLogToCsv;
+    public final double deltaEpsilon; // smallest change in a number to publish to the dashboard (see DeltaLogger)
+
     private LoggingKey(String value, LoggingType type)
     {
         this(value, type, false, TuningConstants.DEFAULT_LOGGING_FREQUENCY, false);
@@ -201,6 +233,11 @@ public enum LoggingKey
     }
 
     private LoggingKey(String value, LoggingType type, boolean isInput, int loggingFrequency, boolean shouldLogToCsv)
+    {
+        this(value, type, isInput, loggingFrequency, shouldLogToCsv, 0.0);
+    }
+
+    private LoggingKey(String value, LoggingType type, boolean isInput, int loggingFrequency, boolean shouldLogToCsv, double deltaEpsilon)
     {
         if (loggingFrequency <= 0)
         {
@@ -212,5 +249,15 @@ public enum LoggingKey
         this.isInput = isInput;
         this.loggingFrequency = loggingFrequency;
         this.shouldLogToCsv = shouldLogToCsv;
+        this.deltaEpsilon = deltaEpsilon;
+    }
+
+    /**
+     * Check whether this key should be included in the log file by default
+     * @return true if the key should be logged to the file
+     */
+    public boolean shouldLogToFile()
+    {
+        return this.shouldLogToCsv || (this.isInput && TuningConstants.LOG_FILE_INCLUDE_INPUTS);
     }
 }
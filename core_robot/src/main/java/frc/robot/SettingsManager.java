@@ -5,6 +5,8 @@ import java.util.*;
 
 import com.google.inject.Injector;
 
+import frc.lib.driver.InputFrame;
+import frc.lib.driver.InputJournal;
 import frc.lib.mechanisms.IMechanism;
 import frc.lib.robotprovider.*;
 import frc.robot.mechanisms.*;
@@ -28,7 +30,14 @@ public class SettingsManager
 
     public static ILogger getLogger(Injector injector)
     {
-        ISmartDashboardLogger smartDashboardLogger = injector.getInstance(ISmartDashboardLogger.class);
+        ILogger smartDashboardLogger = injector.getInstance(ISmartDashboardLogger.class);
+
+        // AdvantageKit expects a value for every key during each loop (see CoreRobot.disabledPeriodic), so don't skip unchanged values for it
+        if (TuningConstants.LOG_DASHBOARD_ONLY_CHANGES && !TuningConstants.USE_ADVANTAGE_KIT)
+        {
+            smartDashboardLogger = new DeltaLogger(smartDashboardLogger, TuningConstants.LOG_DASHBOARD_KEYFRAME_PERIOD);
+        }
+
         if (!TuningConstants.LOG_TO_FILE)
         {
             return smartDashboardLogger;
@@ -52,12 +61,19 @@ public class SettingsManager
             return smartDashboardLogger;
         }
 
+        String fileExtension = TuningConstants.LOG_FILE_BINARY_FORMAT ? BinaryLogger.FILE_EXTENSION : "csv";
+        if (TuningConstants.LOG_FILE_COMPRESS)
+        {
+            fileExtension += ".gz";
+        }
+
         String eventName = driverStation.getEventName();
         int matchNumber = driverStation.getMatchNumber();
         int replayNumber = driverStation.getReplayNumber();
         Optional<Alliance> alliance = driverStation.getAlliance();
         OptionalInt location = driverStation.getLocation();
         IFile file;
+        String fileName;
         if (eventName == null ||
             matchType == MatchType.None ||
             matchNumber == 0 ||
@@ -77,7 +93,8 @@ public class SettingsManager
                 directory.mkdir();
 
                 file = injector.getInstance(IFile.class);
-                file.open(String.format("/U/other/%1$d.csv", Calendar.getInstance().getTime().getTime()));
+                fileName = String.format("/U/other/%1$d.%2$s", Calendar.getInstance().getTime().getTime(), fileExtension);
+                file.open(fileName);
                 if (file.exists())
                 {
                     // file already exists
@@ -95,16 +112,17 @@ public class SettingsManager
             // name the file a la "/U/2020 - Glacier Peak/Q03 (R2).auto.csv" or "/U/2020 - Glacier Peak/Q12R1 (B3).tele.csv"
             RobotMode mode = driverStation.getMode();
             file = injector.getInstance(IFile.class);
-            String fileName =
+            fileName =
                 String.format(
-                    "%1$s%2$s%3$02d%4$s (%5$s%6$d).%7$s.csv",
+                    "%1$s%2$s%3$02d%4$s (%5$s%6$d).%7$s.%8$s",
                     directoryPath,
                     matchType.value,
                     matchNumber,
                     replayNumber == 0 ? "" : String.format("R%1$d", replayNumber),
                     alliance.get().value,
                     location.getAsInt(),
-                    mode.toString().toLowerCase());
+                    mode.toString().toLowerCase(),
+                    fileExtension);
 
             file.open(fileName);
             if (file.exists())
@@ -114,7 +132,7 @@ public class SettingsManager
                     // start adding .2, .3, etc. to the name, a la "/U/2020 - Glacier Peak/Q03 (R2).2.csv"
                     fileName =
                         String.format(
-                            "%1$s%2$s%3$02d%4$s (%5$s%6$d).%7$s.%8$d.csv",
+                            "%1$s%2$s%3$02d%4$s (%5$s%6$d).%7$s.%8$d.%9$s",
                             directoryPath,
                             matchType.value,
                             matchNumber,
@@ -122,7 +140,8 @@ public class SettingsManager
                             alliance.get().value,
                             location.getAsInt(),
                             mode.toString().toLowerCase(),
-                            i);
+                            i,
+                            fileExtension);
 
                     file.open(fileName);
                     if (!file.exists())
@@ -135,12 +154,84 @@ public class SettingsManager
 
         try
         {
-            CSVLogger csvLogger = new CSVLogger(file.openWriter());
-            return new MultiLogger(csvLogger, smartDashboardLogger);
+            IFileWriter fileWriter;
+            if (TuningConstants.LOG_FILE_COMPRESS)
+            {
+                CompressedFileWriter compressedFileWriter =
+                    new CompressedFileWriter(
+                        file,
+                        fileName,
+                        () -> injector.getInstance(IFile.class),
+                        TuningConstants.LOG_FILE_COMPRESSION_BLOCK_SIZE,
+                        TuningConstants.LOG_FILE_COMPRESSION_BLOCK_COUNT,
+                        TuningConstants.LOG_FILE_SEGMENT_SIZE,
+                        TuningConstants.LOG_FILE_REQUIRED_FREE_SPACE);
+                compressedFileWriter.start();
+                fileWriter = compressedFileWriter;
+            }
+            else
+            {
+                fileWriter = file.openWriter();
+            }
+
+            ILogger fileLogger;
+            if (TuningConstants.LOG_FILE_BINARY_FORMAT)
+            {
+                fileLogger = new BinaryLogger(fileWriter);
+            }
+            else
+            {
+                fileLogger = new CSVLogger(fileWriter);
+            }
+
+            if (TuningConstants.LOG_FILE_ASYNC)
+            {
+                AsyncLogger asyncLogger = new AsyncLogger(fileLogger, TuningConstants.LOG_FILE_ASYNC_BUFFER_CAPACITY);
+                asyncLogger.start();
+                fileLogger = asyncLogger;
+            }
+
+            return new MultiLogger(fileLogger, smartDashboardLogger);
         }
         catch (IOException ex)
         {
             return smartDashboardLogger;
         }
     }
+
+    public static InputJournal getInputJournal(Injector injector, InputFrame inputFrame)
+    {
+        if (!TuningConstants.INPUT_JOURNAL_ENABLED)
+        {
+            return null;
+        }
+
+        IFile rootDirectory = injector.getInstance(IFile.class);
+        rootDirectory.open("/U/");
+        if (!rootDirectory.exists() || rootDirectory.getFreeSpace() < TuningConstants.LOG_FILE_REQUIRED_FREE_SPACE)
+        {
+            return null;
+        }
+
+        IFile directory = injector.getInstance(IFile.class);
+        directory.open("/U/input/");
+        directory.mkdir();
+
+        // name the file after when the robot started, a la "/U/input/1711234567890.irsinput"
+        IFile file = injector.getInstance(IFile.class);
+        file.open(String.format("/U/input/%1$d.%2$s", Calendar.getInstance().getTime().getTime(), InputJournal.FILE_EXTENSION));
+        if (file.exists())
+        {
+            return null;
+        }
+
+        try
+        {
+            return new InputJournal(file.openWriter(), inputFrame);
+        }
+        catch (IOException ex)
+        {
+            return null;
+        }
+    }
 }
@@ -20,6 +20,8 @@ public class TuningConstants
 
     public static final boolean EXPECT_UNUSED_JOYSTICKS = true;
     public static final boolean PERFORM_COSTLY_TASKS_WHILE_DISABLED = true;
+    public static final boolean MACRO_REUSE_TASKS = true; // reset and reuse each macro's task (when all of its tasks support it) instead of constructing a new one each time the macro starts
+    public static final boolean AUTONOMOUS_PREPARE_WHILE_DISABLED = true; // build and initialize the selected autonomous routine while disabled (rebuilding when the selections change), instead of when autonomous starts
 
     //================================================== Magic Values ==============================================================
 
@@ -35,9 +37,44 @@ public class TuningConstants
     public static final boolean LOG_TO_FILE = false; // TuningConstants.COMPETITION_ROBOT;
     public static final boolean LOG_FILE_ONLY_COMPETITION_MATCHES = false;
     public static final long LOG_FILE_REQUIRED_FREE_SPACE = 50 * 1024 * 1024; // require at least 50 MB of space
+    public static final boolean LOG_FILE_BINARY_FORMAT = false; // use BinaryLogger instead of CSVLogger (convert back to CSV using BinaryLogConverter, required by ReplayRunner) - leave off until its cost has been measured on the roboRIO
+    public static final int LOG_FILE_BINARY_DICTIONARY_SIZE = 1024; // number of distinct strings to keep in the binary log's dictionary, before writing new strings inline each time they change
+    public static final boolean LOG_FILE_INCLUDE_INPUTS = false; // include the isInput keys in the log file, so that it can be replayed - turn on (along with LOG_FILE_BINARY_FORMAT) for sessions to be replayed with ReplayRunner
+    public static final boolean LOG_FILE_COMPRESS = false; // gzip the log file from a background thread using CompressedFileWriter (writing .gz segments instead of a single file)
+    public static final int LOG_FILE_COMPRESSION_BLOCK_SIZE = 64 * 1024; // number of bytes to collect before compressing them
+    public static final int LOG_FILE_COMPRESSION_BLOCK_COUNT = 4; // number of blocks that can be waiting to be compressed
+    public static final long LOG_FILE_SEGMENT_SIZE = 8 * 1024 * 1024; // start a new (compressed) log file segment after 8 MB
+    public static final boolean LOG_FILE_ASYNC = true; // write the log file from a background thread using AsyncLogger
+    public static final int LOG_FILE_ASYNC_BUFFER_CAPACITY = 8192; // number of logged values that can be waiting to be written (check log/highWaterMark)
     public static final int LOG_FLUSH_THRESHOLD = 25;
+    public static final boolean INPUT_JOURNAL_ENABLED = false; // record the joystick input and mode transitions to the USB stick using InputJournal (play back using InputJournalRunner)
     public static final boolean USE_LOGGING_FREQUENCY = true; // TuningConstants.COMPETITION_ROBOT;
     public static final int DEFAULT_LOGGING_FREQUENCY = 10; // number of entries to ignore between logging
+    public static final boolean LOG_BUDGET_ENABLED = true; // limit the number of values logged each loop using LoggingScheduler
+    public static final int LOG_BUDGET_VALUES_PER_LOOP = 64; // number of values to log in a loop before deferring less-frequent ones (check log/deferredValues)
+    public static final int LOG_BUDGET_ADAPT_PERIOD = 50; // number of loops between adjusting the logging frequencies to the budget (~1 second)
+    public static final int LOG_BUDGET_MAX_FREQUENCY_MULTIPLIER = 8; // most that the logging frequencies can be multiplied by to stay within the budget
+    public static final boolean LOG_DASHBOARD_ONLY_CHANGES = true; // only publish dashboard values when they change, using DeltaLogger (not used with AdvantageKit)
+    public static final int LOG_DASHBOARD_KEYFRAME_PERIOD = 250; // number of updates between re-publishing all dashboard values (~5 seconds)
+    public static final boolean LOOP_TIMING_ENABLED = true; // record how long each phase of the loop (and each mechanism) takes using LoopProfiler
+    public static final long LOOP_TIMING_BUCKET_WIDTH = 50000L; // width of each timing histogram bucket, in nanoseconds (0.05 ms)
+    public static final int LOOP_TIMING_BUCKET_COUNT = 1000; // number of timing histogram buckets (covering 50 ms)
+    public static final int LOOP_TIMING_PUBLISH_PERIOD = 50; // number of loops between logging the loop timings (~1 second)
+    public static final boolean OPERATION_LATENCY_ENABLED = false; // measure the updates/time from the input that changes each operation until a mechanism reads it, using OperationLatencyTracker
+    public static final long OPERATION_LATENCY_BUCKET_WIDTH = 1000000L; // width of each latency histogram bucket, in nanoseconds (1 ms)
+    public static final int OPERATION_LATENCY_BUCKET_COUNT = 100; // number of latency histogram buckets (covering 100 ms)
+    public static final int OPERATION_LATENCY_MAX_CYCLES = 50; // number of updates before discarding an operation change that no mechanism has read (~1 second)
+    public static final int OPERATION_LATENCY_PUBLISH_PERIOD = 50; // number of updates between logging the operation latencies (~1 second)
+    public static final boolean TASK_PROFILING_ENABLED = false; // record how long each macro/autonomous task (and each task within them) takes using TaskProfiler, reported at the end of each mode
+    public static final boolean LOOP_WATCHDOG_ENABLED = true; // sample the loop's stack from a background thread when it overruns, using LoopWatchdog
+    public static final long LOOP_WATCHDOG_THRESHOLD = 20000000L; // how long the loop can run before it is considered an overrun, in nanoseconds (20 ms)
+    public static final int LOOP_WATCHDOG_SAMPLE_COUNT = 5; // most stack samples to take during each overrun
+    public static final long LOOP_WATCHDOG_SAMPLE_PERIOD = 2000000L; // time between stack samples, in nanoseconds (2 ms)
+    public static final int LOOP_WATCHDOG_STACK_DEPTH = 12; // number of stack frames to keep in each sample
+    public static final int LOOP_WATCHDOG_CAPACITY = 32; // number of overruns to keep until they are logged (the oldest are discarded)
+    public static final boolean RUNTIME_TELEMETRY_ENABLED = true; // measure the bytes allocated and garbage collections during each loop using RuntimeTelemetry
+    public static final int RUNTIME_TELEMETRY_PUBLISH_PERIOD = 50; // number of loops between logging the allocation and garbage collection stats (~1 second)
+    public static final long RUNTIME_ALLOCATION_ALARM_THRESHOLD = 256 * 1024; // number of bytes allocated in a loop that sets runtime/allocAlarm
 
     //================================================== Autonomous ==============================================================
 
@@ -731,6 +768,7 @@ public class TuningConstants
     public static final double ARM_WRIST_RESET_AT_POSITION_THRESHOLD = 15.0;
     public static final double ARM_WRIST_RESET_CORRECTION_THRESHOLD = 1.0;
     public static final double ARM_WRIST_ABSOLUTE_ENCODER_OFFSET = 0.3684;
+    public static final double ARM_WRIST_ABSOLUTE_ENCODER_ANGLE_OFFSET = 5.0; // degrees subtracted from the wrist absolute encoder's distance
     public static final double ARM_WRIST_RESET_DIFFERENCE_MAX = 45.0;
     
     // Through Bore Reset Shoulder
@@ -738,6 +776,7 @@ public class TuningConstants
     public static final double ARM_SHOULDER_RESET_AT_POSITION_THRESHOLD = 3.0;
     public static final double ARM_SHOULDER_RESET_CORRECTION_THRESHOLD = 1.0;
     public static final double ARM_SHOULDER_ABSOLUTE_ENCODER_OFFSET = 0.0;
+    public static final double ARM_SHOULDER_ABSOLUTE_ENCODER_ANGLE_OFFSET = 39.5; // degrees subtracted from the shoulder absolute encoder's distance
     public static final double ARM_SHOULDER_RESET_DIFFERENCE_MAX = 15.0;
     
     // Wrist Auto Stow variables
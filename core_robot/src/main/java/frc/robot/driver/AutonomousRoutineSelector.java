@@ -1,5 +1,7 @@
  package frc.robot.driver;
 
+import java.util.Optional;
+
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
@@ -26,6 +28,13 @@ public class AutonomousRoutineSelector
     private final IDriverStation driverStation;
     private final AutonLocManager locManager;
 
+    // the routine built while disabled, and the selections that it was built for
+    private IControlTask preparedRoutine;
+    private StartPosition preparedStartPosition;
+    private AutoRoutine preparedAutoRoutine;
+    private PriorityPickupSide preparedPickupSide;
+    private boolean preparedIsRed;
+
     /**
      * Initializes a new AutonomousRoutineSelector
      */
@@ -43,6 +52,7 @@ public class AutonomousRoutineSelector
         this.driverStation = provider.getDriverStation();
 
         this.locManager = new AutonLocManager(provider);
+        this.preparedRoutine = null;
 
         RoadRunnerTrajectoryGenerator.generateTrajectories(this.trajectoryManager);
         PathPlannerTrajectoryGenerator.generateTrajectories(this.trajectoryManager, provider.getPathPlanner());
@@ -64,69 +74,120 @@ public class AutonomousRoutineSelector
 
         if (mode == RobotMode.Autonomous)
         {
-            this.locManager.updateAlliance();
             StartPosition startPosition = this.selectionManager.getSelectedStartPosition();
             AutoRoutine routine = this.selectionManager.getSelectedAutoRoutine();
             PriorityPickupSide pickupSide = this.selectionManager.getPickupSide();
-
-            boolean isRed = this.locManager.getIsRed();
+            boolean isRed = this.getIsRed();
 
             this.logger.logString(LoggingKey.AutonomousSelection, startPosition.toString() + "." + routine.toString());
 
-            // if(routine == AutoRoutine.SixNote)
-            // {
-                // return Sammamish(locManager, isRed);
-            // }
-
-            if(routine == AutoRoutine.Shoot)
+            // use the routine that was prepared while we were disabled, if the selections haven't changed since then
+            IControlTask preparedRoutine = this.preparedRoutine;
+            this.preparedRoutine = null;
+            if (preparedRoutine != null && this.isPrepared(startPosition, routine, pickupSide, isRed))
             {
-                return Shoot(locManager, startPosition, isRed);
+                return preparedRoutine;
             }
 
-            else if(routine == AutoRoutine.Taxi)
-            {
-                return Taxi();
-            }
+            return this.buildRoutine(startPosition, routine, pickupSide, isRed);
+        }
 
-            else if(routine == AutoRoutine.ShootTaxi)
-            {
-                return ShootTaxi(locManager, startPosition, isRed);
-            }
+        return GetFillerRoutine();
+    }
 
-            else if(routine == AutoRoutine.Sneak)
-            {
-                return Sneak(locManager, isRed);
-            }
+    /**
+     * Build the autonomous routine for the current selections (and alliance) ahead of time, while the robot is disabled,
+     * so that selectRoutine doesn't need to build it when autonomous starts.  The routine is only rebuilt when the
+     * selections change.
+     * @return the prepared routine, to be initialized before autonomous starts
+     */
+    public IControlTask prepareRoutine()
+    {
+        StartPosition startPosition = this.selectionManager.getSelectedStartPosition();
+        AutoRoutine routine = this.selectionManager.getSelectedAutoRoutine();
+        PriorityPickupSide pickupSide = this.selectionManager.getPickupSide();
+        boolean isRed = this.getIsRed();
+        if (this.preparedRoutine == null || !this.isPrepared(startPosition, routine, pickupSide, isRed))
+        {
+            this.preparedRoutine = this.buildRoutine(startPosition, routine, pickupSide, isRed);
+            this.preparedStartPosition = startPosition;
+            this.preparedAutoRoutine = routine;
+            this.preparedPickupSide = pickupSide;
+            this.preparedIsRed = isRed;
+        }
 
-            else if(startPosition == StartPosition.WooferFront)
-            {
-                return SubwooferFrontMultiPiece(locManager, routine, pickupSide, isRed);
-            }
+        return this.preparedRoutine;
+    }
 
-            else if(startPosition == StartPosition.Amp)
-            {
-                return AmpMultiPiece(locManager, routine, isRed);
-            }
+    private boolean getIsRed()
+    {
+        Optional<Alliance> alliance = this.driverStation.getAlliance();
+        return alliance.isPresent() && alliance.get() == Alliance.Red;
+    }
 
-            else if(startPosition == StartPosition.WooferAmpSide)
-            {
-                return SubwooferAmpMultiPiece(locManager, routine, isRed);
-            }
+    private boolean isPrepared(StartPosition startPosition, AutoRoutine routine, PriorityPickupSide pickupSide, boolean isRed)
+    {
+        return this.preparedStartPosition == startPosition &&
+            this.preparedAutoRoutine == routine &&
+            this.preparedPickupSide == pickupSide &&
+            this.preparedIsRed == isRed;
+    }
 
-            else if(startPosition == StartPosition.WooferSourceSide)
-            {
-                return SubwooferSourceMultiPiece(locManager, routine, isRed);
-            }
+    private IControlTask buildRoutine(StartPosition startPosition, AutoRoutine routine, PriorityPickupSide pickupSide, boolean isRed)
+    {
+        this.locManager.updateAlliance();
 
-            else if(startPosition == StartPosition.Source)
-            {
-                // ALL NEAR SOURCE AUTONS GO HERE
-                return GetFillerRoutine();
-            }           
+        // if(routine == AutoRoutine.SixNote)
+        // {
+            // return Sammamish(locManager, isRed);
+        // }
 
-            return GetFillerRoutine();
+        if(routine == AutoRoutine.Shoot)
+        {
+            return Shoot(locManager, startPosition, isRed);
+        }
+
+        else if(routine == AutoRoutine.Taxi)
+        {
+            return Taxi();
         }
 
+        else if(routine == AutoRoutine.ShootTaxi)
+        {
+            return ShootTaxi(locManager, startPosition, isRed);
+        }
+
+        else if(routine == AutoRoutine.Sneak)
+        {
+            return Sneak(locManager, isRed);
+        }
+
+        else if(startPosition == StartPosition.WooferFront)
+        {
+            return SubwooferFrontMultiPiece(locManager, routine, pickupSide, isRed);
+        }
+
+        else if(startPosition == StartPosition.Amp)
+        {
+            return AmpMultiPiece(locManager, routine, isRed);
+        }
+
+        else if(startPosition == StartPosition.WooferAmpSide)
+        {
+            return SubwooferAmpMultiPiece(locManager, routine, isRed);
+        }
+
+        else if(startPosition == StartPosition.WooferSourceSide)
+        {
+            return SubwooferSourceMultiPiece(locManager, routine, isRed);
+        }
+
+        else if(startPosition == StartPosition.Source)
+        {
+            // ALL NEAR SOURCE AUTONS GO HERE
+            return GetFillerRoutine();
+        }           
+
         return GetFillerRoutine();
     }
 
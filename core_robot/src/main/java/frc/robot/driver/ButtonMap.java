@@ -839,6 +839,7 @@ public class ButtonMap implements IButtonMap
                 DigitalOperation.VisionFindAnyAprilTagFront,
                 DigitalOperation.VisionFindAbsolutePosition,
                 DigitalOperation.VisionForceDisable,
+                DigitalOperation.IntakeIn,
             }),
 
         new MacroOperationDescription(
@@ -2,6 +2,7 @@ package frc.robot.driver.controltasks;
 
 import java.util.List;
 
+import frc.lib.driver.OperationRequirements;
 import frc.lib.helpers.ExceptionHelpers;
 import frc.lib.helpers.Helpers;
 import frc.robot.TuningConstants;
@@ -35,6 +36,13 @@ public class ArmGraphTask extends ControlTaskBase
         this.wristGoalPos = wristGoalPos;
     }
 
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(AnalogOperation.ArmShoulderPositionSetpoint, AnalogOperation.ArmWristPositionSetpoint);
+        return true;
+    }
+
     @Override
     public void begin()
     {
@@ -198,4 +206,11 @@ public class ArmGraphTask extends ControlTaskBase
     {
         return this.state == ArmGraphState.Completed;
     }
+
+    @Override
+    public boolean reset()
+    {
+        // the path and state are found again in begin()
+        return true;
+    }
 }
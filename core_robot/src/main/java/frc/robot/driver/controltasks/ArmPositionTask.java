@@ -1,5 +1,6 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
 import frc.lib.helpers.Helpers;
 import frc.robot.TuningConstants;
 import frc.robot.driver.*;
@@ -37,6 +38,18 @@ public class ArmPositionTask extends ControlTaskBase
         this.wristGoalPosition = wristPos;
     }
 
+    /**
+     * Adds the operations that this task requires to the requirements
+     * @param requirements to add the operations to
+     * @return true, as all of the operations were added
+     */
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(AnalogOperation.ArmShoulderPositionSetpoint, AnalogOperation.ArmWristPositionSetpoint);
+        return true;
+    }
+
     /**
      * Begin the current task
      */
@@ -1,5 +1,6 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
 import frc.robot.driver.DigitalOperation;
 
 public class ArmSlowModeTask extends ControlTaskBase
@@ -8,6 +9,13 @@ public class ArmSlowModeTask extends ControlTaskBase
     {
     }
 
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(DigitalOperation.ArmSlowMode);
+        return true;
+    }
+
     @Override
     public void begin()
     {
@@ -1,5 +1,6 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
 import frc.lib.robotprovider.ITimer;
 import frc.robot.TuningConstants;
 import frc.robot.driver.*;
@@ -40,6 +41,23 @@ public class ArmZeroTask extends ControlTaskBase
         this.wristOnly = wristOnly;
     }
 
+    /**
+     * Adds the operations that this task requires to the requirements
+     * @param requirements to add the operations to
+     * @return true, as all of the operations were added
+     */
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(
+            AnalogOperation.ArmShoulderPositionSetpoint,
+            AnalogOperation.ArmShoulderPower,
+            AnalogOperation.ArmWristPositionSetpoint,
+            AnalogOperation.ArmWristPower);
+        requirements.add(DigitalOperation.ArmForceReset, DigitalOperation.ArmStop);
+        return true;
+    }
+
     /**
      * Begin the current task
      */
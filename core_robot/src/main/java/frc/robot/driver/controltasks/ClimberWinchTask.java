@@ -1,5 +1,6 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
 import frc.lib.robotprovider.ITimer;
 import frc.robot.TuningConstants;
 import frc.robot.driver.DigitalOperation;
@@ -35,6 +36,13 @@ public class ClimberWinchTask extends ControlTaskBase
         this.goalState = desiredState;
     }
 
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(DigitalOperation.ClimberWinchDown, DigitalOperation.ClimberWinchUp);
+        return true;
+    }
+
     @Override
     public void begin()
     {
@@ -1,5 +1,6 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
 import frc.lib.helpers.ExceptionHelpers;
 import frc.lib.robotprovider.ITimer;
 import frc.robot.TuningConstants;
@@ -86,6 +87,18 @@ public abstract class CompositeOperationTask extends UpdateCycleTask
         this.runIndefinitely = runIndefinitely;
     }
 
+    /**
+     * Adds the operations that this task requires to the requirements
+     * @param requirements to add the operations to
+     * @return true, as all of the operations were added
+     */
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(this.possibleOperations);
+        return true;
+    }
+
     /**
      * Begin the current task
      */
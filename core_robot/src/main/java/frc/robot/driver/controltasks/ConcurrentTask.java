@@ -1,12 +1,10 @@
 package frc.robot.driver.controltasks;
 
-import java.util.EnumMap;
-
 import frc.lib.driver.IControlTask;
+import frc.lib.driver.OperationRequirements;
+import frc.lib.driver.TaskProfiler;
 import frc.lib.driver.states.AnalogOperationState;
 import frc.lib.driver.states.DigitalOperationState;
-import frc.robot.driver.AnalogOperation;
-import frc.robot.driver.DigitalOperation;
 
 import com.google.inject.Injector;
 
@@ -22,7 +20,8 @@ public class ConcurrentTask extends ControlTaskBase
 {
     private final boolean anyTask;
     private final IControlTask[] tasks;
-    private final boolean[] completedTasks;
+    private final int[] activeTasks; // indices of the tasks that haven't completed (in order), compacted into the first activeTaskCount entries
+    private int activeTaskCount;
     private boolean shouldCancelTasks;
 
     /**
@@ -33,34 +32,31 @@ public class ConcurrentTask extends ControlTaskBase
     private ConcurrentTask(boolean anyTask, IControlTask... tasks)
     {
         this.anyTask = anyTask;
-        this.tasks = tasks;
-        this.completedTasks = new boolean[tasks.length];
-        for (int i = 0; i < this.completedTasks.length; i++)
-        {
-            this.completedTasks[i] = false;
-        }
+        this.tasks = TaskProfiler.wrapAll(tasks);
+        this.activeTasks = new int[tasks.length];
+        this.resetActiveTasks();
 
         this.shouldCancelTasks = false;
     }
 
     /**
-     * Initialize the task with the mapping of operations to states
-     * @param analogOperationStateMap indicating the mapping of an analog operation to its current state
-     * @param digitalOperationStateMap indicating the mapping of a digital operation to its current state
+     * Initialize the task with the states of the operations
+     * @param analogOperationStates indicating the current state of each analog operation (indexed by ordinal)
+     * @param digitalOperationStates indicating the current state of each digital operation (indexed by ordinal)
      * @param injector used to retrieve components to utilize for making any decisions
      */
     @Override
     public void initialize(
-        EnumMap<AnalogOperation, AnalogOperationState> analogOperationStateMap,
-        EnumMap<DigitalOperation, DigitalOperationState> digitalOperationStateMap,
+        AnalogOperationState[] analogOperationStates,
+        DigitalOperationState[] digitalOperationStates,
         Injector injector)
     {
-        super.initialize(analogOperationStateMap, digitalOperationStateMap, injector);
+        super.initialize(analogOperationStates, digitalOperationStates, injector);
         for (IControlTask task : this.tasks)
         {
             if (task != null)
             {
-                task.initialize(analogOperationStateMap, digitalOperationStateMap, injector);
+                task.initialize(analogOperationStates, digitalOperationStates, injector);
             }
         }
     }
@@ -106,27 +102,24 @@ public class ConcurrentTask extends ControlTaskBase
     @Override
     public void update()
     {
-        for (int i = 0; i < this.tasks.length; i++)
+        // only visit the tasks that haven't completed, compacting the ones that are still active (keeping their order)
+        int activeTaskCount = 0;
+        for (int i = 0; i < this.activeTaskCount; i++)
         {
-            if (this.completedTasks[i])
-            {
-                continue;
-            }
-
-            IControlTask task = this.tasks[i];
+            int index = this.activeTasks[i];
+            IControlTask task = this.tasks[index];
             if (task == null)
             {
-                this.completedTasks[i] = true;
                 continue;
             }
 
             if (task.hasCompleted())
             {
-                this.completedTasks[i] = true;
                 task.end();
                 continue;
             }
 
+            this.activeTasks[activeTaskCount++] = index;
             if (task.shouldCancel())
             {
                 this.shouldCancelTasks = true;
@@ -135,6 +128,8 @@ public class ConcurrentTask extends ControlTaskBase
 
             task.update();
         }
+
+        this.activeTaskCount = activeTaskCount;
     }
 
     /**
@@ -143,15 +138,12 @@ public class ConcurrentTask extends ControlTaskBase
     @Override
     public void end()
     {
-        for (int i = 0; i < this.tasks.length; i++)
+        for (int i = 0; i < this.activeTaskCount; i++)
         {
-            if (!this.completedTasks[i])
+            IControlTask task = this.tasks[this.activeTasks[i]];
+            if (task != null)
             {
-                IControlTask task = this.tasks[i];
-                if (task != null)
-                {
-                    task.end();
-                }
+                task.end();
             }
         }
     }
@@ -173,24 +165,64 @@ public class ConcurrentTask extends ControlTaskBase
     @Override
     public boolean hasCompleted()
     {
-        for (int i = 0; i < this.tasks.length; i++)
+        // for AnyTask tasks, return that we're completed (true) if any of them have completed (are no longer active).
+        if (this.anyTask)
         {
-            boolean taskHasCompleted = this.completedTasks[i];
+            return this.activeTaskCount < this.tasks.length;
+        }
+
+        // for AllTask tasks, return that we're completed (true) if none of them are still active.
+        return this.activeTaskCount == 0;
+    }
 
-            // for AnyTask tasks, return that we're completed (true) if any of them have completed (true).
-            if (this.anyTask && taskHasCompleted)
+    /**
+     * Resets the task after it has ended or stopped, so that it can be initialized and begun again (rather than constructing a new task).
+     * @return true if the task (and all of the provided tasks) was reset and can be reused, otherwise false (to construct a new task instead)
+     */
+    @Override
+    public boolean reset()
+    {
+        for (IControlTask task : this.tasks)
+        {
+            if (task != null && !task.reset())
             {
-                return true;
+                return false;
             }
+        }
+
+        this.resetActiveTasks();
+
+        this.shouldCancelTasks = false;
+        return true;
+    }
 
-            // for AllTask tasks, return that we haven't completed (false) if any hasn't completed (false).
-            if (!this.anyTask && !taskHasCompleted)
+    /**
+     * Adds the operations that the provided tasks require to the requirements
+     * @param requirements to add the operations to
+     * @return true if all of the provided tasks added all of their operations, otherwise false
+     */
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        boolean complete = true;
+        for (IControlTask task : this.tasks)
+        {
+            if (task != null)
             {
-                return false;
+                complete &= task.addRequirements(requirements);
             }
         }
 
-        // AnyTasks return false when none of them are true.  AllTasks return true when none of them are false.
-        return !this.anyTask;
+        return complete;
+    }
+
+    private void resetActiveTasks()
+    {
+        for (int i = 0; i < this.activeTasks.length; i++)
+        {
+            this.activeTasks[i] = i;
+        }
+
+        this.activeTaskCount = this.activeTasks.length;
     }
 }
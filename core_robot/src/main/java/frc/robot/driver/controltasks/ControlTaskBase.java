@@ -1,7 +1,5 @@
 package frc.robot.driver.controltasks;
 
-import java.util.EnumMap;
-
 import frc.lib.driver.*;
 import frc.lib.driver.states.AnalogOperationState;
 import frc.lib.driver.states.DigitalOperationState;
@@ -11,24 +9,24 @@ import com.google.inject.Injector;
 
 public abstract class ControlTaskBase implements IControlTask
 {
-    private EnumMap<AnalogOperation, AnalogOperationState> analogOperationStateMap;
-    private EnumMap<DigitalOperation, DigitalOperationState> digitalOperationStateMap;
+    private AnalogOperationState[] analogOperationStates;
+    private DigitalOperationState[] digitalOperationStates;
     private Injector injector;
 
     /**
-     * Initialize the task with the mapping of operations to states
-     * @param analogOperationStateMap indicating the mapping of an analog operation to its current state
-     * @param digitalOperationStateMap indicating the mapping of a digital operation to its current state
+     * Initialize the task with the states of the operations
+     * @param analogOperationStates indicating the current state of each analog operation (indexed by ordinal)
+     * @param digitalOperationStates indicating the current state of each digital operation (indexed by ordinal)
      * @param injector used to retrieve components to utilize for making any decisions
      */
     @Override
     public void initialize(
-        EnumMap<AnalogOperation, AnalogOperationState> analogOperationStateMap,
-        EnumMap<DigitalOperation, DigitalOperationState> digitalOperationStateMap,
+        AnalogOperationState[] analogOperationStates,
+        DigitalOperationState[] digitalOperationStates,
         Injector injector)
     {
-        this.analogOperationStateMap = analogOperationStateMap;
-        this.digitalOperationStateMap = digitalOperationStateMap;
+        this.analogOperationStates = analogOperationStates;
+        this.digitalOperationStates = digitalOperationStates;
         this.injector = injector;
     }
 
@@ -72,6 +70,28 @@ public abstract class ControlTaskBase implements IControlTask
         this.end();
     }
 
+    /**
+     * Resets the task after it has ended or stopped, so that it can be initialized and begun again (rather than constructing a new task).
+     * @return true if the task was reset and can be reused, otherwise false (to construct a new task instead)
+     */
+    public boolean reset()
+    {
+        // if a task can be reused, it should override this function to clear any state that begin() doesn't, and return true
+        return false;
+    }
+
+    /**
+     * Adds the operations that this task requires (i.e. sets the interrupt state of) to the requirements, so that conflicts
+     * with other tasks can be checked with a few bitwise operations before the task runs.
+     * @param requirements to add the operations to
+     * @return true if all of the operations that the task could set were added, otherwise false (e.g. for a task that decides what to do while it runs)
+     */
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        // a task should override this function to add the operations that it sets, and return true
+        return false;
+    }
+
     /**
      * Sets the interrupt for the operation state for a given analog operation to the provided value 
      * @param operation to set the interrupt state for
@@ -79,8 +99,7 @@ public abstract class ControlTaskBase implements IControlTask
      */
     protected void setAnalogOperationState(AnalogOperation operation, double value)
     {
-        AnalogOperationState operationState = this.analogOperationStateMap.get(operation);
-        operationState.setInterruptState(value);
+        this.analogOperationStates[operation.ordinal()].setInterruptState(value);
     }
 
     /**
@@ -90,8 +109,7 @@ public abstract class ControlTaskBase implements IControlTask
      */
     protected void setDigitalOperationState(DigitalOperation operation, boolean value)
     {
-        DigitalOperationState operationState = this.digitalOperationStateMap.get(operation);
-        operationState.setInterruptState(value);
+        this.digitalOperationStates[operation.ordinal()].setInterruptState(value);
     }
 
     /**
@@ -101,8 +119,7 @@ public abstract class ControlTaskBase implements IControlTask
      */
     protected double getAnalogOperationState(AnalogOperation operation)
     {
-        AnalogOperationState operationState = this.analogOperationStateMap.get(operation);
-        return operationState.getState();
+        return this.analogOperationStates[operation.ordinal()].getState();
     }
 
     /**
@@ -112,8 +129,7 @@ public abstract class ControlTaskBase implements IControlTask
      */
     protected boolean getDigitalOperationState(DigitalOperation operation)
     {
-        DigitalOperationState operationState = this.digitalOperationStateMap.get(operation);
-        return operationState.getState();
+        return this.digitalOperationStates[operation.ordinal()].getState();
     }
 
     /**
@@ -126,20 +142,20 @@ public abstract class ControlTaskBase implements IControlTask
     }
 
     /**
-     * Gets the Analog Operation State Map
-     * @return the operation state map
+     * Gets the Analog Operation States
+     * @return the operation states (indexed by ordinal)
      */
-    protected EnumMap<AnalogOperation, AnalogOperationState> getAnalogOperationStateMap()
+    protected AnalogOperationState[] getAnalogOperationStates()
     {
-        return this.analogOperationStateMap;
+        return this.analogOperationStates;
     }
 
     /**
-     * Gets the Digital Operation State Map
-     * @return the operation state map
+     * Gets the Digital Operation States
+     * @return the operation states (indexed by ordinal)
      */
-    protected EnumMap<DigitalOperation, DigitalOperationState> getDigitalOperationStateMap()
+    protected DigitalOperationState[] getDigitalOperationStates()
     {
-        return this.digitalOperationStateMap;
+        return this.digitalOperationStates;
     }
 }
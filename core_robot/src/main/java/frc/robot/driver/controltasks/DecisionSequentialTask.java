@@ -1,14 +1,12 @@
 package frc.robot.driver.controltasks;
 
-import java.util.EnumMap;
 import java.util.LinkedList;
 import java.util.Queue;
 
 import frc.lib.driver.IControlTask;
+import frc.lib.driver.TaskProfiler;
 import frc.lib.driver.states.AnalogOperationState;
 import frc.lib.driver.states.DigitalOperationState;
-import frc.robot.driver.AnalogOperation;
-import frc.robot.driver.DigitalOperation;
 
 import com.google.inject.Injector;
 
@@ -44,14 +42,28 @@ public abstract class DecisionSequentialTask extends ControlTaskBase
      */
     protected void AppendTask(IControlTask task)
     {
+        task = TaskProfiler.wrap(task);
         this.orderedTasks.add(task);
 
         if (this.isInitialized)
         {
-            task.initialize(this.getAnalogOperationStateMap(), this.getDigitalOperationStateMap(), this.getInjector());
+            task.initialize(this.getAnalogOperationStates(), this.getDigitalOperationStates(), this.getInjector());
         }
     }
 
+    /**
+     * Removes all of the tasks (including the current task), so that the task can be reused with a new set of tasks
+     * (which will be initialized when the task is initialized again)
+     */
+    protected void clearTasks()
+    {
+        this.orderedTasks.clear();
+        this.currentTask = null;
+
+        this.shouldCancelTask = false;
+        this.isInitialized = false;
+    }
+
     /**
      * Extension point that will be available so that child classes can decide what to do after any given task ends
      * @param finishedTask the task that just finished executing
@@ -61,21 +73,21 @@ public abstract class DecisionSequentialTask extends ControlTaskBase
     }
 
     /**
-     * Initialize the task with the mapping of operations to states
-     * @param analogOperationStateMap indicating the mapping of an analog operation to its current state
-     * @param digitalOperationStateMap indicating the mapping of a digital operation to its current state
+     * Initialize the task with the states of the operations
+     * @param analogOperationStates indicating the current state of each analog operation (indexed by ordinal)
+     * @param digitalOperationStates indicating the current state of each digital operation (indexed by ordinal)
      * @param injector used to retrieve components to utilize for making any decisions
      */
     @Override
     public void initialize(
-        EnumMap<AnalogOperation, AnalogOperationState> analogOperationStateMap,
-        EnumMap<DigitalOperation, DigitalOperationState> digitalOperationStateMap,
+        AnalogOperationState[] analogOperationStates,
+        DigitalOperationState[] digitalOperationStates,
         Injector injector)
     {
-        super.initialize(analogOperationStateMap, digitalOperationStateMap, injector);
+        super.initialize(analogOperationStates, digitalOperationStates, injector);
         for (IControlTask task : this.orderedTasks)
         {
-            task.initialize(analogOperationStateMap, digitalOperationStateMap, injector);
+            task.initialize(analogOperationStates, digitalOperationStates, injector);
         }
 
         this.isInitialized = true;
@@ -114,7 +126,7 @@ public abstract class DecisionSequentialTask extends ControlTaskBase
             if (this.currentTask.hasCompleted())
             {
                 this.currentTask.end();
-                this.finishedTask(this.currentTask);
+                this.finishedTask(TaskProfiler.unwrap(this.currentTask));
                 this.currentTask = null;
             }
             else if (this.currentTask.shouldCancel())
@@ -25,5 +25,10 @@ public class FeedRingTask extends CompositeOperationTask
             FeedRingTask.possibleOperations,
             timeout);
     }
-    
+
+    @Override
+    public boolean reset()
+    {
+        return true;
+    }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package frc.robot.driver.controltasks;
 
 import java.util.Optional;
 
+import frc.lib.driver.OperationRequirements;
 import frc.lib.helpers.AnglePair;
 import frc.lib.robotprovider.Alliance;
 import frc.lib.robotprovider.IDriverStation;
@@ -45,6 +46,13 @@ public class FieldOrientationTask extends UpdateCycleTask
         this.keepOrienting = keepOrienting;
     }
 
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(AnalogOperation.DriveTrainTurnAngleGoal);
+        return true;
+    }
+
     @Override
     public void begin()
     {
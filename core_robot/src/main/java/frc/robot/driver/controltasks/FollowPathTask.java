@@ -1,6 +1,9 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
 import frc.lib.driver.TrajectoryManager;
+import frc.lib.driver.states.AnalogOperationState;
+import frc.lib.driver.states.DigitalOperationState;
 import frc.lib.helpers.ExceptionHelpers;
 import frc.lib.helpers.Helpers;
 import frc.lib.robotprovider.ITimer;
@@ -13,6 +16,8 @@ import frc.robot.driver.DigitalOperation;
 import frc.robot.mechanisms.IDriveTrainMechanism;
 import frc.robot.mechanisms.SDSDriveTrainMechanism;
 
+import com.google.inject.Injector;
+
 /**
  * Task that follows a path
  * 
@@ -57,15 +62,51 @@ public class FollowPathTask extends ControlTaskBase
     }
 
     /**
-     * Begin the current task
+     * Adds the operations that this task requires to the requirements
+     * @param requirements to add the operations to
+     * @return true, as all of the operations were added
      */
     @Override
-    public void begin()
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(
+            AnalogOperation.DriveTrainPathXGoal,
+            AnalogOperation.DriveTrainPathYGoal,
+            AnalogOperation.DriveTrainPathAngleGoal,
+            AnalogOperation.DriveTrainPathXVelocityGoal,
+            AnalogOperation.DriveTrainPathYVelocityGoal,
+            AnalogOperation.DriveTrainPathAngleVelocityGoal);
+        requirements.add(DigitalOperation.DriveTrainPathMode);
+        return true;
+    }
+
+    /**
+     * Initialize the task with the states of the operations, and look up the trajectory (so that beginning the task
+     * doesn't need to, e.g. for an autonomous routine that is initialized while disabled)
+     * @param analogOperationStates indicating the current state of each analog operation (indexed by ordinal)
+     * @param digitalOperationStates indicating the current state of each digital operation (indexed by ordinal)
+     * @param injector used to retrieve components to utilize for making any decisions
+     */
+    @Override
+    public void initialize(
+        AnalogOperationState[] analogOperationStates,
+        DigitalOperationState[] digitalOperationStates,
+        Injector injector)
     {
-        this.timer = this.getInjector().getInstance(ITimer.class);
+        super.initialize(analogOperationStates, digitalOperationStates, injector);
 
-        TrajectoryManager trajectoryManager = this.getInjector().getInstance(TrajectoryManager.class);
+        this.timer = injector.getInstance(ITimer.class);
+
+        TrajectoryManager trajectoryManager = injector.getInstance(TrajectoryManager.class);
         this.trajectory = trajectoryManager.getTrajectory(this.pathName);
+    }
+
+    /**
+     * Begin the current task
+     */
+    @Override
+    public void begin()
+    {
         if (this.trajectory == null)
         {
             ExceptionHelpers.Assert(false, "Unknown trajectory '" + this.pathName + "'");
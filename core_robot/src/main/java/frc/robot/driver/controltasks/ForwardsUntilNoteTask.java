@@ -1,5 +1,6 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
 import frc.robot.driver.AnalogOperation;
 import frc.robot.driver.DigitalOperation;
 import frc.robot.mechanisms.EndEffectorMechanism;
@@ -9,6 +10,14 @@ public class ForwardsUntilNoteTask extends ControlTaskBase {
     private boolean throughBeamBroken = false;
     private EndEffectorMechanism endEffector;
 
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(AnalogOperation.DriveTrainMoveForward);
+        requirements.add(DigitalOperation.IntakeIn);
+        return true;
+    }
+
     @Override
     public void begin()
     {
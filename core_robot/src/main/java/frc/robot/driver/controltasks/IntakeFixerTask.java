@@ -1,5 +1,6 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
 import frc.robot.driver.DigitalOperation;
 import frc.robot.mechanisms.EndEffectorMechanism;
 
@@ -17,6 +18,13 @@ public class IntakeFixerTask extends TimedTask
         super(duration);
     }
 
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(DigitalOperation.IntakeOutSlow);
+        return true;
+    }
+
     @Override
     public void begin()
     {
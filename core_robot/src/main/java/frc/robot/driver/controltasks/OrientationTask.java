@@ -1,5 +1,6 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
 import frc.lib.helpers.AnglePair;
 import frc.robot.TuningConstants;
 import frc.robot.driver.AnalogOperation;
@@ -32,6 +33,13 @@ public class OrientationTask extends UpdateCycleTask
         this.keepOrienting = keepOrienting;
     }
 
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(AnalogOperation.DriveTrainTurnAngleGoal);
+        return true;
+    }
+
     @Override
     public void begin()
     {
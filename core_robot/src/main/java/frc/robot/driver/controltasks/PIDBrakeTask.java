@@ -1,5 +1,6 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
 import frc.robot.driver.*;
 import frc.robot.mechanisms.IDriveTrainMechanism;
 import frc.robot.mechanisms.SDSDriveTrainMechanism;
@@ -21,6 +22,27 @@ public class PIDBrakeTask extends ControlTaskBase
         this.maintainPosition = maintainPosition;
     }
 
+    /**
+     * Adds the operations that this task requires to the requirements
+     * @param requirements to add the operations to
+     * @return true, as all of the operations were added
+     */
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(
+            AnalogOperation.DriveTrainPositionDrive1,
+            AnalogOperation.DriveTrainPositionDrive2,
+            AnalogOperation.DriveTrainPositionDrive3,
+            AnalogOperation.DriveTrainPositionDrive4,
+            AnalogOperation.DriveTrainPositionSteer1,
+            AnalogOperation.DriveTrainPositionSteer2,
+            AnalogOperation.DriveTrainPositionSteer3,
+            AnalogOperation.DriveTrainPositionSteer4);
+        requirements.add(DigitalOperation.DriveTrainMaintainPositionMode, DigitalOperation.DriveTrainPathMode, DigitalOperation.DriveTrainSteerMode);
+        return true;
+    }
+
     /**
      * Begin the current task.
      */
@@ -1,6 +1,7 @@
 package frc.robot.driver.controltasks;
 
 import frc.lib.controllers.PIDHandler;
+import frc.lib.driver.OperationRequirements;
 import frc.lib.robotprovider.ITimer;
 import frc.robot.TuningConstants;
 import frc.robot.driver.AnalogOperation;
@@ -54,6 +55,19 @@ public abstract class PIDTurnTaskBase extends ControlTaskBase
         this.keepTurningWithNoSample = keepTurningWithNoSample;
     }
 
+    /**
+     * Adds the operations that this task requires to the requirements
+     * @param requirements to add the operations to
+     * @return true, as all of the operations were added
+     */
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(AnalogOperation.DriveTrainSpinLeft, AnalogOperation.DriveTrainSpinRight);
+        requirements.add(DigitalOperation.DriveTrainDisableFieldOrientation, DigitalOperation.DriveTrainEnableFieldOrientation);
+        return true;
+    }
+
     /**
      * Begin the current task
      */
@@ -195,4 +209,17 @@ public abstract class PIDTurnTaskBase extends ControlTaskBase
             TuningConstants.STATIONARY_SINGLE_TURNING_PID_MAX,
             this.getInjector().getInstance(ITimer.class));
     }
+
+    /**
+     * Resets the task after it has ended or stopped, so that it can be initialized and begun again (rather than constructing a new task).
+     * Clears the time centered and the count of updates with no angle, but subclasses must override this to indicate that they can be reused.
+     * @return false, as subclasses may have other state to clear
+     */
+    @Override
+    public boolean reset()
+    {
+        this.centeredTime = null;
+        this.noAngleCount = 0;
+        return super.reset();
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
 import frc.lib.helpers.ExceptionHelpers;
 import frc.lib.robotprovider.Point2d;
 import frc.robot.driver.*;
@@ -67,6 +68,25 @@ public class PositionStartingTask extends UpdateCycleTask
         this.resetOrientation = resetOrientation;
     }
 
+    /**
+     * Adds the operations that this task requires to the requirements
+     * @param requirements to add the operations to
+     * @return true, as all of the operations were added
+     */
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(
+            AnalogOperation.DriveTrainStartingXPosition,
+            AnalogOperation.DriveTrainStartingYPosition,
+            AnalogOperation.PositionStartingAngle);
+        requirements.add(
+            DigitalOperation.DriveTrainReset,
+            DigitalOperation.DriveTrainResetXYPosition,
+            DigitalOperation.PositionResetFieldOrientation);
+        return true;
+    }
+
     /**
      * Begin the current task
      */
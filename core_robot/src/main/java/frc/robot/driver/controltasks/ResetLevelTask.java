@@ -1,5 +1,6 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
 import frc.robot.driver.*;
 
 /**
@@ -16,6 +17,18 @@ public class ResetLevelTask extends UpdateCycleTask
         super(1);
     }
 
+    /**
+     * Adds the operations that this task requires to the requirements
+     * @param requirements to add the operations to
+     * @return true, as all of the operations were added
+     */
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(DigitalOperation.PositionResetRobotLevel);
+        return true;
+    }
+
     /**
      * Begin the current task
      */
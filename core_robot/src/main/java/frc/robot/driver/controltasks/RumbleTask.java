@@ -1,5 +1,6 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
 import frc.robot.driver.DigitalOperation;
 
 public class RumbleTask extends ControlTaskBase
@@ -8,6 +9,13 @@ public class RumbleTask extends ControlTaskBase
     {
     }
 
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(DigitalOperation.ForceLightDriverRumble);
+        return true;
+    }
+
     @Override
     public void begin()
     {
@@ -30,4 +38,10 @@ public class RumbleTask extends ControlTaskBase
     {
         return false;
     }
+
+    @Override
+    public boolean reset()
+    {
+        return true;
+    }
 }
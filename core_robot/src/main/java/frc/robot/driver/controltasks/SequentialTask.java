@@ -1,6 +1,7 @@
 package frc.robot.driver.controltasks;
 
 import frc.lib.driver.IControlTask;
+import frc.lib.driver.OperationRequirements;
 
 /**
  * Task that holds multiple other tasks and executes them sequentially (in order).
@@ -8,6 +9,8 @@ import frc.lib.driver.IControlTask;
  */
 public class SequentialTask extends DecisionSequentialTask
 {
+    private final IControlTask[] tasks;
+
     /**
      * Initializes a new SequentialTask
      * @param tasks to run
@@ -16,6 +19,7 @@ public class SequentialTask extends DecisionSequentialTask
     {
         super();
 
+        this.tasks = tasks;
         for (IControlTask task : tasks)
         {
             if (task != null)
@@ -25,6 +29,53 @@ public class SequentialTask extends DecisionSequentialTask
         }
     }
 
+    /**
+     * Resets the task after it has ended or stopped, so that it can be initialized and begun again (rather than constructing a new task).
+     * @return true if the task (and all of the provided tasks) was reset and can be reused, otherwise false (to construct a new task instead)
+     */
+    @Override
+    public boolean reset()
+    {
+        for (IControlTask task : this.tasks)
+        {
+            if (task != null && !task.reset())
+            {
+                return false;
+            }
+        }
+
+        this.clearTasks();
+        for (IControlTask task : this.tasks)
+        {
+            if (task != null)
+            {
+                this.AppendTask(task);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds the operations that the provided tasks require to the requirements
+     * @param requirements to add the operations to
+     * @return true if all of the provided tasks added all of their operations, otherwise false
+     */
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        boolean complete = true;
+        for (IControlTask task : this.tasks)
+        {
+            if (task != null)
+            {
+                complete &= task.addRequirements(requirements);
+            }
+        }
+
+        return complete;
+    }
+
     /**
      * Create a sequential task from one or more tasks
      * @param tasks to create the sequence from
@@ -1,5 +1,6 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
 import frc.robot.driver.AnalogOperation;
 
 public class ShooterSpinTask extends TimedTask
@@ -18,6 +19,13 @@ public class ShooterSpinTask extends TimedTask
         this.flywheelSpeed = flywheelSpeed;
     }
 
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(AnalogOperation.EndEffectorNearFlywheelVelocityGoal, AnalogOperation.EndEffectorFarFlywheelVelocityGoal);
+        return true;
+    }
+
     @Override
     public void begin()
     {
@@ -33,4 +41,10 @@ public class ShooterSpinTask extends TimedTask
         this.setAnalogOperationState(AnalogOperation.EndEffectorNearFlywheelVelocityGoal, this.flywheelSpeed);
         this.setAnalogOperationState(AnalogOperation.EndEffectorFarFlywheelVelocityGoal, this.flywheelSpeed);
     }
+
+    @Override
+    public boolean reset()
+    {
+        return true;
+    }
 }
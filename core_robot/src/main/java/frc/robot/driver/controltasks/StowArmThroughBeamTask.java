@@ -1,5 +1,6 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
 import frc.lib.helpers.Helpers;
 import frc.lib.robotprovider.ITimer;
 import frc.robot.TuningConstants;
@@ -22,6 +23,13 @@ public class StowArmThroughBeamTask extends ControlTaskBase
         super();
     }
 
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(AnalogOperation.ArmWristPositionSetpoint);
+        return true;
+    }
+
     @Override
     public void begin()
     {
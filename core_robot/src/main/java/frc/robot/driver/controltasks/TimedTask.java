@@ -1,7 +1,11 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.states.AnalogOperationState;
+import frc.lib.driver.states.DigitalOperationState;
 import frc.lib.robotprovider.ITimer;
 
+import com.google.inject.Injector;
+
 /**
  * Abstract class defining a task that lasts only for a certain duration.
  * 
@@ -10,7 +14,7 @@ public abstract class TimedTask extends ControlTaskBase
 {
     protected final double duration;
     protected ITimer timer;
-    protected Double startTime;
+    protected double startTime;
 
     /**
      * Initializes a new TimedTask
@@ -19,7 +23,24 @@ public abstract class TimedTask extends ControlTaskBase
     protected TimedTask(double duration)
     {
         this.duration = duration;
-        this.startTime = null;
+        this.startTime = 0.0;
+    }
+
+    /**
+     * Initialize the task with the states of the operations, and retrieve the timer
+     * @param analogOperationStates indicating the current state of each analog operation (indexed by ordinal)
+     * @param digitalOperationStates indicating the current state of each digital operation (indexed by ordinal)
+     * @param injector used to retrieve components to utilize for making any decisions
+     */
+    @Override
+    public void initialize(
+        AnalogOperationState[] analogOperationStates,
+        DigitalOperationState[] digitalOperationStates,
+        Injector injector)
+    {
+        super.initialize(analogOperationStates, digitalOperationStates, injector);
+
+        this.timer = injector.getInstance(ITimer.class);
     }
 
     /**
@@ -28,8 +49,6 @@ public abstract class TimedTask extends ControlTaskBase
     @Override
     public void begin()
     {
-        this.timer = this.getInjector().getInstance(ITimer.class);
-
         this.startTime = this.timer.get();
     }
 
@@ -4,6 +4,7 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import frc.lib.controllers.PIDHandler;
+import frc.lib.driver.OperationRequirements;
 import frc.lib.robotprovider.ITimer;
 import frc.robot.TuningConstants;
 import frc.robot.driver.AnalogOperation;
@@ -56,6 +57,18 @@ public class VisionAprilTagTranslateTask extends ControlTaskBase
         }
     }
 
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(AnalogOperation.DriveTrainMoveForward, AnalogOperation.DriveTrainMoveRight);
+        requirements.add(
+            DigitalOperation.VisionFindAnyAprilTagFront,
+            DigitalOperation.VisionFindAnyAprilTagRear,
+            DigitalOperation.VisionFindSpeakerAprilTagFront,
+            DigitalOperation.VisionFindSpeakerAprilTagRear);
+        return true;
+    }
+
     @Override
     public void begin()
     {
@@ -1,6 +1,7 @@
 package frc.robot.driver.controltasks;
 
 import frc.lib.controllers.PIDHandler;
+import frc.lib.driver.OperationRequirements;
 import frc.lib.helpers.Helpers;
 import frc.lib.robotprovider.ITimer;
 import frc.robot.TuningConstants;
@@ -73,6 +74,18 @@ public class VisionContinuousTurningTask extends PIDTurnTaskBase
         this.continuous = continuous;
     }
 
+    /**
+     * Adds the operations that this task requires to the requirements
+     * @param requirements to add the operations to
+     * @return true, as all of the operations were added
+     */
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(OffboardVisionManager.PossibleVisionOperations);
+        return super.addRequirements(requirements);
+    }
+
     /**
      * Begin the current task
      */
@@ -167,4 +180,15 @@ public class VisionContinuousTurningTask extends PIDTurnTaskBase
 
         return angle;
     }
+
+    /**
+     * Resets the task after it has ended or stopped, so that it can be initialized and begun again (rather than constructing a new task).
+     * @return true, as everything else is set up again in begin()
+     */
+    @Override
+    public boolean reset()
+    {
+        super.reset();
+        return true;
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package frc.robot.driver.controltasks;
 
 import frc.lib.controllers.PIDHandler;
+import frc.lib.driver.OperationRequirements;
 import frc.lib.robotprovider.ITimer;
 import frc.robot.TuningConstants;
 import frc.robot.driver.*;
@@ -43,6 +44,19 @@ public abstract class VisionMoveAndTurnTaskBase extends VisionContinuousTurningT
         this.movePIDHandler = null;
     }
 
+    /**
+     * Adds the operations that this task requires to the requirements
+     * @param requirements to add the operations to
+     * @return true, as all of the operations were added
+     */
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(AnalogOperation.DriveTrainMoveForward, AnalogOperation.DriveTrainMoveRight);
+        requirements.add(DigitalOperation.DriveTrainUseRobotOrientation);
+        return super.addRequirements(requirements);
+    }
+
     /**
      * Begin the current task
      */
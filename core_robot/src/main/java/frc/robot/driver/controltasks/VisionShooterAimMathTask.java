@@ -4,6 +4,7 @@ import frc.robot.TuningConstants;
 import frc.robot.FieldConstants;
 import frc.robot.HardwareConstants;
 import frc.lib.driver.IControlTask;
+import frc.lib.driver.OperationRequirements;
 import frc.lib.helpers.ExceptionHelpers;
 import frc.lib.helpers.Helpers;
 import frc.robot.driver.*;
@@ -75,6 +76,23 @@ public class VisionShooterAimMathTask extends ControlTaskBase
         this.useMaxVelocity = useMaxVelocity;
     }
 
+    /**
+     * Adds the operations that this task requires to the requirements
+     * @param requirements to add the operations to
+     * @return true, as all of the operations were added
+     */
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(
+            AnalogOperation.ArmAbsWristAngle,
+            AnalogOperation.ArmWristPositionSetpoint,
+            AnalogOperation.EndEffectorNearFlywheelVelocityGoal,
+            AnalogOperation.EndEffectorFarFlywheelVelocityGoal);
+        requirements.add(OffboardVisionManager.PossibleVisionOperations);
+        return true;
+    }
+
     /**
      * Begin the current task
      */
@@ -170,6 +188,17 @@ public class VisionShooterAimMathTask extends ControlTaskBase
         return Helpers.RoughEquals(currPos, this.desiredAngle, TuningConstants.ARM_WRIST_GOAL_THRESHOLD);
     }
 
+    @Override
+    public boolean reset()
+    {
+        this.desiredAngle = 0.0;
+        this.desiredVelocity = 0.0;
+        this.pivotToTargetXDist = 0.0;
+        this.pivotToTargetYDist = 0.0;
+        this.noAprilTags = 0;
+        return true;
+    }
+
     private void setDesiredAngleFromXYOffsets(double pivotToTargetXDist, double pivotToTargetYDist) {
         double leftBound = 0;
         double rightBound = 90;
@@ -2,6 +2,7 @@ package frc.robot.driver.controltasks;
 import java.util.Optional;
 
 import frc.lib.driver.IControlTask;
+import frc.lib.driver.OperationRequirements;
 import frc.lib.filters.FloatingAverageCalculator;
 import frc.lib.filters.ISimpleFilter;
 import frc.lib.helpers.Helpers;
@@ -70,6 +71,17 @@ public class VisionShooterTurnAndAimAbsoluteTask extends PIDTurnTaskBase
         this.velocityLinterp = new LinearInterpolator(TuningConstants.SHOOT_VISION_SAMPLE_DISTANCES, TuningConstants.SHOOT_VISION_SAMPLE_VELOCITIES);
     }
 
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(
+            AnalogOperation.ArmWristPositionSetpoint,
+            AnalogOperation.EndEffectorNearFlywheelVelocityGoal,
+            AnalogOperation.EndEffectorFarFlywheelVelocityGoal);
+        requirements.add(DigitalOperation.ForceLightDriverRumble, DigitalOperation.VisionFindAbsolutePosition);
+        return super.addRequirements(requirements);
+    }
+
     @Override
     public void begin()
     {
@@ -3,6 +3,7 @@ package frc.robot.driver.controltasks;
 import java.util.Optional;
 
 import frc.lib.driver.IControlTask;
+import frc.lib.driver.OperationRequirements;
 import frc.lib.filters.FadingMemoryFilter;
 import frc.lib.filters.ISimpleFilter;
 import frc.lib.helpers.Helpers;
@@ -62,6 +63,17 @@ public class VisionShooterTurnAndAimRelativeTask extends PIDTurnTaskBase
         this.velocityLinterp = new LinearInterpolator(TuningConstants.SHOOT_VISION_SAMPLE_DISTANCES, TuningConstants.SHOOT_VISION_SAMPLE_VELOCITIES);
     }
 
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(
+            AnalogOperation.ArmWristPositionSetpoint,
+            AnalogOperation.EndEffectorNearFlywheelVelocityGoal,
+            AnalogOperation.EndEffectorFarFlywheelVelocityGoal);
+        requirements.add(DigitalOperation.ForceLightDriverRumble, DigitalOperation.VisionFindSpeakerAprilTagRear);
+        return super.addRequirements(requirements);
+    }
+
     @Override
     public void begin()
     {
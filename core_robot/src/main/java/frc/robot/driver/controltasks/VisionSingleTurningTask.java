@@ -1,5 +1,6 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
 import frc.lib.helpers.Helpers;
 import frc.robot.driver.DigitalOperation;
 import frc.robot.mechanisms.OffboardVisionManager;
@@ -57,6 +58,18 @@ public class VisionSingleTurningTask extends PIDTurnTaskBase
         this.visionOperation = visionOperation;
     }
 
+    /**
+     * Adds the operations that this task requires to the requirements
+     * @param requirements to add the operations to
+     * @return true, as all of the operations were added
+     */
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        requirements.add(OffboardVisionManager.PossibleVisionOperations);
+        return super.addRequirements(requirements);
+    }
+
     /**
      * Begin the current task
      */
@@ -134,4 +147,16 @@ public class VisionSingleTurningTask extends PIDTurnTaskBase
         double result = this.ultimateYawAngle - pigeonYaw;
         return result;
     }
+
+    /**
+     * Resets the task after it has ended or stopped, so that it can be initialized and begun again (rather than constructing a new task).
+     * @return true, as the ultimate yaw angle is found again after the task is reset
+     */
+    @Override
+    public boolean reset()
+    {
+        super.reset();
+        this.ultimateYawAngle = null;
+        return true;
+    }
 }
\ No newline at end of file
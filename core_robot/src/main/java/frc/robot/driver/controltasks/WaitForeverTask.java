@@ -1,5 +1,7 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
+
 /**
  * Task that waits forever.  This task can be used as a way to give up if a certain condition isn't met (by pairing it with an AnyTask)
  * 
@@ -13,6 +15,17 @@ public class WaitForeverTask extends ControlTaskBase
     {
     }
 
+    /**
+     * Adds the operations that this task requires to the requirements
+     * @param requirements to add the operations to
+     * @return true, as this task doesn't require any operations
+     */
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        return true;
+    }
+
     /**
      * Begin the current task
      */
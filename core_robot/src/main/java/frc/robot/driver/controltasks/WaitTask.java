@@ -1,5 +1,7 @@
 package frc.robot.driver.controltasks;
 
+import frc.lib.driver.OperationRequirements;
+
 /**
  * Task that simply waits for a short period of time.
  * 
@@ -15,6 +17,17 @@ public class WaitTask extends TimedTask
         super(duration);
     }
 
+    /**
+     * Adds the operations that this task requires to the requirements
+     * @param requirements to add the operations to
+     * @return true, as this task doesn't require any operations
+     */
+    @Override
+    public boolean addRequirements(OperationRequirements requirements)
+    {
+        return true;
+    }
+
     /**
      * Run an iteration of the current task and apply any control changes 
      */
@@ -23,4 +36,14 @@ public class WaitTask extends TimedTask
     {
         // no-op
     }
+
+    /**
+     * Resets the task after it has ended or stopped, so that it can be initialized and begun again (rather than constructing a new task).
+     * @return true, as the start time is set again in begin()
+     */
+    @Override
+    public boolean reset()
+    {
+        return true;
+    }
 }
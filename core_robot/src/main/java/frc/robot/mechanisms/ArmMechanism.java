@@ -336,11 +336,11 @@ public class ArmMechanism implements IMechanism
 
         this.wristAbsoluteEncoderPosition =
             !this.wristAbsoluteEncoder.isConnected() ?
-                null : Helpers.updateAngleRange180(this.wristAbsoluteEncoder.getDistance() - 5.0);
+                null : Helpers.updateAngleRange180(this.wristAbsoluteEncoder.getDistance() - TuningConstants.ARM_WRIST_ABSOLUTE_ENCODER_ANGLE_OFFSET);
 
         this.shoulderAbsoluteEncoderPosition =
             !this.shoulderAbsoluteEncoder.isConnected() ?
-                null : Helpers.updateAngleRange180(this.shoulderAbsoluteEncoder.getDistance() - 39.5);
+                null : Helpers.updateAngleRange180(this.shoulderAbsoluteEncoder.getDistance() - TuningConstants.ARM_SHOULDER_ABSOLUTE_ENCODER_ANGLE_OFFSET);
 
         // System.out.println(
         //     String.format(
@@ -0,0 +1,138 @@
+package frc.lib.common;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.robotprovider.*;
+import frc.robot.LoggingKey;
+
+public class AsyncLoggerTests
+{
+    @Test
+    public void testMatchesSynchronousLogger() throws IOException, InterruptedException
+    {
+        ByteArrayFileWriter syncWriter = new ByteArrayFileWriter();
+        ByteArrayFileWriter asyncWriter = new ByteArrayFileWriter();
+        AsyncLogger asyncLogger = new AsyncLogger(new CSVLogger(asyncWriter, LoggingKey.RobotState.value, LoggingKey.RobotTime.value), 2048);
+        asyncLogger.start();
+
+        ILogger logger = new MultiLogger(new CSVLogger(syncWriter, LoggingKey.RobotState.value, LoggingKey.RobotTime.value), asyncLogger);
+        for (int i = 0; i < 500; i++)
+        {
+            logger.logString(LoggingKey.RobotState, (i % 2) == 0 ? "Teleop" : "Autonomous");
+            logger.logNumber(LoggingKey.RobotTime, i * 0.02);
+            logger.update();
+        }
+
+        logger.close();
+        for (int i = 0; i < 200 && !asyncWriter.isClosed(); i++)
+        {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertTrue(asyncWriter.isClosed(), "expected background thread to close the wrapped logger");
+        Assertions.assertEquals(syncWriter.getString(), asyncWriter.getString());
+        Assertions.assertEquals(0L, asyncLogger.getDroppedRecords());
+    }
+
+    @Test
+    public void testCopiesBooleanArrays() throws IOException, InterruptedException
+    {
+        ByteArrayFileWriter syncWriter = new ByteArrayFileWriter();
+        ByteArrayFileWriter asyncWriter = new ByteArrayFileWriter();
+        AsyncLogger asyncLogger = new AsyncLogger(new CSVLogger(asyncWriter, LoggingKey.RobotState.value), 16);
+
+        // the background thread isn't started until after the caller has reused its array
+        ILogger logger = new MultiLogger(new CSVLogger(syncWriter, LoggingKey.RobotState.value), asyncLogger);
+        boolean[] value = new boolean[] { true, false, true };
+        for (int i = 0; i < 3; i++)
+        {
+            logger.logBooleanArray(LoggingKey.RobotState, value);
+            logger.update();
+            value[i] = !value[i];
+        }
+
+        asyncLogger.start();
+        logger.close();
+        for (int i = 0; i < 200 && !asyncWriter.isClosed(); i++)
+        {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertTrue(asyncWriter.isClosed(), "expected background thread to close the wrapped logger");
+        Assertions.assertEquals(syncWriter.getString(), asyncWriter.getString());
+    }
+
+    @Test
+    public void testDropsWhenFull() throws IOException
+    {
+        AsyncLogger asyncLogger = new AsyncLogger(new NullLogger(), 10);
+        Assertions.assertEquals(16, asyncLogger.getCapacity());
+
+        // background thread isn't started, so nothing is drained
+        for (int i = 0; i < 40; i++)
+        {
+            asyncLogger.logNumber(LoggingKey.RobotTime, i * 0.02);
+        }
+
+        // the last 4 slots are kept for update/flush/defaults records
+        Assertions.assertEquals(12, asyncLogger.getHighWaterMark());
+        Assertions.assertEquals(28L, asyncLogger.getDroppedRecords());
+    }
+
+    @Test
+    public void testKeepsUpdatesWhenFull() throws InterruptedException
+    {
+        UpdateCountingLogger countingLogger = new UpdateCountingLogger();
+        AsyncLogger asyncLogger = new AsyncLogger(countingLogger, 16);
+
+        // background thread isn't started, so the values fill the buffer before any updates are logged
+        for (int i = 0; i < 40; i++)
+        {
+            asyncLogger.logNumber(LoggingKey.RobotTime, i * 0.02);
+        }
+
+        for (int i = 0; i < 4; i++)
+        {
+            asyncLogger.update();
+        }
+
+        asyncLogger.start();
+        asyncLogger.close();
+        for (int i = 0; i < 200 && !countingLogger.closed; i++)
+        {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertTrue(countingLogger.closed, "expected background thread to close the wrapped logger");
+        Assertions.assertEquals(4, countingLogger.updates);
+        Assertions.assertEquals(12, countingLogger.numbers);
+    }
+
+    private static class UpdateCountingLogger extends NullLogger
+    {
+        private int numbers;
+        private int updates;
+        private volatile boolean closed;
+
+        @Override
+        public void logNumber(LoggingKey key, double value)
+        {
+            this.numbers++;
+        }
+
+        @Override
+        public void update()
+        {
+            this.updates++;
+        }
+
+        @Override
+        public void close()
+        {
+            this.closed = true;
+        }
+    }
+}
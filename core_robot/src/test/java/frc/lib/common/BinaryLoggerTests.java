@@ -0,0 +1,170 @@
+package frc.lib.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.robotprovider.*;
+import frc.robot.LoggingKey;
+import frc.robot.TuningConstants;
+
+public class BinaryLoggerTests
+{
+    private static final LoggingKey[] Schema = new LoggingKey[]
+    {
+        LoggingKey.RobotState,
+        LoggingKey.RobotTime,
+        LoggingKey.OffboardVisionAprilTagXOffset,
+        LoggingKey.OffboardVisionAprilTagId,
+        LoggingKey.OffboardVisionProcessingMode,
+        LoggingKey.OffboardVisionEnableStream,
+    };
+
+    @Test
+    public void testConvertedLogMatchesCsv() throws IOException
+    {
+        ByteArrayFileWriter csvWriter = new ByteArrayFileWriter();
+        String[] csvSchema = new String[BinaryLoggerTests.Schema.length];
+        for (int i = 0; i < csvSchema.length; i++)
+        {
+            csvSchema[i] = BinaryLoggerTests.Schema[i].value;
+        }
+
+        ByteArrayFileWriter binaryWriter = new ByteArrayFileWriter();
+        ILogger logger = new MultiLogger(new CSVLogger(csvWriter, csvSchema), new BinaryLogger(binaryWriter, BinaryLoggerTests.Schema));
+        for (int i = 0; i < 100; i++)
+        {
+            logger.logString(LoggingKey.RobotState, (i % 5) == 0 ? "Teleop" : "Quoted \"" + (i % 3) + "\"");
+            logger.logNumber(LoggingKey.RobotTime, i * 0.02);
+            if ((i % 4) != 0)
+            {
+                logger.logNumber(LoggingKey.OffboardVisionAprilTagXOffset, (i % 3) == 0 ? null : Double.valueOf(-1.5 * i));
+            }
+
+            logger.logInteger(LoggingKey.OffboardVisionAprilTagId, (i % 2) == 0 ? null : Integer.valueOf(i));
+            logger.logInteger(LoggingKey.OffboardVisionProcessingMode, i % 3);
+            logger.logBoolean(LoggingKey.OffboardVisionEnableStream, (i % 2) == 0);
+            logger.update();
+        }
+
+        logger.flush();
+
+        StringWriter converted = new StringWriter();
+        try (BinaryLogReader reader = new BinaryLogReader(new ByteArrayInputStream(binaryWriter.toByteArray())))
+        {
+            Assertions.assertEquals(100, BinaryLogConverter.convert(reader, converted));
+        }
+
+        Assertions.assertEquals(csvWriter.getString(), converted.toString());
+        Assertions.assertTrue(binaryWriter.size() < csvWriter.size(), "expected binary log to be smaller than csv");
+    }
+
+    @Test
+    public void testChangingStringsWrittenInline() throws IOException
+    {
+        ByteArrayFileWriter csvWriter = new ByteArrayFileWriter();
+        String[] csvSchema = new String[BinaryLoggerTests.Schema.length];
+        for (int i = 0; i < csvSchema.length; i++)
+        {
+            csvSchema[i] = BinaryLoggerTests.Schema[i].value;
+        }
+
+        // more distinct strings than fit in the dictionary, with some repeated strings mixed in once it is full
+        int loops = 3 * TuningConstants.LOG_FILE_BINARY_DICTIONARY_SIZE;
+        ByteArrayFileWriter binaryWriter = new ByteArrayFileWriter();
+        ILogger logger = new MultiLogger(new CSVLogger(csvWriter, csvSchema), new BinaryLogger(binaryWriter, BinaryLoggerTests.Schema));
+        for (int i = 0; i < loops; i++)
+        {
+            logger.logString(LoggingKey.RobotState, (i % 5) == 0 ? "Teleop" : "Summary " + (i / 2));
+            logger.logNumber(LoggingKey.RobotTime, i * 0.02);
+            logger.update();
+        }
+
+        logger.flush();
+
+        StringWriter converted = new StringWriter();
+        try (BinaryLogReader reader = new BinaryLogReader(new ByteArrayInputStream(binaryWriter.toByteArray())))
+        {
+            Assertions.assertEquals(loops, BinaryLogConverter.convert(reader, converted));
+        }
+
+        Assertions.assertEquals(csvWriter.getString(), converted.toString());
+    }
+
+    @Test
+    public void testTruncatedLog() throws IOException
+    {
+        ByteArrayFileWriter binaryWriter = new ByteArrayFileWriter();
+        BinaryLogger logger = new BinaryLogger(binaryWriter, BinaryLoggerTests.Schema);
+        for (int i = 0; i < 3; i++)
+        {
+            logger.logNumber(LoggingKey.RobotTime, i * 0.02);
+            logger.update();
+        }
+
+        byte[] bytes = binaryWriter.toByteArray();
+        try (BinaryLogReader reader = new BinaryLogReader(new ByteArrayInputStream(bytes, 0, bytes.length - 3)))
+        {
+            int frames = 0;
+            while (reader.readFrame())
+            {
+                Assertions.assertTrue(reader.isPresent(1));
+                Assertions.assertFalse(reader.isPresent(0));
+                Assertions.assertEquals(frames * 0.02, reader.getNumber(1), 0.0001);
+                frames++;
+            }
+
+            Assertions.assertEquals(2, frames);
+        }
+    }
+
+    @Test
+    public void testLogDefaults() throws IOException
+    {
+        ByteArrayFileWriter csvWriter = new ByteArrayFileWriter();
+        String[] csvSchema = new String[BinaryLoggerTests.Schema.length];
+        for (int i = 0; i < csvSchema.length; i++)
+        {
+            csvSchema[i] = BinaryLoggerTests.Schema[i].value;
+        }
+
+        ByteArrayFileWriter binaryWriter = new ByteArrayFileWriter();
+        ILogger logger = new MultiLogger(new CSVLogger(csvWriter, csvSchema), new BinaryLogger(binaryWriter, BinaryLoggerTests.Schema));
+        for (int i = 0; i < 3; i++)
+        {
+            logger.logString(LoggingKey.RobotState, "Teleop");
+            logger.logNumber(LoggingKey.RobotTime, 1.5);
+            logger.logNumber(LoggingKey.OffboardVisionAprilTagXOffset, 2.5);
+            logger.logInteger(LoggingKey.OffboardVisionAprilTagId, 7);
+            logger.logInteger(LoggingKey.OffboardVisionProcessingMode, 2);
+            logger.logBoolean(LoggingKey.OffboardVisionEnableStream, true);
+
+            // the defaults replace every value except for the robot state
+            logger.logDefaults();
+            logger.update();
+        }
+
+        logger.flush();
+
+        StringWriter converted = new StringWriter();
+        try (BinaryLogReader reader = new BinaryLogReader(new ByteArrayInputStream(binaryWriter.toByteArray())))
+        {
+            Assertions.assertEquals(3, BinaryLogConverter.convert(reader, converted));
+        }
+
+        String[] lines = csvWriter.getString().split("\n");
+        Assertions.assertEquals(4, lines.length);
+        Assertions.assertEquals("Teleop,0.0,null,null,0,false", lines[3].trim());
+        Assertions.assertEquals(csvWriter.getString(), converted.toString());
+
+        // nor are the summaries that are logged when the robot is disabled
+        Assertions.assertTrue(LoggingDefaults.includes(LoggingKey.RobotTime));
+        Assertions.assertFalse(LoggingDefaults.includes(LoggingKey.TimingMechanismSummary));
+        Assertions.assertFalse(LoggingDefaults.includes(LoggingKey.TimingLastOverrun));
+        Assertions.assertFalse(LoggingDefaults.includes(LoggingKey.DriverLatencySummary));
+        Assertions.assertFalse(LoggingDefaults.includes(LoggingKey.DriverTaskProfile));
+    }
+}
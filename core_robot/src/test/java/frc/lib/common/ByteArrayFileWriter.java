@@ -0,0 +1,37 @@
+package frc.lib.common;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import frc.lib.robotprovider.IFileWriter;
+
+/**
+ * In-memory file writer for testing loggers
+ */
+public class ByteArrayFileWriter extends ByteArrayOutputStream implements IFileWriter
+{
+    private volatile boolean closed;
+
+    @Override
+    public void append(String string)
+    {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        this.write(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void close()
+    {
+        this.closed = true;
+    }
+
+    public boolean isClosed()
+    {
+        return this.closed;
+    }
+
+    public String getString()
+    {
+        return new String(this.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,141 @@
+package frc.lib.common;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.robotprovider.CSVLogger;
+import frc.lib.robotprovider.IFileWriter;
+import frc.lib.robotprovider.LoggingScheduler;
+import frc.robot.LoggingKey;
+
+public class CSVLoggerTests
+{
+    @Test
+    public void testFormatting() throws IOException
+    {
+        ByteArrayFileWriter writer = new ByteArrayFileWriter();
+        CSVLogger logger =
+            new CSVLogger(
+                writer,
+                LoggingKey.RobotState.value,
+                LoggingKey.RobotTime.value,
+                LoggingKey.OffboardVisionAprilTagId.value,
+                LoggingKey.OffboardVisionEnableStream.value);
+
+        logger.logString(LoggingKey.RobotState, "say \"hi\", robot");
+        logger.logNumber(LoggingKey.RobotTime, 0.1 + 0.2);
+        logger.logInteger(LoggingKey.OffboardVisionAprilTagId, (Integer)null);
+        logger.logBoolean(LoggingKey.OffboardVisionEnableStream, true);
+        logger.update();
+
+        logger.logNumber(LoggingKey.RobotTime, -2.5);
+        logger.logInteger(LoggingKey.OffboardVisionAprilTagId, -13);
+        logger.update();
+
+        Assertions.assertEquals(
+            "r/state,r/time,vision/atId,vision/enableStream\r\n" +
+            "\"say \"\"hi\"\", robot\",0.30000000000000004,null,true\r\n" +
+            ",-2.5,-13,\r\n",
+            writer.getString());
+    }
+
+    @Test
+    public void testColumnHandles() throws IOException
+    {
+        ByteArrayFileWriter writer = new ByteArrayFileWriter();
+        CSVLogger logger =
+            new CSVLogger(
+                writer,
+                LoggingKey.RobotTime.value,
+                "unknown",
+                LoggingKey.LoggerDroppedRecords.value);
+
+        int timeColumn = logger.getColumn(LoggingKey.RobotTime);
+        int droppedColumn = logger.getColumn(LoggingKey.LoggerDroppedRecords);
+        Assertions.assertEquals(0, timeColumn);
+        Assertions.assertEquals(2, droppedColumn);
+        Assertions.assertEquals(-1, logger.getColumn(LoggingKey.RobotState));
+
+        // LoggerDroppedRecords is only logged every 50 updates, starting at its phase offset
+        int droppedPhase = LoggingScheduler.getPhase(LoggingKey.LoggerDroppedRecords);
+        String expected = "r/time,unknown,log/droppedRecords\r\n";
+        for (int i = 0; i <= droppedPhase + 1; i++)
+        {
+            logger.logNumber(timeColumn, i * 0.5);
+            logger.logInteger(droppedColumn, i);
+            logger.logString(logger.getColumn(LoggingKey.RobotState), "ignored");
+            logger.update();
+
+            expected += String.valueOf(i * 0.5) + ",," + (i == droppedPhase ? String.valueOf(i) : "") + "\r\n";
+        }
+
+        Assertions.assertEquals(expected, writer.getString());
+    }
+
+    @Test
+    public void testSteadyStateAllocation() throws IOException
+    {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        Assertions.assertTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        CSVLogger logger =
+            new CSVLogger(
+                new NullFileWriter(),
+                LoggingKey.RobotState.value,
+                LoggingKey.RobotTime.value,
+                LoggingKey.OffboardVisionAprilTagXOffset.value,
+                LoggingKey.OffboardVisionAprilTagId.value,
+                LoggingKey.OffboardVisionEnableStream.value);
+
+        // warm up, so that buffers reach their steady-state sizes and the JIT has compiled the logging path
+        CSVLoggerTests.logValues(logger, 20000);
+
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        CSVLoggerTests.logValues(logger, 10000);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        // 50000 logged values - allow for a little noise from the measurement itself, but not one allocation per value
+        Assertions.assertTrue(allocated < 1024, "expected no steady-state allocation, saw " + allocated + " bytes");
+    }
+
+    private static void logValues(CSVLogger logger, int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            logger.logString(LoggingKey.RobotState, "Teleop");
+            logger.logNumber(LoggingKey.RobotTime, i * 0.02);
+            logger.logNumber(LoggingKey.OffboardVisionAprilTagXOffset, -3.75 * i);
+            logger.logInteger(LoggingKey.OffboardVisionAprilTagId, i % 16);
+            logger.logBoolean(LoggingKey.OffboardVisionEnableStream, (i % 2) == 0);
+            logger.update();
+        }
+    }
+
+    private static class NullFileWriter implements IFileWriter
+    {
+        @Override
+        public void append(String string)
+        {
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length)
+        {
+        }
+
+        @Override
+        public void flush()
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
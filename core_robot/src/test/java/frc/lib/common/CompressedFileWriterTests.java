@@ -0,0 +1,145 @@
+package frc.lib.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.robotprovider.*;
+import frc.robot.LoggingKey;
+
+public class CompressedFileWriterTests
+{
+    @Test
+    public void testSegmentsMatchUncompressed() throws IOException, InterruptedException
+    {
+        ArrayList<MemoryFile> files = new ArrayList<MemoryFile>();
+        MemoryFile file = new MemoryFile(files, Long.MAX_VALUE);
+        file.open("test.csv.gz");
+
+        CompressedFileWriter compressedWriter = new CompressedFileWriter(file, "test.csv.gz", () -> new MemoryFile(files, Long.MAX_VALUE), 1024, 3, 4096, 0L);
+        compressedWriter.start();
+
+        ByteArrayFileWriter uncompressedWriter = new ByteArrayFileWriter();
+        CompressedFileWriterTests.writeLog(new MultiLogger(new CSVLogger(uncompressedWriter, "r/time", "r/state"), new CSVLogger(compressedWriter, "r/time", "r/state")), 5000);
+        CompressedFileWriterTests.waitForClose(compressedWriter);
+
+        Assertions.assertEquals(0L, compressedWriter.getDiscardedBytes());
+        Assertions.assertTrue(compressedWriter.getSegmentCount() > 1, "expected multiple segments");
+        Assertions.assertEquals(compressedWriter.getSegmentCount(), files.size());
+        Assertions.assertEquals("test.csv.gz", files.get(0).fileName);
+        Assertions.assertEquals("test.csv.1.gz", files.get(1).fileName);
+
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+        int compressedSize = 0;
+        for (MemoryFile segment : files)
+        {
+            Assertions.assertTrue(segment.writer.isClosed());
+            compressedSize += segment.writer.size();
+            try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(segment.writer.toByteArray())))
+            {
+                inputStream.transferTo(decompressed);
+            }
+        }
+
+        Assertions.assertEquals(uncompressedWriter.getString(), decompressed.toString("UTF-8"));
+        Assertions.assertTrue(compressedSize < uncompressedWriter.size() / 2, "expected log to compress well");
+    }
+
+    @Test
+    public void testFreeSpaceBudget() throws IOException, InterruptedException
+    {
+        ArrayList<MemoryFile> files = new ArrayList<MemoryFile>();
+        MemoryFile file = new MemoryFile(files, 10000L);
+        file.open("test.csv.gz");
+
+        // only enough free space for the first segment (10000 free - 4096 for the next segment < 8000 required)
+        CompressedFileWriter compressedWriter = new CompressedFileWriter(file, "test.csv.gz", () -> new MemoryFile(files, 10000L), 1024, 3, 4096, 8000L);
+        compressedWriter.start();
+
+        CompressedFileWriterTests.writeLog(new CSVLogger(compressedWriter, "r/time", "r/state"), 5000);
+        CompressedFileWriterTests.waitForClose(compressedWriter);
+
+        Assertions.assertEquals(1, compressedWriter.getSegmentCount());
+        Assertions.assertEquals(1, files.size());
+        Assertions.assertTrue(files.get(0).writer.isClosed());
+        Assertions.assertTrue(compressedWriter.getDiscardedBytes() > 0L);
+    }
+
+    private static void writeLog(ILogger logger, int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            logger.logNumber(LoggingKey.RobotTime, i * 0.02);
+            logger.logString(LoggingKey.RobotState, (i % 100) < 50 ? "Teleop" : "Disabled");
+            logger.update();
+            if ((i % 25) == 0)
+            {
+                logger.flush();
+            }
+        }
+
+        logger.close();
+    }
+
+    private static void waitForClose(CompressedFileWriter compressedWriter) throws InterruptedException
+    {
+        for (int i = 0; i < 500 && !compressedWriter.isClosed(); i++)
+        {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertTrue(compressedWriter.isClosed());
+    }
+
+    private static class MemoryFile implements IFile
+    {
+        private final ArrayList<MemoryFile> files;
+        private final long freeSpace;
+
+        String fileName;
+        ByteArrayFileWriter writer;
+
+        MemoryFile(ArrayList<MemoryFile> files, long freeSpace)
+        {
+            this.files = files;
+            this.freeSpace = freeSpace;
+        }
+
+        @Override
+        public void open(String fileName)
+        {
+            this.fileName = fileName;
+        }
+
+        @Override
+        public boolean exists()
+        {
+            return this.writer != null;
+        }
+
+        @Override
+        public long getFreeSpace()
+        {
+            return this.freeSpace;
+        }
+
+        @Override
+        public void mkdir()
+        {
+        }
+
+        @Override
+        public IFileWriter openWriter()
+        {
+            this.writer = new ByteArrayFileWriter();
+            this.files.add(this);
+            return this.writer;
+        }
+    }
+}
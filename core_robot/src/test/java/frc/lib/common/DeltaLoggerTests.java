@@ -0,0 +1,85 @@
+package frc.lib.common;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.robotprovider.CSVLogger;
+import frc.lib.robotprovider.DeltaLogger;
+import frc.lib.robotprovider.LoggingScheduler;
+import frc.robot.LoggingKey;
+
+public class DeltaLoggerTests
+{
+    @Test
+    public void testOnlyChangesPublished() throws IOException
+    {
+        ByteArrayFileWriter writer = new ByteArrayFileWriter();
+        DeltaLogger logger =
+            new DeltaLogger(
+                new CSVLogger(
+                    writer,
+                    LoggingKey.RobotState.value,
+                    LoggingKey.RobotTime.value,
+                    LoggingKey.OffboardVisionAprilTagXOffset.value,
+                    LoggingKey.OffboardVisionAprilTagId.value,
+                    LoggingKey.OffboardVisionEnableStream.value),
+                4);
+
+        String[] states = new String[] { "Teleop", "Teleop", new String("Teleop"), "Disabled", "Disabled" };
+        Double[] offsets = new Double[] { 1.0, 1.0, null, null, 2.0 };
+        Integer[] ids = new Integer[] { 7, 7, 7, 8, 8 };
+        boolean[] enableStreams = new boolean[] { true, true, false, false, false };
+        for (int i = 0; i < 5; i++)
+        {
+            logger.logString(LoggingKey.RobotState, states[i]);
+            logger.logNumber(LoggingKey.RobotTime, 0.5);
+            logger.logNumber(LoggingKey.OffboardVisionAprilTagXOffset, offsets[i]);
+            logger.logInteger(LoggingKey.OffboardVisionAprilTagId, ids[i]);
+            logger.logBoolean(LoggingKey.OffboardVisionEnableStream, enableStreams[i]);
+            logger.update();
+        }
+
+        // the fifth update is a keyframe, where everything is published again
+        Assertions.assertEquals(
+            "r/state,r/time,vision/atXOffset,vision/atId,vision/enableStream\r\n" +
+            "Teleop,0.5,1.0,7,true\r\n" +
+            ",,,,\r\n" +
+            ",,null,,false\r\n" +
+            "Disabled,,,8,\r\n" +
+            "Disabled,0.5,2.0,8,false\r\n",
+            writer.getString());
+    }
+
+    @Test
+    public void testEpsilon() throws IOException
+    {
+        ByteArrayFileWriter writer = new ByteArrayFileWriter();
+        DeltaLogger logger = new DeltaLogger(new CSVLogger(writer, LoggingKey.PowerBatteryVoltage.value), 1000);
+
+        // battery voltage has a small epsilon, and is compared against the last published value so slow drift is still published
+        double[] voltages = new double[] { 12.5, 12.505, 12.512, 12.518, 12.524, 12.0 };
+        for (double voltage : voltages)
+        {
+            for (int i = 0; i < LoggingKey.PowerBatteryVoltage.loggingFrequency; i++)
+            {
+                logger.logNumber(LoggingKey.PowerBatteryVoltage, voltage);
+                logger.update();
+            }
+        }
+
+        String expected = "power/battV\r\n";
+        String[] published = new String[] { "12.5", null, "12.512", null, "12.524", "12.0" };
+        int phase = LoggingScheduler.getPhase(LoggingKey.PowerBatteryVoltage);
+        for (String value : published)
+        {
+            for (int i = 0; i < LoggingKey.PowerBatteryVoltage.loggingFrequency; i++)
+            {
+                expected += (i == phase && value != null ? value : "") + "\r\n";
+            }
+        }
+
+        Assertions.assertEquals(expected, writer.getString());
+    }
+}
@@ -0,0 +1,108 @@
+package frc.lib.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.helpers.FormatHelpers;
+
+public class FormatHelpersTests
+{
+    @Test
+    public void testAppendNumber()
+    {
+        Assertions.assertEquals("0.0", FormatHelpers.formatNumber(0.0, 6));
+        Assertions.assertEquals("0.0", FormatHelpers.formatNumber(-0.0, 6));
+        Assertions.assertEquals("0.0", FormatHelpers.formatNumber(-0.0000001, 6));
+        Assertions.assertEquals("1.5", FormatHelpers.formatNumber(1.5, 6));
+        Assertions.assertEquals("-1318.0", FormatHelpers.formatNumber(-1318.0, 6));
+        Assertions.assertEquals("0.06", FormatHelpers.formatNumber(3 * 0.02, 6));
+        Assertions.assertEquals("0.000001", FormatHelpers.formatNumber(0.000001, 6));
+        Assertions.assertEquals("3.141593", FormatHelpers.formatNumber(Math.PI, 6));
+        Assertions.assertEquals("3.14", FormatHelpers.formatNumber(Math.PI, 2));
+        Assertions.assertEquals("3.0", FormatHelpers.formatNumber(Math.PI, 0));
+        Assertions.assertEquals("1.0", FormatHelpers.formatNumber(0.9999999, 6));
+        Assertions.assertEquals("-12345678.25", FormatHelpers.formatNumber(-12345678.25, 6));
+        Assertions.assertEquals("NaN", FormatHelpers.formatNumber(Double.NaN, 6));
+        Assertions.assertEquals("Infinity", FormatHelpers.formatNumber(Double.POSITIVE_INFINITY, 6));
+        Assertions.assertEquals("-Infinity", FormatHelpers.formatNumber(Double.NEGATIVE_INFINITY, 6));
+        Assertions.assertEquals("1.0E20", FormatHelpers.formatNumber(1e20, 6));
+        Assertions.assertEquals("-1.0E20", FormatHelpers.formatNumber(-1e20, 6));
+    }
+
+    @Test
+    public void testAppendRoundTripNumber()
+    {
+        Assertions.assertEquals("0.0", FormatHelpers.formatNumber(0.0));
+        Assertions.assertEquals("-0.0", FormatHelpers.formatNumber(-0.0));
+        Assertions.assertEquals("1.5", FormatHelpers.formatNumber(1.5));
+        Assertions.assertEquals("-1318.0", FormatHelpers.formatNumber(-1318.0));
+        Assertions.assertEquals("0.30000000000000004", FormatHelpers.formatNumber(0.1 + 0.2));
+        Assertions.assertEquals("1.2100000000000002", FormatHelpers.formatNumber(1.1 * 1.1));
+        Assertions.assertEquals("3.141592653589793", FormatHelpers.formatNumber(Math.PI));
+        Assertions.assertEquals("0.000001", FormatHelpers.formatNumber(0.000001));
+        Assertions.assertEquals("1.0E-7", FormatHelpers.formatNumber(1e-7));
+        Assertions.assertEquals("-1.0E-7", FormatHelpers.formatNumber(-1e-7));
+        Assertions.assertEquals("1.0E-300", FormatHelpers.formatNumber(1e-300));
+        Assertions.assertEquals("NaN", FormatHelpers.formatNumber(Double.NaN));
+        Assertions.assertEquals("Infinity", FormatHelpers.formatNumber(Double.POSITIVE_INFINITY));
+        Assertions.assertEquals("-Infinity", FormatHelpers.formatNumber(Double.NEGATIVE_INFINITY));
+        Assertions.assertEquals("1000000000000000.0", FormatHelpers.formatNumber(1e15));
+        Assertions.assertEquals("1000000000000000.1", FormatHelpers.formatNumber(1e15 + 0.125));
+        Assertions.assertEquals("-1234567890123456.5", FormatHelpers.formatNumber(-1234567890123456.5));
+        Assertions.assertEquals("1.0E17", FormatHelpers.formatNumber(1e17));
+        Assertions.assertEquals("1.0E20", FormatHelpers.formatNumber(1e20));
+
+        // anything else should read back as the same value, with no more digits than Double.toString
+        long[] bits = new long[] { 0x3FB999999999999AL, 0x4010000000000000L, 0x3FEFFFFFFFFFFFFFL, 0x434FFFFFFFFFFFFFL, 0x3EB0C6F7A0B5ED8DL };
+        for (long bit : bits)
+        {
+            double value = Double.longBitsToDouble(bit);
+            String formatted = FormatHelpers.formatNumber(value);
+            Assertions.assertEquals(value, Double.parseDouble(formatted), 0.0, formatted);
+            Assertions.assertTrue(
+                FormatHelpersTests.countDigits(formatted) <= FormatHelpersTests.countDigits(Double.toString(value)),
+                formatted + " vs " + Double.toString(value));
+        }
+
+        for (int i = -100000; i <= 100000; i++)
+        {
+            double value = i * 0.02;
+            Assertions.assertEquals(value, Double.parseDouble(FormatHelpers.formatNumber(value)), 0.0);
+        }
+    }
+
+    @Test
+    public void testAppendInteger()
+    {
+        long[] values = new long[] { 0L, 7L, -7L, 10L, 1318L, -1318L, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE };
+        byte[] buffer = new byte[FormatHelpers.MAX_NUMBER_LENGTH];
+        for (long value : values)
+        {
+            int length = FormatHelpers.appendInteger(buffer, 0, value);
+            Assertions.assertEquals(String.valueOf(value), new String(buffer, 0, length, StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    public void testAppendString()
+    {
+        String[] values = new String[] { "", "Teleop", "caf\u00e9", "\u20ac10", "robot \ud83e\udd16", "lone \ud83e" };
+        for (String value : values)
+        {
+            byte[] buffer = new byte[FormatHelpers.getMaxStringLength(value)];
+            int length = FormatHelpers.appendString(buffer, 0, value);
+            Assertions.assertArrayEquals(value.getBytes(StandardCharsets.UTF_8), Arrays.copyOf(buffer, length));
+        }
+    }
+
+    private static int countDigits(String number)
+    {
+        // significant digits of the mantissa, ignoring the sign, decimal point and exponent
+        int exponent = number.indexOf('E');
+        String mantissa = (exponent >= 0 ? number.substring(0, exponent) : number).replace("-", "").replace(".", "");
+        return mantissa.replaceAll("^0+", "").replaceAll("0+$", "").length();
+    }
+}
@@ -0,0 +1,95 @@
+package frc.lib.common;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.robotprovider.LoggingScheduler;
+import frc.robot.LoggingKey;
+
+public class LoggingSchedulerTests
+{
+    @Test
+    public void testPhasesSpreadValues()
+    {
+        LoggingKey[] keys = LoggingKey.values();
+        int[] writtenCounts = new int[keys.length];
+        int minValues = Integer.MAX_VALUE;
+        int maxValues = 0;
+
+        LoggingScheduler scheduler = new LoggingScheduler();
+        for (int update = 0; update < 100; update++)
+        {
+            int values = 0;
+            for (LoggingKey key : keys)
+            {
+                if (scheduler.shouldLog(key))
+                {
+                    // further values for the same key during this update are also allowed
+                    Assertions.assertTrue(scheduler.shouldLog(key));
+                    Assertions.assertEquals(0, Math.floorMod(update - LoggingScheduler.getPhase(key), key.loggingFrequency));
+                    writtenCounts[key.ordinal()]++;
+                    values++;
+                }
+            }
+
+            scheduler.update();
+            minValues = Math.min(minValues, values);
+            maxValues = Math.max(maxValues, values);
+        }
+
+        for (LoggingKey key : keys)
+        {
+            Assertions.assertEquals(100 / key.loggingFrequency, writtenCounts[key.ordinal()], key.toString());
+        }
+
+        // rather than all of the keys with the same frequency landing on the same update
+        Assertions.assertTrue(maxValues - minValues <= 2, "values per update ranged from " + minValues + " to " + maxValues);
+        Assertions.assertEquals(0L, scheduler.getDeferredValues());
+    }
+
+    @Test
+    public void testBudgetDefersAndAdapts()
+    {
+        LoggingKey[] keys = LoggingKey.values();
+        int everyUpdateKeys = 0;
+        for (LoggingKey key : keys)
+        {
+            if (key.loggingFrequency == 1)
+            {
+                everyUpdateKeys++;
+            }
+        }
+
+        int budget = everyUpdateKeys + 5;
+        LoggingScheduler scheduler = new LoggingScheduler(budget, 10, 4);
+        LoggingScheduler wrappedScheduler = new LoggingScheduler();
+        for (int update = 0; update < 40; update++)
+        {
+            int values = 0;
+            for (LoggingKey key : keys)
+            {
+                if (scheduler.shouldLog(key))
+                {
+                    // a wrapped logger's scheduler allows whatever gets through, even if it was deferred
+                    Assertions.assertTrue(wrappedScheduler.shouldLog(key), key.toString());
+                    values++;
+                }
+            }
+
+            Assertions.assertTrue(values <= budget, "update " + update + " wrote " + values + " values");
+            scheduler.update();
+            wrappedScheduler.update();
+        }
+
+        Assertions.assertTrue(scheduler.getDeferredValues() > 0L);
+        Assertions.assertEquals(4, scheduler.getFrequencyMultiplier());
+
+        // the frequencies recover once the values fit comfortably within the budget
+        for (int update = 0; update < 20; update++)
+        {
+            scheduler.update();
+        }
+
+        Assertions.assertEquals(1, scheduler.getFrequencyMultiplier());
+    }
+}
@@ -0,0 +1,62 @@
+package frc.lib.common;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.mechanisms.LoopPhase;
+import frc.lib.mechanisms.LoopProfiler;
+import frc.lib.mechanisms.LoopWatchdog;
+
+public class LoopWatchdogTests
+{
+    @Test
+    public void testOverrunIsSampled() throws InterruptedException
+    {
+        LoopProfiler profiler = new LoopProfiler(true);
+        LoopWatchdog watchdog = new LoopWatchdog(profiler, true, 5000000L, 3, 1000000L, 12, 2);
+        try
+        {
+            // a quick loop isn't reported
+            watchdog.arm();
+            profiler.startLoop();
+            profiler.endLoop();
+            watchdog.disarm();
+            Thread.sleep(20);
+            Assertions.assertEquals(0, watchdog.getOverrunCount());
+
+            watchdog.arm();
+            profiler.startLoop();
+            profiler.startPhase(LoopPhase.Driver);
+            Thread.sleep(40);
+            profiler.endLoop();
+            watchdog.disarm();
+
+            for (int i = 0; i < 100 && watchdog.getOverrunCount() == 0; i++)
+            {
+                Thread.sleep(10);
+            }
+
+            Assertions.assertEquals(1, watchdog.getOverrunCount());
+            String[] overruns = watchdog.getOverruns();
+            Assertions.assertEquals(1, overruns.length);
+            Assertions.assertTrue(overruns[0].startsWith("Loop overrun 2:"), overruns[0]);
+            Assertions.assertTrue(overruns[0].contains("ms Driver\n"), overruns[0]);
+            Assertions.assertTrue(overruns[0].contains("LoopWatchdogTests.testOverrunIsSampled"), overruns[0]);
+        }
+        finally
+        {
+            watchdog.stop();
+        }
+    }
+
+    @Test
+    public void testDisabled() throws InterruptedException
+    {
+        LoopWatchdog watchdog = new LoopWatchdog(new LoopProfiler(true), false, 1000000L, 3, 1000000L, 12, 2);
+        watchdog.arm();
+        Thread.sleep(10);
+        watchdog.disarm();
+        Assertions.assertEquals(0, watchdog.getOverrunCount());
+        Assertions.assertEquals(0, watchdog.getOverruns().length);
+    }
+}
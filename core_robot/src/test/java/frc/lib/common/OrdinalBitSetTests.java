@@ -0,0 +1,123 @@
+package frc.lib.common;
+
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.helpers.OrdinalBitSet;
+import frc.lib.robotprovider.RobotMode;
+
+public class OrdinalBitSetTests
+{
+    @Test
+    public void testSetAndClear()
+    {
+        OrdinalBitSet set = new OrdinalBitSet(130);
+        Assertions.assertTrue(set.isEmpty());
+
+        set.set(0);
+        set.set(63);
+        set.set(64);
+        set.set(129);
+        Assertions.assertFalse(set.isEmpty());
+        Assertions.assertEquals(4, set.count());
+        Assertions.assertTrue(set.get(0));
+        Assertions.assertTrue(set.get(63));
+        Assertions.assertTrue(set.get(64));
+        Assertions.assertTrue(set.get(129));
+        Assertions.assertFalse(set.get(1));
+        Assertions.assertFalse(set.get(128));
+
+        set.clear(63);
+        Assertions.assertFalse(set.get(63));
+        Assertions.assertEquals(3, set.count());
+
+        set.clear();
+        Assertions.assertTrue(set.isEmpty());
+        Assertions.assertEquals(0, set.count());
+    }
+
+    @Test
+    public void testNextSetBit()
+    {
+        OrdinalBitSet set = new OrdinalBitSet(130);
+        Assertions.assertEquals(-1, set.nextSetBit(0));
+
+        set.set(5);
+        set.set(70);
+        set.set(129);
+        Assertions.assertEquals(5, set.nextSetBit(0));
+        Assertions.assertEquals(5, set.nextSetBit(5));
+        Assertions.assertEquals(70, set.nextSetBit(6));
+        Assertions.assertEquals(129, set.nextSetBit(71));
+        Assertions.assertEquals(-1, set.nextSetBit(130));
+    }
+
+    @Test
+    public void testCombine()
+    {
+        OrdinalBitSet a = new OrdinalBitSet(130);
+        a.set(1);
+        a.set(65);
+        a.set(100);
+
+        OrdinalBitSet b = new OrdinalBitSet(130);
+        b.set(65);
+        b.set(128);
+
+        OrdinalBitSet union = new OrdinalBitSet(130);
+        union.copyFrom(a);
+        union.or(b);
+        Assertions.assertEquals(4, union.count());
+        Assertions.assertTrue(union.get(128));
+
+        OrdinalBitSet difference = new OrdinalBitSet(130);
+        difference.copyFrom(a);
+        difference.andNot(b);
+        Assertions.assertEquals(2, difference.count());
+        Assertions.assertTrue(difference.get(1));
+        Assertions.assertFalse(difference.get(65));
+        Assertions.assertTrue(difference.get(100));
+
+        Assertions.assertNotEquals(a, difference);
+        difference.set(65);
+        Assertions.assertEquals(a, difference);
+        Assertions.assertEquals(a.hashCode(), difference.hashCode());
+    }
+
+    @Test
+    public void testMatches()
+    {
+        OrdinalBitSet mask = new OrdinalBitSet(130);
+        mask.set(2);
+        mask.set(90);
+
+        OrdinalBitSet expected = new OrdinalBitSet(130);
+        expected.set(90);
+
+        OrdinalBitSet active = new OrdinalBitSet(130);
+        active.set(90);
+        active.set(3); // outside of the mask
+        Assertions.assertTrue(active.matches(mask, expected));
+
+        active.set(2);
+        Assertions.assertFalse(active.matches(mask, expected));
+
+        active.clear(2);
+        active.clear(90);
+        Assertions.assertFalse(active.matches(mask, expected));
+    }
+
+    @Test
+    public void testEnumSet()
+    {
+        RobotMode[] values = RobotMode.values();
+        EnumSet<RobotMode> enumSet = EnumSet.of(values[0], values[values.length - 1]);
+
+        OrdinalBitSet set = OrdinalBitSet.fromEnumSet(enumSet, values.length);
+        Assertions.assertEquals(enumSet.size(), set.count());
+        Assertions.assertEquals(enumSet.toString(), set.toString(values));
+        Assertions.assertEquals("[]", new OrdinalBitSet(values.length).toString(values));
+    }
+}
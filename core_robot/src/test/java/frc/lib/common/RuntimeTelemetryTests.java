@@ -0,0 +1,42 @@
+package frc.lib.common;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.mechanisms.RuntimeTelemetry;
+import frc.lib.robotprovider.NullLogger;
+
+public class RuntimeTelemetryTests
+{
+    private static byte[] allocated;
+
+    @Test
+    public void testAllocationAlarm()
+    {
+        RuntimeTelemetry telemetry = new RuntimeTelemetry(true, 64 * 1024, 50);
+        Assertions.assertTrue(telemetry.isMeasuringAllocations());
+
+        NullLogger logger = new NullLogger();
+        telemetry.update(logger);
+        Assertions.assertEquals(-1L, telemetry.getLoopAllocatedBytes());
+
+        telemetry.update(logger);
+        Assertions.assertTrue(telemetry.getLoopAllocatedBytes() < 64 * 1024, "expected a quiet loop");
+        Assertions.assertEquals(0L, telemetry.getAlarmCount());
+
+        RuntimeTelemetryTests.allocated = new byte[256 * 1024];
+        telemetry.update(logger);
+        Assertions.assertTrue(telemetry.getLoopAllocatedBytes() >= RuntimeTelemetryTests.allocated.length);
+        Assertions.assertEquals(1L, telemetry.getAlarmCount());
+    }
+
+    @Test
+    public void testDisabled()
+    {
+        RuntimeTelemetry telemetry = new RuntimeTelemetry(false, 0L, 50);
+        Assertions.assertFalse(telemetry.isMeasuringAllocations());
+        telemetry.update(new NullLogger());
+        Assertions.assertEquals(-1L, telemetry.getLoopAllocatedBytes());
+        Assertions.assertEquals(0L, telemetry.getAlarmCount());
+    }
+}
@@ -0,0 +1,104 @@
+package frc.lib.common;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.helpers.TimingHistogram;
+import frc.lib.mechanisms.IMechanism;
+import frc.lib.mechanisms.LoopPhase;
+import frc.lib.mechanisms.LoopProfiler;
+import frc.lib.mechanisms.MechanismManager;
+import frc.lib.robotprovider.RobotMode;
+
+public class TimingHistogramTests
+{
+    @Test
+    public void testEmpty()
+    {
+        TimingHistogram histogram = new TimingHistogram(1000L, 10);
+        Assertions.assertEquals(0L, histogram.getCount());
+        Assertions.assertEquals(0L, histogram.getMax());
+        Assertions.assertEquals(0L, histogram.getPercentile(99.0));
+        Assertions.assertEquals(0.0, histogram.getMean());
+    }
+
+    @Test
+    public void testPercentiles()
+    {
+        TimingHistogram histogram = new TimingHistogram(1000L, 10);
+        for (int i = 1; i <= 100; i++)
+        {
+            histogram.record(i * 50L);
+        }
+
+        Assertions.assertEquals(100L, histogram.getCount());
+        Assertions.assertEquals(5000L, histogram.getMax());
+        Assertions.assertEquals(2525.0, histogram.getMean(), 0.001);
+
+        // percentiles are reported at the end of their bucket
+        Assertions.assertEquals(1000L, histogram.getPercentile(1.0));
+        Assertions.assertEquals(3000L, histogram.getPercentile(50.0));
+        Assertions.assertEquals(5000L, histogram.getPercentile(99.0));
+        Assertions.assertEquals(5000L, histogram.getPercentile(100.0));
+
+        histogram.reset();
+        Assertions.assertEquals(0L, histogram.getCount());
+        Assertions.assertEquals(0L, histogram.getPercentile(50.0));
+    }
+
+    @Test
+    public void testOverflow()
+    {
+        TimingHistogram histogram = new TimingHistogram(1000L, 10);
+        histogram.record(-5L);
+        histogram.record(500L);
+        histogram.record(123456L);
+
+        Assertions.assertEquals(3L, histogram.getCount());
+        Assertions.assertEquals(123456L, histogram.getMax());
+        Assertions.assertEquals(1000L, histogram.getPercentile(50.0));
+        Assertions.assertEquals(123456L, histogram.getPercentile(99.0));
+    }
+
+    @Test
+    public void testMechanismTimings()
+    {
+        ArrayList<IMechanism> mechanisms = new ArrayList<IMechanism>();
+        mechanisms.add(new EmptyMechanism());
+
+        LoopProfiler profiler = new LoopProfiler(true);
+        MechanismManager manager = new MechanismManager(mechanisms, profiler);
+        manager.readSensors();
+        manager.update(RobotMode.Teleop);
+        profiler.recordPhase(LoopPhase.Loop, 3000000L);
+
+        String summary = profiler.getSummary();
+        Assertions.assertTrue(summary.contains("Loop,1,3.0,3.0,3.0\n"), summary);
+        Assertions.assertTrue(summary.contains("EmptyMechanism.readSensors,1,"), summary);
+        Assertions.assertTrue(summary.contains("EmptyMechanism.update,1,"), summary);
+        Assertions.assertTrue(profiler.getMechanismSummary().startsWith("EmptyMechanism "));
+
+        profiler.reset();
+        Assertions.assertTrue(profiler.getSummary().contains("Loop,0,0.0,0.0,0.0\n"));
+    }
+
+    private static class EmptyMechanism implements IMechanism
+    {
+        @Override
+        public void readSensors()
+        {
+        }
+
+        @Override
+        public void update(RobotMode mode)
+        {
+        }
+
+        @Override
+        public void stop()
+        {
+        }
+    }
+}
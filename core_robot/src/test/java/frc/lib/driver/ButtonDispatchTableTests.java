@@ -0,0 +1,172 @@
+package frc.lib.driver;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.driver.buttons.ClickButton;
+import frc.lib.driver.buttons.SimpleButton;
+import frc.lib.driver.buttons.ToggleButton;
+import frc.lib.driver.descriptions.UserInputDevice;
+import frc.lib.helpers.OrdinalBitSet;
+import frc.lib.robotprovider.IJoystick;
+import frc.lib.robotprovider.JoystickRumbleType;
+
+public class ButtonDispatchTableTests
+{
+    private static final int A = 0;
+    private static final int B = 1;
+    private static final int POV = 2;
+    private static final int SHIFTED = 3;
+    private static final int RANGE = 4;
+    private static final int CODRIVER = 5;
+
+    @Test
+    public void testChangedInput()
+    {
+        TestJoystick driver = new TestJoystick();
+        TestJoystick codriver = new TestJoystick();
+        IJoystick[] joysticks = new IJoystick[UserInputDevice.MaxCount.getId()];
+        joysticks[UserInputDevice.Driver.getId()] = driver;
+        joysticks[UserInputDevice.Codriver.getId()] = codriver;
+
+        InputFrame frame = new InputFrame();
+        frame.usePov(UserInputDevice.Driver);
+        frame.useAxis(UserInputDevice.Driver, AnalogAxis.XBONE_RT);
+
+        ButtonDispatchTable table = new ButtonDispatchTable(6, 1, 2);
+        table.addDigitalOperation(ButtonDispatchTableTests.A, UserInputDevice.Driver, UserInputDeviceButton.XBONE_A_BUTTON, false);
+        table.addDigitalOperation(ButtonDispatchTableTests.B, UserInputDevice.Driver, UserInputDeviceButton.XBONE_B_BUTTON, false);
+        table.addDigitalOperation(ButtonDispatchTableTests.POV, UserInputDevice.Driver, UserInputDeviceButton.POV, false);
+        table.addDigitalOperation(ButtonDispatchTableTests.SHIFTED, UserInputDevice.Driver, UserInputDeviceButton.XBONE_X_BUTTON, true);
+        table.addDigitalOperation(ButtonDispatchTableTests.RANGE, UserInputDevice.Driver, UserInputDeviceButton.ANALOG_AXIS_RANGE, false);
+        table.addDigitalOperation(ButtonDispatchTableTests.CODRIVER, UserInputDevice.Codriver, UserInputDeviceButton.XBONE_A_BUTTON, false);
+        table.addMacroOperation(0, UserInputDevice.Driver, UserInputDeviceButton.XBONE_A_BUTTON, false);
+
+        OrdinalBitSet shifts = new OrdinalBitSet(2);
+        OrdinalBitSet digital = new OrdinalBitSet(6);
+        OrdinalBitSet macros = new OrdinalBitSet(1);
+
+        // everything is checked in the first update
+        frame.update(joysticks);
+        table.update(frame, shifts, digital, macros);
+        Assertions.assertEquals(6, digital.count());
+        Assertions.assertEquals(1, macros.count());
+
+        // with no changes, only the axis range is checked
+        frame.update(joysticks);
+        table.update(frame, shifts, digital, macros);
+        Assertions.assertEquals(1, digital.count());
+        Assertions.assertTrue(digital.get(ButtonDispatchTableTests.RANGE));
+        Assertions.assertTrue(macros.isEmpty());
+
+        // pressing A checks the operations bound to A on the driver's joystick (but not on the codriver's)
+        driver.buttons = (1 << (UserInputDeviceButton.XBONE_A_BUTTON.Value - 1));
+        frame.update(joysticks);
+        table.update(frame, shifts, digital, macros);
+        Assertions.assertEquals(2, digital.count());
+        Assertions.assertTrue(digital.get(ButtonDispatchTableTests.A));
+        Assertions.assertTrue(macros.get(0));
+
+        // holding A doesn't
+        frame.update(joysticks);
+        table.update(frame, shifts, digital, macros);
+        Assertions.assertFalse(digital.get(ButtonDispatchTableTests.A));
+        Assertions.assertTrue(macros.isEmpty());
+
+        // changing the POV or the shifts checks the operations bound to them
+        driver.pov = 90;
+        shifts.set(1);
+        frame.update(joysticks);
+        table.update(frame, shifts, digital, macros);
+        Assertions.assertEquals(3, digital.count());
+        Assertions.assertTrue(digital.get(ButtonDispatchTableTests.POV));
+        Assertions.assertTrue(digital.get(ButtonDispatchTableTests.SHIFTED));
+
+        // disconnecting the codriver's joystick checks everything bound to it
+        codriver.connected = false;
+        frame.update(joysticks);
+        table.update(frame, shifts, digital, macros);
+        Assertions.assertEquals(2, digital.count());
+        Assertions.assertTrue(digital.get(ButtonDispatchTableTests.CODRIVER));
+
+        // after invalidating, everything is checked again
+        table.invalidate();
+        frame.update(joysticks);
+        table.update(frame, shifts, digital, macros);
+        Assertions.assertEquals(6, digital.count());
+        Assertions.assertEquals(1, macros.count());
+    }
+
+    @Test
+    public void testButtonsNeedUpdate()
+    {
+        SimpleButton simple = new SimpleButton();
+        simple.updateState(true);
+        Assertions.assertFalse(simple.needsUpdate());
+
+        // a click deactivates on the next update, even when the button is still pressed
+        ClickButton click = new ClickButton();
+        click.updateState(true);
+        Assertions.assertTrue(click.isActivated());
+        Assertions.assertTrue(click.needsUpdate());
+        click.updateState(true);
+        Assertions.assertFalse(click.isActivated());
+        Assertions.assertFalse(click.needsUpdate());
+
+        // a cleared button can change when updated with the same button state
+        click.clearState();
+        Assertions.assertTrue(click.needsUpdate());
+
+        ToggleButton toggle = new ToggleButton();
+        toggle.updateState(true);
+        Assertions.assertTrue(toggle.isActivated());
+        Assertions.assertFalse(toggle.needsUpdate());
+        toggle.clearState();
+        Assertions.assertTrue(toggle.needsUpdate());
+        toggle.updateState(true);
+        Assertions.assertTrue(toggle.isActivated());
+        Assertions.assertFalse(toggle.needsUpdate());
+    }
+
+    private static class TestJoystick implements IJoystick
+    {
+        boolean connected = true;
+        int buttons;
+        int pov = -1;
+
+        @Override
+        public boolean isConnected()
+        {
+            return this.connected;
+        }
+
+        @Override
+        public double getAxis(int relevantAxis)
+        {
+            return 0.0;
+        }
+
+        @Override
+        public int getPOV()
+        {
+            return this.pov;
+        }
+
+        @Override
+        public boolean getRawButton(int value)
+        {
+            return (this.buttons & (1 << (value - 1))) != 0;
+        }
+
+        @Override
+        public int getButtons()
+        {
+            return this.buttons;
+        }
+
+        @Override
+        public void setRumble(JoystickRumbleType type, double value)
+        {
+        }
+    }
+}
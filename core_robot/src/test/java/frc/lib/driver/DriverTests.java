@@ -2,35 +2,348 @@ package frc.lib.driver;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
-import static org.mockito.Mockito.verify;
 
+import java.lang.management.ManagementFactory;
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 
 import com.google.inject.Injector;
 
 import frc.lib.driver.buttons.ButtonType;
 import frc.lib.driver.descriptions.*;
+import frc.lib.driver.states.AnalogOperationState;
+import frc.lib.driver.states.DigitalOperationState;
 import frc.lib.mechanisms.LoggingManager;
 import frc.lib.robotprovider.IJoystick;
-import frc.lib.robotprovider.ILogger;
 import frc.lib.robotprovider.IRobotProvider;
+import frc.lib.robotprovider.JoystickRumbleType;
+import frc.lib.robotprovider.NullLogger;
+import frc.lib.robotprovider.RobotMode;
 import frc.robot.LoggingKey;
 import frc.robot.driver.*;
 import frc.robot.driver.controltasks.ControlTaskBase;
 
 public class DriverTests
 {
-    // @Test
-    public void testDriver1()
+    @Test
+    public void testMacroConflicts()
+    {
+        TestControlTask firstTask = new TestControlTask();
+        TestControlTask secondTask = new TestControlTask();
+        TestJoystick joystick = new TestJoystick();
+        TestLogger logger = new TestLogger();
+        Driver driver = DriverTests.createDriver(logger, joystick, DriverTests.createMacroButtonMap(firstTask, secondTask));
+
+        driver.update();
+        Assertions.assertEquals("", logger.activeMacros);
+
+        // test 2 digital operations at the same time (starts no macros)
+        joystick.setButton(UserInputDeviceButton.XBONE_A_BUTTON, true);
+        joystick.setButton(UserInputDeviceButton.XBONE_Y_BUTTON, true);
+        driver.update();
+        Assertions.assertEquals("", logger.activeMacros);
+        Assertions.assertTrue(driver.getDigital(DigitalOperation.DriveTrainSlowMode));
+        Assertions.assertTrue(driver.getDigital(DigitalOperation.DriveTrainReset));
+
+        // test 2 conflicting macros at the same time (starts nothing)
+        joystick.setButton(UserInputDeviceButton.XBONE_A_BUTTON, false);
+        joystick.setButton(UserInputDeviceButton.XBONE_Y_BUTTON, false);
+        joystick.setButton(UserInputDeviceButton.XBONE_X_BUTTON, true);
+        joystick.setButton(UserInputDeviceButton.XBONE_B_BUTTON, true);
+        driver.update();
+        Assertions.assertEquals("", logger.activeMacros);
+        Assertions.assertFalse(driver.getDigital(DigitalOperation.DriveTrainSlowMode));
+        Assertions.assertFalse(driver.getDigital(DigitalOperation.DriveTrainReset));
+
+        // test starting macros
+        joystick.setButton(UserInputDeviceButton.XBONE_X_BUTTON, false);
+        joystick.setButton(UserInputDeviceButton.XBONE_B_BUTTON, false);
+        driver.update();
+        joystick.setButton(UserInputDeviceButton.XBONE_B_BUTTON, true);
+        driver.update();
+        Assertions.assertEquals(MacroOperation.FollowPathTest1.toString(), logger.activeMacros);
+        Assertions.assertEquals(1.0, driver.getAnalog(AnalogOperation.DriveTrainMoveForward), 0.0001);
+
+        // test starting other macro cancels original macro
+        joystick.setButton(UserInputDeviceButton.XBONE_X_BUTTON, true);
+        joystick.setButton(UserInputDeviceButton.XBONE_B_BUTTON, false);
+        driver.update();
+        Assertions.assertEquals(MacroOperation.FollowPathTest2.toString(), logger.activeMacros);
+        Assertions.assertEquals(1, firstTask.endCount);
+
+        // test macro continues running
+        joystick.setButton(UserInputDeviceButton.XBONE_X_BUTTON, false);
+        driver.update();
+        Assertions.assertEquals(MacroOperation.FollowPathTest2.toString(), logger.activeMacros);
+        driver.update();
+        Assertions.assertEquals(MacroOperation.FollowPathTest2.toString(), logger.activeMacros);
+        Assertions.assertEquals(1.0, driver.getAnalog(AnalogOperation.DriveTrainMoveForward), 0.0001);
+
+        // test cancelling macro with digital operation
+        joystick.setButton(UserInputDeviceButton.XBONE_A_BUTTON, true);
+        driver.update();
+        Assertions.assertEquals("", logger.activeMacros);
+        Assertions.assertEquals(1, secondTask.endCount);
+        Assertions.assertTrue(driver.getDigital(DigitalOperation.DriveTrainSlowMode));
+
+        // test trying to start a macro while its analog operation is being controlled (starts nothing)
+        joystick.setButton(UserInputDeviceButton.XBONE_A_BUTTON, false);
+        joystick.setButton(UserInputDeviceButton.XBONE_X_BUTTON, true);
+        joystick.setAxis(AnalogAxis.XBONE_LSY, 0.5);
+        driver.update();
+        Assertions.assertEquals("", logger.activeMacros);
+        Assertions.assertEquals(-0.5, driver.getAnalog(AnalogOperation.DriveTrainMoveForward), 0.1);
+
+        // clear analog operation state...
+        joystick.setAxis(AnalogAxis.XBONE_LSY, 0.0);
+        joystick.setButton(UserInputDeviceButton.XBONE_X_BUTTON, false);
+        driver.update();
+        Assertions.assertEquals("", logger.activeMacros);
+
+        // test starting macro
+        joystick.setButton(UserInputDeviceButton.XBONE_B_BUTTON, true);
+        driver.update();
+        Assertions.assertEquals(MacroOperation.FollowPathTest1.toString(), logger.activeMacros);
+
+        // test macro continues running
+        joystick.setButton(UserInputDeviceButton.XBONE_B_BUTTON, false);
+        driver.update();
+        Assertions.assertEquals(MacroOperation.FollowPathTest1.toString(), logger.activeMacros);
+
+        // after completing the macro, it should appear one last time in the list of active macros...
+        firstTask.hasCompleted = true;
+        driver.update();
+        Assertions.assertEquals(MacroOperation.FollowPathTest1.toString(), logger.activeMacros);
+
+        // now it should stop showing up...
+        driver.update();
+        Assertions.assertEquals("", logger.activeMacros);
+        Assertions.assertEquals(0.0, driver.getAnalog(AnalogOperation.DriveTrainMoveForward), 0.0001);
+    }
+
+    @Test
+    public void testShiftedButtons()
+    {
+        IButtonMap buttonMap = mock(IButtonMap.class);
+        when(buttonMap.getAnalogOperationSchema()).thenReturn(new AnalogOperationDescription[0]);
+        when(buttonMap.getDigitalOperationSchema()).thenReturn(
+            new DigitalOperationDescription[]
+            {
+                new DigitalOperationDescription(
+                    DigitalOperation.DriveTrainSlowMode,
+                    UserInputDevice.Driver,
+                    UserInputDeviceButton.XBONE_A_BUTTON,
+                    EnumSet.of(Shift.DriverDebug),
+                    EnumSet.of(Shift.DriverDebug),
+                    ButtonType.Simple),
+                new DigitalOperationDescription(
+                    DigitalOperation.DriveTrainReset,
+                    UserInputDevice.Driver,
+                    UserInputDeviceButton.XBONE_A_BUTTON,
+                    EnumSet.of(Shift.DriverDebug),
+                    EnumSet.noneOf(Shift.class),
+                    ButtonType.Simple),
+            });
+
+        when(buttonMap.getMacroOperationSchema()).thenReturn(new MacroOperationDescription[0]);
+        when(buttonMap.getShiftSchema()).thenReturn(
+            new ShiftDescription[]
+            {
+                new ShiftDescription(
+                    Shift.DriverDebug,
+                    UserInputDevice.Driver,
+                    UserInputDeviceButton.XBONE_LEFT_BUTTON),
+            });
+
+        TestJoystick joystick = new TestJoystick();
+        TestLogger logger = new TestLogger();
+        Driver driver = DriverTests.createDriver(logger, joystick, buttonMap);
+
+        driver.update();
+        Assertions.assertEquals("[]", logger.activeShifts);
+        Assertions.assertFalse(driver.getDigital(DigitalOperation.DriveTrainSlowMode));
+        Assertions.assertFalse(driver.getDigital(DigitalOperation.DriveTrainReset));
+
+        // without the shift, only the unshifted operation is pressed
+        joystick.setButton(UserInputDeviceButton.XBONE_A_BUTTON, true);
+        driver.update();
+        Assertions.assertFalse(driver.getDigital(DigitalOperation.DriveTrainSlowMode));
+        Assertions.assertTrue(driver.getDigital(DigitalOperation.DriveTrainReset));
+
+        // pressing the shift while the button is held switches to the shifted operation, even though the button didn't change
+        joystick.setButton(UserInputDeviceButton.XBONE_LEFT_BUTTON, true);
+        driver.update();
+        Assertions.assertEquals("[" + Shift.DriverDebug.toString() + "]", logger.activeShifts);
+        Assertions.assertTrue(driver.getDigital(DigitalOperation.DriveTrainSlowMode));
+        Assertions.assertFalse(driver.getDigital(DigitalOperation.DriveTrainReset));
+
+        driver.update();
+        Assertions.assertTrue(driver.getDigital(DigitalOperation.DriveTrainSlowMode));
+        Assertions.assertFalse(driver.getDigital(DigitalOperation.DriveTrainReset));
+
+        // releasing the button while shifted releases the shifted operation
+        joystick.setButton(UserInputDeviceButton.XBONE_A_BUTTON, false);
+        driver.update();
+        Assertions.assertFalse(driver.getDigital(DigitalOperation.DriveTrainSlowMode));
+        Assertions.assertFalse(driver.getDigital(DigitalOperation.DriveTrainReset));
+
+        // releasing the shift while the button is held switches back to the unshifted operation
+        joystick.setButton(UserInputDeviceButton.XBONE_A_BUTTON, true);
+        driver.update();
+        Assertions.assertTrue(driver.getDigital(DigitalOperation.DriveTrainSlowMode));
+        joystick.setButton(UserInputDeviceButton.XBONE_LEFT_BUTTON, false);
+        driver.update();
+        Assertions.assertEquals("[]", logger.activeShifts);
+        Assertions.assertFalse(driver.getDigital(DigitalOperation.DriveTrainSlowMode));
+        Assertions.assertTrue(driver.getDigital(DigitalOperation.DriveTrainReset));
+    }
+
+    @Test
+    public void testHeldButtonCancelsMacros()
+    {
+        TestControlTask firstTask = new TestControlTask();
+        TestControlTask secondTask = new TestControlTask();
+        TestJoystick joystick = new TestJoystick();
+        TestLogger logger = new TestLogger();
+        Driver driver = DriverTests.createDriver(logger, joystick, DriverTests.createMacroButtonMap(firstTask, secondTask));
+
+        // hold the button for a digital operation, so that its input isn't checked again in later updates
+        joystick.setButton(UserInputDeviceButton.XBONE_A_BUTTON, true);
+        driver.update();
+        driver.update();
+        driver.update();
+        Assertions.assertTrue(driver.getDigital(DigitalOperation.DriveTrainSlowMode));
+
+        // the operation is still modified by user input, so a macro that affects it is cancelled as soon as it starts
+        joystick.setButton(UserInputDeviceButton.XBONE_B_BUTTON, true);
+        driver.update();
+        Assertions.assertEquals("", logger.activeMacros);
+        joystick.setButton(UserInputDeviceButton.XBONE_B_BUTTON, false);
+        driver.update();
+        Assertions.assertEquals("", logger.activeMacros);
+        Assertions.assertTrue(driver.getDigital(DigitalOperation.DriveTrainSlowMode));
+
+        // once the button is released, the macro can start
+        joystick.setButton(UserInputDeviceButton.XBONE_A_BUTTON, false);
+        driver.update();
+        joystick.setButton(UserInputDeviceButton.XBONE_B_BUTTON, true);
+        driver.update();
+        Assertions.assertEquals(MacroOperation.FollowPathTest1.toString(), logger.activeMacros);
+        Assertions.assertFalse(driver.getDigital(DigitalOperation.DriveTrainSlowMode));
+
+        joystick.setButton(UserInputDeviceButton.XBONE_B_BUTTON, false);
+        driver.update();
+        driver.update();
+        Assertions.assertEquals(MacroOperation.FollowPathTest1.toString(), logger.activeMacros);
+
+        // pressing and holding the button again cancels the macro
+        joystick.setButton(UserInputDeviceButton.XBONE_A_BUTTON, true);
+        driver.update();
+        Assertions.assertEquals("", logger.activeMacros);
+        Assertions.assertEquals(1, firstTask.endCount);
+        driver.update();
+        Assertions.assertEquals("", logger.activeMacros);
+        Assertions.assertTrue(driver.getDigital(DigitalOperation.DriveTrainSlowMode));
+    }
+
+    @Test
+    public void testPrepareRoutine()
+    {
+        TestLogger logger = new TestLogger();
+        TestJoystick joystick = new TestJoystick();
+        TestControlTask routine = new TestControlTask();
+        AutonomousRoutineSelector routineSelector = mock(AutonomousRoutineSelector.class);
+        Driver driver = DriverTests.createDriver(logger, joystick, DriverTests.createMacroButtonMap(new TestControlTask(), new TestControlTask()), routineSelector);
+
+        // the routine is only initialized once while it stays selected
+        when(routineSelector.prepareRoutine()).thenReturn(routine);
+        driver.prepare();
+        driver.prepare();
+        Assertions.assertEquals(1, routine.initializeCount);
+
+        // the selections no longer build a routine
+        when(routineSelector.prepareRoutine()).thenReturn(null);
+        driver.prepare();
+
+        // selected again, and then swapped in when autonomous starts
+        when(routineSelector.prepareRoutine()).thenReturn(routine);
+        when(routineSelector.selectRoutine(RobotMode.Autonomous)).thenReturn(routine);
+        driver.prepare();
+        Assertions.assertEquals(2, routine.initializeCount);
+
+        driver.startMode(RobotMode.Autonomous);
+        Assertions.assertEquals(2, routine.initializeCount);
+
+        driver.update();
+        Assertions.assertEquals(1.0, driver.getAnalog(AnalogOperation.DriveTrainMoveForward), 0.0001);
+    }
+
+    @Test
+    public void testSteadyStateAllocation()
     {
-        ILogger logger = mock(ILogger.class);
-        LoggingManager loggingManager = new LoggingManager(logger);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        Assertions.assertTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        TestControlTask firstTask = new TestControlTask();
+        TestControlTask secondTask = new TestControlTask();
+        TestJoystick joystick = new TestJoystick();
+        TestLogger logger = new TestLogger();
+        Driver driver = DriverTests.createDriver(logger, joystick, DriverTests.createMacroButtonMap(firstTask, secondTask));
 
+        // start a macro and hold the shift, then move a stick that the macro doesn't use
+        joystick.setButton(UserInputDeviceButton.XBONE_LEFT_BUTTON, true);
+        joystick.setButton(UserInputDeviceButton.XBONE_X_BUTTON, true);
+        driver.update();
+        joystick.setButton(UserInputDeviceButton.XBONE_X_BUTTON, false);
+        driver.update();
+        Assertions.assertEquals(MacroOperation.FollowPathTest2.toString(), logger.activeMacros);
+
+        // warm up, so that the JIT has compiled the update path
+        DriverTests.update(driver, joystick, 20000);
+
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        DriverTests.update(driver, joystick, 10000);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        Assertions.assertEquals(MacroOperation.FollowPathTest2.toString(), logger.activeMacros);
+        Assertions.assertEquals("[" + Shift.DriverDebug.toString() + "]", logger.activeShifts);
+
+        // allow for a little noise from the measurement itself, but not one allocation per update
+        Assertions.assertTrue(allocated < 1024, "expected no steady-state allocation, saw " + allocated + " bytes");
+    }
+
+    private static void update(Driver driver, TestJoystick joystick, int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            joystick.setAxis(AnalogAxis.XBONE_LSX, (i % 20) * 0.05);
+            driver.update();
+        }
+    }
+
+    private static Driver createDriver(TestLogger logger, TestJoystick joystick, IButtonMap buttonMap)
+    {
+        return DriverTests.createDriver(logger, joystick, buttonMap, null);
+    }
+
+    private static Driver createDriver(TestLogger logger, TestJoystick joystick, IButtonMap buttonMap, AutonomousRoutineSelector routineSelector)
+    {
         Injector injector = mock(Injector.class);
-        when(injector.getInstance(AutonomousRoutineSelector.class)).thenReturn(null);
+        when(injector.getInstance(AutonomousRoutineSelector.class)).thenReturn(routineSelector);
         when(injector.getInstance(TrajectoryManager.class)).thenReturn(null);
 
+        IRobotProvider robotProvider = mock(IRobotProvider.class);
+        when(robotProvider.getJoystick(UserInputDevice.Driver.getId())).thenReturn(joystick);
+
+        return new Driver(new LoggingManager(logger), injector, buttonMap, robotProvider);
+    }
+
+    private static IButtonMap createMacroButtonMap(TestControlTask firstTask, TestControlTask secondTask)
+    {
         IButtonMap buttonMap = mock(IButtonMap.class);
         when(buttonMap.getAnalogOperationSchema()).thenReturn(
             new AnalogOperationDescription[]
@@ -62,11 +375,8 @@ public class DriverTests
                     UserInputDevice.Driver,
                     UserInputDeviceButton.XBONE_Y_BUTTON,
                     ButtonType.Click),
-            }
-        );
+            });
 
-        TestControlTask firstTask = new TestControlTask();
-        TestControlTask secondTask = new TestControlTask();
         when(buttonMap.getMacroOperationSchema()).thenReturn(
             new MacroOperationDescription[]
             {
@@ -79,7 +389,6 @@ public class DriverTests
                     new IOperation[]
                     {
                         AnalogOperation.DriveTrainMoveForward,
-                        AnalogOperation.DriveTrainMoveRight,
                         DigitalOperation.DriveTrainSlowMode,
                         DigitalOperation.DriveTrainReset,
                     }),
@@ -92,12 +401,10 @@ public class DriverTests
                     new IOperation[]
                     {
                         AnalogOperation.DriveTrainMoveForward,
-                        AnalogOperation.DriveTrainMoveRight,
                         DigitalOperation.DriveTrainSlowMode,
                         DigitalOperation.DriveTrainReset,
                     }),
-            }
-        );
+            });
 
         when(buttonMap.getShiftSchema()).thenReturn(
             new ShiftDescription[]
@@ -108,103 +415,107 @@ public class DriverTests
                     UserInputDeviceButton.XBONE_LEFT_BUTTON),
             });
 
-        IRobotProvider robotProvider = mock(IRobotProvider.class);
-        IJoystick driverJoystick = mock(IJoystick.class);
-        when(driverJoystick.isConnected()).thenReturn(true);
-
-        when(robotProvider.getJoystick(0)).thenReturn(driverJoystick);
-
-        when(driverJoystick.getPOV()).thenReturn(-1);
-        when(driverJoystick.getAxis(AnalogAxis.XBONE_LSY.Value)).thenReturn(0.0);
-        when(driverJoystick.getAxis(AnalogAxis.XBONE_LSX.Value)).thenReturn(0.0);
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_A_BUTTON.Value)).thenReturn(false);
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_Y_BUTTON.Value)).thenReturn(false);
-
-        Driver driver = new Driver(loggingManager, injector, buttonMap, robotProvider);
-        driver.update();
-        verify(logger).logString(LoggingKey.DriverActiveMacros, "");
-
-        // test 2 analog operations at the same time (starts no macros)
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_A_BUTTON.Value)).thenReturn(true);
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_Y_BUTTON.Value)).thenReturn(true);
-        driver.update();
-        verify(logger, Mockito.times(2)).logString(LoggingKey.DriverActiveMacros, "");
-
-        // test 2 conflicting macros at the same time (starts nothing)
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_A_BUTTON.Value)).thenReturn(false);
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_Y_BUTTON.Value)).thenReturn(false);
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_X_BUTTON.Value)).thenReturn(true);
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_B_BUTTON.Value)).thenReturn(true);
-        driver.update();
-        verify(logger, Mockito.times(3)).logString(LoggingKey.DriverActiveMacros, "");
+        return buttonMap;
+    }
 
-        // test starting macros
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_X_BUTTON.Value)).thenReturn(false);
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_B_BUTTON.Value)).thenReturn(true);
-        driver.update();
-        verify(logger, Mockito.times(1)).logString(LoggingKey.DriverActiveMacros, MacroOperation.FollowPathTest1.toString());
+    private static class TestLogger extends NullLogger
+    {
+        String activeMacros;
+        String activeShifts;
 
-        // test starting other macro cancels original macro
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_X_BUTTON.Value)).thenReturn(true);
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_B_BUTTON.Value)).thenReturn(false);
-        driver.update();
-        verify(logger, Mockito.times(1)).logString(LoggingKey.DriverActiveMacros, MacroOperation.FollowPathTest2.toString());
+        @Override
+        public void logString(LoggingKey key, String value)
+        {
+            if (key == LoggingKey.DriverActiveMacros)
+            {
+                this.activeMacros = value;
+            }
+            else if (key == LoggingKey.DriverActiveShifts)
+            {
+                this.activeShifts = value;
+            }
+        }
+    }
 
-        // test macro continues running
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_X_BUTTON.Value)).thenReturn(false);
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_B_BUTTON.Value)).thenReturn(false);
-        driver.update();
-        verify(logger, Mockito.times(2)).logString(LoggingKey.DriverActiveMacros, MacroOperation.FollowPathTest2.toString());
+    private static class TestJoystick implements IJoystick
+    {
+        private final double[] axes = new double[AnalogAxis.values().length];
+        private int buttons;
 
-        // test macro continues running
-        driver.update();
-        verify(logger, Mockito.times(3)).logString(LoggingKey.DriverActiveMacros, MacroOperation.FollowPathTest2.toString());
+        void setButton(UserInputDeviceButton button, boolean pressed)
+        {
+            if (pressed)
+            {
+                this.buttons |= 1 << (button.Value - 1);
+            }
+            else
+            {
+                this.buttons &= ~(1 << (button.Value - 1));
+            }
+        }
 
-        // test cancelling macro with digital operation
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_A_BUTTON.Value)).thenReturn(true);
-        driver.update();
-        verify(logger, Mockito.times(4)).logString(LoggingKey.DriverActiveMacros, "");
+        void setAxis(AnalogAxis axis, double value)
+        {
+            this.axes[axis.Value] = value;
+        }
 
-        // test trying to start a macro while its analog operation is being controlled (starts nothing)
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_A_BUTTON.Value)).thenReturn(false);
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_X_BUTTON.Value)).thenReturn(true);
-        when(driverJoystick.getAxis(AnalogAxis.XBONE_LSX.Value)).thenReturn(0.5);
-        driver.update();
-        verify(logger, Mockito.times(5)).logString(LoggingKey.DriverActiveMacros, "");
+        @Override
+        public boolean isConnected()
+        {
+            return true;
+        }
 
-        // clear analog operation state...
-        when(driverJoystick.getAxis(AnalogAxis.XBONE_LSX.Value)).thenReturn(0.0);
-        driver.update();
-        verify(logger, Mockito.times(6)).logString(LoggingKey.DriverActiveMacros, "");
+        @Override
+        public double getAxis(int relevantAxis)
+        {
+            return this.axes[relevantAxis];
+        }
 
-        // test starting macro
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_X_BUTTON.Value)).thenReturn(false);
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_B_BUTTON.Value)).thenReturn(true);
-        driver.update();
-        verify(logger, Mockito.times(2)).logString(LoggingKey.DriverActiveMacros, MacroOperation.FollowPathTest1.toString());
+        @Override
+        public int getPOV()
+        {
+            return -1;
+        }
 
-        // test macro continues running
-        when(driverJoystick.getRawButton(UserInputDeviceButton.XBONE_B_BUTTON.Value)).thenReturn(false);
-        driver.update();
-        verify(logger, Mockito.times(3)).logString(LoggingKey.DriverActiveMacros, MacroOperation.FollowPathTest1.toString());
+        @Override
+        public boolean getRawButton(int value)
+        {
+            return (this.buttons & (1 << (value - 1))) != 0;
+        }
 
-        // after cancelling the macro, it should appear one last time in the list of active macros...
-        firstTask.hasCompleted = true;
-        driver.update();
-        verify(logger, Mockito.times(4)).logString(LoggingKey.DriverActiveMacros, MacroOperation.FollowPathTest1.toString());
+        @Override
+        public int getButtons()
+        {
+            return this.buttons;
+        }
 
-        // now it should stop showing up...
-        driver.update();
-        verify(logger, Mockito.times(7)).logString(LoggingKey.DriverActiveMacros, "");
+        @Override
+        public void setRumble(JoystickRumbleType type, double value)
+        {
+        }
     }
 
     private static class TestControlTask extends ControlTaskBase
     {
         public boolean hasCompleted;
+        public int initializeCount;
+        public int endCount;
 
         public TestControlTask()
         {
             this.hasCompleted = false;
+            this.initializeCount = 0;
+            this.endCount = 0;
+        }
+
+        @Override
+        public void initialize(
+            AnalogOperationState[] analogOperationStates,
+            DigitalOperationState[] digitalOperationStates,
+            Injector injector)
+        {
+            super.initialize(analogOperationStates, digitalOperationStates, injector);
+            this.initializeCount++;
         }
 
         @Override
@@ -223,6 +534,7 @@ public class DriverTests
         public void end()
         {
             this.setAnalogOperationState(AnalogOperation.DriveTrainMoveForward, 0.0);
+            this.endCount++;
         }
 
         @Override
@@ -231,4 +543,4 @@ public class DriverTests
             return this.hasCompleted;
         }
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package frc.lib.driver;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.driver.descriptions.UserInputDevice;
+import frc.lib.robotprovider.IJoystick;
+import frc.lib.robotprovider.JoystickRumbleType;
+
+public class InputFrameTests
+{
+    @Test
+    public void testReadsEachJoystickOnce()
+    {
+        TestJoystick joystick = new TestJoystick();
+        joystick.buttons = (1 << (UserInputDeviceButton.XBONE_A_BUTTON.Value - 1));
+        joystick.pov = 90;
+        joystick.axisValue = 0.5;
+
+        IJoystick[] joysticks = new IJoystick[UserInputDevice.MaxCount.getId()];
+        joysticks[UserInputDevice.Driver.getId()] = joystick;
+
+        InputFrame frame = new InputFrame();
+        frame.useAxis(UserInputDevice.Driver, AnalogAxis.XBONE_LSY);
+        frame.useAxis(UserInputDevice.Driver, AnalogAxis.XBONE_RT);
+        frame.usePov(UserInputDevice.Driver);
+        frame.update(joysticks);
+
+        // each joystick is asked for its buttons and POV once, and only for the axes that are used
+        Assertions.assertEquals(1, joystick.buttonsCalls);
+        Assertions.assertEquals(1, joystick.povCalls);
+        Assertions.assertEquals(2, joystick.axisCalls);
+
+        Assertions.assertTrue(frame.isConnected(UserInputDevice.Driver));
+        Assertions.assertFalse(frame.isConnected(UserInputDevice.Codriver));
+        Assertions.assertFalse(frame.isConnected(UserInputDevice.None));
+        Assertions.assertTrue(frame.getButton(UserInputDevice.Driver, UserInputDeviceButton.XBONE_A_BUTTON.Value));
+        Assertions.assertFalse(frame.getButton(UserInputDevice.Driver, UserInputDeviceButton.XBONE_B_BUTTON.Value));
+        Assertions.assertEquals(0.5, frame.getAxis(UserInputDevice.Driver, AnalogAxis.XBONE_LSY.Value));
+        Assertions.assertEquals(0.0, frame.getAxis(UserInputDevice.Driver, AnalogAxis.XBONE_LSX.Value));
+        Assertions.assertEquals(90, frame.getPOV(UserInputDevice.Driver));
+
+        Assertions.assertTrue(frame.isPressed(UserInputDevice.Driver, UserInputDeviceButton.XBONE_A_BUTTON, -1, AnalogAxis.NONE, 0.0, 0.0));
+        Assertions.assertTrue(frame.isPressed(UserInputDevice.Driver, UserInputDeviceButton.POV, 90, AnalogAxis.NONE, 0.0, 0.0));
+        Assertions.assertFalse(frame.isPressed(UserInputDevice.Driver, UserInputDeviceButton.POV, 180, AnalogAxis.NONE, 0.0, 0.0));
+        Assertions.assertTrue(frame.isPressed(UserInputDevice.Driver, UserInputDeviceButton.ANALOG_AXIS_RANGE, -1, AnalogAxis.XBONE_RT, 0.3, 1.0));
+        Assertions.assertFalse(frame.isPressed(UserInputDevice.Driver, UserInputDeviceButton.NONE, -1, AnalogAxis.NONE, 0.0, 0.0));
+
+        // a joystick that is disconnected reads as nothing pressed
+        joystick.connected = false;
+        frame.update(joysticks);
+        Assertions.assertFalse(frame.isConnected(UserInputDevice.Driver));
+        Assertions.assertFalse(frame.getButton(UserInputDevice.Driver, UserInputDeviceButton.XBONE_A_BUTTON.Value));
+        Assertions.assertEquals(0.0, frame.getAxis(UserInputDevice.Driver, AnalogAxis.XBONE_LSY.Value));
+        Assertions.assertEquals(-1, frame.getPOV(UserInputDevice.Driver));
+    }
+
+    private static class TestJoystick implements IJoystick
+    {
+        boolean connected = true;
+        int buttons;
+        int pov = -1;
+        double axisValue;
+
+        int buttonsCalls;
+        int povCalls;
+        int axisCalls;
+
+        @Override
+        public boolean isConnected()
+        {
+            return this.connected;
+        }
+
+        @Override
+        public double getAxis(int relevantAxis)
+        {
+            this.axisCalls++;
+            return this.axisValue;
+        }
+
+        @Override
+        public int getPOV()
+        {
+            this.povCalls++;
+            return this.pov;
+        }
+
+        @Override
+        public boolean getRawButton(int value)
+        {
+            return (this.buttons & (1 << (value - 1))) != 0;
+        }
+
+        @Override
+        public int getButtons()
+        {
+            this.buttonsCalls++;
+            return this.buttons;
+        }
+
+        @Override
+        public void setRumble(JoystickRumbleType type, double value)
+        {
+        }
+    }
+}
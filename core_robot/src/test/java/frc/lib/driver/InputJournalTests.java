@@ -0,0 +1,142 @@
+package frc.lib.driver;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.common.ByteArrayFileWriter;
+import frc.lib.driver.descriptions.UserInputDevice;
+import frc.lib.robotprovider.IJoystick;
+import frc.lib.robotprovider.JoystickRumbleType;
+import frc.lib.robotprovider.RobotMode;
+
+public class InputJournalTests
+{
+    @Test
+    public void testRecordAndRead() throws IOException
+    {
+        TestJoystick driver = new TestJoystick();
+        TestJoystick codriver = new TestJoystick();
+        IJoystick[] joysticks = new IJoystick[UserInputDevice.MaxCount.getId()];
+        joysticks[UserInputDevice.Driver.getId()] = driver;
+        joysticks[UserInputDevice.Codriver.getId()] = codriver;
+
+        InputFrame frame = new InputFrame();
+        frame.useAxis(UserInputDevice.Driver, AnalogAxis.XBONE_LSX);
+        frame.useAxis(UserInputDevice.Driver, AnalogAxis.XBONE_RSY);
+        frame.usePov(UserInputDevice.Codriver);
+
+        ByteArrayFileWriter writer = new ByteArrayFileWriter();
+        InputJournal journal = new InputJournal(writer, frame);
+        journal.recordMode(RobotMode.Teleop);
+        for (int i = 0; i < 10; i++)
+        {
+            driver.buttons = i;
+            driver.axisValue = i * 0.1;
+            codriver.pov = (i % 2) == 0 ? -1 : 90;
+            codriver.connected = i < 5;
+            frame.update(joysticks);
+            journal.recordFrame(frame);
+        }
+
+        journal.recordMode(RobotMode.Disabled);
+        journal.close();
+        Assertions.assertTrue(writer.isClosed());
+
+        try (InputJournalReader reader = new InputJournalReader(new ByteArrayInputStream(writer.toByteArray())))
+        {
+            Assertions.assertEquals(UserInputDevice.MaxCount.getId(), reader.getDeviceCount());
+            Assertions.assertEquals(InputJournal.MODE_RECORD, reader.readRecord());
+            Assertions.assertEquals(RobotMode.Teleop, reader.getMode());
+
+            int driverId = UserInputDevice.Driver.getId();
+            int codriverId = UserInputDevice.Codriver.getId();
+            for (int i = 0; i < 10; i++)
+            {
+                Assertions.assertEquals(InputJournal.FRAME_RECORD, reader.readRecord());
+                Assertions.assertEquals(i + 1, reader.getFrameCount());
+                Assertions.assertTrue(reader.isConnected(driverId));
+                Assertions.assertEquals(i, reader.getButtons(driverId));
+                Assertions.assertEquals(i * 0.1, reader.getAxis(driverId, AnalogAxis.XBONE_LSX.Value), 0.0001);
+                Assertions.assertEquals(i * 0.1, reader.getAxis(driverId, AnalogAxis.XBONE_RSY.Value), 0.0001);
+                Assertions.assertEquals(0.0, reader.getAxis(driverId, AnalogAxis.XBONE_LSY.Value));
+                Assertions.assertEquals(i < 5, reader.isConnected(codriverId));
+                Assertions.assertEquals(i < 5 && (i % 2) == 1 ? 90 : -1, reader.getPOV(codriverId));
+                Assertions.assertFalse(reader.isConnected(UserInputDevice.Test1.getId()));
+            }
+
+            Assertions.assertEquals(InputJournal.MODE_RECORD, reader.readRecord());
+            Assertions.assertEquals(RobotMode.Disabled, reader.getMode());
+            Assertions.assertEquals(-1, reader.readRecord());
+        }
+    }
+
+    @Test
+    public void testTruncated() throws IOException
+    {
+        InputFrame frame = new InputFrame();
+        frame.useAxis(UserInputDevice.Driver, AnalogAxis.XBONE_LSX);
+
+        ByteArrayFileWriter writer = new ByteArrayFileWriter();
+        InputJournal journal = new InputJournal(writer, frame);
+        journal.recordMode(RobotMode.Autonomous);
+        journal.recordFrame(frame);
+        journal.recordFrame(frame);
+        journal.flush();
+
+        // a journal cut off mid-frame (e.g. by a power-off) ends after the last complete frame
+        byte[] bytes = writer.toByteArray();
+        try (InputJournalReader reader = new InputJournalReader(new ByteArrayInputStream(bytes, 0, bytes.length - 3)))
+        {
+            Assertions.assertEquals(InputJournal.MODE_RECORD, reader.readRecord());
+            Assertions.assertEquals(InputJournal.FRAME_RECORD, reader.readRecord());
+            Assertions.assertEquals(-1, reader.readRecord());
+            Assertions.assertEquals(1, reader.getFrameCount());
+        }
+    }
+
+    private static class TestJoystick implements IJoystick
+    {
+        boolean connected = true;
+        int buttons;
+        int pov = -1;
+        double axisValue;
+
+        @Override
+        public boolean isConnected()
+        {
+            return this.connected;
+        }
+
+        @Override
+        public double getAxis(int relevantAxis)
+        {
+            return this.axisValue;
+        }
+
+        @Override
+        public int getPOV()
+        {
+            return this.pov;
+        }
+
+        @Override
+        public boolean getRawButton(int value)
+        {
+            return (this.buttons & (1 << (value - 1))) != 0;
+        }
+
+        @Override
+        public int getButtons()
+        {
+            return this.buttons;
+        }
+
+        @Override
+        public void setRumble(JoystickRumbleType type, double value)
+        {
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package frc.lib.driver;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.robot.driver.AnalogOperation;
+import frc.robot.driver.DigitalOperation;
+
+public class MacroConflictMatrixTests
+{
+    @Test
+    public void testConflicts()
+    {
+        int analogCount = AnalogOperation.values().length;
+        int digitalCount = DigitalOperation.values().length;
+        MacroConflictMatrix matrix = new MacroConflictMatrix(analogCount, digitalCount, 4);
+
+        // 0 and 1 share an analog operation, 1 and 2 share a digital operation, 3 shares nothing
+        matrix.addMacro(
+            0,
+            new AnalogOperation[] { AnalogOperation.DriveTrainMoveForward },
+            new DigitalOperation[] { });
+        matrix.addMacro(
+            1,
+            new AnalogOperation[] { AnalogOperation.DriveTrainMoveForward, AnalogOperation.DriveTrainMoveRight },
+            new DigitalOperation[] { DigitalOperation.PositionResetFieldOrientation });
+        matrix.addMacro(
+            2,
+            new AnalogOperation[] { },
+            new DigitalOperation[] { DigitalOperation.PositionResetFieldOrientation });
+        matrix.addMacro(
+            3,
+            new AnalogOperation[] { AnalogOperation.DriveTrainTurnAngleGoal },
+            new DigitalOperation[] { DigitalOperation.PositionResetRobotLevel });
+
+        Assertions.assertEquals(1, matrix.getConflictingMacros(0).count());
+        Assertions.assertTrue(matrix.getConflictingMacros(0).get(1));
+        Assertions.assertEquals(2, matrix.getConflictingMacros(1).count());
+        Assertions.assertTrue(matrix.getConflictingMacros(1).get(0));
+        Assertions.assertTrue(matrix.getConflictingMacros(1).get(2));
+        Assertions.assertEquals(1, matrix.getConflictingMacros(2).count());
+        Assertions.assertTrue(matrix.getConflictingMacros(2).get(1));
+        Assertions.assertTrue(matrix.getConflictingMacros(3).isEmpty());
+
+        Assertions.assertEquals(2, matrix.getAnalogOperationMacros(AnalogOperation.DriveTrainMoveForward.ordinal()).count());
+        Assertions.assertEquals(1, matrix.getAnalogOperationMacros(AnalogOperation.DriveTrainMoveRight.ordinal()).count());
+        Assertions.assertTrue(matrix.getAnalogOperationMacros(AnalogOperation.PositionStartingAngle.ordinal()).isEmpty());
+        Assertions.assertEquals(2, matrix.getDigitalOperationMacros(DigitalOperation.PositionResetFieldOrientation.ordinal()).count());
+        Assertions.assertTrue(matrix.getDigitalOperationMacros(DigitalOperation.PositionResetRobotLevel.ordinal()).get(3));
+    }
+}
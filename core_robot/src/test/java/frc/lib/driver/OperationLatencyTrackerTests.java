@@ -0,0 +1,99 @@
+package frc.lib.driver;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.driver.descriptions.AnalogOperationDescription;
+import frc.lib.driver.descriptions.DigitalOperationDescription;
+import frc.lib.driver.states.AnalogOperationState;
+import frc.lib.driver.states.DigitalOperationState;
+import frc.lib.helpers.OrdinalBitSet;
+import frc.robot.TuningConstants;
+import frc.robot.driver.AnalogOperation;
+import frc.robot.driver.DigitalOperation;
+
+public class OperationLatencyTrackerTests
+{
+    @Test
+    public void testLatency()
+    {
+        AnalogOperation[] analogOperations = AnalogOperation.values();
+        DigitalOperation[] digitalOperations = DigitalOperation.values();
+        AnalogOperationState[] analogStates = new AnalogOperationState[analogOperations.length];
+        for (int i = 0; i < analogOperations.length; i++)
+        {
+            analogStates[i] = new AnalogOperationState(new AnalogOperationDescription(analogOperations[i]));
+        }
+
+        DigitalOperationState[] digitalStates = new DigitalOperationState[digitalOperations.length];
+        for (int i = 0; i < digitalOperations.length; i++)
+        {
+            digitalStates[i] = new DigitalOperationState(new DigitalOperationDescription(digitalOperations[i]));
+        }
+
+        // macro 0 controls DriveTrainMoveForward
+        MacroConflictMatrix macroConflicts = new MacroConflictMatrix(analogOperations.length, digitalOperations.length, 2);
+        macroConflicts.addMacro(
+            0,
+            new AnalogOperation[] { AnalogOperation.DriveTrainMoveForward },
+            new DigitalOperation[] { });
+
+        OrdinalBitSet newMacros = new OrdinalBitSet(2);
+        OrdinalBitSet activeMacros = new OrdinalBitSet(2);
+        OperationLatencyTracker tracker = new OperationLatencyTracker(analogOperations, digitalOperations, 2);
+
+        int moveForward = AnalogOperation.DriveTrainMoveForward.ordinal();
+        int moveRight = AnalogOperation.DriveTrainMoveRight.ordinal();
+        int resetOrientation = DigitalOperation.PositionResetFieldOrientation.ordinal();
+
+        // the macro starts, but its task doesn't set the operation until the following update
+        tracker.startUpdate();
+        newMacros.set(0);
+        activeMacros.set(0);
+        tracker.startMacros(newMacros, activeMacros);
+        analogStates[moveForward].setIsInterrupted(true);
+        tracker.endUpdate(analogStates, digitalStates, macroConflicts, activeMacros);
+        tracker.readAnalog(moveForward);
+        Assertions.assertEquals(0L, tracker.getAnalogCount(moveForward));
+
+        tracker.startUpdate();
+        newMacros.clear();
+        tracker.startMacros(newMacros, activeMacros);
+        analogStates[moveForward].setInterruptState(0.5);
+        analogStates[moveRight].setIsInterrupted(true);
+        analogStates[moveRight].setInterruptState(0.5);
+        digitalStates[resetOrientation].setIsInterrupted(true);
+        digitalStates[resetOrientation].setInterruptState(true);
+        tracker.endUpdate(analogStates, digitalStates, macroConflicts, activeMacros);
+
+        // read in the update after the macro started
+        tracker.readAnalog(moveForward);
+        tracker.readAnalog(moveForward);
+        Assertions.assertEquals(1L, tracker.getAnalogCount(moveForward));
+        Assertions.assertEquals(1L, tracker.getAnalogMaxCycles(moveForward));
+
+        // read in the same update that changed it
+        tracker.readDigital(resetOrientation);
+        Assertions.assertEquals(1L, tracker.getDigitalCount(resetOrientation));
+        Assertions.assertEquals(0L, tracker.getDigitalMaxCycles(resetOrientation));
+
+        // a change that isn't read for too long is discarded
+        for (int i = 0; i <= TuningConstants.OPERATION_LATENCY_MAX_CYCLES; i++)
+        {
+            tracker.startUpdate();
+            tracker.endUpdate(analogStates, digitalStates, macroConflicts, activeMacros);
+        }
+
+        tracker.readAnalog(moveRight);
+        Assertions.assertEquals(0L, tracker.getAnalogCount(moveRight));
+
+        String summary = tracker.getSummary();
+        Assertions.assertNotNull(summary);
+        Assertions.assertTrue(summary.contains("DriveTrainMoveForward,1,1.0,1,"));
+        Assertions.assertTrue(tracker.getLatencySummary().startsWith("DriveTrainMoveForward 1.0/1 "));
+
+        tracker.reset();
+        Assertions.assertNull(tracker.getSummary());
+        Assertions.assertEquals("", tracker.getLatencySummary());
+    }
+}
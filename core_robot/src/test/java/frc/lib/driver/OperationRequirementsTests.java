@@ -0,0 +1,62 @@
+package frc.lib.driver;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.robot.driver.AnalogOperation;
+import frc.robot.driver.DigitalOperation;
+import frc.robot.driver.controltasks.ConcurrentTask;
+import frc.robot.driver.controltasks.DecisionNoteTask;
+import frc.robot.driver.controltasks.RumbleTask;
+import frc.robot.driver.controltasks.SequentialTask;
+import frc.robot.driver.controltasks.ShooterSpinTask;
+import frc.robot.driver.controltasks.WaitTask;
+
+public class OperationRequirementsTests
+{
+    @Test
+    public void testComposition()
+    {
+        IControlTask task = SequentialTask.Sequence(
+            new WaitTask(0.5),
+            ConcurrentTask.AllTasks(
+                new RumbleTask(),
+                new ShooterSpinTask(1000.0, 0.5)));
+
+        OperationRequirements requirements = new OperationRequirements();
+        Assertions.assertTrue(task.addRequirements(requirements));
+        Assertions.assertEquals(1, requirements.getDigitalOperations().count());
+        Assertions.assertTrue(requirements.getDigitalOperations().get(DigitalOperation.ForceLightDriverRumble.ordinal()));
+        Assertions.assertEquals(2, requirements.getAnalogOperations().count());
+        Assertions.assertTrue(requirements.getAnalogOperations().get(AnalogOperation.EndEffectorNearFlywheelVelocityGoal.ordinal()));
+        Assertions.assertTrue(requirements.getAnalogOperations().get(AnalogOperation.EndEffectorFarFlywheelVelocityGoal.ordinal()));
+
+        // a task that decides what to do while it runs can't declare all of its requirements
+        OperationRequirements decisionRequirements = new OperationRequirements();
+        Assertions.assertFalse(ConcurrentTask.AnyTasks(new RumbleTask(), new DecisionNoteTask(new WaitTask(0.5), new WaitTask(0.5))).addRequirements(decisionRequirements));
+        Assertions.assertTrue(decisionRequirements.getDigitalOperations().get(DigitalOperation.ForceLightDriverRumble.ordinal()));
+    }
+
+    @Test
+    public void testIntersection()
+    {
+        OperationRequirements first = new OperationRequirements();
+        first.add(AnalogOperation.DriveTrainMoveForward);
+        first.add(DigitalOperation.IntakeIn);
+
+        OperationRequirements second = new OperationRequirements();
+        Assertions.assertTrue(second.isEmpty());
+        second.add(DigitalOperation.IntakeOutSlow);
+        Assertions.assertFalse(first.intersects(second));
+
+        second.add(AnalogOperation.DriveTrainMoveForward);
+        Assertions.assertTrue(first.intersects(second));
+
+        second.remove(first);
+        Assertions.assertFalse(first.intersects(second));
+        Assertions.assertFalse(second.isEmpty());
+
+        second.clear();
+        Assertions.assertTrue(second.isEmpty());
+    }
+}
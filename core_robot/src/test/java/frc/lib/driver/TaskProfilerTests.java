@@ -0,0 +1,98 @@
+package frc.lib.driver;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.robot.driver.controltasks.ConcurrentTask;
+import frc.robot.driver.controltasks.ControlTaskBase;
+import frc.robot.driver.controltasks.SequentialTask;
+
+public class TaskProfilerTests
+{
+    @Test
+    public void testTree()
+    {
+        TaskProfiler.reset();
+        Assertions.assertNull(TaskProfiler.getSummary());
+        Assertions.assertNull(TaskProfiler.getFlameSummary());
+
+        // wrap explicitly, as the composite tasks only wrap their tasks when TASK_PROFILING_ENABLED is set
+        IControlTask task = new ProfiledTask(
+            ConcurrentTask.AllTasks(
+                new ProfiledTask(new CountingTask(3)),
+                new ProfiledTask(
+                    SequentialTask.Sequence(
+                        new ProfiledTask(new CountingTask(2)),
+                        new ProfiledTask(new CountingTask(2))))));
+
+        task.initialize(null, null, null);
+        task.begin();
+        int updates = 0;
+        while (!task.hasCompleted())
+        {
+            task.update();
+            updates++;
+        }
+
+        task.end();
+        Assertions.assertEquals(6, updates);
+
+        String summary = TaskProfiler.getSummary();
+        Assertions.assertNotNull(summary);
+        String[] rows = summary.split("\n");
+        Assertions.assertEquals(6, rows.length);
+        Assertions.assertTrue(rows[1].startsWith("ConcurrentTask,6,"));
+        Assertions.assertTrue(rows[2].startsWith("  CountingTask,3,"));
+        Assertions.assertTrue(rows[3].startsWith("  SequentialTask,5,"));
+        Assertions.assertTrue(rows[4].startsWith("    CountingTask,2,"));
+        Assertions.assertTrue(rows[5].startsWith("    CountingTask,2,"));
+
+        String flameSummary = TaskProfiler.getFlameSummary();
+        Assertions.assertTrue(flameSummary.startsWith("ConcurrentTask "));
+        Assertions.assertTrue(flameSummary.contains("\nConcurrentTask;CountingTask "));
+        Assertions.assertTrue(flameSummary.contains("\nConcurrentTask;SequentialTask;CountingTask "));
+
+        String treeSummary = TaskProfiler.getTreeSummary();
+        Assertions.assertTrue(treeSummary.startsWith("ConcurrentTask "));
+        Assertions.assertTrue(treeSummary.contains(" [CountingTask "));
+        Assertions.assertTrue(treeSummary.endsWith("]]"));
+
+        TaskProfiler.reset();
+        Assertions.assertNull(TaskProfiler.getSummary());
+        Assertions.assertEquals("", TaskProfiler.getTreeSummary());
+    }
+
+    private static class CountingTask extends ControlTaskBase
+    {
+        private final int updates;
+        private int count;
+
+        CountingTask(int updates)
+        {
+            this.updates = updates;
+        }
+
+        @Override
+        public void begin()
+        {
+            this.count = 0;
+        }
+
+        @Override
+        public void update()
+        {
+            this.count++;
+        }
+
+        @Override
+        public void end()
+        {
+        }
+
+        @Override
+        public boolean hasCompleted()
+        {
+            return this.count >= this.updates;
+        }
+    }
+}
@@ -11,4 +11,10 @@ public class ButtonMapTests
     {
         ButtonMapVerifier.Verify(new ButtonMap(), true, false);
     }
+
+    @Test
+    public void verifyTaskRequirements()
+    {
+        ButtonMapVerifier.VerifyTaskRequirements(new ButtonMap());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+package frc.robot.driver.controlTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.driver.IControlTask;
+import frc.robot.driver.controltasks.ConcurrentTask;
+import frc.robot.driver.controltasks.ControlTaskBase;
+
+public class ConcurrentTaskTests
+{
+    @Test
+    public void testAllTasks()
+    {
+        List<Integer> updated = new ArrayList<Integer>();
+        CountingTask first = new CountingTask(0, 1, updated);
+        CountingTask second = new CountingTask(1, 3, updated);
+        CountingTask third = new CountingTask(2, 2, updated);
+        IControlTask task = ConcurrentTask.AllTasks(first, null, second, third);
+
+        task.initialize(null, null, null);
+        task.begin();
+        Assertions.assertFalse(task.hasCompleted());
+
+        task.update();
+        Assertions.assertEquals(List.of(0, 1, 2), updated);
+        Assertions.assertFalse(task.hasCompleted());
+
+        // the first task has completed, so the others are updated (still in order) without it
+        updated.clear();
+        task.update();
+        Assertions.assertEquals(List.of(1, 2), updated);
+        Assertions.assertEquals(1, first.ended);
+        Assertions.assertEquals(2, first.checked);
+
+        updated.clear();
+        task.update();
+        Assertions.assertEquals(List.of(1), updated);
+        Assertions.assertEquals(1, third.ended);
+        Assertions.assertFalse(task.hasCompleted());
+
+        task.update();
+        Assertions.assertTrue(task.hasCompleted());
+        Assertions.assertEquals(2, first.checked);
+        Assertions.assertEquals(4, second.checked);
+        Assertions.assertEquals(3, third.checked);
+
+        // tasks that have already ended aren't ended again
+        task.end();
+        Assertions.assertEquals(1, first.ended);
+        Assertions.assertEquals(1, second.ended);
+        Assertions.assertEquals(1, third.ended);
+
+        // after a reset, all of the tasks are active again
+        Assertions.assertTrue(task.reset());
+        Assertions.assertFalse(task.hasCompleted());
+        task.begin();
+        updated.clear();
+        task.update();
+        Assertions.assertEquals(List.of(0, 1, 2), updated);
+    }
+
+    @Test
+    public void testAnyTasks()
+    {
+        List<Integer> updated = new ArrayList<Integer>();
+        CountingTask first = new CountingTask(0, 3, updated);
+        CountingTask second = new CountingTask(1, 1, updated);
+        IControlTask task = ConcurrentTask.AnyTasks(first, second);
+
+        task.initialize(null, null, null);
+        task.begin();
+        task.update();
+        Assertions.assertFalse(task.hasCompleted());
+
+        task.update();
+        Assertions.assertTrue(task.hasCompleted());
+        Assertions.assertEquals(1, second.ended);
+
+        // the task that hasn't completed is ended along with the ConcurrentTask
+        task.end();
+        Assertions.assertEquals(1, first.ended);
+        Assertions.assertEquals(1, second.ended);
+
+        // an empty AnyTasks never completes, and an empty AllTasks has always completed
+        Assertions.assertFalse(ConcurrentTask.AnyTasks().hasCompleted());
+        Assertions.assertTrue(ConcurrentTask.AllTasks().hasCompleted());
+    }
+
+    /**
+     * Runs deep synthetic trees of AllTasks whose leaves complete at staggered times, checking that each leaf is only
+     * visited until it completes (rather than on every update of the root) as the trees get larger
+     */
+    @Test
+    public void testDeepTrees()
+    {
+        final int width = 4;
+        for (int depth = 1; depth <= 6; depth++)
+        {
+            List<CountingTask> leaves = new ArrayList<CountingTask>();
+            IControlTask root = ConcurrentTaskTests.buildTree(depth, width, leaves);
+
+            root.initialize(null, null, null);
+            root.begin();
+
+            int updates = 0;
+            while (!root.hasCompleted())
+            {
+                root.update();
+                updates++;
+            }
+
+            root.end();
+
+            long expectedChecks = 0L;
+            long checks = 0L;
+            for (CountingTask leaf : leaves)
+            {
+                expectedChecks += leaf.updates + 1;
+                checks += leaf.checked;
+                Assertions.assertEquals(1, leaf.ended);
+            }
+
+            // each level of AllTasks notices that its tasks have completed one update after they do
+            Assertions.assertEquals(ConcurrentTaskTests.MaxLeafUpdates + depth, updates);
+            Assertions.assertEquals(expectedChecks, checks);
+
+            // most leaves complete early, so fewer than half as many checks are needed as visiting every leaf on every update
+            Assertions.assertTrue(checks * 2 < (long)leaves.size() * updates);
+        }
+    }
+
+    private static final int MaxLeafUpdates = 64;
+
+    private static IControlTask buildTree(int depth, int width, List<CountingTask> leaves)
+    {
+        if (depth == 0)
+        {
+            // most leaves complete early, with only a few running for the full duration
+            int index = leaves.size();
+            int updates = (index % 8 == 0) ? ConcurrentTaskTests.MaxLeafUpdates : 1 + (index % 8);
+            CountingTask leaf = new CountingTask(index, updates, null);
+            leaves.add(leaf);
+            return leaf;
+        }
+
+        IControlTask[] children = new IControlTask[width];
+        for (int i = 0; i < width; i++)
+        {
+            children[i] = ConcurrentTaskTests.buildTree(depth - 1, width, leaves);
+        }
+
+        return ConcurrentTask.AllTasks(children);
+    }
+
+    private static class CountingTask extends ControlTaskBase
+    {
+        private final int id;
+        private final int updates;
+        private final List<Integer> updated;
+
+        private int count;
+        private int checked;
+        private int ended;
+
+        CountingTask(int id, int updates, List<Integer> updated)
+        {
+            this.id = id;
+            this.updates = updates;
+            this.updated = updated;
+        }
+
+        @Override
+        public void begin()
+        {
+            this.count = 0;
+        }
+
+        @Override
+        public void update()
+        {
+            this.count++;
+            if (this.updated != null)
+            {
+                this.updated.add(this.id);
+            }
+        }
+
+        @Override
+        public void end()
+        {
+            this.ended++;
+        }
+
+        @Override
+        public boolean hasCompleted()
+        {
+            this.checked++;
+            return this.count >= this.updates;
+        }
+
+        @Override
+        public boolean reset()
+        {
+            this.checked = 0;
+            this.ended = 0;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package frc.robot.driver.controlTask;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.driver.IControlTask;
+import frc.robot.driver.controltasks.ConcurrentTask;
+import frc.robot.driver.controltasks.ControlTaskBase;
+import frc.robot.driver.controltasks.SequentialTask;
+
+public class TaskResetTests
+{
+    @Test
+    public void testSequentialReset()
+    {
+        CountingTask first = new CountingTask(2, true);
+        CountingTask second = new CountingTask(1, true);
+        IControlTask task = SequentialTask.Sequence(first, null, second);
+
+        for (int run = 1; run <= 3; run++)
+        {
+            if (run > 1)
+            {
+                Assertions.assertTrue(task.reset());
+            }
+
+            task.initialize(null, null, null);
+            task.begin();
+            while (!task.hasCompleted())
+            {
+                task.update();
+            }
+
+            task.end();
+
+            // both tasks are run again each time
+            Assertions.assertEquals(run, first.begins);
+            Assertions.assertEquals(run, first.ends);
+            Assertions.assertEquals(run, second.begins);
+            Assertions.assertEquals(run, second.ends);
+        }
+    }
+
+    @Test
+    public void testConcurrentReset()
+    {
+        CountingTask shortTask = new CountingTask(1, true);
+        CountingTask longTask = new CountingTask(3, true);
+        IControlTask task = ConcurrentTask.AllTasks(shortTask, longTask);
+
+        task.initialize(null, null, null);
+        task.begin();
+        while (!task.hasCompleted())
+        {
+            task.update();
+        }
+
+        task.end();
+        Assertions.assertEquals(1, shortTask.ends);
+        Assertions.assertEquals(1, longTask.ends);
+
+        // after resetting, the task isn't completed until both tasks complete again
+        Assertions.assertTrue(task.reset());
+        task.initialize(null, null, null);
+        task.begin();
+        Assertions.assertFalse(task.hasCompleted());
+        task.update();
+        task.update();
+        Assertions.assertFalse(task.hasCompleted());
+        Assertions.assertEquals(2, shortTask.ends);
+        Assertions.assertEquals(1, longTask.ends);
+    }
+
+    @Test
+    public void testNotReusable()
+    {
+        // a tree can only be reused when every task in it can be reset
+        IControlTask task = ConcurrentTask.AnyTasks(
+            new CountingTask(1, true),
+            SequentialTask.Sequence(
+                new CountingTask(1, true),
+                new CountingTask(1, false)));
+        Assertions.assertFalse(task.reset());
+
+        Assertions.assertFalse(new CountingTask(1, false).reset());
+    }
+
+    private static class CountingTask extends ControlTaskBase
+    {
+        private final int requiredUpdates;
+        private final boolean reusable;
+
+        int begins;
+        int updates;
+        int ends;
+
+        CountingTask(int requiredUpdates, boolean reusable)
+        {
+            this.requiredUpdates = requiredUpdates;
+            this.reusable = reusable;
+        }
+
+        @Override
+        public void begin()
+        {
+            this.begins++;
+            this.updates = 0;
+        }
+
+        @Override
+        public void update()
+        {
+            this.updates++;
+        }
+
+        @Override
+        public void end()
+        {
+            this.ends++;
+        }
+
+        @Override
+        public boolean hasCompleted()
+        {
+            return this.updates >= this.requiredUpdates;
+        }
+
+        @Override
+        public boolean reset()
+        {
+            return this.reusable || super.reset();
+        }
+    }
+}
@@ -677,6 +677,11 @@ public class SDSDriveTrainMechanismTests
             this.currentMode = mode;
         }
 
+        @Override
+        public void prepare()
+        {
+        }
+
         @Override
         public boolean getDigital(DigitalOperation digitalOperation)
         {
@@ -12,7 +12,15 @@ public class FauxbotFileWriter implements IFileWriter
     {
     }
 
+    public void write(byte[] buffer, int offset, int length) throws IOException
+    {
+    }
+
     public void flush() throws IOException
     {
     }
+
+    public void close() throws IOException
+    {
+    }
 }
@@ -39,6 +39,7 @@ public class FauxbotJoystick implements IJoystick
     private final Map<Integer, Boolean> buttons;
     private final Map<Integer, Double> axes;
     private int pov;
+    private boolean connected;
     private Controller controller;
 
     public FauxbotJoystick(int port)
@@ -46,6 +47,7 @@ public class FauxbotJoystick implements IJoystick
         this.buttons = new HashMap<Integer, Boolean>();
         this.axes = new HashMap<Integer, Double>();
         this.pov = -1;
+        this.connected = true;
         this.controller = null;
 
         FauxbotJoystickManager.set(port, this);
@@ -78,6 +80,36 @@ public class FauxbotJoystick implements IJoystick
         }
     }
 
+    public int getButtons()
+    {
+        synchronized (this)
+        {
+            int result = 0;
+            if (this.controller != null)
+            {
+                for (int buttonNumber = 1; buttonNumber < FauxbotJoystick.XBONE_BUTTON_MAP.length; buttonNumber++)
+                {
+                    if (this.controller.getButton(FauxbotJoystick.XBONE_BUTTON_MAP[buttonNumber]))
+                    {
+                        result |= (1 << (buttonNumber - 1));
+                    }
+                }
+
+                return result;
+            }
+
+            for (Map.Entry<Integer, Boolean> entry : this.buttons.entrySet())
+            {
+                if (entry.getValue())
+                {
+                    result |= (1 << (entry.getKey() - 1));
+                }
+            }
+
+            return result;
+        }
+    }
+
     public boolean isConnected()
     {
         synchronized (this)
@@ -86,9 +118,9 @@ public class FauxbotJoystick implements IJoystick
             {
                 return this.controller.isConnected();
             }
-        }
 
-        return true;
+            return this.connected;
+        }
     }
 
     public int getPOV()
@@ -167,6 +199,39 @@ public class FauxbotJoystick implements IJoystick
         }
     }
 
+    public void setButtons(int buttons)
+    {
+        synchronized (this)
+        {
+            if (this.controller != null)
+            {
+                throw new RuntimeException("We shouldn't be attempting to set buttons when using a controller");
+            }
+
+            for (int buttonNumber = 1; buttonNumber <= 32; buttonNumber++)
+            {
+                boolean value = (buttons & (1 << (buttonNumber - 1))) != 0;
+                if (value || this.buttons.containsKey(buttonNumber))
+                {
+                    this.buttons.put(buttonNumber, value);
+                }
+            }
+        }
+    }
+
+    public void setConnected(boolean value)
+    {
+        synchronized (this)
+        {
+            if (this.controller != null)
+            {
+                throw new RuntimeException("We shouldn't be attempting to set whether we are connected when using a controller");
+            }
+
+            this.connected = value;
+        }
+    }
+
     public void clearPOV()
     {
         this.setPOV(-1);
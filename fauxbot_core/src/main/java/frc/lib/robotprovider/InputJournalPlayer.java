@@ -0,0 +1,107 @@
+package frc.lib.robotprovider;
+
+import java.io.IOException;
+
+import frc.lib.driver.InputJournal;
+import frc.lib.driver.InputJournalReader;
+import frc.robot.TuningConstants;
+
+/**
+ * Recorded input journal being played back, one record at a time.  Each frame is fed into the fauxbot's joysticks
+ * (FauxbotJoysticks registered with the FauxbotJoystickManager), so that the Driver reads the recorded input.
+ */
+public class InputJournalPlayer implements AutoCloseable
+{
+    private final InputJournalReader reader;
+
+    /**
+     * Initializes a new instance of the InputJournalPlayer class.
+     * @param reader for the recorded journal
+     */
+    public InputJournalPlayer(InputJournalReader reader)
+    {
+        this.reader = reader;
+    }
+
+    /**
+     * Open a recorded input journal (see InputJournalReader.open)
+     * @param fileName of the journal
+     * @return the player
+     * @throws IOException if the file doesn't contain an input journal
+     */
+    public static InputJournalPlayer open(String fileName) throws IOException
+    {
+        return new InputJournalPlayer(InputJournalReader.open(fileName));
+    }
+
+    /**
+     * Advance to the next record of the journal, feeding it into the joysticks if it is a frame
+     * @return InputJournal.MODE_RECORD or InputJournal.FRAME_RECORD for the type of record, or -1 if we reached the end of the journal
+     * @throws IOException
+     */
+    public int next() throws IOException
+    {
+        int recordType = this.reader.readRecord();
+        if (recordType == InputJournal.FRAME_RECORD)
+        {
+            for (int device = 0; device < this.reader.getDeviceCount(); device++)
+            {
+                IJoystick joystick = FauxbotJoystickManager.get(device);
+                if (joystick instanceof FauxbotJoystick)
+                {
+                    this.apply(device, (FauxbotJoystick)joystick);
+                }
+            }
+        }
+
+        return recordType;
+    }
+
+    /**
+     * Retrieve the most recently started mode
+     * @return the mode
+     */
+    public RobotMode getMode()
+    {
+        return this.reader.getMode();
+    }
+
+    /**
+     * Retrieve the number of frames played so far
+     * @return the number of frames
+     */
+    public int getFrameCount()
+    {
+        return this.reader.getFrameCount();
+    }
+
+    /**
+     * Retrieve the time of the current frame, assuming each frame was one robot loop
+     * @return the time in seconds
+     */
+    public double getTime()
+    {
+        return this.reader.getFrameCount() * TuningConstants.LOOP_DURATION;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        this.reader.close();
+    }
+
+    private void apply(int device, FauxbotJoystick joystick)
+    {
+        joystick.setConnected(this.reader.isConnected(device));
+        joystick.setButtons(this.reader.getButtons(device));
+        joystick.setPOV(this.reader.getPOV(device));
+
+        int usedAxes = this.reader.getUsedAxes(device);
+        while (usedAxes != 0)
+        {
+            int axis = Integer.numberOfTrailingZeros(usedAxes);
+            usedAxes &= usedAxes - 1;
+            joystick.setAxis(axis, this.reader.getAxis(device, axis));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package frc.lib.robotprovider;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Timer that advances by one robot loop for each frame of the input journal being played back, instead of following
+ * the wall clock, so that playback is deterministic and can run faster than real time.
+ */
+@Singleton
+public class InputJournalTimer implements ITimer
+{
+    private final InputJournalPlayer player;
+
+    private boolean isRunning;
+    private double startTime;
+    private double accumulatedTime;
+
+    @Inject
+    public InputJournalTimer(InputJournalPlayer player)
+    {
+        this.player = player;
+        this.accumulatedTime = 0.0;
+        this.isRunning = false;
+    }
+
+    public void start()
+    {
+        this.isRunning = true;
+        this.startTime = this.player.getTime();
+    }
+
+    public double get()
+    {
+        if (!this.isRunning)
+        {
+            return this.accumulatedTime;
+        }
+
+        return this.accumulatedTime + (this.player.getTime() - this.startTime);
+    }
+
+    public void stop()
+    {
+        this.accumulatedTime = this.get();
+        this.isRunning = false;
+    }
+
+    public void reset()
+    {
+        this.accumulatedTime = 0.0;
+        this.startTime = this.player.getTime();
+    }
+}
@@ -0,0 +1,40 @@
+package frc.lib.robotprovider;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * File writer for writing the output of a replay to the desktop's file system
+ */
+public class ReplayFileWriter implements IFileWriter
+{
+    private final OutputStream outputStream;
+
+    public ReplayFileWriter(String fileName) throws IOException
+    {
+        this.outputStream = new BufferedOutputStream(new FileOutputStream(fileName));
+    }
+
+    public void append(String string) throws IOException
+    {
+        this.outputStream.write(string.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void write(byte[] buffer, int offset, int length) throws IOException
+    {
+        this.outputStream.write(buffer, offset, length);
+    }
+
+    public void flush() throws IOException
+    {
+        this.outputStream.flush();
+    }
+
+    public void close() throws IOException
+    {
+        this.outputStream.close();
+    }
+}
@@ -0,0 +1,196 @@
+package frc.lib.robotprovider;
+
+import java.io.IOException;
+import java.util.HashMap;
+
+import frc.robot.LoggingKey;
+
+/**
+ * Recorded log being replayed, one frame (robot loop) at a time.
+ *
+ * Values are held from the frame where they were last logged, as most keys aren't logged every loop (see loggingFrequency).
+ */
+public class ReplayLog implements AutoCloseable
+{
+    private final BinaryLogReader reader;
+    private final LoggingKey[] columnKeys;
+
+    // current value for each LoggingKey (by ordinal)
+    private final boolean[] hasValues;
+    private final boolean[] nulls;
+    private final double[] numbers;
+    private final String[] strings;
+
+    private int frameCount;
+
+    /**
+     * Initializes a new instance of the ReplayLog class.
+     * @param reader for the recorded log
+     */
+    public ReplayLog(BinaryLogReader reader)
+    {
+        this.reader = reader;
+
+        HashMap<String, LoggingKey> keysByName = new HashMap<String, LoggingKey>();
+        for (LoggingKey key : LoggingKey.values())
+        {
+            keysByName.put(key.value, key);
+        }
+
+        // columns for keys that no longer exist are ignored
+        int columnCount = reader.getColumnCount();
+        this.columnKeys = new LoggingKey[columnCount];
+        for (int i = 0; i < columnCount; i++)
+        {
+            this.columnKeys[i] = keysByName.get(reader.getColumnName(i));
+        }
+
+        int keyCount = LoggingKey.values().length;
+        this.hasValues = new boolean[keyCount];
+        this.nulls = new boolean[keyCount];
+        this.numbers = new double[keyCount];
+        this.strings = new String[keyCount];
+
+        this.frameCount = 0;
+    }
+
+    /**
+     * Open a recorded binary log (see BinaryLogReader.open)
+     * @param fileName of the log
+     * @return the log
+     * @throws IOException if the file doesn't contain a binary log
+     */
+    public static ReplayLog open(String fileName) throws IOException
+    {
+        return new ReplayLog(BinaryLogReader.open(fileName));
+    }
+
+    /**
+     * Advance to the next frame of the log
+     * @return true if there was another frame, false if we reached the end of the log
+     * @throws IOException
+     */
+    public boolean next() throws IOException
+    {
+        if (!this.reader.readFrame())
+        {
+            return false;
+        }
+
+        for (int column = 0; column < this.columnKeys.length; column++)
+        {
+            LoggingKey key = this.columnKeys[column];
+            if (key == null || !this.reader.isPresent(column))
+            {
+                continue;
+            }
+
+            int ordinal = key.ordinal();
+            this.hasValues[ordinal] = true;
+            this.nulls[ordinal] = this.reader.isNull(column);
+            if (this.nulls[ordinal])
+            {
+                continue;
+            }
+
+            switch (this.reader.getColumnType(column))
+            {
+                case Number:
+                case NullableNumber:
+                    this.numbers[ordinal] = this.reader.getNumber(column);
+                    break;
+
+                case Integer:
+                case NullableInteger:
+                    this.numbers[ordinal] = this.reader.getInteger(column);
+                    break;
+
+                case Boolean:
+                    this.numbers[ordinal] = this.reader.getBoolean(column) ? 1.0 : 0.0;
+                    break;
+
+                case String:
+                    this.strings[ordinal] = this.reader.getString(column);
+                    break;
+            }
+        }
+
+        this.frameCount++;
+        return true;
+    }
+
+    /**
+     * Check whether the log contains any of the input keys (it is only useful for replaying if it was recorded with
+     * LOG_FILE_INCLUDE_INPUTS turned on)
+     * @return true if there is a column for at least one isInput key
+     */
+    public boolean hasInputs()
+    {
+        for (LoggingKey key : this.columnKeys)
+        {
+            if (key != null && key.isInput)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Retrieve the number of frames that have been read so far
+     * @return the number of frames
+     */
+    public int getFrameCount()
+    {
+        return this.frameCount;
+    }
+
+    /**
+     * Check whether the log contains a (non-null) value for the key as of the current frame
+     * @param key to check
+     * @return true if there is a value
+     */
+    public boolean hasValue(LoggingKey key)
+    {
+        return this.hasValues[key.ordinal()] && !this.nulls[key.ordinal()];
+    }
+
+    /**
+     * Retrieve the number (or integer, or boolean as 1.0/0.0) value for the key as of the current frame
+     * @param key to retrieve
+     * @param defaultValue to use if the key hasn't been logged yet or was null
+     * @return the value
+     */
+    public double getNumber(LoggingKey key, double defaultValue)
+    {
+        return this.hasValue(key) ? this.numbers[key.ordinal()] : defaultValue;
+    }
+
+    /**
+     * Retrieve the boolean value for the key as of the current frame
+     * @param key to retrieve
+     * @param defaultValue to use if the key hasn't been logged yet
+     * @return the value
+     */
+    public boolean getBoolean(LoggingKey key, boolean defaultValue)
+    {
+        return this.hasValue(key) ? this.numbers[key.ordinal()] != 0.0 : defaultValue;
+    }
+
+    /**
+     * Retrieve the string value for the key as of the current frame
+     * @param key to retrieve
+     * @return the value, or null if the key hasn't been logged yet
+     */
+    public String getString(LoggingKey key)
+    {
+        return this.hasValue(key) ? this.strings[key.ordinal()] : null;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        this.reader.close();
+    }
+}
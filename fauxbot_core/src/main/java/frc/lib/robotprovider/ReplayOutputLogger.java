@@ -0,0 +1,15 @@
+package frc.lib.robotprovider;
+
+import java.io.IOException;
+
+/**
+ * Dashboard logger that writes what the robot published during a replay into a CSV file, so that the output of
+ * different versions of the robot's code can be compared against the same recorded match.
+ */
+public class ReplayOutputLogger extends CSVLogger implements ISmartDashboardLogger
+{
+    public ReplayOutputLogger(IFileWriter fileWriter) throws IOException
+    {
+        super(fileWriter);
+    }
+}
@@ -0,0 +1,55 @@
+package frc.lib.robotprovider;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import frc.robot.LoggingKey;
+
+/**
+ * Timer that replays the recorded robot time (RobotTime) instead of following the wall clock, so that replays are
+ * deterministic and can run faster than real time.
+ *
+ * The timer is a singleton shared by the whole robot, so while it is running the recorded time is what it returned during the match.
+ */
+@Singleton
+public class ReplayTimer implements ITimer
+{
+    private final ReplayLog log;
+
+    private boolean isRunning;
+    private double accumulatedTime;
+
+    @Inject
+    public ReplayTimer(ReplayLog log)
+    {
+        this.log = log;
+        this.accumulatedTime = 0.0;
+        this.isRunning = false;
+    }
+
+    public void start()
+    {
+        this.isRunning = true;
+    }
+
+    public double get()
+    {
+        if (!this.isRunning)
+        {
+            return this.accumulatedTime;
+        }
+
+        return this.log.getNumber(LoggingKey.RobotTime, this.accumulatedTime);
+    }
+
+    public void stop()
+    {
+        this.accumulatedTime = this.get();
+        this.isRunning = false;
+    }
+
+    public void reset()
+    {
+        this.accumulatedTime = 0.0;
+    }
+}
@@ -0,0 +1,50 @@
+package frc.robot;
+
+import javax.inject.Singleton;
+
+import frc.lib.driver.IButtonMap;
+import frc.lib.mechanisms.LoopProfiler;
+import frc.lib.mechanisms.MechanismManager;
+import frc.lib.robotprovider.*;
+import frc.lib.driver.*;
+import frc.robot.driver.*;
+import frc.robot.simulation.*;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Injector;
+import com.google.inject.Provides;
+
+public class InputJournalModule extends AbstractModule
+{
+    private final InputJournalPlayer player;
+
+    /**
+     * Initializes a new instance of the InputJournalModule class.
+     * @param player for the input journal to play back
+     */
+    public InputJournalModule(InputJournalPlayer player)
+    {
+        this.player = player;
+    }
+
+    @Override
+    protected void configure()
+    {
+        this.bind(InputJournalPlayer.class).toInstance(this.player);
+        this.bind(IRobotProvider.class).to(FauxbotProvider.class);
+        this.bind(ITimer.class).to(InputJournalTimer.class);
+        this.bind(SimulatorBase.class).to(RobotSimulator.class);
+
+        this.bind(IDriver.class).to(Driver.class);
+        this.bind(IButtonMap.class).to(ButtonMap.class);
+        this.bind(IFile.class).to(FauxbotFile.class);
+        this.bind(ISmartDashboardLogger.class).to(FauxbotSmartDashboardLogger.class);
+    }
+
+    @Singleton
+    @Provides
+    public MechanismManager getMechanismManager(Injector injector)
+    {
+        return new MechanismManager(SettingsManager.getActiveMechanisms(injector), injector.getInstance(LoopProfiler.class));
+    }
+}
@@ -0,0 +1,152 @@
+package frc.robot;
+
+import java.io.IOException;
+
+import frc.lib.CoreRobot;
+import frc.lib.driver.InputJournal;
+import frc.lib.robotprovider.*;
+
+/**
+ * Runs the robot's code headless against a recorded input journal (see InputJournal), one robot loop per recorded frame
+ * and without waiting between loops, so that a match's exact driver input can be played back for profiling and for
+ * behavior regression runs.
+ *
+ * The robot's mode changes where the Driver recorded them, and the recorded joystick input is fed back in through the
+ * fauxbot's joysticks.  Sensors behave as they do in the fauxbot.
+ *
+ * usage: InputJournalRunner <input journal, or first .gz segment>
+ */
+public class InputJournalRunner implements Runnable
+{
+    private final CoreRobot<InputJournalModule> robot;
+    private final InputJournalPlayer player;
+
+    private int loops;
+    private long elapsedNanos;
+
+    public InputJournalRunner(CoreRobot<InputJournalModule> robot, InputJournalPlayer player)
+    {
+        this.robot = robot;
+        this.player = player;
+
+        this.loops = 0;
+        this.elapsedNanos = 0L;
+    }
+
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 1)
+        {
+            System.err.println("usage: InputJournalRunner <input journal, or first .gz segment>");
+            return;
+        }
+
+        try (InputJournalPlayer player = InputJournalPlayer.open(args[0]))
+        {
+            InputJournalRunner runner = new InputJournalRunner(new CoreRobot<InputJournalModule>(new InputJournalModule(player)), player);
+            runner.run();
+
+            double elapsedSeconds = runner.getElapsedNanos() / 1000000000.0;
+            System.out.println(
+                String.format(
+                    "Played back %1$d loops in %2$.3fs (%3$.1f loops/sec, %4$.1fx real time)",
+                    runner.getLoops(),
+                    elapsedSeconds,
+                    runner.getLoops() / elapsedSeconds,
+                    runner.getLoops() * TuningConstants.LOOP_DURATION / elapsedSeconds));
+        }
+    }
+
+    @Override
+    public void run()
+    {
+        long startTime = System.nanoTime();
+
+        this.robot.robotInit();
+
+        try
+        {
+            int recordType;
+            while ((recordType = this.player.next()) >= 0)
+            {
+                if (recordType == InputJournal.MODE_RECORD)
+                {
+                    switch (this.player.getMode())
+                    {
+                        case Disabled:
+                            this.robot.disabledInit();
+                            break;
+
+                        case Autonomous:
+                            this.robot.autonomousInit();
+                            break;
+
+                        case Simulation:
+                            this.robot.simulationInit();
+                            break;
+
+                        case Teleop:
+                            this.robot.teleopInit();
+                            break;
+
+                        case Test:
+                            this.robot.testInit();
+                            break;
+                    }
+
+                    continue;
+                }
+
+                // each frame was recorded by the Driver during a periodic loop
+                switch (this.player.getMode())
+                {
+                    case Disabled:
+                        this.robot.disabledPeriodic();
+                        break;
+
+                    case Autonomous:
+                        this.robot.autonomousPeriodic();
+                        break;
+
+                    case Simulation:
+                        this.robot.simulationPeriodic();
+                        break;
+
+                    case Teleop:
+                        this.robot.teleopPeriodic();
+                        break;
+
+                    case Test:
+                        this.robot.testPeriodic();
+                        break;
+                }
+
+                this.loops++;
+            }
+        }
+        catch (IOException ex)
+        {
+            System.err.println("Failed to read the input journal after " + this.player.getFrameCount() + " frames: " + ex.getMessage());
+        }
+
+        this.elapsedNanos = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Retrieve the number of robot loops that were run
+     * @return the number of loops
+     */
+    public int getLoops()
+    {
+        return this.loops;
+    }
+
+    /**
+     * Retrieve how long the playback took
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos()
+    {
+        return this.elapsedNanos;
+    }
+}
@@ -0,0 +1,60 @@
+package frc.robot;
+
+import javax.inject.Singleton;
+
+import frc.lib.driver.IButtonMap;
+import frc.lib.mechanisms.LoopProfiler;
+import frc.lib.mechanisms.MechanismManager;
+import frc.lib.robotprovider.*;
+import frc.lib.driver.*;
+import frc.robot.driver.*;
+import frc.robot.simulation.*;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Injector;
+import com.google.inject.Provides;
+
+public class ReplayModule extends AbstractModule
+{
+    private final ReplayLog log;
+    private final ISmartDashboardLogger outputLogger;
+
+    /**
+     * Initializes a new instance of the ReplayModule class.
+     * @param log to replay
+     * @param outputLogger to use as the dashboard logger, or null to use the fauxbot's dashboard logger
+     */
+    public ReplayModule(ReplayLog log, ISmartDashboardLogger outputLogger)
+    {
+        this.log = log;
+        this.outputLogger = outputLogger;
+    }
+
+    @Override
+    protected void configure()
+    {
+        this.bind(ReplayLog.class).toInstance(this.log);
+        this.bind(IRobotProvider.class).to(ReplayProvider.class);
+        this.bind(ITimer.class).to(ReplayTimer.class);
+        this.bind(SimulatorBase.class).to(RobotSimulator.class);
+
+        this.bind(IDriver.class).to(Driver.class);
+        this.bind(IButtonMap.class).to(ButtonMap.class);
+        this.bind(IFile.class).to(FauxbotFile.class);
+        if (this.outputLogger != null)
+        {
+            this.bind(ISmartDashboardLogger.class).toInstance(this.outputLogger);
+        }
+        else
+        {
+            this.bind(ISmartDashboardLogger.class).to(FauxbotSmartDashboardLogger.class);
+        }
+    }
+
+    @Singleton
+    @Provides
+    public MechanismManager getMechanismManager(Injector injector)
+    {
+        return new MechanismManager(SettingsManager.getActiveMechanisms(injector), injector.getInstance(LoopProfiler.class));
+    }
+}
@@ -0,0 +1,537 @@
+package frc.robot;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import frc.lib.robotprovider.*;
+import frc.robot.simulation.SimulatorBase;
+
+/**
+ * Robot provider that feeds the recorded input values (LoggingKeys marked isInput) from a log back into the robot's
+ * sensors and network table subscribers, so that the robot's code can be re-run against a recorded match.
+ *
+ * The replayed inputs are the climber limit switch, the power distribution hub, the Pigeon, the vision subscribers, the
+ * swerve drive/steer motors and absolute encoders, the arm's shoulder/wrist motors, wrist limit switch and absolute
+ * encoders, the shooter flywheels, the intake motor's velocity and the through-beam sensor.
+ *
+ * Note that only values that were logged can be replayed, and they are what the mechanisms logged rather than the raw
+ * readings (e.g. the vision offsets are logged after filtering by processing mode, so they are fed to both the front and
+ * rear april tag subscribers, and the arm's absolute encoders are logged after adjusting their angles).  Until a value
+ * has been logged, a sensor reads as it does in the fauxbot (other than the arm's absolute encoders, which read as
+ * disconnected).  Nothing is logged for the climber motor or the arm's shoulder follower motor, so they (along with the
+ * actuators and everything else) behave as they do in the fauxbot.
+ */
+@Singleton
+public class ReplayProvider extends FauxbotProvider
+{
+    private final SimulatorBase simulator;
+    private final ReplayLog log;
+
+    @Inject
+    public ReplayProvider(SimulatorBase simulator, ReplayLog log)
+    {
+        super(simulator);
+
+        this.simulator = simulator;
+        this.log = log;
+    }
+
+    @Override
+    public IAnalogInput getAnalogInput(int channel)
+    {
+        if (channel == ElectronicsConstants.INTAKE_THROUGHBEAM_ANALOG_INPUT)
+        {
+            return new ReplayAnalogInput(channel, this.log, LoggingKey.IntakeThroughBeamSensorValue);
+        }
+
+        return super.getAnalogInput(channel);
+    }
+
+    @Override
+    public IDigitalInput getDigitalInput(int channel)
+    {
+        if (channel == ElectronicsConstants.CLIMBER_LIMIT_SWITCH_DIO_CHANNEL)
+        {
+            // ClimberMechanism logs whether the climber is down, which is when the limit switch is open
+            return () -> !this.log.getBoolean(LoggingKey.ClimberLimitSwitch, false);
+        }
+
+        return super.getDigitalInput(channel);
+    }
+
+    @Override
+    public IDutyCycleEncoder getDutyCycleEncoder(int channel)
+    {
+        switch (channel)
+        {
+            case ElectronicsConstants.ARM_WRIST_ABSOLUTE_ENCODER_DIO_CHANNEL:
+                return new ReplayDutyCycleEncoder(channel, this.log, LoggingKey.ArmWristAbsoluteEncoderPosition, TuningConstants.ARM_WRIST_ABSOLUTE_ENCODER_ANGLE_OFFSET);
+
+            case ElectronicsConstants.ARM_SHOULDER_ABSOLUTE_ENCODER_DIO_CHANNEL:
+                return new ReplayDutyCycleEncoder(channel, this.log, LoggingKey.ArmShoulderAbsoluteEncoderPosition, TuningConstants.ARM_SHOULDER_ABSOLUTE_ENCODER_ANGLE_OFFSET);
+
+            default:
+                return super.getDutyCycleEncoder(channel);
+        }
+    }
+
+    @Override
+    public ITalonSRX getTalonSRX(int deviceNumber)
+    {
+        if (deviceNumber == ElectronicsConstants.INTAKE_MOTOR_CAN_ID)
+        {
+            return new ReplayTalonSRX(deviceNumber, this.simulator, this.log, LoggingKey.IntakeMotorVelocity);
+        }
+
+        return super.getTalonSRX(deviceNumber);
+    }
+
+    @Override
+    public ITalonFX getTalonFX(int deviceNumber)
+    {
+        return this.getReplayTalonFX(deviceNumber);
+    }
+
+    @Override
+    public ITalonFX getTalonFX(int deviceNumber, String canbus)
+    {
+        return this.getReplayTalonFX(deviceNumber);
+    }
+
+    @Override
+    public ISparkMax getSparkMax(int deviceID, SparkMaxMotorType motorType)
+    {
+        switch (deviceID)
+        {
+            case ElectronicsConstants.ARM_SHOULDER_MOTOR_CAN_ID:
+                return new ReplaySparkMax(deviceID, motorType, this.log, LoggingKey.ArmShoulderPosition, LoggingKey.ArmShoulderVelocity, null);
+
+            case ElectronicsConstants.ARM_WRIST_MOTOR_CAN_ID:
+                return new ReplaySparkMax(deviceID, motorType, this.log, LoggingKey.ArmWristPosition, LoggingKey.ArmWristVelocity, LoggingKey.ArmWristLimitSwitch);
+
+            case ElectronicsConstants.SHOOTER_NEAR_FLYWHEEL_MOTOR_CAN_ID:
+                return new ReplaySparkMax(deviceID, motorType, this.log, LoggingKey.ShooterNearFlywheelPosition, LoggingKey.ShooterNearFlywheelVelocity, null);
+
+            case ElectronicsConstants.SHOOTER_FAR_FLYWHEEL_MOTOR_CAN_ID:
+                return new ReplaySparkMax(deviceID, motorType, this.log, LoggingKey.ShooterFarFlywheelPosition, LoggingKey.ShooterFarFlywheelVelocity, null);
+
+            default:
+                return super.getSparkMax(deviceID, motorType);
+        }
+    }
+
+    @Override
+    public ICANCoder getCANCoder(int deviceNumber)
+    {
+        return this.getReplayCANCoder(deviceNumber);
+    }
+
+    @Override
+    public ICANCoder getCANCoder(int deviceNumber, String canbus)
+    {
+        return this.getReplayCANCoder(deviceNumber);
+    }
+
+    @Override
+    public IPowerDistribution getPowerDistribution()
+    {
+        return new ReplayPowerDistribution(this.log);
+    }
+
+    @Override
+    public IPowerDistribution getPowerDistribution(int module, PowerDistributionModuleType moduleType)
+    {
+        return new ReplayPowerDistribution(this.log);
+    }
+
+    @Override
+    public IPigeon2 getPigeon2(int deviceNumber)
+    {
+        return new ReplayPigeon2(this.log);
+    }
+
+    @Override
+    public IPigeon2 getPigeon2(int deviceNumber, String canbus)
+    {
+        return new ReplayPigeon2(this.log);
+    }
+
+    @Override
+    public INetworkTableProvider getNetworkTableProvider()
+    {
+        return new ReplayNetworkTableProvider(this.log);
+    }
+
+    private ITalonFX getReplayTalonFX(int deviceNumber)
+    {
+        switch (deviceNumber)
+        {
+            case ElectronicsConstants.SDSDRIVETRAIN_DRIVE_MOTOR_1_CAN_ID:
+                return new ReplayTalonFX(deviceNumber, this.simulator, this.log, LoggingKey.DriveTrainDrivePosition1, LoggingKey.DriveTrainDriveVelocity1, LoggingKey.DriveTrainDriveError1);
+
+            case ElectronicsConstants.SDSDRIVETRAIN_STEER_MOTOR_1_CAN_ID:
+                return new ReplayTalonFX(deviceNumber, this.simulator, this.log, LoggingKey.DriveTrainSteerPosition1, LoggingKey.DriveTrainSteerVelocity1, LoggingKey.DriveTrainSteerError1);
+
+            case ElectronicsConstants.SDSDRIVETRAIN_DRIVE_MOTOR_2_CAN_ID:
+                return new ReplayTalonFX(deviceNumber, this.simulator, this.log, LoggingKey.DriveTrainDrivePosition2, LoggingKey.DriveTrainDriveVelocity2, LoggingKey.DriveTrainDriveError2);
+
+            case ElectronicsConstants.SDSDRIVETRAIN_STEER_MOTOR_2_CAN_ID:
+                return new ReplayTalonFX(deviceNumber, this.simulator, this.log, LoggingKey.DriveTrainSteerPosition2, LoggingKey.DriveTrainSteerVelocity2, LoggingKey.DriveTrainSteerError2);
+
+            case ElectronicsConstants.SDSDRIVETRAIN_DRIVE_MOTOR_3_CAN_ID:
+                return new ReplayTalonFX(deviceNumber, this.simulator, this.log, LoggingKey.DriveTrainDrivePosition3, LoggingKey.DriveTrainDriveVelocity3, LoggingKey.DriveTrainDriveError3);
+
+            case ElectronicsConstants.SDSDRIVETRAIN_STEER_MOTOR_3_CAN_ID:
+                return new ReplayTalonFX(deviceNumber, this.simulator, this.log, LoggingKey.DriveTrainSteerPosition3, LoggingKey.DriveTrainSteerVelocity3, LoggingKey.DriveTrainSteerError3);
+
+            case ElectronicsConstants.SDSDRIVETRAIN_DRIVE_MOTOR_4_CAN_ID:
+                return new ReplayTalonFX(deviceNumber, this.simulator, this.log, LoggingKey.DriveTrainDrivePosition4, LoggingKey.DriveTrainDriveVelocity4, LoggingKey.DriveTrainDriveError4);
+
+            case ElectronicsConstants.SDSDRIVETRAIN_STEER_MOTOR_4_CAN_ID:
+                return new ReplayTalonFX(deviceNumber, this.simulator, this.log, LoggingKey.DriveTrainSteerPosition4, LoggingKey.DriveTrainSteerVelocity4, LoggingKey.DriveTrainSteerError4);
+
+            default:
+                return super.getTalonFX(deviceNumber);
+        }
+    }
+
+    private ICANCoder getReplayCANCoder(int deviceNumber)
+    {
+        switch (deviceNumber)
+        {
+            case ElectronicsConstants.SDSDRIVETRAIN_ABSOLUTE_ENCODER_1_CAN_ID:
+                return new ReplayCANCoder(deviceNumber, this.log, LoggingKey.DriveTrainAbsoluteEncoderAngle1);
+
+            case ElectronicsConstants.SDSDRIVETRAIN_ABSOLUTE_ENCODER_2_CAN_ID:
+                return new ReplayCANCoder(deviceNumber, this.log, LoggingKey.DriveTrainAbsoluteEncoderAngle2);
+
+            case ElectronicsConstants.SDSDRIVETRAIN_ABSOLUTE_ENCODER_3_CAN_ID:
+                return new ReplayCANCoder(deviceNumber, this.log, LoggingKey.DriveTrainAbsoluteEncoderAngle3);
+
+            case ElectronicsConstants.SDSDRIVETRAIN_ABSOLUTE_ENCODER_4_CAN_ID:
+                return new ReplayCANCoder(deviceNumber, this.log, LoggingKey.DriveTrainAbsoluteEncoderAngle4);
+
+            default:
+                return super.getCANCoder(deviceNumber);
+        }
+    }
+
+    private static class ReplayAnalogInput extends FauxbotAnalogInput
+    {
+        private final ReplayLog log;
+        private final LoggingKey key;
+
+        ReplayAnalogInput(int port, ReplayLog log, LoggingKey key)
+        {
+            super(port);
+
+            this.log = log;
+            this.key = key;
+        }
+
+        @Override
+        public double getVoltage()
+        {
+            return this.log.getNumber(this.key, super.getVoltage());
+        }
+    }
+
+    /**
+     * ArmMechanism logs the adjusted angle (or null when the encoder is disconnected), so add the adjustment back
+     */
+    private static class ReplayDutyCycleEncoder extends FauxbotDutyCycleEncoder
+    {
+        private final ReplayLog log;
+        private final LoggingKey key;
+        private final double angleOffset;
+
+        ReplayDutyCycleEncoder(int port, ReplayLog log, LoggingKey key, double angleOffset)
+        {
+            super(port);
+
+            this.log = log;
+            this.key = key;
+            this.angleOffset = angleOffset;
+        }
+
+        @Override
+        public double getDistance()
+        {
+            return this.log.getNumber(this.key, 0.0) + this.angleOffset;
+        }
+
+        @Override
+        public boolean isConnected()
+        {
+            return this.log.hasValue(this.key);
+        }
+    }
+
+    private static class ReplayTalonSRX extends FauxbotTalonSRX
+    {
+        private final ReplayLog log;
+        private final LoggingKey velocityKey;
+
+        ReplayTalonSRX(int deviceNumber, SimulatorBase simulator, ReplayLog log, LoggingKey velocityKey)
+        {
+            super(deviceNumber, simulator);
+
+            this.log = log;
+            this.velocityKey = velocityKey;
+        }
+
+        @Override
+        public double getVelocity()
+        {
+            return this.log.getNumber(this.velocityKey, super.getVelocity());
+        }
+    }
+
+    private static class ReplayTalonFX extends FauxbotTalonFX
+    {
+        private final ReplayLog log;
+        private final LoggingKey positionKey;
+        private final LoggingKey velocityKey;
+        private final LoggingKey errorKey;
+
+        ReplayTalonFX(int deviceNumber, SimulatorBase simulator, ReplayLog log, LoggingKey positionKey, LoggingKey velocityKey, LoggingKey errorKey)
+        {
+            super(deviceNumber, simulator);
+
+            this.log = log;
+            this.positionKey = positionKey;
+            this.velocityKey = velocityKey;
+            this.errorKey = errorKey;
+        }
+
+        @Override
+        public double getPosition()
+        {
+            return this.log.getNumber(this.positionKey, super.getPosition());
+        }
+
+        @Override
+        public double getVelocity()
+        {
+            return this.log.getNumber(this.velocityKey, super.getVelocity());
+        }
+
+        @Override
+        public double getError()
+        {
+            return this.log.getNumber(this.errorKey, super.getError());
+        }
+    }
+
+    private static class ReplaySparkMax extends FauxbotSparkMax
+    {
+        private final ReplayLog log;
+        private final LoggingKey positionKey;
+        private final LoggingKey velocityKey;
+        private final LoggingKey reverseLimitSwitchKey; // null if the limit switch isn't logged
+
+        ReplaySparkMax(int deviceID, SparkMaxMotorType motorType, ReplayLog log, LoggingKey positionKey, LoggingKey velocityKey, LoggingKey reverseLimitSwitchKey)
+        {
+            super(deviceID, motorType);
+
+            this.log = log;
+            this.positionKey = positionKey;
+            this.velocityKey = velocityKey;
+            this.reverseLimitSwitchKey = reverseLimitSwitchKey;
+        }
+
+        @Override
+        public double getPosition()
+        {
+            return this.log.getNumber(this.positionKey, super.getPosition());
+        }
+
+        @Override
+        public double getVelocity()
+        {
+            return this.log.getNumber(this.velocityKey, super.getVelocity());
+        }
+
+        @Override
+        public boolean getReverseLimitSwitchStatus()
+        {
+            if (this.reverseLimitSwitchKey == null)
+            {
+                return super.getReverseLimitSwitchStatus();
+            }
+
+            return this.log.getBoolean(this.reverseLimitSwitchKey, super.getReverseLimitSwitchStatus());
+        }
+    }
+
+    private static class ReplayCANCoder extends FauxbotCANCoder
+    {
+        private final ReplayLog log;
+        private final LoggingKey key;
+
+        ReplayCANCoder(int deviceNumber, ReplayLog log, LoggingKey key)
+        {
+            super(deviceNumber);
+
+            this.log = log;
+            this.key = key;
+        }
+
+        @Override
+        public double getAbsolutePosition()
+        {
+            return this.log.getNumber(this.key, super.getAbsolutePosition());
+        }
+    }
+
+    private static class ReplayPowerDistribution extends FauxbotPowerDistribution
+    {
+        private final ReplayLog log;
+
+        ReplayPowerDistribution(ReplayLog log)
+        {
+            this.log = log;
+        }
+
+        @Override
+        public double getBatteryVoltage()
+        {
+            return this.log.getNumber(LoggingKey.PowerBatteryVoltage, 12.0);
+        }
+
+        @Override
+        public double getTotalCurrent()
+        {
+            return this.log.getNumber(LoggingKey.PowerCurrent, 0.0);
+        }
+    }
+
+    private static class ReplayPigeon2 implements IPigeon2
+    {
+        private final ReplayLog log;
+
+        ReplayPigeon2(ReplayLog log)
+        {
+            this.log = log;
+        }
+
+        @Override
+        public void getYawPitchRoll(double[] ypr_deg)
+        {
+            ypr_deg[0] = this.log.getNumber(LoggingKey.PigeonYaw, 0.0);
+            ypr_deg[1] = this.log.getNumber(LoggingKey.PigeonPitch, 0.0);
+            ypr_deg[2] = this.log.getNumber(LoggingKey.PigeonRoll, 0.0);
+        }
+
+        @Override
+        public void getRollPitchYawRates(double[] xyz_dps)
+        {
+            xyz_dps[0] = this.log.getNumber(LoggingKey.PigeonRollRate, 0.0);
+            xyz_dps[1] = this.log.getNumber(LoggingKey.PigeonPitchRate, 0.0);
+            xyz_dps[2] = this.log.getNumber(LoggingKey.PigeonYawRate, 0.0);
+        }
+
+        @Override
+        public void setYaw(double angleDeg)
+        {
+        }
+
+        @Override
+        public void setYPRUpdateFrequency(double frequencyHz)
+        {
+        }
+
+        @Override
+        public void setRPYRateUpdateFrequency(double frequencyHz)
+        {
+        }
+    }
+
+    private static class ReplayNetworkTableProvider extends FauxbotNetworkTableProvider
+    {
+        private final ReplayLog log;
+
+        ReplayNetworkTableProvider(ReplayLog log)
+        {
+            this.log = log;
+        }
+
+        @Override
+        public IDoubleSubscriber getDoubleSubscriber(String key)
+        {
+            return this.getDoubleSubscriber(key, 0.0);
+        }
+
+        @Override
+        public IDoubleSubscriber getDoubleSubscriber(String key, double defaultValue)
+        {
+            switch (key)
+            {
+                case "atr.xOffset":
+                case "atf.xOffset":
+                    return this.getLogSubscriber(LoggingKey.OffboardVisionAprilTagXOffset, defaultValue);
+
+                case "atr.yOffset":
+                case "atf.yOffset":
+                    return this.getLogSubscriber(LoggingKey.OffboardVisionAprilTagYOffset, defaultValue);
+
+                case "atr.zOffset":
+                case "atf.zOffset":
+                    return this.getLogSubscriber(LoggingKey.OffboardVisionAprilTagZOffset, defaultValue);
+
+                case "atr.yawAngle":
+                case "atf.yawAngle":
+                    return this.getLogSubscriber(LoggingKey.OffboardVisionAprilTagYaw, defaultValue);
+
+                case "atr.pitchAngle":
+                case "atf.pitchAngle":
+                    return this.getLogSubscriber(LoggingKey.OffboardVisionAprilTagPitch, defaultValue);
+
+                case "atr.rollAngle":
+                case "atf.rollAngle":
+                    return this.getLogSubscriber(LoggingKey.OffboardVisionAprilTagRoll, defaultValue);
+
+                case "atr.tagId":
+                case "atf.tagId":
+                    return this.getLogSubscriber(LoggingKey.OffboardVisionAprilTagId, defaultValue);
+
+                case "v.heartbeat":
+                    return new ReplayHeartbeatSubscriber(this.log);
+
+                default:
+                    return () -> defaultValue;
+            }
+        }
+
+        private IDoubleSubscriber getLogSubscriber(LoggingKey loggingKey, double defaultValue)
+        {
+            return () -> this.log.getNumber(loggingKey, defaultValue);
+        }
+    }
+
+    /**
+     * The vision heartbeat isn't logged, but the number of missed heartbeats is - so change the heartbeat whenever none were missed
+     */
+    private static class ReplayHeartbeatSubscriber implements IDoubleSubscriber
+    {
+        private final ReplayLog log;
+        private double heartbeat;
+
+        ReplayHeartbeatSubscriber(ReplayLog log)
+        {
+            this.log = log;
+            this.heartbeat = 0.0;
+        }
+
+        @Override
+        public double get()
+        {
+            if (this.log.getNumber(LoggingKey.OffboardVisionMissedHeartbeats, 0.0) == 0.0)
+            {
+                this.heartbeat = this.log.getFrameCount();
+            }
+
+            return this.heartbeat;
+        }
+    }
+}
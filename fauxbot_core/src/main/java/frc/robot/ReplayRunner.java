@@ -0,0 +1,192 @@
+package frc.robot;
+
+import java.io.IOException;
+
+import frc.lib.CoreRobot;
+import frc.lib.robotprovider.*;
+
+/**
+ * Runs the robot's code headless against a recorded (binary) match log, one robot loop per recorded frame and without
+ * waiting between loops, so that mechanism code can be profiled and regression-tested against real match data.
+ *
+ * The robot's mode for each loop comes from the recorded RobotState, and the recorded inputs are fed back in through the
+ * ReplayProvider.  Joysticks aren't recorded in the log, so they are left untouched.  The inputs are only recorded when
+ * the log was written with LOG_FILE_INCLUDE_INPUTS (and LOG_FILE_BINARY_FORMAT) turned on.
+ *
+ * usage: ReplayRunner <binary log, or first .gz segment> [<output csv file>]
+ */
+public class ReplayRunner implements Runnable
+{
+    private final CoreRobot<ReplayModule> robot;
+    private final ReplayLog log;
+
+    private int loops;
+    private long elapsedNanos;
+
+    public ReplayRunner(CoreRobot<ReplayModule> robot, ReplayLog log)
+    {
+        this.robot = robot;
+        this.log = log;
+
+        this.loops = 0;
+        this.elapsedNanos = 0L;
+    }
+
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 1)
+        {
+            System.err.println("usage: ReplayRunner <binary log, or first .gz segment> [<output csv file>]");
+            return;
+        }
+
+        ReplayOutputLogger outputLogger = null;
+        if (args.length > 1)
+        {
+            outputLogger = new ReplayOutputLogger(new ReplayFileWriter(args[1]));
+        }
+
+        try (ReplayLog log = ReplayLog.open(args[0]))
+        {
+            if (!log.hasInputs())
+            {
+                System.err.println("warning: log doesn't contain any inputs, it should be recorded with LOG_FILE_INCLUDE_INPUTS turned on");
+            }
+
+            ReplayRunner runner = new ReplayRunner(new CoreRobot<ReplayModule>(new ReplayModule(log, outputLogger)), log);
+            runner.run();
+
+            double elapsedSeconds = runner.getElapsedNanos() / 1000000000.0;
+            System.out.println(
+                String.format(
+                    "Replayed %1$d loops in %2$.3fs (%3$.1f loops/sec, %4$.1fx real time)",
+                    runner.getLoops(),
+                    elapsedSeconds,
+                    runner.getLoops() / elapsedSeconds,
+                    runner.getLoops() * TuningConstants.LOOP_DURATION / elapsedSeconds));
+        }
+        finally
+        {
+            if (outputLogger != null)
+            {
+                outputLogger.close();
+            }
+        }
+    }
+
+    @Override
+    public void run()
+    {
+        long startTime = System.nanoTime();
+
+        this.robot.robotInit();
+
+        RobotMode currentMode = null;
+        try
+        {
+            while (this.log.next())
+            {
+                RobotMode newMode = ReplayRunner.getRecordedMode(this.log.getString(LoggingKey.RobotState));
+                if (currentMode != newMode)
+                {
+                    currentMode = newMode;
+                    switch (newMode)
+                    {
+                        case Disabled:
+                            this.robot.disabledInit();
+                            break;
+
+                        case Autonomous:
+                            this.robot.autonomousInit();
+                            break;
+
+                        case Simulation:
+                            this.robot.simulationInit();
+                            break;
+
+                        case Teleop:
+                            this.robot.teleopInit();
+                            break;
+
+                        case Test:
+                            this.robot.testInit();
+                            break;
+                    }
+
+                    if (newMode == RobotMode.Disabled)
+                    {
+                        // the recorded frame for entering disabled mode was written by disabledInit (the others by the first periodic loop)
+                        this.loops++;
+                        continue;
+                    }
+                }
+
+                switch (currentMode)
+                {
+                    case Disabled:
+                        this.robot.disabledPeriodic();
+                        break;
+
+                    case Autonomous:
+                        this.robot.autonomousPeriodic();
+                        break;
+
+                    case Simulation:
+                        this.robot.simulationPeriodic();
+                        break;
+
+                    case Teleop:
+                        this.robot.teleopPeriodic();
+                        break;
+
+                    case Test:
+                        this.robot.testPeriodic();
+                        break;
+                }
+
+                this.loops++;
+            }
+        }
+        catch (IOException ex)
+        {
+            System.err.println("Failed to read the log after " + this.log.getFrameCount() + " frames: " + ex.getMessage());
+        }
+
+        this.elapsedNanos = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Retrieve the number of robot loops that were run
+     * @return the number of loops
+     */
+    public int getLoops()
+    {
+        return this.loops;
+    }
+
+    /**
+     * Retrieve how long the replay took
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos()
+    {
+        return this.elapsedNanos;
+    }
+
+    private static RobotMode getRecordedMode(String robotState)
+    {
+        if (robotState != null)
+        {
+            for (RobotMode mode : RobotMode.values())
+            {
+                if (mode.toString().equals(robotState))
+                {
+                    return mode;
+                }
+            }
+        }
+
+        // "Init", or nothing recorded yet
+        return RobotMode.Disabled;
+    }
+}
@@ -0,0 +1,275 @@
+package frc.robot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.robotprovider.*;
+
+public class ReplayProviderTests
+{
+    private static final LoggingKey[] Schema = new LoggingKey[]
+    {
+        LoggingKey.RobotState,
+        LoggingKey.RobotTime,
+        LoggingKey.DriveTrainDrivePosition1,
+        LoggingKey.DriveTrainDriveVelocity1,
+        LoggingKey.DriveTrainSteerPosition4,
+        LoggingKey.DriveTrainAbsoluteEncoderAngle3,
+        LoggingKey.ArmWristPosition,
+        LoggingKey.ArmWristLimitSwitch,
+        LoggingKey.ArmShoulderAbsoluteEncoderPosition,
+        LoggingKey.ShooterNearFlywheelVelocity,
+        LoggingKey.IntakeMotorVelocity,
+        LoggingKey.IntakeThroughBeamSensorValue,
+        LoggingKey.ClimberLimitSwitch,
+        LoggingKey.PowerBatteryVoltage,
+        LoggingKey.PigeonYaw,
+    };
+
+    private static final int FrameCount = 30;
+
+    @Test
+    public void testReplayLog() throws IOException
+    {
+        ExpectedValuesLogger expectedValues = new ExpectedValuesLogger();
+        try (ReplayLog log = new ReplayLog(new BinaryLogReader(new ByteArrayInputStream(ReplayProviderTests.recordLog(expectedValues)))))
+        {
+            Assertions.assertTrue(log.hasInputs());
+            Assertions.assertFalse(log.hasValue(LoggingKey.RobotTime));
+            Assertions.assertEquals(-1.0, log.getNumber(LoggingKey.RobotTime, -1.0));
+            Assertions.assertNull(log.getString(LoggingKey.RobotState));
+
+            for (int i = 0; i < ReplayProviderTests.FrameCount; i++)
+            {
+                Assertions.assertTrue(log.next());
+                Assertions.assertEquals(i + 1, log.getFrameCount());
+
+                // values are held from the frame where they were last written, and nulls aren't values
+                Object[] frame = expectedValues.getFrame(i);
+                Assertions.assertEquals(frame[LoggingKey.RobotState.ordinal()], log.getString(LoggingKey.RobotState));
+                for (LoggingKey key : ReplayProviderTests.Schema)
+                {
+                    Object expected = frame[key.ordinal()];
+                    Assertions.assertEquals(expected != null, log.hasValue(key), key.value);
+                    if (expected instanceof Double)
+                    {
+                        Assertions.assertEquals((Double)expected, log.getNumber(key, -1.0), 0.0001, key.value);
+                    }
+                }
+
+                // keys that aren't in the log keep their default
+                Assertions.assertFalse(log.hasValue(LoggingKey.PigeonPitch));
+                Assertions.assertEquals(-1.0, log.getNumber(LoggingKey.PigeonPitch, -1.0));
+            }
+
+            Assertions.assertFalse(log.next());
+            Assertions.assertEquals(ReplayProviderTests.FrameCount, log.getFrameCount());
+        }
+    }
+
+    @Test
+    public void testReplayProvider() throws IOException
+    {
+        ExpectedValuesLogger expectedValues = new ExpectedValuesLogger();
+        try (ReplayLog log = new ReplayLog(new BinaryLogReader(new ByteArrayInputStream(ReplayProviderTests.recordLog(expectedValues)))))
+        {
+            ReplayProvider provider = new ReplayProvider(null, log);
+            ITalonFX driveMotor1 = provider.getTalonFX(ElectronicsConstants.SDSDRIVETRAIN_DRIVE_MOTOR_1_CAN_ID, ElectronicsConstants.CANIVORE_NAME);
+            ITalonFX steerMotor4 = provider.getTalonFX(ElectronicsConstants.SDSDRIVETRAIN_STEER_MOTOR_4_CAN_ID, ElectronicsConstants.CANIVORE_NAME);
+            ICANCoder absoluteEncoder3 = provider.getCANCoder(ElectronicsConstants.SDSDRIVETRAIN_ABSOLUTE_ENCODER_3_CAN_ID, ElectronicsConstants.CANIVORE_NAME);
+            ISparkMax wristMotor = provider.getSparkMax(ElectronicsConstants.ARM_WRIST_MOTOR_CAN_ID, SparkMaxMotorType.Brushless);
+            ISparkMax nearFlywheelMotor = provider.getSparkMax(ElectronicsConstants.SHOOTER_NEAR_FLYWHEEL_MOTOR_CAN_ID, SparkMaxMotorType.Brushless);
+            IDutyCycleEncoder shoulderAbsoluteEncoder = provider.getDutyCycleEncoder(ElectronicsConstants.ARM_SHOULDER_ABSOLUTE_ENCODER_DIO_CHANNEL);
+            ITalonSRX intakeMotor = provider.getTalonSRX(ElectronicsConstants.INTAKE_MOTOR_CAN_ID);
+            IAnalogInput throughBeamSensor = provider.getAnalogInput(ElectronicsConstants.INTAKE_THROUGHBEAM_ANALOG_INPUT);
+            IDigitalInput climberLimitSwitch = provider.getDigitalInput(ElectronicsConstants.CLIMBER_LIMIT_SWITCH_DIO_CHANNEL);
+            IPowerDistribution powerDistribution = provider.getPowerDistribution(ElectronicsConstants.POWER_DISTRIBUTION_CAN_ID, ElectronicsConstants.POWER_DISTRIBUTION_TYPE);
+            IPigeon2 pigeon = provider.getPigeon2(ElectronicsConstants.PIGEON_IMU_CAN_ID, ElectronicsConstants.CANIVORE_NAME);
+
+            // nothing has been replayed yet
+            Assertions.assertFalse(shoulderAbsoluteEncoder.isConnected());
+            Assertions.assertEquals(12.0, powerDistribution.getBatteryVoltage());
+
+            double[] ypr = new double[3];
+            int connectedFrames = 0;
+            for (int i = 0; i < ReplayProviderTests.FrameCount; i++)
+            {
+                Assertions.assertTrue(log.next());
+
+                Object[] frame = expectedValues.getFrame(i);
+                ReplayProviderTests.assertReplayed(frame, LoggingKey.DriveTrainDrivePosition1, driveMotor1.getPosition());
+                ReplayProviderTests.assertReplayed(frame, LoggingKey.DriveTrainDriveVelocity1, driveMotor1.getVelocity());
+                ReplayProviderTests.assertReplayed(frame, LoggingKey.DriveTrainSteerPosition4, steerMotor4.getPosition());
+                ReplayProviderTests.assertReplayed(frame, LoggingKey.DriveTrainAbsoluteEncoderAngle3, absoluteEncoder3.getAbsolutePosition());
+                ReplayProviderTests.assertReplayed(frame, LoggingKey.ArmWristPosition, wristMotor.getPosition());
+                ReplayProviderTests.assertReplayed(frame, LoggingKey.ArmWristLimitSwitch, wristMotor.getReverseLimitSwitchStatus() ? 1.0 : 0.0);
+                ReplayProviderTests.assertReplayed(frame, LoggingKey.ShooterNearFlywheelVelocity, nearFlywheelMotor.getVelocity());
+                ReplayProviderTests.assertReplayed(frame, LoggingKey.IntakeMotorVelocity, intakeMotor.getVelocity());
+                ReplayProviderTests.assertReplayed(frame, LoggingKey.IntakeThroughBeamSensorValue, throughBeamSensor.getVoltage());
+                ReplayProviderTests.assertReplayed(frame, LoggingKey.PowerBatteryVoltage, powerDistribution.getBatteryVoltage());
+
+                // the climber logs whether it is down, which is when the limit switch is open
+                ReplayProviderTests.assertReplayed(frame, LoggingKey.ClimberLimitSwitch, climberLimitSwitch.get() ? 0.0 : 1.0);
+
+                pigeon.getYawPitchRoll(ypr);
+                ReplayProviderTests.assertReplayed(frame, LoggingKey.PigeonYaw, ypr[0]);
+
+                // the shoulder's absolute encoder is disconnected when null was logged, and otherwise its angle is
+                // adjusted back so that ArmMechanism calculates the value that it logged
+                Object shoulderAbsolutePosition = frame[LoggingKey.ArmShoulderAbsoluteEncoderPosition.ordinal()];
+                Assertions.assertEquals(shoulderAbsolutePosition != null, shoulderAbsoluteEncoder.isConnected());
+                if (shoulderAbsolutePosition != null)
+                {
+                    connectedFrames++;
+                    Assertions.assertEquals(
+                        (Double)shoulderAbsolutePosition,
+                        shoulderAbsoluteEncoder.getDistance() - TuningConstants.ARM_SHOULDER_ABSOLUTE_ENCODER_ANGLE_OFFSET,
+                        0.0001);
+                }
+            }
+
+            Assertions.assertFalse(log.next());
+
+            // make sure that the log covered both states of the shoulder's absolute encoder
+            Assertions.assertTrue(connectedFrames > 0 && connectedFrames < ReplayProviderTests.FrameCount);
+        }
+    }
+
+    private static void assertReplayed(Object[] frame, LoggingKey key, double actual)
+    {
+        // until a key has been written, the sensor reads as it does in the fauxbot
+        Object expected = frame[key.ordinal()];
+        if (expected != null)
+        {
+            Assertions.assertEquals((Double)expected, actual, 0.0001, key.value);
+        }
+    }
+
+    /**
+     * Record a small binary log, a la what the robot writes during a match
+     * @param expectedValues to also log to, to keep track of the values that were written in each frame
+     * @return the bytes of the log
+     * @throws IOException
+     */
+    private static byte[] recordLog(ExpectedValuesLogger expectedValues) throws IOException
+    {
+        StreamFileWriter writer = new StreamFileWriter();
+        ILogger logger = new MultiLogger(new BinaryLogger(writer, ReplayProviderTests.Schema), expectedValues);
+        for (int i = 0; i < ReplayProviderTests.FrameCount; i++)
+        {
+            logger.logString(LoggingKey.RobotState, i < 15 ? "Disabled" : "Teleop");
+            logger.logNumber(LoggingKey.RobotTime, i * 0.02);
+            logger.logNumber(LoggingKey.DriveTrainDrivePosition1, i * 1.5);
+            logger.logNumber(LoggingKey.DriveTrainDriveVelocity1, i * -0.5);
+            logger.logNumber(LoggingKey.DriveTrainSteerPosition4, i * 3.0);
+            logger.logNumber(LoggingKey.DriveTrainAbsoluteEncoderAngle3, i * 10.0);
+            logger.logNumber(LoggingKey.ArmWristPosition, 90.0 - i);
+            logger.logBoolean(LoggingKey.ArmWristLimitSwitch, (i % 4) == 0);
+            logger.logNumber(LoggingKey.ArmShoulderAbsoluteEncoderPosition, i < 20 ? Double.valueOf(i * -4.0) : null);
+            if ((i % 2) == 0)
+            {
+                logger.logNumber(LoggingKey.ShooterNearFlywheelVelocity, i * 100.0);
+            }
+
+            logger.logNumber(LoggingKey.IntakeMotorVelocity, i * 25.0);
+            logger.logNumber(LoggingKey.IntakeThroughBeamSensorValue, i < 17 ? 4.5 : 0.5);
+            logger.logBoolean(LoggingKey.ClimberLimitSwitch, i >= 13);
+            logger.logNumber(LoggingKey.PowerBatteryVoltage, 12.5 - i * 0.1);
+            logger.logNumber(LoggingKey.PigeonYaw, i * 2.0);
+            logger.update();
+        }
+
+        logger.flush();
+        return writer.toByteArray();
+    }
+
+    /**
+     * Keeps track of the value of each key as of each frame.  Like the BinaryLogger, it has its own LoggingScheduler, so
+     * the keys that aren't logged every loop are written in the same frames.
+     */
+    private static class ExpectedValuesLogger extends StringLogger
+    {
+        private final Object[] values; // null until written, and when null is written
+        private final ArrayList<Object[]> frames;
+
+        ExpectedValuesLogger()
+        {
+            this.values = new Object[LoggingKey.values().length];
+            this.frames = new ArrayList<Object[]>();
+        }
+
+        Object[] getFrame(int frame)
+        {
+            return this.frames.get(frame);
+        }
+
+        @Override
+        public void update()
+        {
+            super.update();
+            this.frames.add(this.values.clone());
+        }
+
+        @Override
+        public void logDefaults()
+        {
+        }
+
+        @Override
+        protected void internalLogString(LoggingKey key, String value)
+        {
+            this.values[key.ordinal()] = "null".equals(value) ? null : value;
+        }
+
+        @Override
+        protected void internalLogBoolean(LoggingKey key, boolean value)
+        {
+            this.values[key.ordinal()] = value ? 1.0 : 0.0;
+        }
+
+        @Override
+        protected void internalLogNumber(LoggingKey key, double value)
+        {
+            this.values[key.ordinal()] = value;
+        }
+    }
+
+    private static class StreamFileWriter implements IFileWriter
+    {
+        private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        @Override
+        public void append(String string)
+        {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            this.stream.write(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length)
+        {
+            this.stream.write(buffer, offset, length);
+        }
+
+        @Override
+        public void flush()
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+
+        public byte[] toByteArray()
+        {
+            return this.stream.toByteArray();
+        }
+    }
+}
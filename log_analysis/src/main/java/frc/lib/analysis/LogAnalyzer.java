@@ -0,0 +1,143 @@
+package frc.lib.analysis;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Command-line tool for summarizing the values logged for a few keys across a set of CSV or binary logs (e.g. a whole
+ * season's worth of matches), using each log's index so that only the requested keys are read.
+ *
+ * usage: LogAnalyzer [--from <seconds>] [--to <seconds>] <key>[,<key>...] <log file or directory>...
+ */
+public class LogAnalyzer
+{
+    private static final String USAGE = "usage: LogAnalyzer [--from <seconds>] [--to <seconds>] <key>[,<key>...] <log file or directory>...";
+
+    public static void main(String[] args)
+    {
+        double startTime = Double.NEGATIVE_INFINITY;
+        double endTime = Double.POSITIVE_INFINITY;
+        int arg = 0;
+        try
+        {
+            while (arg < args.length && args[arg].startsWith("--"))
+            {
+                if (args[arg].equals("--from") && arg + 1 < args.length)
+                {
+                    startTime = Double.parseDouble(args[arg + 1]);
+                }
+                else if (args[arg].equals("--to") && arg + 1 < args.length)
+                {
+                    endTime = Double.parseDouble(args[arg + 1]);
+                }
+                else
+                {
+                    System.err.println(LogAnalyzer.USAGE);
+                    return;
+                }
+
+                arg += 2;
+            }
+        }
+        catch (NumberFormatException ex)
+        {
+            System.err.println(LogAnalyzer.USAGE);
+            return;
+        }
+
+        if (args.length - arg < 2)
+        {
+            System.err.println(LogAnalyzer.USAGE);
+            return;
+        }
+
+        String[] keys = args[arg].split(",");
+        ArrayList<String> logFileNames = new ArrayList<String>();
+        for (int i = arg + 1; i < args.length; i++)
+        {
+            LogAnalyzer.findLogs(new File(args[i]), logFileNames);
+        }
+
+        long startNanos = System.nanoTime();
+        int sampleCount = 0;
+        System.out.println("log,key,count,min,max,mean,p50,p95,p99");
+        for (String logFileName : logFileNames)
+        {
+            try
+            {
+                LogIndex index = LogIndex.open(logFileName);
+                for (String key : keys)
+                {
+                    LogStats stats = index.getSeries(key, startTime, endTime).getStats();
+                    sampleCount += stats.getCount();
+                    System.out.println(
+                        String.format(
+                            "\"%1$s\",%2$s,%3$d,%4$f,%5$f,%6$f,%7$f,%8$f,%9$f",
+                            logFileName,
+                            key,
+                            stats.getCount(),
+                            stats.getMin(),
+                            stats.getMax(),
+                            stats.getMean(),
+                            stats.getPercentile(50.0),
+                            stats.getPercentile(95.0),
+                            stats.getPercentile(99.0)));
+                }
+            }
+            catch (IOException ex)
+            {
+                System.err.println("Failed to read " + logFileName + ": " + ex.getMessage());
+            }
+        }
+
+        System.err.println(
+            String.format(
+                "Scanned %1$d logs (%2$d samples) in %3$.3fs",
+                logFileNames.size(),
+                sampleCount,
+                (System.nanoTime() - startNanos) / 1000000000.0));
+    }
+
+    /**
+     * Find the logs at a path, which may be a log file or a directory of them
+     * @param path of the log file or directory
+     * @param logFileNames to add the logs to
+     */
+    static void findLogs(File path, ArrayList<String> logFileNames)
+    {
+        if (!path.isDirectory())
+        {
+            logFileNames.add(path.getPath());
+            return;
+        }
+
+        File[] files = path.listFiles();
+        Arrays.sort(files);
+        for (File file : files)
+        {
+            if (file.isDirectory())
+            {
+                LogAnalyzer.findLogs(file, logFileNames);
+            }
+            else if (LogAnalyzer.isLog(file.getName()))
+            {
+                logFileNames.add(file.getPath());
+            }
+        }
+    }
+
+    /**
+     * Check whether a file is a log (a CSV file, a binary log, or the first segment of a compressed one)
+     * @param fileName to check
+     * @return true if the file is a log that can be indexed
+     */
+    static boolean isLog(String fileName)
+    {
+        return fileName.endsWith(".csv") ||
+            fileName.endsWith(".csv.gz") ||
+            fileName.endsWith(".irslog") ||
+            fileName.endsWith(".irslog.gz");
+    }
+}
@@ -0,0 +1,248 @@
+package frc.lib.analysis;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+
+import frc.robot.LoggingKey;
+
+/**
+ * Per-key time index for a CSV or binary log, so that the values logged for a few keys over a range of time can be
+ * retrieved without parsing the whole log.
+ *
+ * The index is built the first time a log is opened (see LogIndexBuilder), and written next to the log as "(log).idx":
+ *   int magic ("IRSI"), short version, long log file length, long log file last modified time, int frame count, short key count,
+ *   then for each key: short name length, name (UTF-8), int sample count, long offset of the key's samples.
+ * The samples for each key are its (non-null, numeric) values in the order they were logged: the robot time of each
+ * sample (8-byte doubles, in increasing order), followed by the value of each sample (8-byte doubles).
+ *
+ * The index file is memory-mapped, so queries only read the samples they need straight from the OS's page cache.
+ */
+public class LogIndex
+{
+    public static final int MAGIC = 0x49525349; // "IRSI"
+    public static final short VERSION = 1;
+    public static final String FILE_EXTENSION = "idx";
+
+    static final int HEADER_LENGTH = 4 + 2 + 8 + 8 + 4 + 2;
+
+    private final MappedByteBuffer buffer;
+    private final int frameCount;
+
+    private final String[] keys;
+    private final HashMap<String, Integer> keyIndexes;
+    private final int[] sampleCounts;
+    private final long[] sampleOffsets;
+
+    private LogIndex(MappedByteBuffer buffer) throws IOException
+    {
+        this.buffer = buffer;
+
+        int magic = buffer.getInt(0);
+        short version = buffer.getShort(4);
+        if (magic != LogIndex.MAGIC || version != LogIndex.VERSION)
+        {
+            throw new IOException(String.format("Unexpected log index magic %1$08x or version %2$d", magic, version));
+        }
+
+        this.frameCount = buffer.getInt(22);
+
+        int keyCount = buffer.getShort(26);
+        this.keys = new String[keyCount];
+        this.keyIndexes = new HashMap<String, Integer>();
+        this.sampleCounts = new int[keyCount];
+        this.sampleOffsets = new long[keyCount];
+
+        int position = LogIndex.HEADER_LENGTH;
+        for (int i = 0; i < keyCount; i++)
+        {
+            int nameLength = buffer.getShort(position);
+            byte[] name = new byte[nameLength];
+            buffer.get(position + 2, name);
+            position += 2 + nameLength;
+
+            this.keys[i] = new String(name, StandardCharsets.UTF_8);
+            this.sampleCounts[i] = buffer.getInt(position);
+            this.sampleOffsets[i] = buffer.getLong(position + 4);
+            position += 4 + 8;
+
+            // if a key appears more than once, use the first one (as the loggers do)
+            this.keyIndexes.putIfAbsent(this.keys[i], i);
+        }
+    }
+
+    /**
+     * Open the index for a log, building it first if it doesn't exist yet or is out-of-date
+     * @param logFileName of the log (CSV, or binary log or its first .gz segment)
+     * @return the index
+     * @throws IOException if the log couldn't be read or the index couldn't be written
+     */
+    public static LogIndex open(String logFileName) throws IOException
+    {
+        Path logPath = Path.of(logFileName);
+        Path indexPath = logPath.resolveSibling(logPath.getFileName() + "." + LogIndex.FILE_EXTENSION);
+        if (!LogIndex.isCurrent(logPath, indexPath))
+        {
+            LogIndexBuilder.build(logFileName, indexPath);
+        }
+
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ))
+        {
+            // the mapping remains valid after the channel is closed
+            return new LogIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private static boolean isCurrent(Path logPath, Path indexPath) throws IOException
+    {
+        if (!Files.exists(indexPath) || Files.size(indexPath) < LogIndex.HEADER_LENGTH)
+        {
+            return false;
+        }
+
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ))
+        {
+            ByteBuffer header = ByteBuffer.allocate(LogIndex.HEADER_LENGTH);
+            while (header.hasRemaining() && channel.read(header) >= 0)
+            {
+            }
+
+            return header.getInt(0) == LogIndex.MAGIC &&
+                header.getShort(4) == LogIndex.VERSION &&
+                header.getLong(6) == Files.size(logPath) &&
+                header.getLong(14) == Files.getLastModifiedTime(logPath).toMillis();
+        }
+    }
+
+    /**
+     * Retrieve the number of frames (robot loops) in the log
+     * @return the number of frames
+     */
+    public int getFrameCount()
+    {
+        return this.frameCount;
+    }
+
+    /**
+     * Retrieve the keys (LoggingKey values) in the log
+     * @return the keys
+     */
+    public String[] getKeys()
+    {
+        return this.keys.clone();
+    }
+
+    /**
+     * Check whether the log contains a key
+     * @param key to check
+     * @return true if the key was in the log (even if it has no numeric samples)
+     */
+    public boolean hasKey(String key)
+    {
+        return this.keyIndexes.containsKey(key);
+    }
+
+    /**
+     * Retrieve the number of samples for a key
+     * @param key to check
+     * @return the number of samples, or 0 if the key isn't in the log
+     */
+    public int getSampleCount(String key)
+    {
+        Integer index = this.keyIndexes.get(key);
+        return index == null ? 0 : this.sampleCounts[index];
+    }
+
+    /**
+     * Retrieve all of the samples for a key
+     * @param key to retrieve
+     * @return the samples (empty if the key isn't in the log)
+     */
+    public LogSeries getSeries(LoggingKey key)
+    {
+        return this.getSeries(key.value, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Retrieve the samples for a key that were logged within a range of time
+     * @param key to retrieve
+     * @param startTime of the range (inclusive), in seconds of robot time
+     * @param endTime of the range (inclusive), in seconds of robot time
+     * @return the samples (empty if the key isn't in the log)
+     */
+    public LogSeries getSeries(LoggingKey key, double startTime, double endTime)
+    {
+        return this.getSeries(key.value, startTime, endTime);
+    }
+
+    /**
+     * Retrieve the samples for a key that were logged within a range of time
+     * @param key to retrieve (the LoggingKey's value, so that keys that have since been removed can still be retrieved)
+     * @param startTime of the range (inclusive), in seconds of robot time
+     * @param endTime of the range (inclusive), in seconds of robot time
+     * @return the samples (empty if the key isn't in the log)
+     */
+    public LogSeries getSeries(String key, double startTime, double endTime)
+    {
+        Integer index = this.keyIndexes.get(key);
+        if (index == null)
+        {
+            return new LogSeries(key, new double[0], new double[0]);
+        }
+
+        int count = this.sampleCounts[index];
+        DoubleBuffer times = this.getDoubles(this.sampleOffsets[index], count);
+        DoubleBuffer values = this.getDoubles(this.sampleOffsets[index] + 8L * count, count);
+
+        int start = LogIndex.findFirst(times, count, startTime, false);
+        int end = LogIndex.findFirst(times, count, endTime, true);
+        int length = Math.max(0, end - start);
+
+        double[] seriesTimes = new double[length];
+        double[] seriesValues = new double[length];
+        times.get(start, seriesTimes);
+        values.get(start, seriesValues);
+        return new LogSeries(key, seriesTimes, seriesValues);
+    }
+
+    private DoubleBuffer getDoubles(long offset, int count)
+    {
+        return this.buffer.slice((int)offset, 8 * count).asDoubleBuffer();
+    }
+
+    /**
+     * Binary search for the first sample at (or, if exclusive, after) the provided time
+     * @param times of the samples, in increasing order
+     * @param count of samples
+     * @param time to search for
+     * @param exclusive whether to find the first sample after the time rather than at it
+     * @return the index of the sample, or count if there isn't one
+     */
+    private static int findFirst(DoubleBuffer times, int count, double time, boolean exclusive)
+    {
+        int low = 0;
+        int high = count;
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+            double middleTime = times.get(middle);
+            if (middleTime < time || (exclusive && middleTime == time))
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+}
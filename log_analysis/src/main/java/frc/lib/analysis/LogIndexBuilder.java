@@ -0,0 +1,364 @@
+package frc.lib.analysis;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import frc.lib.robotprovider.BinaryLogReader;
+import frc.lib.robotprovider.CompressedFileWriter;
+import frc.robot.LoggingKey;
+import frc.robot.TuningConstants;
+
+/**
+ * Builds the index for a CSV or binary log by reading through the whole log once, collecting the (non-null) numeric
+ * samples for each key along with the robot time of the frame they were logged in.
+ */
+class LogIndexBuilder
+{
+    private final String[] keys;
+    private final double[][] times;
+    private final double[][] values;
+    private final int[] counts;
+
+    private int frameCount;
+
+    private LogIndexBuilder(String[] keys)
+    {
+        this.keys = keys;
+        this.times = new double[keys.length][];
+        this.values = new double[keys.length][];
+        this.counts = new int[keys.length];
+        for (int i = 0; i < keys.length; i++)
+        {
+            this.times[i] = new double[256];
+            this.values[i] = new double[256];
+        }
+
+        this.frameCount = 0;
+    }
+
+    /**
+     * Read a log and write its index
+     * @param logFileName of the log (CSV, or binary log or its first .gz segment)
+     * @param indexPath to write the index to
+     * @throws IOException if the log couldn't be read or the index couldn't be written
+     */
+    static void build(String logFileName, Path indexPath) throws IOException
+    {
+        Path logPath = Path.of(logFileName);
+        long sourceLength = Files.size(logPath);
+        long sourceLastModified = Files.getLastModifiedTime(logPath).toMillis();
+
+        LogIndexBuilder builder;
+        if (LogIndexBuilder.isCsv(logFileName))
+        {
+            builder = LogIndexBuilder.readCsv(logFileName);
+        }
+        else
+        {
+            try (BinaryLogReader reader = BinaryLogReader.open(logFileName))
+            {
+                builder = LogIndexBuilder.readBinary(reader);
+            }
+        }
+
+        // write to a temporary file first so that a partially-written index is never used
+        Path tempPath = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        builder.write(tempPath, sourceLength, sourceLastModified);
+        Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static boolean isCsv(String logFileName)
+    {
+        return logFileName.endsWith(".csv") || logFileName.endsWith(".csv.gz");
+    }
+
+    private static LogIndexBuilder readBinary(BinaryLogReader reader) throws IOException
+    {
+        int columnCount = reader.getColumnCount();
+        String[] keys = new String[columnCount];
+        int timeColumn = -1;
+        for (int column = 0; column < columnCount; column++)
+        {
+            keys[column] = reader.getColumnName(column);
+            if (keys[column].equals(LoggingKey.RobotTime.value))
+            {
+                timeColumn = column;
+            }
+        }
+
+        LogIndexBuilder builder = new LogIndexBuilder(keys);
+        double time = 0.0;
+        while (reader.readFrame())
+        {
+            if (timeColumn < 0)
+            {
+                time = builder.frameCount * TuningConstants.LOOP_DURATION;
+            }
+            else if (reader.isPresent(timeColumn) && !reader.isNull(timeColumn))
+            {
+                // the timer is reset when the robot is disabled, but the index needs the times to be in order
+                time = Math.max(time, reader.getNumber(timeColumn));
+            }
+
+            for (int column = 0; column < columnCount; column++)
+            {
+                if (!reader.isPresent(column) || reader.isNull(column))
+                {
+                    continue;
+                }
+
+                switch (reader.getColumnType(column))
+                {
+                    case Number:
+                    case NullableNumber:
+                        builder.addSample(column, time, reader.getNumber(column));
+                        break;
+
+                    case Integer:
+                    case NullableInteger:
+                        builder.addSample(column, time, reader.getInteger(column));
+                        break;
+
+                    case Boolean:
+                        builder.addSample(column, time, reader.getBoolean(column) ? 1.0 : 0.0);
+                        break;
+
+                    case String:
+                    default:
+                        // strings aren't indexed
+                        break;
+                }
+            }
+
+            builder.frameCount++;
+        }
+
+        return builder;
+    }
+
+    private static LogIndexBuilder readCsv(String logFileName) throws IOException
+    {
+        InputStream inputStream = logFileName.endsWith(".gz") ? CompressedFileWriter.openSegments(logFileName) : new FileInputStream(logFileName);
+        try (Reader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), 65536))
+        {
+            ArrayList<String> fields = new ArrayList<String>();
+            if (!LogIndexBuilder.readCsvRecord(reader, fields))
+            {
+                throw new IOException("Log file " + logFileName + " is empty");
+            }
+
+            String[] keys = fields.toArray(new String[fields.size()]);
+            int timeColumn = Arrays.asList(keys).indexOf(LoggingKey.RobotTime.value);
+
+            LogIndexBuilder builder = new LogIndexBuilder(keys);
+            double time = 0.0;
+            while (LogIndexBuilder.readCsvRecord(reader, fields))
+            {
+                if (timeColumn < 0)
+                {
+                    time = builder.frameCount * TuningConstants.LOOP_DURATION;
+                }
+                else if (timeColumn < fields.size())
+                {
+                    double value = LogIndexBuilder.parseCsvValue(fields.get(timeColumn));
+                    if (!Double.isNaN(value))
+                    {
+                        // the timer is reset when the robot is disabled, but the index needs the times to be in order
+                        time = Math.max(time, value);
+                    }
+                }
+
+                int columnCount = Math.min(fields.size(), keys.length);
+                for (int column = 0; column < columnCount; column++)
+                {
+                    double value = LogIndexBuilder.parseCsvValue(fields.get(column));
+                    if (!Double.isNaN(value))
+                    {
+                        builder.addSample(column, time, value);
+                    }
+                }
+
+                builder.frameCount++;
+            }
+
+            return builder;
+        }
+    }
+
+    /**
+     * Read the next record from a CSV file (as written by the CSVLogger, with quotes around values that need them)
+     * @param reader to read from
+     * @param fields to fill with the record's fields
+     * @return true if a record was read, false if we reached the end of the file
+     * @throws IOException
+     */
+    static boolean readCsvRecord(Reader reader, ArrayList<String> fields) throws IOException
+    {
+        fields.clear();
+
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean readAny = false;
+        int ch;
+        while ((ch = reader.read()) >= 0)
+        {
+            readAny = true;
+            if (inQuotes)
+            {
+                if (ch != '"')
+                {
+                    field.append((char)ch);
+                    continue;
+                }
+
+                // a doubled quote is an escaped quote, anything else ends the quoted section
+                reader.mark(1);
+                if (reader.read() == '"')
+                {
+                    field.append('"');
+                }
+                else
+                {
+                    reader.reset();
+                    inQuotes = false;
+                }
+            }
+            else if (ch == '"')
+            {
+                inQuotes = true;
+            }
+            else if (ch == ',')
+            {
+                fields.add(field.toString());
+                field.setLength(0);
+            }
+            else if (ch == '\n')
+            {
+                break;
+            }
+            else if (ch != '\r')
+            {
+                field.append((char)ch);
+            }
+        }
+
+        if (!readAny)
+        {
+            return false;
+        }
+
+        fields.add(field.toString());
+        return true;
+    }
+
+    /**
+     * Parse a value from a CSV log
+     * @param field to parse
+     * @return the value (booleans are 1.0 for true and 0.0 for false), or NaN if the field is empty, null or not a number
+     */
+    static double parseCsvValue(String field)
+    {
+        if (field.isEmpty() || field.equals("null"))
+        {
+            return Double.NaN;
+        }
+
+        if (field.equals("true"))
+        {
+            return 1.0;
+        }
+
+        if (field.equals("false"))
+        {
+            return 0.0;
+        }
+
+        char first = field.charAt(0);
+        if (first != '-' && first != '.' && (first < '0' || first > '9'))
+        {
+            // strings (and NaN/Infinity) aren't indexed
+            return Double.NaN;
+        }
+
+        try
+        {
+            return Double.parseDouble(field);
+        }
+        catch (NumberFormatException ex)
+        {
+            return Double.NaN;
+        }
+    }
+
+    private void addSample(int column, double time, double value)
+    {
+        int count = this.counts[column];
+        if (count == this.values[column].length)
+        {
+            this.times[column] = Arrays.copyOf(this.times[column], 2 * count);
+            this.values[column] = Arrays.copyOf(this.values[column], 2 * count);
+        }
+
+        this.times[column][count] = time;
+        this.values[column][count] = value;
+        this.counts[column] = count + 1;
+    }
+
+    private void write(Path indexPath, long sourceLength, long sourceLastModified) throws IOException
+    {
+        byte[][] names = new byte[this.keys.length][];
+        long headerLength = LogIndex.HEADER_LENGTH;
+        for (int i = 0; i < this.keys.length; i++)
+        {
+            names[i] = this.keys[i].getBytes(StandardCharsets.UTF_8);
+            headerLength += 2 + names[i].length + 4 + 8;
+        }
+
+        try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexPath), 65536)))
+        {
+            outputStream.writeInt(LogIndex.MAGIC);
+            outputStream.writeShort(LogIndex.VERSION);
+            outputStream.writeLong(sourceLength);
+            outputStream.writeLong(sourceLastModified);
+            outputStream.writeInt(this.frameCount);
+            outputStream.writeShort(this.keys.length);
+
+            // each key's times are followed by its values
+            long offset = headerLength;
+            for (int i = 0; i < this.keys.length; i++)
+            {
+                outputStream.writeShort(names[i].length);
+                outputStream.write(names[i]);
+                outputStream.writeInt(this.counts[i]);
+                outputStream.writeLong(offset);
+                offset += 16L * this.counts[i];
+            }
+
+            for (int i = 0; i < this.keys.length; i++)
+            {
+                int count = this.counts[i];
+                for (int j = 0; j < count; j++)
+                {
+                    outputStream.writeDouble(this.times[i][j]);
+                }
+
+                for (int j = 0; j < count; j++)
+                {
+                    outputStream.writeDouble(this.values[i][j]);
+                }
+            }
+        }
+    }
+}
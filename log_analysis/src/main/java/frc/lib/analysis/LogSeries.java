@@ -0,0 +1,69 @@
+package frc.lib.analysis;
+
+/**
+ * Values logged for a single key over a range of time, as parallel arrays of the robot time and value of each sample.
+ */
+public class LogSeries
+{
+    private final String key;
+    private final double[] times;
+    private final double[] values;
+
+    /**
+     * Initializes a new instance of the LogSeries class.
+     * @param key that was logged
+     * @param times of each sample (RobotTime, in seconds)
+     * @param values of each sample
+     */
+    public LogSeries(String key, double[] times, double[] values)
+    {
+        this.key = key;
+        this.times = times;
+        this.values = values;
+    }
+
+    /**
+     * Retrieve the key that was logged (the LoggingKey's value)
+     * @return the key
+     */
+    public String getKey()
+    {
+        return this.key;
+    }
+
+    /**
+     * Retrieve the number of samples in the series
+     * @return the number of samples
+     */
+    public int size()
+    {
+        return this.values.length;
+    }
+
+    /**
+     * Retrieve the time of each sample
+     * @return the robot time (in seconds) of each sample
+     */
+    public double[] getTimes()
+    {
+        return this.times;
+    }
+
+    /**
+     * Retrieve the value of each sample
+     * @return the value of each sample (booleans are 1.0 for true and 0.0 for false)
+     */
+    public double[] getValues()
+    {
+        return this.values;
+    }
+
+    /**
+     * Calculate summary statistics for the values in the series
+     * @return the statistics
+     */
+    public LogStats getStats()
+    {
+        return LogStats.calculate(this.values);
+    }
+}
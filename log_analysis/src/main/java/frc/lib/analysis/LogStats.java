@@ -0,0 +1,101 @@
+package frc.lib.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Summary statistics (min/max/mean/percentiles) for a series of logged values.
+ */
+public class LogStats
+{
+    private final double[] sortedValues;
+    private final double mean;
+
+    private LogStats(double[] sortedValues, double mean)
+    {
+        this.sortedValues = sortedValues;
+        this.mean = mean;
+    }
+
+    /**
+     * Calculate the statistics for a series of values
+     * @param values to calculate statistics for (not modified)
+     * @return the statistics
+     */
+    public static LogStats calculate(double[] values)
+    {
+        double[] sortedValues = Arrays.copyOf(values, values.length);
+        Arrays.sort(sortedValues);
+
+        double sum = 0.0;
+        for (int i = 0; i < sortedValues.length; i++)
+        {
+            sum += sortedValues[i];
+        }
+
+        return new LogStats(sortedValues, sortedValues.length == 0 ? Double.NaN : sum / sortedValues.length);
+    }
+
+    /**
+     * Retrieve the number of values
+     * @return the number of values
+     */
+    public int getCount()
+    {
+        return this.sortedValues.length;
+    }
+
+    /**
+     * Retrieve the smallest value
+     * @return the smallest value, or NaN if there were no values
+     */
+    public double getMin()
+    {
+        return this.sortedValues.length == 0 ? Double.NaN : this.sortedValues[0];
+    }
+
+    /**
+     * Retrieve the largest value
+     * @return the largest value, or NaN if there were no values
+     */
+    public double getMax()
+    {
+        return this.sortedValues.length == 0 ? Double.NaN : this.sortedValues[this.sortedValues.length - 1];
+    }
+
+    /**
+     * Retrieve the mean of the values
+     * @return the mean, or NaN if there were no values
+     */
+    public double getMean()
+    {
+        return this.mean;
+    }
+
+    /**
+     * Retrieve a percentile of the values, interpolating between the closest values
+     * @param percentile to retrieve, between 0.0 and 100.0
+     * @return the value at that percentile, or NaN if there were no values
+     */
+    public double getPercentile(double percentile)
+    {
+        if (this.sortedValues.length == 0)
+        {
+            return Double.NaN;
+        }
+
+        double position = (percentile / 100.0) * (this.sortedValues.length - 1);
+        int index = (int)Math.floor(position);
+        if (index < 0)
+        {
+            return this.sortedValues[0];
+        }
+
+        if (index >= this.sortedValues.length - 1)
+        {
+            return this.sortedValues[this.sortedValues.length - 1];
+        }
+
+        double fraction = position - index;
+        return this.sortedValues[index] + fraction * (this.sortedValues[index + 1] - this.sortedValues[index]);
+    }
+}
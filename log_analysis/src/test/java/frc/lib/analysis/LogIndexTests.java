@@ -0,0 +1,194 @@
+package frc.lib.analysis;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.robotprovider.*;
+import frc.robot.LoggingKey;
+
+public class LogIndexTests
+{
+    private static final LoggingKey[] Schema = new LoggingKey[]
+    {
+        LoggingKey.RobotState,
+        LoggingKey.RobotTime,
+        LoggingKey.DriveTrainXPosition,
+        LoggingKey.OffboardVisionAprilTagXOffset,
+        LoggingKey.OffboardVisionAprilTagId,
+        LoggingKey.OffboardVisionEnableStream,
+    };
+
+    @Test
+    public void testCsvAndBinaryIndexesMatch() throws IOException
+    {
+        String[] csvSchema = new String[LogIndexTests.Schema.length];
+        for (int i = 0; i < csvSchema.length; i++)
+        {
+            csvSchema[i] = LogIndexTests.Schema[i].value;
+        }
+
+        StreamFileWriter csvWriter = new StreamFileWriter();
+        StreamFileWriter binaryWriter = new StreamFileWriter();
+        ILogger logger = new MultiLogger(new CSVLogger(csvWriter, csvSchema), new BinaryLogger(binaryWriter, LogIndexTests.Schema));
+        for (int i = 0; i < 100; i++)
+        {
+            logger.logString(LoggingKey.RobotState, "Quoted \"" + (i % 3) + "\", with comma");
+            logger.logNumber(LoggingKey.RobotTime, i * 0.02);
+            if ((i % 2) == 0)
+            {
+                logger.logNumber(LoggingKey.DriveTrainXPosition, 12.5 - i * 0.01);
+            }
+
+            logger.logNumber(LoggingKey.OffboardVisionAprilTagXOffset, (i % 3) == 0 ? null : Double.valueOf(-1.5 * i));
+            logger.logInteger(LoggingKey.OffboardVisionAprilTagId, i);
+            logger.logBoolean(LoggingKey.OffboardVisionEnableStream, (i % 4) == 0);
+            logger.update();
+        }
+
+        logger.flush();
+
+        Path directory = Files.createTempDirectory("LogIndexTests");
+        try
+        {
+            Path csvPath = directory.resolve("match.csv");
+            Path binaryPath = directory.resolve("match." + BinaryLogger.FILE_EXTENSION);
+            Files.write(csvPath, csvWriter.toByteArray());
+            Files.write(binaryPath, binaryWriter.toByteArray());
+
+            LogIndex csvIndex = LogIndex.open(csvPath.toString());
+            LogIndex binaryIndex = LogIndex.open(binaryPath.toString());
+            Assertions.assertTrue(Files.exists(directory.resolve("match.csv." + LogIndex.FILE_EXTENSION)));
+            Assertions.assertEquals(100, csvIndex.getFrameCount());
+            Assertions.assertEquals(100, binaryIndex.getFrameCount());
+
+            // strings aren't indexed, and nulls aren't samples
+            Assertions.assertTrue(binaryIndex.hasKey(LoggingKey.RobotState.value));
+            Assertions.assertEquals(0, binaryIndex.getSampleCount(LoggingKey.RobotState.value));
+            Assertions.assertEquals(66, binaryIndex.getSampleCount(LoggingKey.OffboardVisionAprilTagXOffset.value));
+            Assertions.assertEquals(0, binaryIndex.getSampleCount("does/not/exist"));
+
+            LogSeries voltage = binaryIndex.getSeries(LoggingKey.DriveTrainXPosition, 0.51, 1.01);
+            Assertions.assertArrayEquals(new double[] { 0.52, 0.56, 0.6, 0.64, 0.68, 0.72, 0.76, 0.8, 0.84, 0.88, 0.92, 0.96, 1.0 }, voltage.getTimes(), 1e-9);
+            Assertions.assertEquals(12.24, voltage.getValues()[0], 1e-9);
+            Assertions.assertEquals(12.0, voltage.getValues()[voltage.size() - 1], 1e-9);
+
+            LogSeries stream = binaryIndex.getSeries(LoggingKey.OffboardVisionEnableStream, 0.0, 0.11);
+            Assertions.assertArrayEquals(new double[] { 1.0, 0.0, 0.0, 0.0, 1.0, 0.0 }, stream.getValues());
+
+            for (LoggingKey key : LogIndexTests.Schema)
+            {
+                LogSeries csvSeries = csvIndex.getSeries(key, 0.31, 1.51);
+                LogSeries binarySeries = binaryIndex.getSeries(key, 0.31, 1.51);
+                Assertions.assertArrayEquals(binarySeries.getTimes(), csvSeries.getTimes(), 1e-9);
+                Assertions.assertArrayEquals(binarySeries.getValues(), csvSeries.getValues(), 1e-6);
+            }
+
+            // the existing index is used when it's still current
+            long indexModified = Files.getLastModifiedTime(directory.resolve("match.csv." + LogIndex.FILE_EXTENSION)).toMillis();
+            Assertions.assertEquals(66, LogIndex.open(csvPath.toString()).getSampleCount(LoggingKey.OffboardVisionAprilTagXOffset.value));
+            Assertions.assertEquals(indexModified, Files.getLastModifiedTime(directory.resolve("match.csv." + LogIndex.FILE_EXTENSION)).toMillis());
+        }
+        finally
+        {
+            try (Stream<Path> paths = Files.walk(directory))
+            {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyStats()
+    {
+        LogSeries series = new LogSeries("k", new double[0], new double[0]);
+        LogStats stats = series.getStats();
+        Assertions.assertEquals(0, stats.getCount());
+        Assertions.assertTrue(Double.isNaN(stats.getMin()));
+        Assertions.assertTrue(Double.isNaN(stats.getMean()));
+        Assertions.assertTrue(Double.isNaN(stats.getPercentile(50.0)));
+    }
+
+    @Test
+    public void testStats()
+    {
+        double[] values = new double[101];
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = 101 - i;
+        }
+
+        LogStats stats = LogStats.calculate(values);
+        Assertions.assertEquals(101, stats.getCount());
+        Assertions.assertEquals(1.0, stats.getMin());
+        Assertions.assertEquals(101.0, stats.getMax());
+        Assertions.assertEquals(51.0, stats.getMean(), 1e-9);
+        Assertions.assertEquals(51.0, stats.getPercentile(50.0), 1e-9);
+        Assertions.assertEquals(96.0, stats.getPercentile(95.0), 1e-9);
+        Assertions.assertEquals(1.5, stats.getPercentile(0.5), 1e-9);
+        Assertions.assertEquals(101.0, stats.getPercentile(100.0), 1e-9);
+
+        // calculating the statistics doesn't sort the caller's values
+        Assertions.assertEquals(101.0, values[0]);
+    }
+
+    @Test
+    public void testReadCsvRecord() throws IOException
+    {
+        StringReader reader = new StringReader("a,\"b,\"\"c\"\"\",,1.5\r\n\"multi\nline\",null\r\n");
+        ArrayList<String> fields = new ArrayList<String>();
+        Assertions.assertTrue(LogIndexBuilder.readCsvRecord(reader, fields));
+        Assertions.assertEquals(Arrays.asList("a", "b,\"c\"", "", "1.5"), fields);
+        Assertions.assertTrue(LogIndexBuilder.readCsvRecord(reader, fields));
+        Assertions.assertEquals(Arrays.asList("multi\nline", "null"), fields);
+        Assertions.assertFalse(LogIndexBuilder.readCsvRecord(reader, fields));
+
+        Assertions.assertTrue(Double.isNaN(LogIndexBuilder.parseCsvValue("null")));
+        Assertions.assertTrue(Double.isNaN(LogIndexBuilder.parseCsvValue("Teleop")));
+        Assertions.assertEquals(1.0, LogIndexBuilder.parseCsvValue("true"));
+        Assertions.assertEquals(-0.25, LogIndexBuilder.parseCsvValue("-0.25"));
+    }
+
+    private static class StreamFileWriter implements IFileWriter
+    {
+        private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        @Override
+        public void append(String string)
+        {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            this.stream.write(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length)
+        {
+            this.stream.write(buffer, offset, length);
+        }
+
+        @Override
+        public void flush()
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+
+        public byte[] toByteArray()
+        {
+            return this.stream.toByteArray();
+        }
+    }
+}
@@ -125,6 +125,15 @@ public class AdvantageKitLogger implements ISmartDashboardLogger
         Logger.recordOutput(key.value, value);
     }
 
+    /**
+     * Write the default value for each key to the log (see LoggingDefaults)
+     */
+    @Override
+    public void logDefaults()
+    {
+        LoggingDefaults.logTo(this);
+    }
+
     /**
      * Update the log, if appropriate..
      */
@@ -140,4 +149,12 @@ public class AdvantageKitLogger implements ISmartDashboardLogger
     public void flush()
     {
     }
+
+    /**
+     * Close the output stream when this logger is no longer used, if appropriate..
+     */
+    @Override
+    public void close()
+    {
+    }
 }
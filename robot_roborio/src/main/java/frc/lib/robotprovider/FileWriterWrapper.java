@@ -1,24 +1,36 @@
 package frc.lib.robotprovider;
 
-import java.io.FileWriter;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 public class FileWriterWrapper implements IFileWriter
 {
-    private FileWriter wrappedObject;
+    private BufferedOutputStream wrappedObject;
 
     public FileWriterWrapper(String fileName) throws IOException
     {
-        this.wrappedObject = new FileWriter(fileName);
+        this.wrappedObject = new BufferedOutputStream(new FileOutputStream(fileName));
     }
 
     public void append(String string) throws IOException
     {
-        this.wrappedObject.append(string);
+        this.wrappedObject.write(string.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void write(byte[] buffer, int offset, int length) throws IOException
+    {
+        this.wrappedObject.write(buffer, offset, length);
     }
 
     public void flush() throws IOException
     {
         this.wrappedObject.flush();
     }
+
+    public void close() throws IOException
+    {
+        this.wrappedObject.close();
+    }
 }
@@ -1,5 +1,6 @@
 package frc.lib.robotprovider;
 
+import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Joystick;
 import edu.wpi.first.wpilibj.GenericHID.RumbleType;
 
@@ -32,6 +33,11 @@ public class JoystickWrapper implements IJoystick
         return this.wrappedObject.getRawButton(value);
     }
 
+    public int getButtons()
+    {
+        return DriverStation.getStickButtons(this.wrappedObject.getPort());
+    }
+
     public void setRumble(JoystickRumbleType type, double value)
     {
         RumbleType rumbleType;
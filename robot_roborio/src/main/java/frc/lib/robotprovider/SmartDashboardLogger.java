@@ -13,12 +13,12 @@ import frc.robot.LoggingKey;
 @Singleton
 public class SmartDashboardLogger implements ISmartDashboardLogger
 {
-    private int loggingCounter;
+    private final LoggingScheduler scheduler;
 
     @Inject
     public SmartDashboardLogger()
     {
-        this.loggingCounter = 0;
+        this.scheduler = new LoggingScheduler();
     }
 
     /**
@@ -29,7 +29,7 @@ public class SmartDashboardLogger implements ISmartDashboardLogger
     @Override
     public void logBoolean(LoggingKey key, boolean value)
     {
-        if ((this.loggingCounter % key.loggingFrequency) == 0)
+        if (this.scheduler.shouldLog(key))
         {
             if (SmartDashboard.getBoolean(key.value, !value) != value)
             {
@@ -46,7 +46,7 @@ public class SmartDashboardLogger implements ISmartDashboardLogger
     @Override
     public void logBooleanArray(LoggingKey key, boolean[] value)
     {
-        if ((this.loggingCounter % key.loggingFrequency) == 0)
+        if (this.scheduler.shouldLog(key))
         {
             SmartDashboard.putBooleanArray(key.value, value);
         }
@@ -60,7 +60,7 @@ public class SmartDashboardLogger implements ISmartDashboardLogger
     @Override
     public void logNumber(LoggingKey key, double value)
     {
-        if ((this.loggingCounter % key.loggingFrequency) == 0)
+        if (this.scheduler.shouldLog(key))
         {
             if (SmartDashboard.getNumber(key.value, value + 0.5) != value)
             {
@@ -123,7 +123,7 @@ public class SmartDashboardLogger implements ISmartDashboardLogger
     @Override
     public void logInteger(LoggingKey key, int value, String formatString)
     {
-        if ((this.loggingCounter % key.loggingFrequency) == 0)
+        if (this.scheduler.shouldLog(key))
         {
             if (SmartDashboard.getNumber(key.value, value + 0.5) != value)
             {
@@ -140,7 +140,7 @@ public class SmartDashboardLogger implements ISmartDashboardLogger
     @Override
     public void logString(LoggingKey key, String value)
     {
-        if ((this.loggingCounter % key.loggingFrequency) == 0)
+        if (this.scheduler.shouldLog(key))
         {
             if (value == null)
             {
@@ -156,13 +156,22 @@ public class SmartDashboardLogger implements ISmartDashboardLogger
         }
     }
 
+    /**
+     * Write the default value for each key to the log (see LoggingDefaults)
+     */
+    @Override
+    public void logDefaults()
+    {
+        LoggingDefaults.logTo(this);
+    }
+
     /**
      * Update the log, if appropriate..
      */
     @Override
     public void update()
     {
-        this.loggingCounter++;
+        this.scheduler.update();
     }
 
     /**
@@ -172,4 +181,12 @@ public class SmartDashboardLogger implements ISmartDashboardLogger
     public void flush()
     {
     }
+
+    /**
+     * Close the output stream when this logger is no longer used, if appropriate..
+     */
+    @Override
+    public void close()
+    {
+    }
 }
@@ -3,6 +3,7 @@ package frc.robot;
 import javax.inject.Singleton;
 
 import frc.lib.driver.*;
+import frc.lib.mechanisms.LoopProfiler;
 import frc.lib.mechanisms.MechanismManager;
 import frc.lib.robotprovider.*;
 import frc.robot.driver.*;
@@ -36,6 +37,6 @@ public class RobotModule extends AbstractModule
     @Provides
     public MechanismManager getMechanismManager(Injector injector)
     {
-        return new MechanismManager(SettingsManager.getActiveMechanisms(injector));
+        return new MechanismManager(SettingsManager.getActiveMechanisms(injector), injector.getInstance(LoopProfiler.class));
     }
 }